@@ -0,0 +1,9 @@
+package com.beecavegames.dataModel;
+
+import org.as3commons.reflect.Metadata;
+
+public class MetadataUsage {
+	public String className;
+	public String traitName;
+	public Metadata metadata;
+}
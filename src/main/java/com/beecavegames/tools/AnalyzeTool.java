@@ -0,0 +1,174 @@
+package com.beecavegames.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+
+import com.beecavegames.dataModel.ClassInjectionPointData;
+import com.beecavegames.dataModel.ClassReflectionData;
+import com.exadel.flamingo.flex.messaging.amf.io.AMF3Serializer;
+
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.SWFParser;
+import tv.porst.swfretools.parser.SWFParserException;
+import tv.porst.swfretools.parser.structures.SWFFile;
+import tv.porst.swfretools.parser.tags.TagCodes;
+import tv.porst.swfretools.utils.ResolverException;
+
+/**
+ * Computes the outputs of InjectTool and ReflectTool in one run. The SWF file
+ * is parsed once and both analyses share one ClassIndex, so the constant pools
+ * are resolved only once. The injection and the reflection outputs are
+ * serialized concurrently at the end.
+ */
+public class AnalyzeTool
+{
+	@Option(name="-swf", usage="Name of SWF file to process.", metaVar="[SWF name]", required=true)
+	public String swfName;
+
+	@Option(name="-inject-json", usage="Name of JSON output file for the injection points.", metaVar="[JSON file name]", required=false)
+	public String injectJsonFilename;
+
+	@Option(name="-inject-amf", usage="Name of AMF output file for the injection points.", metaVar="[AMF file name]", required=false)
+	public String injectAmfFilename;
+
+	@Option(name="-reflect-json", usage="Name of JSON output file for the reflection data.", metaVar="[JSON file name]", required=false)
+	public String reflectJsonFilename;
+
+	@Option(name="-reflect-amf", usage="Name of AMF output file for the reflection data.", metaVar="[AMF file name]", required=false)
+	public String reflectAmfFilename;
+
+	@Option(name="-classes", usage="Text file containing names of classes to reflect. Needed for the reflection outputs.", metaVar="[class list file name]", required=false)
+	public String classListFilename;
+
+	@Option(name="-pretty", usage="Indent the JSON output. It is written without whitespace by default.", required=false)
+	public boolean pretty;
+
+	@Option(name="-quiet", aliases={"-q"}, required=false)
+	public boolean quiet;
+
+    public static void main( String[] args ) throws IOException, SWFParserException, ResolverException, InterruptedException {
+    	AnalyzeTool at = new AnalyzeTool();
+    	at.doMain(args);
+    }
+
+    private void doMain(String[] args) throws IOException, SWFParserException, ResolverException, InterruptedException {
+
+    	CmdLineParser parser = new CmdLineParser(this);
+
+    	try {
+    		parser.parseArgument(args);
+    		if ( injectJsonFilename == null && injectAmfFilename == null && reflectJsonFilename == null && reflectAmfFilename == null ) {
+    			throw new CmdLineException(parser, new UsageMessage("No JSON or AMF output file specified."));
+    		}
+    		if ( isReflecting() && classListFilename == null ) {
+    			throw new CmdLineException(parser, new UsageMessage("No class list file specified for the reflection outputs."));
+    		}
+    	}
+    	catch ( CmdLineException e ) {
+    		System.err.println(e.getMessage());
+    		parser.printUsage(System.err);
+    		return;
+    	}
+
+    	ReflectTool reflectTool = null;
+    	if ( isReflecting() ) {
+    		reflectTool = new ReflectTool();
+    		reflectTool.quiet = quiet;
+    		reflectTool.loadClassList(Paths.get(classListFilename));
+    	}
+
+    	logInfo("Parsing "+swfName);
+
+    	SWFFile swfFile = SWFParser.parse(Paths.get(swfName), ParseOptions.decodeOnly(TagCodes.DoABC).withDeclarationsOnly());
+    	ClassIndex classIndex = ClassIndex.build(swfFile.getTags());
+
+    	List<Callable<Void>> savers = new ArrayList<>();
+
+    	if ( injectJsonFilename != null || injectAmfFilename != null ) {
+    		ClassInjectionPointData injectionPoints = InjectTool.computeInjectionPoints(classIndex);
+    		logInfo("Found "+injectionPoints.injectionPoints.size()+" unique injection points in "+injectionPoints.classInjectionPoints.size()+" classes.");
+    		savers.add(saver(injectionPoints, injectJsonFilename, injectAmfFilename));
+    	}
+
+    	if ( reflectTool != null ) {
+    		ClassReflectionData reflectionData = reflectTool.computeReflectionData(classIndex);
+    		logInfo("Reflected "+reflectionData.types.size()+" classes.");
+    		savers.add(saver(reflectionData, reflectJsonFilename, reflectAmfFilename));
+    	}
+
+    	ExecutorService executor = Executors.newFixedThreadPool(savers.size(), new ThreadFactory() {
+    		private int count = 0;
+    		@Override
+    		public synchronized Thread newThread(Runnable r) {
+    			Thread thread = new Thread(r, "save-"+(++count));
+    			thread.setDaemon(true);
+    			return thread;
+    		}
+    	});
+    	try {
+    		for ( Future<Void> future : executor.invokeAll(savers) ) {
+    			future.get();
+    		}
+    	}
+    	catch ( ExecutionException e ) {
+    		if ( e.getCause() instanceof IOException ) {
+    			throw (IOException) e.getCause();
+    		}
+    		throw new IOException(e.getCause());
+    	}
+    	finally {
+    		executor.shutdownNow();
+    	}
+    }
+
+    private boolean isReflecting() {
+    	return reflectJsonFilename != null || reflectAmfFilename != null;
+    }
+
+    /**
+     * Creates a task that writes one output as JSON and as AMF, to the files
+     * that are not null.
+     */
+    private Callable<Void> saver(final Object output, final String jsonFilename, final String amfFilename) {
+    	return new Callable<Void>() {
+    		@Override
+    		public Void call() throws IOException {
+    			if ( jsonFilename != null ) {
+    				logInfo("Saving "+jsonFilename);
+    				JsonOutput.write(output, Paths.get(jsonFilename), pretty);
+    			}
+    			if ( amfFilename != null ) {
+    				ByteArrayOutputStream out = new ByteArrayOutputStream();
+    				try ( AMF3Serializer amfOut = new AMF3Serializer(out) ) {
+    					amfOut.writeObject(output);
+    				}
+    				logInfo("Saving "+amfFilename);
+    				Path path = Paths.get(amfFilename);
+    				Files.write(path, out.toByteArray());
+    			}
+    			return null;
+    		}
+    	};
+    }
+
+    public void logInfo(String msg) {
+    	if ( !quiet ) {
+    		System.out.println(msg);
+    	}
+    }
+}
@@ -0,0 +1,117 @@
+package com.beecavegames.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+
+/**
+ * One SWF file of a batch run together with the files its output is saved to.
+ *
+ * A manifest lists one SWF file per line, followed by the JSON and the AMF
+ * output file names, separated by whitespace. A "-" or a missing name means
+ * that the output is not written. Empty lines and lines that start with "#"
+ * are ignored. Relative names are resolved against the working directory,
+ * like the names given on the command line.
+ */
+public class BatchJob {
+
+    public final String swfName;
+    public final String jsonFilename;
+    public final String amfFilename;
+
+    public BatchJob(String swfName, String jsonFilename, String amfFilename) {
+    	this.swfName = swfName;
+    	this.jsonFilename = jsonFilename;
+    	this.amfFilename = amfFilename;
+    }
+
+    public boolean hasOutputFile() {
+    	return jsonFilename != null || amfFilename != null;
+    }
+
+    public static List<BatchJob> readManifest(Path manifest) throws IOException {
+    	List<BatchJob> jobs = new ArrayList<>();
+    	int lineNumber = 0;
+    	for ( String line : Files.readAllLines(manifest) ) {
+    		lineNumber++;
+    		line = line.trim();
+    		if ( line.isEmpty() || line.startsWith("#") ) {
+    			continue;
+    		}
+    		String[] fields = line.split("\\s+");
+    		if ( fields.length > 3 ) {
+    			throw new IOException(manifest+":"+lineNumber+": expected a SWF file name followed by up to two output file names");
+    		}
+    		jobs.add(new BatchJob(fields[0], field(fields, 1), field(fields, 2)));
+    	}
+    	return jobs;
+    }
+
+    /**
+     * Builds the jobs for the -swf, -json, -amf and -manifest options of a command
+     * line. A command line with more than one SWF file or with a manifest is a
+     * batch, and every SWF file of a batch needs an output file.
+     */
+    public static List<BatchJob> fromCommandLine(CmdLineParser parser, List<String> swfNames, List<String> jsonFilenames, List<String> amfFilenames,
+    		String manifestFilename) throws CmdLineException {
+    	List<BatchJob> jobs;
+    	try {
+    		jobs = fromOptions(swfNames, jsonFilenames, amfFilenames);
+    		if ( manifestFilename != null ) {
+    			jobs.addAll(readManifest(Paths.get(manifestFilename)));
+    		}
+    	}
+    	catch ( IllegalArgumentException | IOException e ) {
+    		throw new CmdLineException(parser, e.getMessage(), e);
+    	}
+    	if ( jobs.isEmpty() ) {
+    		throw new CmdLineException(parser, new UsageMessage("No SWF file specified."));
+    	}
+    	if ( isBatch(jobs, manifestFilename) ) {
+    		for ( BatchJob job : jobs ) {
+    			if ( !job.hasOutputFile() ) {
+    				throw new CmdLineException(parser, new UsageMessage("No JSON or AMF output file specified for "+job.swfName+"."));
+    			}
+    		}
+    	}
+    	return jobs;
+    }
+
+    public static boolean isBatch(List<BatchJob> jobs, String manifestFilename) {
+    	return jobs.size() > 1 || manifestFilename != null;
+    }
+
+    /**
+     * Builds the jobs for the -swf, -json and -amf options of a command line. The
+     * n-th JSON and AMF file name belong to the n-th SWF file, so there must be
+     * either none or exactly one per SWF file of each.
+     */
+    private static List<BatchJob> fromOptions(List<String> swfNames, List<String> jsonFilenames, List<String> amfFilenames) {
+    	if ( !jsonFilenames.isEmpty() && jsonFilenames.size() != swfNames.size() ) {
+    		throw new IllegalArgumentException("Expected one JSON file per SWF file, got "+jsonFilenames.size()+" for "+swfNames.size());
+    	}
+    	if ( !amfFilenames.isEmpty() && amfFilenames.size() != swfNames.size() ) {
+    		throw new IllegalArgumentException("Expected one AMF file per SWF file, got "+amfFilenames.size()+" for "+swfNames.size());
+    	}
+    	List<BatchJob> jobs = new ArrayList<>();
+    	for ( int i = 0; i < swfNames.size(); i++ ) {
+    		String json = jsonFilenames.isEmpty() ? null : jsonFilenames.get(i);
+    		String amf = amfFilenames.isEmpty() ? null : amfFilenames.get(i);
+    		jobs.add(new BatchJob(swfNames.get(i), json, amf));
+    	}
+    	return jobs;
+    }
+
+    private static String field(String[] fields, int index) {
+    	if ( index >= fields.length || fields[index].equals("-") ) {
+    		return null;
+    	}
+    	return fields[index];
+    }
+}
@@ -0,0 +1,130 @@
+package com.beecavegames.tools;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes the SWF files of a batch concurrently on a fixed number of
+ * threads. Every job saves its own output when it is done, so outputs appear
+ * in the order in which the SWF files finish. A timing summary is printed at
+ * the end.
+ */
+public class BatchRunner {
+
+    public interface JobProcessor {
+    	void process(BatchJob job) throws Exception;
+    }
+
+    private final int threads;
+    private final boolean quiet;
+
+    public BatchRunner(int threads, boolean quiet) {
+    	if ( threads < 1 ) {
+    		throw new IllegalArgumentException("Thread count must be positive");
+    	}
+    	this.threads = threads;
+    	this.quiet = quiet;
+    }
+
+    /**
+     * Runs all jobs and returns the number of jobs that failed. Failures are
+     * reported on stderr and do not stop the other jobs.
+     */
+    public int run(List<BatchJob> jobs, final JobProcessor processor) throws InterruptedException {
+    	long start = System.nanoTime();
+
+    	ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, jobs.size())), new ThreadFactory() {
+    		private int count = 0;
+    		@Override
+    		public synchronized Thread newThread(Runnable r) {
+    			Thread thread = new Thread(r, "batch-"+(++count));
+    			thread.setDaemon(true);
+    			return thread;
+    		}
+    	});
+
+    	CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+    	final long[] millis = new long[jobs.size()];
+    	for ( int i = 0; i < jobs.size(); i++ ) {
+    		final int index = i;
+    		final BatchJob job = jobs.get(i);
+    		completion.submit(new Callable<Integer>() {
+    			@Override
+    			public Integer call() throws BatchException {
+    				long jobStart = System.nanoTime();
+    				try {
+    					processor.process(job);
+    				}
+    				catch ( Exception e ) {
+    					throw new BatchException(job, e);
+    				}
+    				finally {
+    					millis[index] = (System.nanoTime() - jobStart) / 1000000;
+    				}
+    				return index;
+    			}
+    		});
+    	}
+
+    	int failures = 0;
+    	try {
+    		for ( int i = 0; i < jobs.size(); i++ ) {
+    			try {
+    				int index = completion.take().get();
+    				logInfo("Finished "+jobs.get(index).swfName+" in "+millis[index]+" ms");
+    			}
+    			catch ( ExecutionException e ) {
+    				failures++;
+    				Throwable cause = e.getCause();
+    				if ( cause instanceof BatchException ) {
+    					System.err.println("Failed "+((BatchException) cause).job.swfName+": "+cause.getCause());
+    				}
+    				else {
+    					System.err.println("Failed: "+cause);
+    				}
+    			}
+    		}
+    	}
+    	finally {
+    		executor.shutdownNow();
+    		executor.awaitTermination(1, TimeUnit.MINUTES);
+    	}
+
+    	long totalMillis = 0;
+    	int slowest = 0;
+    	for ( int i = 0; i < jobs.size(); i++ ) {
+    		totalMillis += millis[i];
+    		if ( millis[i] > millis[slowest] ) {
+    			slowest = i;
+    		}
+    	}
+
+    	long wallMillis = (System.nanoTime() - start) / 1000000;
+    	System.out.println("Processed "+jobs.size()+" SWF files ("+failures+" failed) on "+Math.min(threads, jobs.size())+" threads in "+wallMillis+" ms"
+    			+" (sum of per-file times "+totalMillis+" ms"+(jobs.isEmpty() ? "" : ", slowest "+jobs.get(slowest).swfName+" "+millis[slowest]+" ms")+").");
+    	return failures;
+    }
+
+    private void logInfo(String msg) {
+    	if ( !quiet ) {
+    		System.out.println(msg);
+    	}
+    }
+
+    private static class BatchException extends Exception {
+    	private static final long serialVersionUID = 1L;
+    	private final BatchJob job;
+
+    	public BatchException(BatchJob job, Exception cause) {
+    		super(cause);
+    		this.job = job;
+    	}
+    }
+}
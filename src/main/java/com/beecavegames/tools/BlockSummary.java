@@ -0,0 +1,381 @@
+package com.beecavegames.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.as3commons.reflect.Accessor;
+import org.as3commons.reflect.AccessorAccess;
+import org.as3commons.reflect.Field;
+import org.as3commons.reflect.Metadata;
+import org.as3commons.reflect.MetadataArgument;
+import org.as3commons.reflect.Type;
+import org.swiftsuspenders.injectionpoints.InjectionPoint;
+import org.swiftsuspenders.injectionpoints.PostConstructInjectionPoint;
+import org.swiftsuspenders.injectionpoints.PropertyInjectionPoint;
+
+import com.beecavegames.dataModel.MetadataUsage;
+
+/**
+ * Partial result of a tool for one ABC block of a SWF file.
+ *
+ * The class names and superclass names are filled for every tool, the other
+ * fields only by the tool that needs them. The per-class results only cover
+ * the definitions in the block itself; inherited members and injection points
+ * are added when the summaries of all blocks are merged.
+ *
+ * Summaries are cached in a compact binary form, because reading them back
+ * has to be much cheaper than decoding the block again. Null and empty lists
+ * are kept apart, since the JSON output of the tools distinguishes them.
+ */
+public class BlockSummary {
+
+    private static final int MAGIC = 0x42534d31;
+
+    private static final int PROPERTY_INJECTION_POINT = 0;
+    private static final int POST_CONSTRUCT_INJECTION_POINT = 1;
+
+    /**
+     * Names of the classes of the block, in the order in which they are first
+     * defined. The last definition of a class in the block is kept.
+     */
+    public List<String> classNames = new ArrayList<>();
+
+    /**
+     * Superclass name of every class, or null if the class has none.
+     */
+    public List<String> superclassNames = new ArrayList<>();
+
+    /**
+     * Injection points declared by every class with [Inject] or [PostConstruct]
+     * metadata, in trait order.
+     */
+    public Map<String,List<InjectionPoint>> injectionPoints;
+
+    /**
+     * Metadata usages of every class that has them, in trait order.
+     */
+    public Map<String,List<MetadataUsage>> metadataUsages;
+
+    /**
+     * Reflected types of the classes of the block that were needed so far,
+     * without inherited members.
+     */
+    public Map<String,Type> types;
+
+    public static BlockSummary read(byte[] data) throws IOException {
+    	DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+    	if ( in.readInt() != MAGIC ) {
+    		throw new IOException("Not a block summary");
+    	}
+
+    	BlockSummary summary = new BlockSummary();
+    	int classCount = checkCount(in.readInt(), in);
+    	for ( int i = 0; i < classCount; i++ ) {
+    		summary.classNames.add(readString(in));
+    		summary.superclassNames.add(readString(in));
+    	}
+
+    	int count = readOptionalCount(in);
+    	if ( count >= 0 ) {
+    		summary.injectionPoints = new HashMap<>();
+    		for ( int i = 0; i < count; i++ ) {
+    			String className = readString(in);
+    			int pointCount = checkCount(in.readInt(), in);
+    			List<InjectionPoint> points = new ArrayList<>(pointCount);
+    			for ( int p = 0; p < pointCount; p++ ) {
+    				points.add(readInjectionPoint(in));
+    			}
+    			summary.injectionPoints.put(className, points);
+    		}
+    	}
+
+    	count = readOptionalCount(in);
+    	if ( count >= 0 ) {
+    		summary.metadataUsages = new HashMap<>();
+    		for ( int i = 0; i < count; i++ ) {
+    			String className = readString(in);
+    			int usageCount = checkCount(in.readInt(), in);
+    			List<MetadataUsage> usages = new ArrayList<>(usageCount);
+    			for ( int u = 0; u < usageCount; u++ ) {
+    				MetadataUsage usage = new MetadataUsage();
+    				usage.className = readString(in);
+    				usage.traitName = readString(in);
+    				usage.metadata = readMetadata(in);
+    				usages.add(usage);
+    			}
+    			summary.metadataUsages.put(className, usages);
+    		}
+    	}
+
+    	count = readOptionalCount(in);
+    	if ( count >= 0 ) {
+    		summary.types = new HashMap<>();
+    		for ( int i = 0; i < count; i++ ) {
+    			Type type = readType(in);
+    			summary.types.put(type.fullName, type);
+    		}
+    	}
+    	return summary;
+    }
+
+    public byte[] toBytes() throws IOException {
+    	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    	DataOutputStream out = new DataOutputStream(bytes);
+    	out.writeInt(MAGIC);
+
+    	out.writeInt(classNames.size());
+    	for ( int i = 0; i < classNames.size(); i++ ) {
+    		writeString(out, classNames.get(i));
+    		writeString(out, superclassNames.get(i));
+    	}
+
+    	out.writeInt(injectionPoints == null ? -1 : injectionPoints.size());
+    	if ( injectionPoints != null ) {
+    		for ( Map.Entry<String,List<InjectionPoint>> entry : injectionPoints.entrySet() ) {
+    			writeString(out, entry.getKey());
+    			out.writeInt(entry.getValue().size());
+    			for ( InjectionPoint point : entry.getValue() ) {
+    				writeInjectionPoint(out, point);
+    			}
+    		}
+    	}
+
+    	out.writeInt(metadataUsages == null ? -1 : metadataUsages.size());
+    	if ( metadataUsages != null ) {
+    		for ( Map.Entry<String,List<MetadataUsage>> entry : metadataUsages.entrySet() ) {
+    			writeString(out, entry.getKey());
+    			out.writeInt(entry.getValue().size());
+    			for ( MetadataUsage usage : entry.getValue() ) {
+    				writeString(out, usage.className);
+    				writeString(out, usage.traitName);
+    				writeMetadata(out, usage.metadata);
+    			}
+    		}
+    	}
+
+    	out.writeInt(types == null ? -1 : types.size());
+    	if ( types != null ) {
+    		for ( Type type : types.values() ) {
+    			writeType(out, type);
+    		}
+    	}
+
+    	out.flush();
+    	return bytes.toByteArray();
+    }
+
+    private static InjectionPoint readInjectionPoint(DataInputStream in) throws IOException {
+    	int kind = in.readByte();
+    	if ( kind == POST_CONSTRUCT_INJECTION_POINT ) {
+    		PostConstructInjectionPoint point = new PostConstructInjectionPoint();
+    		point.methodName = readString(in);
+    		point.order = in.readInt();
+    		return point;
+    	}
+    	if ( kind != PROPERTY_INJECTION_POINT ) {
+    		throw new IOException("Unknown injection point kind "+kind);
+    	}
+    	PropertyInjectionPoint point = new PropertyInjectionPoint();
+    	point.propertyName = readString(in);
+    	point.propertyType = readString(in);
+    	point.injectionName = readString(in);
+    	return point;
+    }
+
+    private static void writeInjectionPoint(DataOutputStream out, InjectionPoint point) throws IOException {
+    	if ( point instanceof PostConstructInjectionPoint ) {
+    		PostConstructInjectionPoint pcip = (PostConstructInjectionPoint) point;
+    		out.writeByte(POST_CONSTRUCT_INJECTION_POINT);
+    		writeString(out, pcip.methodName);
+    		out.writeInt(pcip.order);
+    	}
+    	else {
+    		PropertyInjectionPoint pip = (PropertyInjectionPoint) point;
+    		out.writeByte(PROPERTY_INJECTION_POINT);
+    		writeString(out, pip.propertyName);
+    		writeString(out, pip.propertyType);
+    		writeString(out, pip.injectionName);
+    	}
+    }
+
+    private static Type readType(DataInputStream in) throws IOException {
+    	Type type = new Type();
+    	type.name = readString(in);
+    	type.fullName = readString(in);
+    	type.clazz = readString(in);
+    	type.isDynamic = in.readBoolean();
+    	type.isInterface = in.readBoolean();
+    	int count = readOptionalCount(in);
+    	if ( count >= 0 ) {
+    		type.interfaces = new ArrayList<>(count);
+    		for ( int i = 0; i < count; i++ ) {
+    			type.interfaces.add(readString(in));
+    		}
+    	}
+    	count = readOptionalCount(in);
+    	if ( count >= 0 ) {
+    		type.fields = new ArrayList<>(count);
+    		for ( int i = 0; i < count; i++ ) {
+    			type.fields.add(readField(in, new Field()));
+    		}
+    	}
+    	count = readOptionalCount(in);
+    	if ( count >= 0 ) {
+    		type.accessors = new ArrayList<>(count);
+    		for ( int i = 0; i < count; i++ ) {
+    			Accessor accessor = readField(in, new Accessor());
+    			String access = readString(in);
+    			accessor.access = access == null ? null : new AccessorAccess(access);
+    			type.accessors.add(accessor);
+    		}
+    	}
+    	type.metadata = readMetadataList(in);
+    	return type;
+    }
+
+    private static void writeType(DataOutputStream out, Type type) throws IOException {
+    	writeString(out, type.name);
+    	writeString(out, type.fullName);
+    	writeString(out, type.clazz);
+    	out.writeBoolean(type.isDynamic);
+    	out.writeBoolean(type.isInterface);
+    	out.writeInt(type.interfaces == null ? -1 : type.interfaces.size());
+    	if ( type.interfaces != null ) {
+    		for ( String iface : type.interfaces ) {
+    			writeString(out, iface);
+    		}
+    	}
+    	out.writeInt(type.fields == null ? -1 : type.fields.size());
+    	if ( type.fields != null ) {
+    		for ( Field field : type.fields ) {
+    			writeField(out, field);
+    		}
+    	}
+    	out.writeInt(type.accessors == null ? -1 : type.accessors.size());
+    	if ( type.accessors != null ) {
+    		for ( Accessor accessor : type.accessors ) {
+    			writeField(out, accessor);
+    			writeString(out, accessor.access == null ? null : accessor.access.name);
+    		}
+    	}
+    	writeMetadataList(out, type.metadata);
+    }
+
+    private static <T extends Field> T readField(DataInputStream in, T field) throws IOException {
+    	field.isStatic = in.readBoolean();
+    	field.name = readString(in);
+    	field.typeName = readString(in);
+    	field.metadata = readMetadataList(in);
+    	return field;
+    }
+
+    private static void writeField(DataOutputStream out, Field field) throws IOException {
+    	out.writeBoolean(field.isStatic);
+    	writeString(out, field.name);
+    	writeString(out, field.typeName);
+    	writeMetadataList(out, field.metadata);
+    }
+
+    private static List<Metadata> readMetadataList(DataInputStream in) throws IOException {
+    	int count = readOptionalCount(in);
+    	if ( count < 0 ) {
+    		return null;
+    	}
+    	List<Metadata> metadata = new ArrayList<>(count);
+    	for ( int i = 0; i < count; i++ ) {
+    		metadata.add(readMetadata(in));
+    	}
+    	return metadata;
+    }
+
+    private static void writeMetadataList(DataOutputStream out, List<Metadata> metadata) throws IOException {
+    	out.writeInt(metadata == null ? -1 : metadata.size());
+    	if ( metadata != null ) {
+    		for ( Metadata md : metadata ) {
+    			writeMetadata(out, md);
+    		}
+    	}
+    }
+
+    private static Metadata readMetadata(DataInputStream in) throws IOException {
+    	if ( !in.readBoolean() ) {
+    		return null;
+    	}
+    	Metadata metadata = new Metadata();
+    	metadata.name = readString(in);
+    	int count = readOptionalCount(in);
+    	if ( count >= 0 ) {
+    		metadata.arguments = new ArrayList<>(count);
+    		for ( int i = 0; i < count; i++ ) {
+    			metadata.arguments.add(new MetadataArgument(readString(in), readString(in)));
+    		}
+    	}
+    	return metadata;
+    }
+
+    private static void writeMetadata(DataOutputStream out, Metadata metadata) throws IOException {
+    	out.writeBoolean(metadata != null);
+    	if ( metadata == null ) {
+    		return;
+    	}
+    	writeString(out, metadata.name);
+    	out.writeInt(metadata.arguments == null ? -1 : metadata.arguments.size());
+    	if ( metadata.arguments != null ) {
+    		for ( MetadataArgument argument : metadata.arguments ) {
+    			writeString(out, argument.key);
+    			writeString(out, argument.value);
+    		}
+    	}
+    }
+
+    /**
+     * Checks the number of elements of a list. Every element takes at least one
+     * byte, so a damaged count is noticed before memory is allocated for it.
+     */
+    private static int checkCount(int count, DataInputStream in) throws IOException {
+    	if ( count < 0 || count > in.available() ) {
+    		throw new IOException("Invalid count "+count+" in block summary");
+    	}
+    	return count;
+    }
+
+    /**
+     * Reads the number of elements of a list that can be null, which is -1 for
+     * a null list.
+     */
+    private static int readOptionalCount(DataInputStream in) throws IOException {
+    	int count = in.readInt();
+    	return count == -1 ? count : checkCount(count, in);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+    	int length = in.readInt();
+    	if ( length < 0 ) {
+    		return null;
+    	}
+    	if ( length > in.available() ) {
+    		throw new IOException("Truncated block summary");
+    	}
+    	byte[] bytes = new byte[length];
+    	in.readFully(bytes);
+    	return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+    	if ( value == null ) {
+    		out.writeInt(-1);
+    		return;
+    	}
+    	byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    	out.writeInt(bytes.length);
+    	out.write(bytes);
+    }
+}
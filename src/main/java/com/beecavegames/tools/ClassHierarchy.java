@@ -0,0 +1,129 @@
+package com.beecavegames.tools;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Superclass and subclass edges between named classes.
+ *
+ * A superclass of "Object" or one that is not one of the classes has no edge.
+ * Subclass edges are grouped by superclass in class order and stored as int
+ * arrays.
+ */
+public class ClassHierarchy {
+
+    private final String[] names;
+    private final String[] superclassNames;
+    private final int[] superclasses;
+    private final int[] subclassStarts;
+    private final int[] subclasses;
+    private final int[] topologicalOrder;
+    private final Map<String,Integer> indexByName;
+
+    /**
+     * Creates the hierarchy of the given classes. The superclass name of a class
+     * is null if the class has no superclass.
+     */
+    public ClassHierarchy(String[] names, String[] superclassNames, Map<String,Integer> indexByName) {
+    	int count = names.length;
+    	this.names = names;
+    	this.superclassNames = superclassNames;
+    	this.indexByName = indexByName;
+
+    	superclasses = new int[count];
+    	for ( int i = 0; i < count; i++ ) {
+    		superclasses[i] = -1;
+    		if ( superclassNames[i] != null && !superclassNames[i].equals("Object") ) {
+    			superclasses[i] = indexOf(superclassNames[i]);
+    		}
+    	}
+
+    	subclassStarts = new int[count+1];
+    	for ( int i = 0; i < count; i++ ) {
+    		if ( superclasses[i] >= 0 ) {
+    			subclassStarts[superclasses[i]+1]++;
+    		}
+    	}
+    	for ( int i = 0; i < count; i++ ) {
+    		subclassStarts[i+1] += subclassStarts[i];
+    	}
+    	subclasses = new int[subclassStarts[count]];
+    	int[] next = Arrays.copyOf(subclassStarts, count);
+    	for ( int i = 0; i < count; i++ ) {
+    		if ( superclasses[i] >= 0 ) {
+    			subclasses[next[superclasses[i]]++] = i;
+    		}
+    	}
+
+    	// Breadth first from the classes without a superclass in the index. Classes
+    	// on a superclass cycle are never reached and go last.
+    	topologicalOrder = new int[count];
+    	boolean[] visited = new boolean[count];
+    	int size = 0;
+    	for ( int i = 0; i < count; i++ ) {
+    		if ( superclasses[i] < 0 ) {
+    			topologicalOrder[size++] = i;
+    			visited[i] = true;
+    		}
+    	}
+    	for ( int head = 0; head < size; head++ ) {
+    		int parent = topologicalOrder[head];
+    		for ( int s = subclassStarts[parent]; s < subclassStarts[parent+1]; s++ ) {
+    			topologicalOrder[size++] = subclasses[s];
+    			visited[subclasses[s]] = true;
+    		}
+    	}
+    	for ( int i = 0; size < count && i < count; i++ ) {
+    		if ( !visited[i] ) {
+    			topologicalOrder[size++] = i;
+    		}
+    	}
+    }
+
+    public String getName(int index) {
+    	return names[index];
+    }
+
+    public int getSubclassCount(int index) {
+    	return subclassStarts[index+1] - subclassStarts[index];
+    }
+
+    /**
+     * Returns the indices of the direct subclasses of a class.
+     */
+    public int[] getSubclasses(int index) {
+    	return Arrays.copyOfRange(subclasses, subclassStarts[index], subclassStarts[index+1]);
+    }
+
+    /**
+     * Returns the index of the superclass of a class, or -1 if the superclass is
+     * "Object" or not one of the classes.
+     */
+    public int getSuperclass(int index) {
+    	return superclasses[index];
+    }
+
+    /**
+     * Returns the name of the superclass of a class, or null if it has none.
+     */
+    public String getSuperclassName(int index) {
+    	return superclassNames[index];
+    }
+
+    /**
+     * Returns the class indices ordered so that every class comes after its
+     * superclass.
+     */
+    public int[] getTopologicalOrder() {
+    	return topologicalOrder.clone();
+    }
+
+    public int indexOf(String className) {
+    	Integer index = indexByName.get(className);
+    	return index == null ? -1 : index;
+    }
+
+    public int size() {
+    	return names.length;
+    }
+}
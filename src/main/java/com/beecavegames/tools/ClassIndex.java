@@ -0,0 +1,218 @@
+package com.beecavegames.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import tv.porst.swfretools.parser.structures.AS3Data;
+import tv.porst.swfretools.parser.structures.ClassInfo;
+import tv.porst.swfretools.parser.structures.EncodedU30;
+import tv.porst.swfretools.parser.structures.InstanceInfo;
+import tv.porst.swfretools.parser.structures.SWFFile;
+import tv.porst.swfretools.parser.structures.TagList;
+import tv.porst.swfretools.parser.tags.DoABCTag;
+import tv.porst.swfretools.parser.tags.Tag;
+import tv.porst.swfretools.utils.ResolverException;
+
+/**
+ * Index of all classes that are defined in the DoABC tags of a SWF file.
+ *
+ * Classes are numbered in the order in which they are first defined. If a
+ * class is defined more than once, the last definition is kept. Superclass,
+ * subclass and interface edges only point to classes in the index and are
+ * stored as int arrays. A superclass of "Object" or one that is not defined
+ * in the file has no edge. The superclass and subclass edges are kept in a
+ * ClassHierarchy.
+ */
+public class ClassIndex {
+
+    private final String[] names;
+    private final AS3Data[] abcData;
+    private final InstanceInfo[] instanceInfos;
+    private final ClassInfo[] classInfos;
+    private final ResolvedConstantPool[] constantPools;
+    private final int[] interfaceStarts;
+    private final int[] interfaces;
+    private final Map<String,Integer> indexByName;
+    private final Map<AS3Data,ResolvedConstantPool> poolByData;
+    private final ClassHierarchy hierarchy;
+
+    private ClassIndex(List<String> names, List<AS3Data> abcData, List<Integer> classNumbers, Map<String,Integer> indexByName,
+    		Map<AS3Data,ResolvedConstantPool> poolByData) throws ResolverException {
+    	int count = names.size();
+    	this.names = names.toArray(new String[count]);
+    	this.abcData = abcData.toArray(new AS3Data[count]);
+    	this.indexByName = indexByName;
+    	this.poolByData = poolByData;
+    	instanceInfos = new InstanceInfo[count];
+    	classInfos = new ClassInfo[count];
+    	constantPools = new ResolvedConstantPool[count];
+    	String[] superclassNames = new String[count];
+
+    	List<Integer> interfaceEdges = new ArrayList<>();
+    	interfaceStarts = new int[count+1];
+
+    	for ( int i = 0; i < count; i++ ) {
+    		int classNumber = classNumbers.get(i);
+    		instanceInfos[i] = this.abcData[i].getInstances().get(classNumber);
+    		classInfos[i] = this.abcData[i].getClasses().get(classNumber);
+    		constantPools[i] = poolByData.get(this.abcData[i]);
+
+    		if ( instanceInfos[i].getSuperName().value() != 0 ) {
+    			superclassNames[i] = constantPools[i].getMultiname(instanceInfos[i].getSuperName().value(), true);
+    		}
+
+    		interfaceStarts[i] = interfaceEdges.size();
+    		for ( EncodedU30 iface : instanceInfos[i].getInterfaces() ) {
+    			int index = indexOf(constantPools[i].getMultiname(iface.value(), true));
+    			if ( index >= 0 ) {
+    				interfaceEdges.add(index);
+    			}
+    		}
+    	}
+    	interfaceStarts[count] = interfaceEdges.size();
+    	interfaces = toArray(interfaceEdges);
+    	hierarchy = new ClassHierarchy(this.names, superclassNames, indexByName);
+    }
+
+    public static ClassIndex build(SWFFile swfFile) throws ResolverException {
+    	return build(swfFile.getTags());
+    }
+
+    public static ClassIndex build(TagList tags) throws ResolverException {
+    	List<AS3Data> abcData = new ArrayList<>();
+    	for ( Tag tag : tags ) {
+    		if ( tag instanceof DoABCTag ) {
+    			abcData.add(((DoABCTag) tag).getAbcData());
+    		}
+    	}
+    	return build(abcData);
+    }
+
+    /**
+     * Builds the index of the classes of the given ABC blocks, in the order in
+     * which the blocks appear in the file.
+     */
+    public static ClassIndex build(List<AS3Data> blocks) throws ResolverException {
+    	List<String> names = new ArrayList<>();
+    	List<AS3Data> abcData = new ArrayList<>();
+    	List<Integer> classNumbers = new ArrayList<>();
+    	Map<String,Integer> indexByName = new HashMap<>();
+    	Map<AS3Data,ResolvedConstantPool> poolByData = new IdentityHashMap<>();
+
+    	for ( AS3Data data : blocks ) {
+    		ResolvedConstantPool pool = new ResolvedConstantPool(data.getConstantPool());
+    		poolByData.put(data, pool);
+
+    		for ( int i = 0; i < data.getClassCount().value(); i++ ) {
+    			String className = pool.getMultiname(data.getInstances().get(i).getName().value(), true);
+    			Integer index = indexByName.get(className);
+    			if ( index == null ) {
+    				indexByName.put(className, names.size());
+    				names.add(className);
+    				abcData.add(data);
+    				classNumbers.add(i);
+    			}
+    			else {
+    				abcData.set(index, data);
+    				classNumbers.set(index, i);
+    			}
+    		}
+    	}
+    	return new ClassIndex(names, abcData, classNumbers, indexByName, poolByData);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+    	int[] result = new int[list.size()];
+    	for ( int i = 0; i < result.length; i++ ) {
+    		result[i] = list.get(i);
+    	}
+    	return result;
+    }
+
+    public AS3Data getAbcData(int index) {
+    	return abcData[index];
+    }
+
+    public ClassInfo getClassInfo(int index) {
+    	return classInfos[index];
+    }
+
+    public ResolvedConstantPool getConstantPool(int index) {
+    	return constantPools[index];
+    }
+
+    /**
+     * Returns the resolved constant pool of an ABC block of the file, or null if
+     * the ABC block is not part of the index.
+     */
+    public ResolvedConstantPool getConstantPool(AS3Data abcData) {
+    	return poolByData.get(abcData);
+    }
+
+    public InstanceInfo getInstanceInfo(int index) {
+    	return instanceInfos[index];
+    }
+
+    /**
+     * Returns the indices of the interfaces a class implements that are
+     * defined in the file.
+     */
+    public int[] getInterfaces(int index) {
+    	return Arrays.copyOfRange(interfaces, interfaceStarts[index], interfaceStarts[index+1]);
+    }
+
+    public String getName(int index) {
+    	return names[index];
+    }
+
+    public ClassHierarchy getHierarchy() {
+    	return hierarchy;
+    }
+
+    public int getSubclassCount(int index) {
+    	return hierarchy.getSubclassCount(index);
+    }
+
+    /**
+     * Returns the indices of the direct subclasses of a class.
+     */
+    public int[] getSubclasses(int index) {
+    	return hierarchy.getSubclasses(index);
+    }
+
+    /**
+     * Returns the index of the superclass of a class, or -1 if the superclass is
+     * "Object" or not defined in the file.
+     */
+    public int getSuperclass(int index) {
+    	return hierarchy.getSuperclass(index);
+    }
+
+    /**
+     * Returns the name of the superclass of a class, or null if it has none.
+     */
+    public String getSuperclassName(int index) {
+    	return hierarchy.getSuperclassName(index);
+    }
+
+    /**
+     * Returns the class indices ordered so that every class comes after its
+     * superclass.
+     */
+    public int[] getTopologicalOrder() {
+    	return hierarchy.getTopologicalOrder();
+    }
+
+    public int indexOf(String className) {
+    	Integer index = indexByName.get(className);
+    	return index == null ? -1 : index;
+    }
+
+    public int size() {
+    	return names.length;
+    }
+}
@@ -0,0 +1,529 @@
+package com.beecavegames.tools;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+
+import com.exadel.flamingo.flex.messaging.amf.io.AMF3Serializer;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.SWFParser;
+import tv.porst.swfretools.parser.SWFParserException;
+import tv.porst.swfretools.parser.tags.TagCodes;
+import tv.porst.swfretools.utils.ResolverException;
+
+/**
+ * Runs InjectTool and ReflectTool in a long-running process, so that builds
+ * that call the tools many times pay for JVM startup and JIT warm-up once.
+ *
+ * The daemon listens on a TCP port of the loopback interface. A client sends
+ * one request per line as a JSON object and gets one JSON object per line
+ * back, in the order of the requests:
+ *
+ *   {"token":"...","cmd":"inject","swf":"main.swf","json":"inject.json","amf":"inject.amf"}
+ *   {"token":"...","cmd":"inject","swf":"main.swf","json":"di.json","metadata":"Inject"}
+ *   {"token":"...","cmd":"reflect","swf":"main.swf","classes":"classes.txt","json":"reflect.json","pretty":true}
+ *   {"token":"...","cmd":"stop"}
+ *
+ * A response is {"ok":true,"millis":12} or {"ok":false,"error":"..."}. Every
+ * request needs a JSON or an AMF output file. Relative names are resolved
+ * against "dir" if the request has one, otherwise against the working
+ * directory of the daemon. Output files must lie inside that directory.
+ *
+ * Other local users can connect to the port too, so every request must carry
+ * the access token of the daemon. The token is chosen at random on startup
+ * and written to the token file, which only the owner can read. Until a
+ * client sent its token it can only hold a limited amount of resources: the
+ * number of open connections is limited, a request line may not be longer
+ * than MAX_LINE_LENGTH characters, and a connection is closed when no data
+ * arrives on it for the connection timeout.
+ *
+ * The class index of the most recently used SWF files is kept in memory and
+ * is used again while the ABC data of the file is the same. Every connection
+ * is served on its own thread, and up to the thread count requests are
+ * processed at the same time. The daemon stops on a "stop" request or after
+ * it was idle for the idle timeout.
+ */
+public class DaemonTool
+{
+	@Option(name="-port", usage="Port to listen on. A free port is chosen if it is 0.", metaVar="[port]", required=false)
+	public int port = 0;
+
+	@Option(name="-port-file", usage="File to which the port is written once the daemon is listening.", metaVar="[file name]", required=false)
+	public String portFilename;
+
+	@Option(name="-token-file", usage="File to which the access token is written. Defaults to the port file name with .token appended.", metaVar="[file name]", required=false)
+	public String tokenFilename;
+
+	@Option(name="-threads", usage="Number of requests to process at the same time.", metaVar="[thread count]", required=false)
+	public int threads = Runtime.getRuntime().availableProcessors();
+
+	@Option(name="-idle-timeout", usage="Seconds without requests after which the daemon stops. It runs until stopped if it is 0.", metaVar="[seconds]", required=false)
+	public int idleTimeout = 600;
+
+	@Option(name="-max-swfs", usage="Number of SWF files whose class index is kept in memory.", metaVar="[count]", required=false)
+	public int maxSwfs = 8;
+
+	@Option(name="-max-connections", usage="Number of connections that are open at the same time. Further connections are closed right away.", metaVar="[count]", required=false)
+	public int maxConnections = 32;
+
+	@Option(name="-connection-timeout", usage="Seconds without data after which a connection is closed.", metaVar="[seconds]", required=false)
+	public int connectionTimeout = 60;
+
+	@Option(name="-quiet", aliases={"-q"}, required=false)
+	public boolean quiet;
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    private static final ParseOptions DECLARATIONS = ParseOptions.decodeOnly(TagCodes.DoABC).withDeclarationsOnly();
+
+    private static final String TOOL = "daemon";
+
+    /**
+     * Longest request line in characters. Longer lines close the connection.
+     */
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    /**
+     * A request line. Fields that are not given are null.
+     */
+    static class Request {
+    	String token;
+    	String cmd;
+    	String dir;
+    	String swf;
+    	String classes;
+    	String json;
+    	String amf;
+    	String metadata;
+    	boolean pretty;
+    }
+
+    static class Response {
+    	boolean ok;
+    	Long millis;
+    	String error;
+    }
+
+    /**
+     * The class index of a SWF file. The index is built from a copy of the file
+     * by the first request that needs it; concurrent requests for the same file
+     * wait for it instead of parsing the file again.
+     */
+    private static class ParsedSwf {
+    	private final FutureTask<ClassIndex> classIndex;
+    	private MetadataIndex metadataIndex;
+
+    	public ParsedSwf(final byte[] fileData) {
+    		classIndex = new FutureTask<>(new Callable<ClassIndex>() {
+    			@Override
+    			public ClassIndex call() throws Exception {
+    				return ClassIndex.build(SWFParser.parse(fileData, DECLARATIONS).getTags());
+    			}
+    		});
+    	}
+
+    	public ClassIndex getClassIndex() throws IOException, InterruptedException {
+    		classIndex.run();
+    		try {
+    			return classIndex.get();
+    		}
+    		catch ( ExecutionException e ) {
+    			throw new IOException(e.getCause().getMessage(), e.getCause());
+    		}
+    	}
+
+    	public synchronized MetadataIndex getMetadataIndex() throws IOException, InterruptedException {
+    		if ( metadataIndex == null ) {
+    			metadataIndex = MetadataIndex.build(getClassIndex());
+    		}
+    		return metadataIndex;
+    	}
+    }
+
+    private Map<String,ParsedSwf> parsedSwfs;
+    private byte[] token;
+    private Semaphore permits;
+    private Semaphore connections;
+    private volatile long lastActivity;
+    private volatile boolean stopped;
+
+    public static void main( String[] args ) throws IOException, InterruptedException {
+    	DaemonTool dt = new DaemonTool();
+    	dt.doMain(args);
+    }
+
+    private void doMain(String[] args) throws IOException, InterruptedException {
+
+    	CmdLineParser parser = new CmdLineParser(this);
+
+    	try {
+    		parser.parseArgument(args);
+    		if ( threads < 1 ) {
+    			throw new CmdLineException(parser, new UsageMessage("Thread count must be positive."));
+    		}
+    		if ( maxSwfs < 1 ) {
+    			throw new CmdLineException(parser, new UsageMessage("At least one SWF file must be kept in memory."));
+    		}
+    		if ( maxConnections < 1 ) {
+    			throw new CmdLineException(parser, new UsageMessage("At least one connection must be allowed."));
+    		}
+    		if ( connectionTimeout < 1 ) {
+    			throw new CmdLineException(parser, new UsageMessage("Connection timeout must be positive."));
+    		}
+    		if ( tokenFilename == null ) {
+    			if ( portFilename == null ) {
+    				throw new CmdLineException(parser, new UsageMessage("No port file or token file specified."));
+    			}
+    			tokenFilename = portFilename+".token";
+    		}
+    	}
+    	catch ( CmdLineException e ) {
+    		System.err.println(e.getMessage());
+    		parser.printUsage(System.err);
+    		return;
+    	}
+
+    	parsedSwfs = new LinkedHashMap<String,ParsedSwf>(16, 0.75f, true) {
+    		private static final long serialVersionUID = 1L;
+    		@Override
+    		protected boolean removeEldestEntry(Map.Entry<String,ParsedSwf> eldest) {
+    			return size() > maxSwfs;
+    		}
+    	};
+
+    	permits = new Semaphore(threads);
+    	connections = new Semaphore(maxConnections);
+
+    	ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+    		private int count = 0;
+    		@Override
+    		public synchronized Thread newThread(Runnable r) {
+    			Thread thread = new Thread(r, "daemon-"+(++count));
+    			thread.setDaemon(true);
+    			return thread;
+    		}
+    	});
+
+    	String hexToken = createToken();
+    	token = hexToken.getBytes(StandardCharsets.UTF_8);
+    	writeToken(Paths.get(tokenFilename), hexToken);
+
+    	try ( ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress()) ) {
+    		if ( portFilename != null ) {
+    			Files.write(Paths.get(portFilename), Integer.toString(server.getLocalPort()).getBytes(StandardCharsets.UTF_8));
+    		}
+    		System.out.println("Listening on "+server.getInetAddress().getHostAddress()+":"+server.getLocalPort());
+
+    		// Wake up regularly to check for the idle timeout and for a stop request.
+    		server.setSoTimeout(1000);
+    		lastActivity = System.nanoTime();
+    		while ( !stopped ) {
+    			final Socket socket;
+    			try {
+    				socket = server.accept();
+    			}
+    			catch ( SocketTimeoutException e ) {
+    				if ( isIdle() ) {
+    					System.out.println("Stopping after "+idleTimeout+" s without requests.");
+    					break;
+    				}
+    				continue;
+    			}
+    			if ( !connections.tryAcquire() ) {
+    				logInfo("Closing a connection because "+maxConnections+" connections are open.");
+    				socket.close();
+    				continue;
+    			}
+    			socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(connectionTimeout));
+    			executor.execute(new Runnable() {
+    				@Override
+    				public void run() {
+    					serve(socket);
+    				}
+    			});
+    		}
+    	}
+    	finally {
+    		// Let the requests in progress finish. Open connections are dropped.
+    		executor.shutdown();
+    		permits.acquire(threads);
+    	}
+    }
+
+    private static String createToken() {
+    	byte[] bytes = new byte[32];
+    	new SecureRandom().nextBytes(bytes);
+    	StringBuilder hex = new StringBuilder();
+    	for ( byte b : bytes ) {
+    		hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    	}
+    	return hex.toString();
+    }
+
+    /**
+     * Writes the access token to a new file that only the owner can read and
+     * write. A file left over from an earlier run is replaced.
+     */
+    private static void writeToken(Path path, String hexToken) throws IOException {
+    	Files.deleteIfExists(path);
+    	try {
+    		Files.createFile(path, PosixFilePermissions.asFileAttribute(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+    	}
+    	catch ( UnsupportedOperationException e ) {
+    		// Not a POSIX file system. The file gets the default permissions of its directory.
+    		Files.createFile(path);
+    	}
+    	Files.write(path, hexToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean isIdle() {
+    	return idleTimeout > 0 && permits.availablePermits() == threads
+    			&& System.nanoTime() - lastActivity >= TimeUnit.SECONDS.toNanos(idleTimeout);
+    }
+
+    /**
+     * Answers the requests of one connection until the client closes it.
+     */
+    private void serve(Socket socket) {
+    	try ( Socket s = socket;
+    			BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+    			Writer out = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8) ) {
+    		String line;
+    		while ( (line = readLine(in)) != null ) {
+    			if ( line.trim().isEmpty() ) {
+    				continue;
+    			}
+    			out.write(GSON.toJson(handle(line)));
+    			out.write('\n');
+    			out.flush();
+    			if ( stopped ) {
+    				break;
+    			}
+    		}
+    	}
+    	catch ( IOException e ) {
+    		logInfo("Connection failed: "+e);
+    	}
+    	finally {
+    		connections.release();
+    	}
+    }
+
+    /**
+     * Reads a line of at most MAX_LINE_LENGTH characters, without the line
+     * terminator. Returns null at the end of the stream.
+     */
+    static String readLine(Reader in) throws IOException {
+    	StringBuilder line = new StringBuilder();
+    	int c;
+    	while ( (c = in.read()) != -1 ) {
+    		if ( c == '\n' ) {
+    			break;
+    		}
+    		if ( line.length() == MAX_LINE_LENGTH ) {
+    			throw new IOException("Request line longer than "+MAX_LINE_LENGTH+" characters");
+    		}
+    		line.append((char) c);
+    	}
+    	if ( c == -1 && line.length() == 0 ) {
+    		return null;
+    	}
+    	int length = line.length();
+    	if ( length > 0 && line.charAt(length - 1) == '\r' ) {
+    		line.setLength(length - 1);
+    	}
+    	return line.toString();
+    }
+
+    private Response handle(String line) {
+    	long start = System.nanoTime();
+    	Response response = new Response();
+    	Request request = null;
+    	try {
+    		request = GSON.fromJson(line, Request.class);
+    		if ( request == null || !isAuthorized(request.token) ) {
+    			response.error = "Missing or wrong access token.";
+    			logInfo("Rejected a request without a valid access token.");
+    			return response;
+    		}
+    		if ( request.cmd == null ) {
+    			throw new IllegalArgumentException("No command given.");
+    		}
+    		permits.acquire();
+    		try {
+    			process(request);
+    		}
+    		finally {
+    			lastActivity = System.nanoTime();
+    			permits.release();
+    		}
+    		response.ok = true;
+    		response.millis = (System.nanoTime() - start) / 1000000;
+    		logInfo(describe(request)+" in "+response.millis+" ms");
+    	}
+    	catch ( IllegalArgumentException e ) {
+    		response.error = e.getMessage();
+    		// The request line is not logged because it contains the access token.
+    		logInfo("Failed "+describe(request)+": "+response.error);
+    	}
+    	catch ( InterruptedException e ) {
+    		Thread.currentThread().interrupt();
+    		response.error = "Interrupted";
+    	}
+    	catch ( IOException | ResolverException | RuntimeException e ) {
+    		// Malformed request lines end up here as JsonParseException.
+    		response.error = e.toString();
+    		logInfo("Failed "+describe(request)+": "+response.error);
+    	}
+    	return response;
+    }
+
+    private static String describe(Request request) {
+    	if ( request == null || request.cmd == null ) {
+    		return "request";
+    	}
+    	return request.cmd+(request.swf != null ? " "+request.swf : "");
+    }
+
+    private boolean isAuthorized(String requestToken) {
+    	return requestToken != null && MessageDigest.isEqual(token, requestToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void process(Request request) throws IOException, ResolverException, InterruptedException {
+    	if ( request.cmd.equals("stop") ) {
+    		stopped = true;
+    		return;
+    	}
+    	if ( !request.cmd.equals("inject") && !request.cmd.equals("reflect") ) {
+    		throw new IllegalArgumentException("Unknown command "+request.cmd+", expected inject, reflect or stop.");
+    	}
+    	if ( request.swf == null ) {
+    		throw new IllegalArgumentException("No SWF file specified.");
+    	}
+    	if ( request.json == null && request.amf == null ) {
+    		throw new IllegalArgumentException("No JSON or AMF output file specified.");
+    	}
+
+    	Path base = Paths.get(request.dir != null ? request.dir : "").toAbsolutePath().normalize();
+    	Path jsonPath = request.json != null ? resolveOutput(base, request.json) : null;
+    	Path amfPath = request.amf != null ? resolveOutput(base, request.amf) : null;
+    	ParsedSwf swf = getParsedSwf(base.resolve(request.swf));
+
+    	Object output;
+    	if ( request.cmd.equals("inject") ) {
+    		ClassIndex classIndex = swf.getClassIndex();
+    		if ( request.metadata != null ) {
+    			output = InjectTool.findMetadataUsages(classIndex, swf.getMetadataIndex(), request.metadata);
+    		}
+    		else {
+    			output = InjectTool.computeInjectionPoints(classIndex, swf.getMetadataIndex());
+    		}
+    	}
+    	else {
+    		if ( request.classes == null ) {
+    			throw new IllegalArgumentException("No class list file specified.");
+    		}
+    		// The tool keeps the class list and the index of the file being reflected.
+    		ReflectTool reflectTool = new ReflectTool();
+    		reflectTool.quiet = true;
+    		reflectTool.loadClassList(base.resolve(request.classes));
+    		output = reflectTool.computeReflectionData(swf.getClassIndex());
+    	}
+
+    	if ( request.json != null ) {
+    		JsonOutput.write(output, jsonPath, request.pretty);
+    	}
+    	if ( request.amf != null ) {
+    		ByteArrayOutputStream out = new ByteArrayOutputStream();
+    		try ( AMF3Serializer amfOut = new AMF3Serializer(out) ) {
+    			amfOut.writeObject(output);
+    		}
+    		Files.write(amfPath, out.toByteArray());
+    	}
+    }
+
+    /**
+     * Resolves the name of an output file against the base directory of a
+     * request. The file must lie inside the base directory, also after
+     * symbolic links of its directory are followed.
+     */
+    private static Path resolveOutput(Path base, String name) throws IOException {
+    	Path path = Paths.get(name);
+    	if ( path.isAbsolute() ) {
+    		throw new IllegalArgumentException("Output file "+name+" must be relative.");
+    	}
+    	path = base.resolve(path).normalize();
+    	if ( !path.startsWith(base) || path.equals(base) ) {
+    		throw new IllegalArgumentException("Output file "+name+" is not inside "+base+".");
+    	}
+    	Path directory = path.getParent().toRealPath();
+    	if ( !directory.startsWith(base.toRealPath()) ) {
+    		throw new IllegalArgumentException("Output file "+name+" is not inside "+base+".");
+    	}
+    	return directory.resolve(path.getFileName());
+    }
+
+    /**
+     * Returns the class index of a SWF file from memory, or a new one if no file
+     * with the same ABC data was parsed yet. The file is read into memory, so it
+     * can be changed while it is parsed.
+     */
+    private ParsedSwf getParsedSwf(Path path) throws IOException {
+    	byte[] fileData = Files.readAllBytes(path);
+    	String key;
+    	try {
+    		key = ResultCache.key(SWFParser.parse(fileData, ParseOptions.lazy()), TOOL);
+    	}
+    	catch ( SWFParserException e ) {
+    		throw new IOException(e.getMessage(), e);
+    	}
+    	synchronized ( parsedSwfs ) {
+    		ParsedSwf swf = parsedSwfs.get(key);
+    		if ( swf == null ) {
+    			swf = new ParsedSwf(fileData);
+    			parsedSwfs.put(key, swf);
+    		}
+    		return swf;
+    	}
+    }
+
+    public void logInfo(String msg) {
+    	if ( !quiet ) {
+    		System.out.println(msg);
+    	}
+    }
+}
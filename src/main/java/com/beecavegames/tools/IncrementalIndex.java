@@ -0,0 +1,202 @@
+package com.beecavegames.tools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.ParserError;
+import tv.porst.swfretools.parser.structures.AS3Data;
+import tv.porst.swfretools.parser.structures.SWFFile;
+import tv.porst.swfretools.parser.tags.DoABCTag;
+import tv.porst.swfretools.parser.tags.LazyTag;
+import tv.porst.swfretools.parser.tags.Tag;
+import tv.porst.swfretools.parser.tags.TagCodes;
+import tv.porst.swfretools.utils.ResolverException;
+
+/**
+ * Classes of the DoABC tags of a SWF file, assembled from one summary per ABC
+ * block.
+ *
+ * Summaries are cached by the hash of the block, so only the blocks that
+ * changed since an earlier run are decoded. The summaries are merged like
+ * ClassIndex merges the blocks: classes are numbered in the order in which they
+ * are first defined, and the last definition of a class is kept.
+ */
+public class IncrementalIndex {
+
+    public interface Summarizer {
+    	/**
+    	 * Returns true if a cached summary has the tool specific fields that
+    	 * summarize() fills. Other cached summaries are summarized again.
+    	 */
+    	boolean accepts(BlockSummary summary);
+
+    	/**
+    	 * Fills the tool specific fields of the summary of one ABC block.
+    	 */
+    	void summarize(ClassIndex blockIndex, BlockSummary summary) throws ResolverException;
+    }
+
+    private static final ParseOptions DECLARATIONS = ParseOptions.decodeOnly(TagCodes.DoABC).withDeclarationsOnly();
+
+    private final ResultCache cache;
+    private final List<LazyTag> blocks;
+    private final String[] keys;
+    private final BlockSummary[] summaries;
+    private final ClassIndex[] blockIndices;
+    private final boolean[] changed;
+    private final int[] owners;
+    private final ClassHierarchy hierarchy;
+
+    private IncrementalIndex(ResultCache cache, List<LazyTag> blocks, String[] keys, BlockSummary[] summaries, ClassIndex[] blockIndices) {
+    	this.cache = cache;
+    	this.blocks = blocks;
+    	this.keys = keys;
+    	this.summaries = summaries;
+    	this.blockIndices = blockIndices;
+    	changed = new boolean[blocks.size()];
+
+    	List<String> names = new ArrayList<>();
+    	List<String> superclassNames = new ArrayList<>();
+    	List<Integer> ownerList = new ArrayList<>();
+    	Map<String,Integer> indexByName = new HashMap<>();
+    	for ( int b = 0; b < blocks.size(); b++ ) {
+    		changed[b] = blockIndices[b] != null;
+    		for ( int i = 0; i < summaries[b].classNames.size(); i++ ) {
+    			String className = summaries[b].classNames.get(i);
+    			Integer index = indexByName.get(className);
+    			if ( index == null ) {
+    				indexByName.put(className, names.size());
+    				names.add(className);
+    				superclassNames.add(summaries[b].superclassNames.get(i));
+    				ownerList.add(b);
+    			}
+    			else {
+    				superclassNames.set(index, summaries[b].superclassNames.get(i));
+    				ownerList.set(index, b);
+    			}
+    		}
+    	}
+    	owners = new int[ownerList.size()];
+    	for ( int i = 0; i < owners.length; i++ ) {
+    		owners[i] = ownerList.get(i);
+    	}
+    	hierarchy = new ClassHierarchy(names.toArray(new String[names.size()]), superclassNames.toArray(new String[names.size()]), indexByName);
+    }
+
+    /**
+     * Builds the index of a SWF file that was parsed with ParseOptions.lazy().
+     * The blocks whose summary is not cached for the tool and options are
+     * decoded without method bodies and summarized. New summaries are only
+     * cached by store().
+     */
+    public static IncrementalIndex build(SWFFile swfFile, ResultCache cache, Summarizer summarizer, String tool, String... options)
+    		throws IOException, ResolverException {
+    	List<LazyTag> blocks = new ArrayList<>();
+    	for ( Tag tag : swfFile.getTags() ) {
+    		if ( tag instanceof LazyTag && tag.getHeader().getTagCode() == TagCodes.DoABC ) {
+    			blocks.add((LazyTag) tag);
+    		}
+    	}
+
+    	String[] keys = new String[blocks.size()];
+    	BlockSummary[] summaries = new BlockSummary[blocks.size()];
+    	ClassIndex[] blockIndices = new ClassIndex[blocks.size()];
+    	for ( int b = 0; b < blocks.size(); b++ ) {
+    		keys[b] = ResultCache.blockKey(blocks.get(b), tool, options);
+    		byte[] data = cache.load(keys[b], ResultCache.SUMMARY);
+    		if ( data != null ) {
+    			try {
+    				summaries[b] = BlockSummary.read(data);
+    				if ( summarizer.accepts(summaries[b]) ) {
+    					continue;
+    				}
+    			}
+    			catch ( IOException e ) {
+    				// Damaged entry, summarize the block again.
+    			}
+    		}
+    		blockIndices[b] = decode(blocks.get(b));
+    		summaries[b] = new BlockSummary();
+    		for ( int i = 0; i < blockIndices[b].size(); i++ ) {
+    			summaries[b].classNames.add(blockIndices[b].getName(i));
+    			summaries[b].superclassNames.add(blockIndices[b].getSuperclassName(i));
+    		}
+    		summarizer.summarize(blockIndices[b], summaries[b]);
+    	}
+    	return new IncrementalIndex(cache, blocks, keys, summaries, blockIndices);
+    }
+
+    private static ClassIndex decode(LazyTag block) throws ResolverException {
+    	Tag tag = block.decode(DECLARATIONS, new ArrayList<ParserError>());
+    	if ( !(tag instanceof DoABCTag) ) {
+    		return ClassIndex.build(Collections.<AS3Data>emptyList());
+    	}
+    	return ClassIndex.build(Collections.singletonList(((DoABCTag) tag).getAbcData()));
+    }
+
+    public int getBlockCount() {
+    	return blocks.size();
+    }
+
+    /**
+     * Returns the index of the decoded block that holds the last definition of a
+     * class. The block is decoded if its summary came from the cache.
+     */
+    public ClassIndex getBlockIndex(int index) throws ResolverException {
+    	int b = owners[index];
+    	if ( blockIndices[b] == null ) {
+    		blockIndices[b] = decode(blocks.get(b));
+    	}
+    	return blockIndices[b];
+    }
+
+    /**
+     * Returns the number of blocks that were decoded because their summary was
+     * not cached or was extended.
+     */
+    public int getDecodedBlockCount() {
+    	int count = 0;
+    	for ( ClassIndex blockIndex : blockIndices ) {
+    		if ( blockIndex != null ) {
+    			count++;
+    		}
+    	}
+    	return count;
+    }
+
+    public ClassHierarchy getHierarchy() {
+    	return hierarchy;
+    }
+
+    /**
+     * Returns the summary of the block that holds the last definition of a class.
+     */
+    public BlockSummary getSummary(int index) {
+    	return summaries[owners[index]];
+    }
+
+    /**
+     * Marks the summary of the block that holds the last definition of a class as
+     * changed, so that store() caches it again.
+     */
+    public void markChanged(int index) {
+    	changed[owners[index]] = true;
+    }
+
+    /**
+     * Caches the summaries that were created or changed.
+     */
+    public void store() throws IOException {
+    	for ( int b = 0; b < blocks.size(); b++ ) {
+    		if ( changed[b] ) {
+    			cache.store(keys[b], ResultCache.SUMMARY, summaries[b].toBytes());
+    			changed[b] = false;
+    		}
+    	}
+    }
+}
@@ -1,40 +1,33 @@
 package com.beecavegames.tools;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.swing.tree.DefaultMutableTreeNode;
-
+import org.as3commons.reflect.Metadata;
+import org.as3commons.reflect.MetadataArgument;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
-import org.kohsuke.args4j.spi.Messages;
 import org.swiftsuspenders.injectionpoints.InjectionPoint;
 import org.swiftsuspenders.injectionpoints.PostConstructInjectionPoint;
 import org.swiftsuspenders.injectionpoints.PropertyInjectionPoint;
 
 import com.beecavegames.dataModel.ClassInjectionPointData;
+import com.beecavegames.dataModel.MetadataUsage;
 import com.exadel.flamingo.flex.messaging.amf.io.AMF3Serializer;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
+import tv.porst.swfretools.parser.ParseOptions;
 import tv.porst.swfretools.parser.SWFParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.AS3Data;
-import tv.porst.swfretools.parser.structures.EncodedU30;
-import tv.porst.swfretools.parser.structures.InstanceInfo;
-import tv.porst.swfretools.parser.structures.ItemInfo;
-import tv.porst.swfretools.parser.structures.MetaData;
 import tv.porst.swfretools.parser.structures.MethodInfo;
 import tv.porst.swfretools.parser.structures.SWFFile;
 import tv.porst.swfretools.parser.structures.TagList;
@@ -42,39 +35,57 @@ import tv.porst.swfretools.parser.structures.TraitMethod;
 import tv.porst.swfretools.parser.structures.TraitSetter;
 import tv.porst.swfretools.parser.structures.TraitSlot;
 import tv.porst.swfretools.parser.structures.TraitsInfo;
-import tv.porst.swfretools.parser.tags.DoABCTag;
-import tv.porst.swfretools.parser.tags.Tag;
+import tv.porst.swfretools.parser.tags.TagCodes;
 import tv.porst.swfretools.utils.ResolverException;
 
 public class InjectTool
 {
-	@Option(name="-swf", usage="Name of SWF file to process.", metaVar="[SWF name]", required=true)
-	public String swfName;
+	@Option(name="-swf", usage="Name of SWF file to process. Can be given several times.", metaVar="[SWF name]", required=false)
+	public List<String> swfNames = new ArrayList<>();
 
-	@Option(name="-json", usage="Name of JSON output file.", metaVar="[JSON file name]", required=false)
-	public String jsonFilename;
+	@Option(name="-json", usage="Name of JSON output file, one per SWF file.", metaVar="[JSON file name]", required=false)
+	public List<String> jsonFilenames = new ArrayList<>();
 	
-	@Option(name="-amf", usage="Name of AMF output file.", metaVar="[AMF file name]", required=false)
-	public String amfFilename;
+	@Option(name="-amf", usage="Name of AMF output file, one per SWF file.", metaVar="[AMF file name]", required=false)
+	public List<String> amfFilenames = new ArrayList<>();
+
+	@Option(name="-manifest", usage="Text file listing SWF files to process, one per line, each followed by its JSON and AMF file names or \"-\".", metaVar="[manifest file name]", required=false)
+	public String manifestFilename;
+
+	@Option(name="-threads", usage="Number of SWF files to process at the same time in batch mode.", metaVar="[thread count]", required=false)
+	public int threads = Runtime.getRuntime().availableProcessors();
+
+	@Option(name="-cache-dir", usage="Directory in which outputs are cached by the ABC data of the SWF file and the options.", metaVar="[directory]", required=false)
+	public String cacheDirectory;
+
+	@Option(name="-cache-size", usage="Size bound of the cache in MB. The least recently used outputs are deleted first.", metaVar="[MB]", required=false)
+	public long cacheSize = 256;
+
+	@Option(name="-pretty", usage="Indent the JSON output. It is written without whitespace by default.", required=false)
+	public boolean pretty;
 
 	@Option(name="-quiet", aliases={"-q"}, required=false)
 	public boolean quiet;
+
+	@Option(name="-metadata", usage="Output the traits annotated with this metadata instead of the injection points.", metaVar="[metadata name]", required=false)
+	public String metadataName;
 	
-    public static void main( String[] args ) throws IOException, SWFParserException, ResolverException {
+    private ResultCache cache;
+
+    public static void main( String[] args ) throws IOException, SWFParserException, ResolverException, InterruptedException {
     	InjectTool it = new InjectTool();
     	it.doMain(args);
     }
     
-    private void doMain(String[] args) throws IOException, SWFParserException, ResolverException {
+    private void doMain(String[] args) throws IOException, SWFParserException, ResolverException, InterruptedException {
     	
     	CmdLineParser parser = new CmdLineParser(this);
+    	List<BatchJob> jobs;
 
     	try {
     		parser.parseArgument(args);
-    		if ( swfName == null ) {
-    			throw new CmdLineException(parser, Messages.valueOf("No SWF file specified."));
-    		}
-    		if ( jsonFilename == null && amfFilename == null ) {
+    		jobs = BatchJob.fromCommandLine(parser, swfNames, jsonFilenames, amfFilenames, manifestFilename);
+    		if ( !BatchJob.isBatch(jobs, manifestFilename) && !jobs.get(0).hasOutputFile() ) {
     			System.out.println("No JSON or AMF output files specified, will print JSON to stdout.");
     		}
     	}
@@ -84,45 +95,169 @@ public class InjectTool
     		return;
     	}
 
-   		logInfo("Parsing "+swfName);
-   		
-    	File file = new File(swfName);
-    	SWFFile swfFile = SWFParser.parse(file);
-    	TagList tags = swfFile.getTags();
-    	
-    	ClassInjectionPointData output = computeInjectionPoints(tags);
+    	if ( cacheDirectory != null ) {
+    		cache = new ResultCache(Paths.get(cacheDirectory), cacheSize * 1024 * 1024);
+    	}
+
+    	if ( !BatchJob.isBatch(jobs, manifestFilename) ) {
+    		process(jobs.get(0));
+    		return;
+    	}
+
+    	int failures = new BatchRunner(threads, quiet).run(jobs, new BatchRunner.JobProcessor() {
+    		@Override
+    		public void process(BatchJob job) throws Exception {
+    			InjectTool.this.process(job);
+    		}
+    	});
+    	if ( failures > 0 ) {
+    		throw new IOException(failures+" of "+jobs.size()+" SWF files failed.");
+    	}
+    }
+
+    private void process(BatchJob job) throws IOException, SWFParserException, ResolverException {
     	
-    	logInfo("Found "+output.injectionPoints.size()+" unique injection points in "+output.classInjectionPoints.size()+" classes.");
+    	String cacheKey = null;
+    	String jsonCacheKey = null;
+    	SWFFile indexedFile = null;
+    	if ( cache != null ) {
+    		indexedFile = SWFParser.parse(Paths.get(job.swfName), ParseOptions.lazy());
+    		cacheKey = ResultCache.key(indexedFile, "InjectTool", metadataName);
+    		jsonCacheKey = ResultCache.variantKey(cacheKey, pretty ? "pretty" : "compact");
+    		if ( cache.restore(jsonCacheKey, cacheKey, job) ) {
+    			logInfo("Restored output of "+job.swfName+" from cache");
+    			return;
+    		}
+    	}
 
-    	boolean printOutput = (amfFilename == null && jsonFilename == null);
+   		logInfo("Parsing "+job.swfName);
+   		
+    	ClassIndex classIndex = null;
+    	MetadataIndex metadataIndex = null;
+    	IncrementalIndex incrementalIndex = null;
+    	if ( indexedFile != null ) {
+    		incrementalIndex = buildIncrementalIndex(indexedFile);
+    		logInfo("Decoded "+incrementalIndex.getDecodedBlockCount()+" of "+incrementalIndex.getBlockCount()+" ABC blocks.");
+    	}
+    	else {
+	    	SWFFile swfFile = SWFParser.parse(Paths.get(job.swfName), ParseOptions.decodeOnly(TagCodes.DoABC).withDeclarationsOnly());
+	    	TagList tags = swfFile.getTags();
+	    	
+	    	classIndex = ClassIndex.build(tags);
+	    	metadataIndex = MetadataIndex.build(classIndex);
+    	}
     	
-    	if ( (jsonFilename != null) || printOutput ) {
-	    	Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    	Object output;
+    	if ( metadataName != null ) {
+    		List<MetadataUsage> usages = ( incrementalIndex != null ) ? mergeMetadataUsages(incrementalIndex)
+    				: findMetadataUsages(classIndex, metadataIndex, metadataName);
+    		logInfo("Found "+usages.size()+" traits with ["+metadataName+"] metadata.");
+    		output = usages;
+    	}
+    	else {
+    		ClassInjectionPointData injectionPoints = ( incrementalIndex != null ) ? computeInjectionPoints(incrementalIndex.getHierarchy(), mergeInjectionPoints(incrementalIndex))
+    				: computeInjectionPoints(classIndex, metadataIndex);
+    		logInfo("Found "+injectionPoints.injectionPoints.size()+" unique injection points in "+injectionPoints.classInjectionPoints.size()+" classes.");
+    		output = injectionPoints;
+    	}
 
-	    	String json = gson.toJson(output);
-	    	if ( printOutput ) {
-	    		System.out.println(json);
+    	boolean printOutput = !job.hasOutputFile();
+    	
+    	if ( printOutput ) {
+	    	if ( cacheKey != null ) {
+	    		byte[] json = JsonOutput.toBytes(output, pretty);
+	    		cache.store(jsonCacheKey, ResultCache.JSON, json);
+	    		System.out.write(json);
+	    		System.out.println();
 	    	}
 	    	else {
-	    		System.out.println("Saving "+jsonFilename);
-	    		Path jsonPath = Paths.get(jsonFilename);
-	    		Files.write(jsonPath, json.getBytes());
+	    		JsonOutput.print(output, pretty);
+	    	}
+    	}
+    	else if ( job.jsonFilename != null ) {
+	    	System.out.println("Saving "+job.jsonFilename);
+	    	Path jsonPath = Paths.get(job.jsonFilename);
+	    	JsonOutput.write(output, jsonPath, pretty);
+	    	if ( cacheKey != null ) {
+	    		cache.store(jsonCacheKey, ResultCache.JSON, jsonPath);
 	    	}
     	}
     	
-    	if ( amfFilename != null ) {
+    	if ( job.amfFilename != null ) {
 	    	// Convert to AMF
 	    	ByteArrayOutputStream out = new ByteArrayOutputStream();
 	    	try ( AMF3Serializer amfOut = new AMF3Serializer(out) ) {
 	    		amfOut.writeObject(output);    		
 	    	}
 	    	byte[] amf = out.toByteArray();
-	    	System.out.println("Saving "+amfFilename);
-	    	Path path = Paths.get(amfFilename);
+	    	if ( cacheKey != null ) {
+	    		cache.store(cacheKey, ResultCache.AMF, amf);
+	    	}
+	    	System.out.println("Saving "+job.amfFilename);
+	    	Path path = Paths.get(job.amfFilename);
 	    	Files.write(path, amf);
     	}
     }
     
+    /**
+     * Summarizes the ABC blocks of the file whose summaries are not cached yet.
+     * A summary holds the injection points or metadata usages that the classes
+     * of the block declare.
+     */
+    private IncrementalIndex buildIncrementalIndex(SWFFile indexedFile) throws IOException, ResolverException {
+    	IncrementalIndex index = IncrementalIndex.build(indexedFile, cache, new IncrementalIndex.Summarizer() {
+    		@Override
+    		public boolean accepts(BlockSummary summary) {
+    			return metadataName != null ? summary.metadataUsages != null : summary.injectionPoints != null;
+    		}
+
+    		@Override
+    		public void summarize(ClassIndex blockIndex, BlockSummary summary) throws ResolverException {
+    			MetadataIndex metadataIndex = MetadataIndex.build(blockIndex);
+    			if ( metadataName != null ) {
+    				summary.metadataUsages = new HashMap<>();
+    				for ( MetadataUsage usage : findMetadataUsages(blockIndex, metadataIndex, metadataName) ) {
+    					List<MetadataUsage> classUsages = summary.metadataUsages.get(usage.className);
+    					if ( classUsages == null ) {
+    						classUsages = new ArrayList<>();
+    						summary.metadataUsages.put(usage.className, classUsages);
+    					}
+    					classUsages.add(usage);
+    				}
+    			}
+    			else {
+    				summary.injectionPoints = findInjectionPoints(blockIndex, metadataIndex);
+    			}
+    		}
+    	}, "InjectTool", metadataName);
+    	index.store();
+    	return index;
+    }
+
+    private static Map<String, List<InjectionPoint>> mergeInjectionPoints(IncrementalIndex index) {
+    	Map<String, List<InjectionPoint>> injections = new HashMap<>();
+    	ClassHierarchy hierarchy = index.getHierarchy();
+    	for ( int c = 0; c < hierarchy.size(); c++ ) {
+    		List<InjectionPoint> classInjections = index.getSummary(c).injectionPoints.get(hierarchy.getName(c));
+    		if ( classInjections != null ) {
+    			injections.put(hierarchy.getName(c), new ArrayList<>(classInjections));
+    		}
+    	}
+    	return injections;
+    }
+
+    private static List<MetadataUsage> mergeMetadataUsages(IncrementalIndex index) {
+    	List<MetadataUsage> usages = new ArrayList<>();
+    	ClassHierarchy hierarchy = index.getHierarchy();
+    	for ( int c = 0; c < hierarchy.size(); c++ ) {
+    		List<MetadataUsage> classUsages = index.getSummary(c).metadataUsages.get(hierarchy.getName(c));
+    		if ( classUsages != null ) {
+    			usages.addAll(classUsages);
+    		}
+    	}
+    	return usages;
+    }
+
     public void logInfo(String msg) {
     	if ( !quiet ) {
     		System.out.println(msg);
@@ -130,78 +265,67 @@ public class InjectTool
     }
     
     public static ClassInjectionPointData computeInjectionPoints(TagList tags) throws ResolverException {
+    	return computeInjectionPoints(ClassIndex.build(tags));
+    }
+
+    public static ClassInjectionPointData computeInjectionPoints(ClassIndex classIndex) throws ResolverException {
+    	return computeInjectionPoints(classIndex, MetadataIndex.build(classIndex));
+    }
+
+    public static ClassInjectionPointData computeInjectionPoints(ClassIndex classIndex, MetadataIndex metadataIndex) throws ResolverException {
+    	return computeInjectionPoints(classIndex.getHierarchy(), findInjectionPoints(classIndex, metadataIndex));
+    }
+
+    /**
+     * Returns the injection points that every class declares itself, without the
+     * ones it inherits.
+     */
+    public static Map<String, List<InjectionPoint>> findInjectionPoints(ClassIndex classIndex, MetadataIndex metadataIndex) throws ResolverException {
 
 		Map<String, List<InjectionPoint>> injections = new HashMap<>();
-		Map<String, String> superclasses = new HashMap<>();
-
-    	for ( Tag tag : tags ) {
-    		if ( tag instanceof DoABCTag ) {
-    			DoABCTag abc = (DoABCTag) tag;
-    			AS3Data abcData = abc.getAbcData();
-    			
-    			for ( int i = 0; i < abcData.getClassCount().value(); i++ )  {
-    				InstanceInfo instanceInfo = abcData.getInstances().get(i);
-
-    				String className = ABCUtil.resolveMultiname(abcData, instanceInfo.getName().value(), true);
-    				if ( instanceInfo.getSuperName().value() != 0 ) {
-    					String superclassName = ABCUtil.resolveMultiname(abcData, instanceInfo.getSuperName().value(), true);
-    					if ( !superclassName.equals("Object") ) {
-    						superclasses.put(className, superclassName);
-    					}
-    				}
-    				
-    				List<InjectionPoint> classInjections = new ArrayList<>();
-    				
-    				for ( int t = 0; t < instanceInfo.getTraitCount().value(); t++ ) {
-    					TraitsInfo trait = instanceInfo.getTraits().get(t);
-    					
-    					if ( trait.getMetaDataCount() != null ) {
-    						for ( EncodedU30 md : trait.getMetaData() ) {
-    							MetaData metadata = abcData.getMetaData().get(md.value());
-    							String mdName = abcData.getConstantPool().getStrings().get(metadata.getName().value() - 1).getName().value();
-    							if ( mdName.equals("Inject") ) {
-    								String injectionName = findMetadataValue(abcData, metadata, "name");
-    								PropertyInjectionPoint pip = createPropertyInjectionPoint(abcData, trait, injectionName);
-    								classInjections.add(pip);
-    								break;
-    							}
-    							else if ( mdName.equals("PostConstruct") ) {
-    								String order = findMetadataValue(abcData, metadata, "order");
-    								PostConstructInjectionPoint pcip = createPostConstructInjectionPoint(abcData, trait, order);
-    								classInjections.add(pcip);
-    							}
-    						}
-    					}
-    				}
-    				if ( !classInjections.isEmpty() ) {
-    					injections.put(className, classInjections);
-    				}
-    			}
+
+		// Entries come in trait order. Metadata that follows an [Inject] on the same
+		// trait is ignored.
+		TraitsInfo injectedTrait = null;
+    	for ( MetadataIndex.Entry entry : metadataIndex.get("Inject", "PostConstruct") ) {
+    		if ( entry.getTrait() == injectedTrait ) {
+    			continue;
+    		}
+    		int c = entry.getClassIndex();
+    		List<InjectionPoint> classInjections = injections.get(entry.getClassName());
+    		if ( classInjections == null ) {
+    			classInjections = new ArrayList<>();
+    			injections.put(entry.getClassName(), classInjections);
+    		}
+    		if ( entry.getName().equals("Inject") ) {
+    			PropertyInjectionPoint pip = createPropertyInjectionPoint(classIndex.getAbcData(c), classIndex.getConstantPool(c), entry.getTrait(), entry.getValue("name"));
+    			classInjections.add(pip);
+    			injectedTrait = entry.getTrait();
+    		}
+    		else {
+    			PostConstructInjectionPoint pcip = createPostConstructInjectionPoint(classIndex.getAbcData(c), classIndex.getConstantPool(c), entry.getTrait(), entry.getValue("order"));
+    			classInjections.add(pcip);
     		}
     	}
+    	return injections;
+    }
+
+    /**
+     * Adds the inherited injection points to the injection points that the
+     * classes declare and stores every distinct injection point once.
+     */
+    public static ClassInjectionPointData computeInjectionPoints(ClassHierarchy hierarchy, Map<String, List<InjectionPoint>> injections) {
 
     	// SWFParser unfortunately does not resolve inheritance, so our list of injections
     	// for each class does not include injections from superclasses. We have to do
     	// that manually.
-    	
-    	DefaultMutableTreeNode root = Util.buildInheritanceTree(superclasses);
-		
-    	// We now have a full inheritance tree. For each injected class, walk up to root, adding
-    	// any injection points from superclasses. (Classes with no super- or subclasses are *not*
-		// in inheritance tree.
 		
-		// Traverse tree from root, adding injection points from parent to child.
-    	@SuppressWarnings("unchecked")
-		Enumeration<DefaultMutableTreeNode> traverse = root.breadthFirstEnumeration();
-		while ( traverse.hasMoreElements() ) {
-			DefaultMutableTreeNode node = traverse.nextElement();
-			String className = (String) node.getUserObject();
+		// Visit classes in topological order, adding injection points from parent to child.
+		for ( int c : hierarchy.getTopologicalOrder() ) {
+			String className = hierarchy.getName(c);
 			if ( injections.containsKey(className) ) {
-				@SuppressWarnings("unchecked")
-				Enumeration<DefaultMutableTreeNode> children = node.children();
-				while ( children.hasMoreElements() ) {
-					DefaultMutableTreeNode child = children.nextElement();
-					String subclassName = (String) child.getUserObject();
+				for ( int child : hierarchy.getSubclasses(c) ) {
+					String subclassName = hierarchy.getName(child);
 					if ( !injections.containsKey(subclassName) ) {
 						injections.put(subclassName, new ArrayList<InjectionPoint>());
 					}
@@ -267,14 +391,20 @@ public class InjectTool
     	return output;
     }
     
-    public static void checkExisting(Enumeration<DefaultMutableTreeNode> list, String key) {
-    	if ( list.hasMoreElements() ) {
-	    	for ( DefaultMutableTreeNode node = list.nextElement(); list.hasMoreElements(); node = list.nextElement() ) {
-	    		if ( node.getUserObject().equals(key) ) {
-	    			System.out.println("ouch");
-	    		}
-	    	}
+    public static List<MetadataUsage> findMetadataUsages(ClassIndex classIndex, MetadataIndex metadataIndex, String metadataName) throws ResolverException {
+    	List<MetadataUsage> result = new ArrayList<>();
+    	for ( MetadataIndex.Entry entry : metadataIndex.get(metadataName) ) {
+    		MetadataUsage usage = new MetadataUsage();
+    		usage.className = entry.getClassName();
+    		usage.traitName = classIndex.getConstantPool(entry.getClassIndex()).getMultiname(entry.getTrait().getName().value(), false);
+    		usage.metadata = new Metadata();
+    		usage.metadata.name = entry.getName();
+    		for ( int i = 0; i < entry.getItemCount(); i++ ) {
+    			usage.metadata.addArgument(new MetadataArgument(entry.getKey(i), entry.getValue(i)));
+    		}
+    		result.add(usage);
     	}
+    	return result;
     }
 
     public static void sortInjectionPoints(List<InjectionPoint> injectionPoints, List<Integer> pointIndices) {
@@ -307,55 +437,41 @@ public class InjectTool
     }
 
     
-    public static PropertyInjectionPoint createPropertyInjectionPoint( AS3Data abcData, TraitsInfo trait, String injectionName ) throws ResolverException {
+    public static PropertyInjectionPoint createPropertyInjectionPoint( AS3Data abcData, ResolvedConstantPool pool, TraitsInfo trait, String injectionName ) throws ResolverException {
     	PropertyInjectionPoint result = new PropertyInjectionPoint();
     	
 		Class<?> tclass = trait.getData().getClass();
 		if ( tclass == TraitSlot.class ) {
 			TraitSlot slot = (TraitSlot) trait.getData();
-			result.propertyName = ABCUtil.resolveMultiname(abcData, trait.getName().value(), false);
-			result.propertyType = ABCUtil.resolveMultiname(abcData, slot.getTypeName().value(), true);
+			result.propertyName = pool.getMultiname(trait.getName().value(), false);
+			result.propertyType = pool.getMultiname(slot.getTypeName().value(), true);
 		}
 		else if ( tclass == TraitMethod.class || tclass == TraitSetter.class ) {
 			TraitMethod method = (TraitMethod) trait.getData();
 			MethodInfo methodInfo = abcData.getMethodInfos().get(method.getMethod().value());
 			int methodNameIndex = methodInfo.getName().value();
-			result.propertyName = abcData.getConstantPool().getStrings().get(methodNameIndex-1).getName().value();
+			result.propertyName = pool.getString(methodNameIndex);
 			
 			// Setter, so look at 0th parameter type.
 			int typeNameIndex = methodInfo.getParamTypes().get(0).value();
-			result.propertyType = ABCUtil.resolveMultiname(abcData, typeNameIndex, true);
+			result.propertyType = pool.getMultiname(typeNameIndex, true);
 		}
 		result.injectionName = ( injectionName == null ) ? "" : injectionName;
 
     	return result;
     }
     
-    public static PostConstructInjectionPoint createPostConstructInjectionPoint( AS3Data abcData, TraitsInfo trait, String order ) {
+    public static PostConstructInjectionPoint createPostConstructInjectionPoint( AS3Data abcData, ResolvedConstantPool pool, TraitsInfo trait, String order ) {
     	PostConstructInjectionPoint result = new PostConstructInjectionPoint();
 
 		TraitMethod method = (TraitMethod) trait.getData();
 		MethodInfo methodInfo = abcData.getMethodInfos().get(method.getMethod().value());
 		int methodNameIndex = methodInfo.getName().value();
-		result.methodName = abcData.getConstantPool().getStrings().get(methodNameIndex-1).getName().value();
+		result.methodName = pool.getString(methodNameIndex);
     	if ( order != null ) {
     		result.order = Integer.valueOf(order);
     	}
     	
     	return result;
     }
-    
-    public static String findMetadataValue(AS3Data abcData, MetaData metadata, String key) {
-    	String result = null;
-		for ( ItemInfo itemInfo : metadata.getItems() ) {
-			int k = itemInfo.getKey().value();
-			String ks = abcData.getConstantPool().getStrings().get(k-1).getName().value();
-			if ( ks.equals(key) ) {
-				int v = itemInfo.getValue().value();
-				result = abcData.getConstantPool().getStrings().get(v-1).getName().value();
-				break;
-			}
-		}
-    	return result;
-    }
 }
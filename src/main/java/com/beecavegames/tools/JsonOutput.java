@@ -0,0 +1,266 @@
+package com.beecavegames.tools;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.as3commons.reflect.Accessor;
+import org.as3commons.reflect.Field;
+import org.as3commons.reflect.Metadata;
+import org.as3commons.reflect.MetadataArgument;
+import org.as3commons.reflect.Type;
+import org.swiftsuspenders.injectionpoints.InjectionPoint;
+import org.swiftsuspenders.injectionpoints.PostConstructInjectionPoint;
+import org.swiftsuspenders.injectionpoints.PropertyInjectionPoint;
+
+import com.beecavegames.dataModel.ClassInjectionPointData;
+import com.beecavegames.dataModel.ClassReflectionData;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes the outputs of the tools as JSON, streaming to the file instead of
+ * building the document as a string first.
+ *
+ * ClassInjectionPointData and ClassReflectionData are written field by field
+ * on a JsonWriter, in the order and with the formatting that Gson uses for
+ * them: fields in declaration order, subclass fields before superclass fields,
+ * and null fields left out. Other outputs are streamed by Gson itself. The
+ * output is compact unless it is pretty printed with an indent of two spaces.
+ */
+public class JsonOutput {
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    public static void write(Object output, Path path, boolean pretty) throws IOException {
+    	try ( Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8) ) {
+    		write(output, writer, pretty);
+    	}
+    }
+
+    /**
+     * Prints the output to stdout as UTF-8, followed by a line separator. Stdout
+     * is flushed but not closed.
+     */
+    public static void print(Object output, boolean pretty) throws IOException {
+    	Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    	write(output, writer, pretty);
+    	writer.write(System.lineSeparator());
+    	writer.flush();
+    }
+
+    public static byte[] toBytes(Object output, boolean pretty) throws IOException {
+    	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    	try ( Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8) ) {
+    		write(output, writer, pretty);
+    	}
+    	return bytes.toByteArray();
+    }
+
+    private static void write(Object output, Writer writer, boolean pretty) throws IOException {
+    	JsonWriter out = new JsonWriter(writer);
+    	if ( pretty ) {
+    		out.setIndent("  ");
+    	}
+    	out.setHtmlSafe(false);
+    	out.setSerializeNulls(false);
+    	out.setLenient(true);
+
+    	if ( output instanceof ClassInjectionPointData ) {
+    		writeInjectionPointData(out, (ClassInjectionPointData) output);
+    	}
+    	else if ( output instanceof ClassReflectionData ) {
+    		writeReflectionData(out, (ClassReflectionData) output);
+    	}
+    	else {
+    		GSON.toJson(output, output.getClass(), out);
+    	}
+    	out.flush();
+    }
+
+    private static void writeInjectionPointData(JsonWriter out, ClassInjectionPointData data) throws IOException {
+    	out.beginObject();
+    	if ( data.classInjectionPoints != null ) {
+    		out.name("classInjectionPoints");
+    		out.beginObject();
+    		for ( Map.Entry<String, List<Integer>> entry : data.classInjectionPoints.entrySet() ) {
+    			out.name(entry.getKey());
+    			writeIndices(out, entry.getValue());
+    		}
+    		out.endObject();
+    	}
+    	if ( data.injectionPoints != null ) {
+    		out.name("injectionPoints");
+    		out.beginArray();
+    		for ( InjectionPoint point : data.injectionPoints ) {
+    			writeInjectionPoint(out, point);
+    		}
+    		out.endArray();
+    	}
+    	out.endObject();
+    }
+
+    private static void writeInjectionPoint(JsonWriter out, InjectionPoint point) throws IOException {
+    	out.beginObject();
+    	if ( point instanceof PropertyInjectionPoint ) {
+    		PropertyInjectionPoint pip = (PropertyInjectionPoint) point;
+    		out.name("propertyName").value(pip.propertyName);
+    		out.name("propertyType").value(pip.propertyType);
+    		out.name("injectionName").value(pip.injectionName);
+    	}
+    	else if ( point instanceof PostConstructInjectionPoint ) {
+    		PostConstructInjectionPoint pcip = (PostConstructInjectionPoint) point;
+    		out.name("methodName").value(pcip.methodName);
+    		out.name("order").value(pcip.order);
+    	}
+    	out.endObject();
+    }
+
+    private static void writeReflectionData(JsonWriter out, ClassReflectionData data) throws IOException {
+    	out.beginObject();
+    	if ( data.types != null ) {
+    		out.name("types");
+    		out.beginObject();
+    		for ( Map.Entry<String,Type> entry : data.types.entrySet() ) {
+    			out.name(entry.getKey());
+    			writeType(out, entry.getValue());
+    		}
+    		out.endObject();
+    	}
+    	if ( data.fields != null ) {
+    		out.name("fields");
+    		out.beginArray();
+    		for ( Field field : data.fields ) {
+    			writeField(out, field);
+    		}
+    		out.endArray();
+    	}
+    	if ( data.accessors != null ) {
+    		out.name("accessors");
+    		out.beginArray();
+    		for ( Accessor accessor : data.accessors ) {
+    			writeField(out, accessor);
+    		}
+    		out.endArray();
+    	}
+    	out.endObject();
+    }
+
+    private static void writeType(JsonWriter out, Type type) throws IOException {
+    	if ( type == null ) {
+    		out.nullValue();
+    		return;
+    	}
+    	out.beginObject();
+    	out.name("name").value(type.name);
+    	out.name("fullName").value(type.fullName);
+    	out.name("clazz").value(type.clazz);
+    	out.name("isDynamic").value(type.isDynamic);
+    	out.name("isInterface").value(type.isInterface);
+    	if ( type.interfaces != null ) {
+    		out.name("interfaces");
+    		out.beginArray();
+    		for ( String iface : type.interfaces ) {
+    			out.value(iface);
+    		}
+    		out.endArray();
+    	}
+    	if ( type.fields != null ) {
+    		out.name("fields");
+    		out.beginArray();
+    		for ( Field field : type.fields ) {
+    			writeField(out, field);
+    		}
+    		out.endArray();
+    	}
+    	if ( type.fieldIndices != null ) {
+    		out.name("fieldIndices");
+    		writeIndices(out, type.fieldIndices);
+    	}
+    	if ( type.accessors != null ) {
+    		out.name("accessors");
+    		out.beginArray();
+    		for ( Accessor accessor : type.accessors ) {
+    			writeField(out, accessor);
+    		}
+    		out.endArray();
+    	}
+    	if ( type.accessorIndices != null ) {
+    		out.name("accessorIndices");
+    		writeIndices(out, type.accessorIndices);
+    	}
+    	writeMetadataList(out, type.metadata);
+    	out.endObject();
+    }
+
+    private static void writeField(JsonWriter out, Field field) throws IOException {
+    	if ( field == null ) {
+    		out.nullValue();
+    		return;
+    	}
+    	out.beginObject();
+    	if ( field instanceof Accessor ) {
+    		Accessor accessor = (Accessor) field;
+    		if ( accessor.access != null ) {
+    			out.name("access");
+    			out.beginObject();
+    			out.name("name").value(accessor.access.name);
+    			out.endObject();
+    		}
+    	}
+    	out.name("isStatic").value(field.isStatic);
+    	out.name("name").value(field.name);
+    	out.name("typeName").value(field.typeName);
+    	writeMetadataList(out, field.metadata);
+    	out.endObject();
+    }
+
+    private static void writeMetadataList(JsonWriter out, List<Metadata> metadata) throws IOException {
+    	if ( metadata == null ) {
+    		return;
+    	}
+    	out.name("metadata");
+    	out.beginArray();
+    	for ( Metadata md : metadata ) {
+    		if ( md == null ) {
+    			out.nullValue();
+    			continue;
+    		}
+    		out.beginObject();
+    		out.name("name").value(md.name);
+    		if ( md.arguments != null ) {
+    			out.name("arguments");
+    			out.beginArray();
+    			for ( MetadataArgument argument : md.arguments ) {
+    				out.beginObject();
+    				out.name("key").value(argument.key);
+    				out.name("value").value(argument.value);
+    				out.endObject();
+    			}
+    			out.endArray();
+    		}
+    		out.endObject();
+    	}
+    	out.endArray();
+    }
+
+    private static void writeIndices(JsonWriter out, List<Integer> indices) throws IOException {
+    	if ( indices == null ) {
+    		out.nullValue();
+    		return;
+    	}
+    	out.beginArray();
+    	for ( Integer index : indices ) {
+    		out.value(index);
+    	}
+    	out.endArray();
+    }
+}
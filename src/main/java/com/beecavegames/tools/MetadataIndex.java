@@ -0,0 +1,171 @@
+package com.beecavegames.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import tv.porst.swfretools.parser.structures.AS3Data;
+import tv.porst.swfretools.parser.structures.EncodedU30;
+import tv.porst.swfretools.parser.structures.InstanceInfo;
+import tv.porst.swfretools.parser.structures.ItemInfo;
+import tv.porst.swfretools.parser.structures.MetaData;
+import tv.porst.swfretools.parser.structures.TraitsInfo;
+
+/**
+ * Inverted index from metadata name to the instance traits that carry it,
+ * built in one pass over all classes of a ClassIndex.
+ *
+ * Entries are numbered in scan order: by class, then by trait, then by the
+ * position of the metadata on the trait.
+ */
+public class MetadataIndex {
+
+    public static class Entry {
+    	private final int ordinal;
+    	private final int classIndex;
+    	private final String className;
+    	private final TraitsInfo trait;
+    	private final MetaData metadata;
+    	private final String name;
+    	private final String[] keys;
+    	private final String[] values;
+
+    	private Entry(int ordinal, int classIndex, String className, TraitsInfo trait, MetaData metadata, String name, String[] keys, String[] values) {
+    		this.ordinal = ordinal;
+    		this.classIndex = classIndex;
+    		this.className = className;
+    		this.trait = trait;
+    		this.metadata = metadata;
+    		this.name = name;
+    		this.keys = keys;
+    		this.values = values;
+    	}
+
+    	public int getClassIndex() {
+    		return classIndex;
+    	}
+
+    	public String getClassName() {
+    		return className;
+    	}
+
+    	public int getItemCount() {
+    		return keys.length;
+    	}
+
+    	/**
+    	 * Returns the key of an item, or null if the item has no key.
+    	 */
+    	public String getKey(int item) {
+    		return keys[item];
+    	}
+
+    	public MetaData getMetadata() {
+    		return metadata;
+    	}
+
+    	public String getName() {
+    		return name;
+    	}
+
+    	public int getOrdinal() {
+    		return ordinal;
+    	}
+
+    	public TraitsInfo getTrait() {
+    		return trait;
+    	}
+
+    	public String getValue(int item) {
+    		return values[item];
+    	}
+
+    	/**
+    	 * Returns the value of the first item with the given key, or null if
+    	 * there is none.
+    	 */
+    	public String getValue(String key) {
+    		for ( int i = 0; i < keys.length; i++ ) {
+    			if ( key.equals(keys[i]) ) {
+    				return values[i];
+    			}
+    		}
+    		return null;
+    	}
+    }
+
+    private static final Comparator<Entry> SCAN_ORDER = new Comparator<Entry>() {
+    	@Override
+    	public int compare(Entry e1, Entry e2) {
+    		return Integer.compare(e1.ordinal, e2.ordinal);
+    	}
+    };
+
+    private final Map<String,List<Entry>> entriesByName;
+
+    private MetadataIndex(Map<String,List<Entry>> entriesByName) {
+    	this.entriesByName = entriesByName;
+    }
+
+    public static MetadataIndex build(ClassIndex classIndex) {
+    	Map<String,List<Entry>> entriesByName = new HashMap<>();
+    	int ordinal = 0;
+
+    	for ( int c = 0; c < classIndex.size(); c++ ) {
+    		AS3Data abcData = classIndex.getAbcData(c);
+    		ResolvedConstantPool pool = classIndex.getConstantPool(c);
+    		InstanceInfo instanceInfo = classIndex.getInstanceInfo(c);
+
+    		for ( int t = 0; t < instanceInfo.getTraitCount().value(); t++ ) {
+    			TraitsInfo trait = instanceInfo.getTraits().get(t);
+    			if ( trait.getMetaDataCount() == null ) {
+    				continue;
+    			}
+    			for ( EncodedU30 md : trait.getMetaData() ) {
+    				MetaData metadata = abcData.getMetaData().get(md.value());
+    				String name = pool.getString(metadata.getName().value());
+    				String[] keys = new String[metadata.getItems().size()];
+    				String[] values = new String[keys.length];
+    				int i = 0;
+    				for ( ItemInfo item : metadata.getItems() ) {
+    					keys[i] = pool.getString(item.getKey().value());
+    					values[i] = pool.getString(item.getValue().value());
+    					i++;
+    				}
+    				List<Entry> entries = entriesByName.get(name);
+    				if ( entries == null ) {
+    					entries = new ArrayList<>();
+    					entriesByName.put(name, entries);
+    				}
+    				entries.add(new Entry(ordinal++, c, classIndex.getName(c), trait, metadata, name, keys, values));
+    			}
+    		}
+    	}
+    	return new MetadataIndex(entriesByName);
+    }
+
+    /**
+     * Returns the entries for all of the given metadata names in scan order.
+     */
+    public List<Entry> get(String... names) {
+    	List<Entry> result = new ArrayList<>();
+    	for ( String name : names ) {
+    		List<Entry> entries = entriesByName.get(name);
+    		if ( entries != null ) {
+    			result.addAll(entries);
+    		}
+    	}
+    	if ( names.length > 1 ) {
+    		Collections.sort(result, SCAN_ORDER);
+    	}
+    	return result;
+    }
+
+    public Set<String> getNames() {
+    	return Collections.unmodifiableSet(entriesByName.keySet());
+    }
+}
@@ -1,23 +1,20 @@
 package com.beecavegames.tools;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
-import javax.swing.tree.DefaultMutableTreeNode;
-
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.as3commons.reflect.Accessor;
 import org.as3commons.reflect.AccessorAccess;
 import org.as3commons.reflect.Field;
@@ -27,13 +24,11 @@ import org.as3commons.reflect.Type;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
-import org.kohsuke.args4j.spi.Messages;
 
 import com.beecavegames.dataModel.ClassReflectionData;
 import com.exadel.flamingo.flex.messaging.amf.io.AMF3Serializer;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
+import tv.porst.swfretools.parser.ParseOptions;
 import tv.porst.swfretools.parser.SWFParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.AS3Data;
@@ -43,7 +38,6 @@ import tv.porst.swfretools.parser.structures.ItemInfo;
 import tv.porst.swfretools.parser.structures.MetaData;
 import tv.porst.swfretools.parser.structures.MethodInfo;
 import tv.porst.swfretools.parser.structures.MultinameInfo;
-import tv.porst.swfretools.parser.structures.NamespaceInfo;
 import tv.porst.swfretools.parser.structures.QName;
 import tv.porst.swfretools.parser.structures.SWFFile;
 import tv.porst.swfretools.parser.structures.TagList;
@@ -53,8 +47,7 @@ import tv.porst.swfretools.parser.structures.TraitMethod;
 import tv.porst.swfretools.parser.structures.TraitSetter;
 import tv.porst.swfretools.parser.structures.TraitSlot;
 import tv.porst.swfretools.parser.structures.TraitsInfo;
-import tv.porst.swfretools.parser.tags.DoABCTag;
-import tv.porst.swfretools.parser.tags.Tag;
+import tv.porst.swfretools.parser.tags.TagCodes;
 import tv.porst.swfretools.utils.ResolverException;
 
 public class ReflectTool {
@@ -63,42 +56,58 @@ public class ReflectTool {
 	public static final AccessorAccess access_writeonly = new AccessorAccess(AccessorAccess.WRITE_ONLY);
 	public static final AccessorAccess access_readwrite = new AccessorAccess(AccessorAccess.READ_WRITE);
 	
-	@Option(name="-swf", usage="Name of SWF file to process.", metaVar="[SWF name]", required=true)
-	public String swfName;
+	@Option(name="-swf", usage="Name of SWF file to process. Can be given several times.", metaVar="[SWF name]", required=false)
+	public List<String> swfNames = new ArrayList<>();
 
-	@Option(name="-json", usage="Name of JSON output file.", metaVar="[JSON file name]", required=false)
-	public String jsonFilename;
+	@Option(name="-json", usage="Name of JSON output file, one per SWF file.", metaVar="[JSON file name]", required=false)
+	public List<String> jsonFilenames = new ArrayList<>();
 	
-	@Option(name="-amf", usage="Name of AMF output file.", metaVar="[AMF file name]", required=false)
-	public String amfFilename;
+	@Option(name="-amf", usage="Name of AMF output file, one per SWF file.", metaVar="[AMF file name]", required=false)
+	public List<String> amfFilenames = new ArrayList<>();
+
+	@Option(name="-manifest", usage="Text file listing SWF files to process, one per line, each followed by its JSON and AMF file names or \"-\".", metaVar="[manifest file name]", required=false)
+	public String manifestFilename;
+
+	@Option(name="-threads", usage="Number of SWF files to process at the same time in batch mode.", metaVar="[thread count]", required=false)
+	public int threads = Runtime.getRuntime().availableProcessors();
 
 	@Option(name="-classes", usage="Text file containing names of classes to reflect.", metaVar="[class list file name]", required=true)
 	public String classListFilename;
 
+	@Option(name="-cache-dir", usage="Directory in which outputs are cached by the ABC data of the SWF file and the options.", metaVar="[directory]", required=false)
+	public String cacheDirectory;
+
+	@Option(name="-cache-size", usage="Size bound of the cache in MB. The least recently used outputs are deleted first.", metaVar="[MB]", required=false)
+	public long cacheSize = 256;
+
+	@Option(name="-pretty", usage="Indent the JSON output. It is written without whitespace by default.", required=false)
+	public boolean pretty;
+
 	@Option(name="-quiet", aliases={"-q"}, required=false)
 	public boolean quiet;
 	
-    public static void main( String[] args ) throws IOException, SWFParserException, ResolverException {
+    public static void main( String[] args ) throws IOException, SWFParserException, ResolverException, InterruptedException {
     	ReflectTool it = new ReflectTool();
     	it.doMain(args);
     }
 
     private List<String> classList;
     private List<Pattern> patternList;
+    private ResultCache cache;
+    private String classListKey;
     
-    private void doMain(String[] args) throws IOException, SWFParserException, ResolverException {
+    private void doMain(String[] args) throws IOException, SWFParserException, ResolverException, InterruptedException {
     	
     	CmdLineParser parser = new CmdLineParser(this);
+    	List<BatchJob> jobs;
 
     	try {
     		parser.parseArgument(args);
-    		if ( swfName == null ) {
-    			throw new CmdLineException(parser, Messages.valueOf("No SWF file specified."));
-    		}
+    		jobs = BatchJob.fromCommandLine(parser, swfNames, jsonFilenames, amfFilenames, manifestFilename);
     		if ( classListFilename == null ) {
-    			throw new CmdLineException(parser, Messages.valueOf("No class list file specified."));
+    			throw new CmdLineException(parser, new UsageMessage("No class list file specified."));
     		}
-    		if ( jsonFilename == null && amfFilename == null ) {
+    		if ( !BatchJob.isBatch(jobs, manifestFilename) && !jobs.get(0).hasOutputFile() ) {
     			System.out.println("No JSON or AMF output files specified, will print JSON to stdout.");
     		}
     	}
@@ -108,13 +117,42 @@ public class ReflectTool {
     		return;
     	}
     	
-   		logInfo("Parsing "+swfName);
-   		
-    	File file = new File(swfName);
-    	SWFFile swfFile = SWFParser.parse(file);
-    	TagList tags = swfFile.getTags();
-    	
-    	classList = Files.readAllLines(Paths.get(classListFilename));
+    	loadClassList(Paths.get(classListFilename));
+
+    	if ( cacheDirectory != null ) {
+    		cache = new ResultCache(Paths.get(cacheDirectory), cacheSize * 1024 * 1024);
+    	}
+
+    	if ( !BatchJob.isBatch(jobs, manifestFilename) ) {
+    		process(jobs.get(0));
+    		return;
+    	}
+
+    	int failures = new BatchRunner(threads, quiet).run(jobs, new BatchRunner.JobProcessor() {
+    		@Override
+    		public void process(BatchJob job) throws Exception {
+    			// The class index is per SWF file, so every job gets its own tool.
+    			ReflectTool tool = new ReflectTool();
+    			tool.quiet = quiet;
+    			tool.pretty = pretty;
+    			tool.classList = classList;
+    			tool.patternList = patternList;
+    			tool.cache = cache;
+    			tool.classListKey = classListKey;
+    			tool.process(job);
+    		}
+    	});
+    	if ( failures > 0 ) {
+    		throw new IOException(failures+" of "+jobs.size()+" SWF files failed.");
+    	}
+    }
+
+    /**
+     * Reads the names of the classes to reflect, one per line.
+     */
+    void loadClassList(Path path) throws IOException {
+    	classList = Files.readAllLines(path);
+    	classListKey = String.join("\n", classList);
     	
     	// Any entries surrounded by () are treated as regular expressions.
     	patternList = new ArrayList<>();
@@ -129,34 +167,71 @@ public class ReflectTool {
     			patternList.add(pattern);
     		}
     	}
+    }
+
+    private void process(BatchJob job) throws IOException, SWFParserException, ResolverException {
     	
-    	ClassReflectionData reflectionData = computeReflectionData(tags);
+    	// The output depends on the class list, so its lines are part of the key.
+    	String cacheKey = null;
+    	String jsonCacheKey = null;
+    	SWFFile indexedFile = null;
+    	if ( cache != null ) {
+    		indexedFile = SWFParser.parse(Paths.get(job.swfName), ParseOptions.lazy());
+    		cacheKey = ResultCache.key(indexedFile, "ReflectTool", classListKey);
+    		jsonCacheKey = ResultCache.variantKey(cacheKey, pretty ? "pretty" : "compact");
+    		if ( cache.restore(jsonCacheKey, cacheKey, job) ) {
+    			logInfo("Restored output of "+job.swfName+" from cache");
+    			return;
+    		}
+    	}
+
+   		logInfo("Parsing "+job.swfName);
+   		
+    	ClassReflectionData reflectionData;
+    	if ( indexedFile != null ) {
+    		reflectionData = computeReflectionData(indexedFile);
+    	}
+    	else {
+	    	SWFFile swfFile = SWFParser.parse(Paths.get(job.swfName), ParseOptions.decodeOnly(TagCodes.DoABC).withDeclarationsOnly());
+	    	TagList tags = swfFile.getTags();
+	    	
+	    	reflectionData = computeReflectionData(tags);
+    	}
     	
-    	boolean printOutput = (amfFilename == null && jsonFilename == null);
+    	boolean printOutput = !job.hasOutputFile();
     	
-    	if ( (jsonFilename != null) || printOutput ) {
-	    	Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-
-	    	String json = gson.toJson(reflectionData);
-	    	if ( printOutput ) {
-	    		System.out.println(json);
+    	if ( printOutput ) {
+	    	if ( cacheKey != null ) {
+	    		byte[] json = JsonOutput.toBytes(reflectionData, pretty);
+	    		cache.store(jsonCacheKey, ResultCache.JSON, json);
+	    		System.out.write(json);
+	    		System.out.println();
 	    	}
 	    	else {
-	    		logInfo("Saving "+jsonFilename);
-	    		Path jsonPath = Paths.get(jsonFilename);
-	    		Files.write(jsonPath, json.getBytes());
+	    		JsonOutput.print(reflectionData, pretty);
+	    	}
+    	}
+    	else if ( job.jsonFilename != null ) {
+	    	logInfo("Saving "+job.jsonFilename);
+	    	Path jsonPath = Paths.get(job.jsonFilename);
+	    	JsonOutput.write(reflectionData, jsonPath, pretty);
+	    	if ( cacheKey != null ) {
+	    		cache.store(jsonCacheKey, ResultCache.JSON, jsonPath);
 	    	}
     	}
     	
-    	if ( amfFilename != null ) {
+    	if ( job.amfFilename != null ) {
 	    	// Convert to AMF
 	    	ByteArrayOutputStream out = new ByteArrayOutputStream();
 	    	try ( AMF3Serializer amfOut = new AMF3Serializer(out) ) {
 	    		amfOut.writeObject(reflectionData);    		
 	    	}
 	    	byte[] amf = out.toByteArray();
-	    	System.out.println("Saving "+amfFilename);
-	    	Path path = Paths.get(amfFilename);
+	    	if ( cacheKey != null ) {
+	    		cache.store(cacheKey, ResultCache.AMF, amf);
+	    	}
+	    	System.out.println("Saving "+job.amfFilename);
+	    	Path path = Paths.get(job.amfFilename);
 	    	Files.write(path, amf);
     	}
     }
@@ -167,105 +242,158 @@ public class ReflectTool {
     	}
     }
     
+    private interface TypeSource {
+    	Type reflect(int classIndex) throws ResolverException;
+    }
+
     private ClassReflectionData computeReflectionData(TagList tags) throws ResolverException {
+    	return computeReflectionData(ClassIndex.build(tags));
+    }
+
+    /**
+     * Reflects the classes of the class list and their superclasses.
+     */
+    ClassReflectionData computeReflectionData(final ClassIndex index) throws ResolverException {
     	
-    	ClassReflectionData reflectionData = new ClassReflectionData();
-    	reflectionData.types = new HashMap<>();
+    	ClassHierarchy hierarchy = index.getHierarchy();
+
+    	Map<String,Type> types = collectTypes(hierarchy, new TypeSource() {
+    		@Override
+    		public Type reflect(int c) throws ResolverException {
+    			return reflectClass(index, index.getAbcData(c), index.getName(c), index.getInstanceInfo(c));
+    		}
+    	});
+    	return linkTypes(hierarchy, types);
+    }
+
+    /**
+     * Summarizes the ABC blocks of the file whose summaries are not cached yet
+     * and reflects the classes from the summaries. A summary holds the types of
+     * the selected classes of the block and of the superclasses that were
+     * needed by other blocks so far.
+     */
+    private ClassReflectionData computeReflectionData(SWFFile indexedFile) throws IOException, ResolverException {
     	
-		Map<String, String> superclassByClass = new HashMap<>();
-		Map<String, Pair<AS3Data,InstanceInfo>> instanceInfoByClass = new HashMap<>();
-
-    	for ( Tag tag : tags ) {
-    		if ( tag instanceof DoABCTag ) {
-    			DoABCTag abc = (DoABCTag) tag;
-    			AS3Data abcData = abc.getAbcData();
-
-    			for ( int i = 0; i < abcData.getClassCount().value(); i++ )  {
-    				InstanceInfo instanceInfo = abcData.getInstances().get(i);
-    				String className = ABCUtil.resolveMultiname(abcData, instanceInfo.getName().value(), true);
-    				
-    				instanceInfoByClass.put(className, new ImmutablePair<AS3Data,InstanceInfo>(abcData,instanceInfo));
-    				
-    				// Record superclass name for every class.
-    				if ( instanceInfo.getSuperName().value() != 0 ) {
-    					String superclassName = ABCUtil.resolveMultiname(abcData, instanceInfo.getSuperName().value(), true);
-    					if ( !superclassName.equals("Object") ) {
-    						superclassByClass.put(className, superclassName);
-    					}
-    				}
-    				
-    				
-    				boolean doClass = classList.contains(className);
-    				if ( !doClass ) {
-    					for ( Pattern p : patternList ) {
-    						if ( p.matcher(className).matches() ) {
-    							doClass = true;
-    							break;
-    						}
-    					}
-    				}
+    	final IncrementalIndex index = IncrementalIndex.build(indexedFile, cache, new IncrementalIndex.Summarizer() {
+    		@Override
+    		public boolean accepts(BlockSummary summary) {
+    			return summary.types != null;
+    		}
 
-    				if ( doClass ) {
-    					logInfo("  "+className);
-						Type type = reflectClass(abcData, className, instanceInfo);
-						reflectionData.types.put(className, type);
+    		@Override
+    		public void summarize(ClassIndex blockIndex, BlockSummary summary) throws ResolverException {
+    			summary.types = new HashMap<>();
+    			for ( int i = 0; i < blockIndex.size(); i++ ) {
+    				if ( isSelected(blockIndex.getName(i)) ) {
+    					summary.types.put(blockIndex.getName(i), reflectClass(blockIndex, blockIndex.getAbcData(i), blockIndex.getName(i), blockIndex.getInstanceInfo(i)));
     				}
     			}
     		}
+    	}, "ReflectTool", classListKey);
+    	final ClassHierarchy hierarchy = index.getHierarchy();
+
+    	Map<String,Type> types = collectTypes(hierarchy, new TypeSource() {
+    		@Override
+    		public Type reflect(int c) throws ResolverException {
+    			String className = hierarchy.getName(c);
+    			BlockSummary summary = index.getSummary(c);
+    			Type type = summary.types.get(className);
+    			if ( type == null ) {
+    				// A superclass in another block than the selected class.
+    				ClassIndex blockIndex = index.getBlockIndex(c);
+    				int i = blockIndex.indexOf(className);
+    				type = reflectClass(blockIndex, blockIndex.getAbcData(i), className, blockIndex.getInstanceInfo(i));
+    				summary.types.put(className, type);
+    				index.markChanged(c);
+    			}
+    			return type;
+    		}
+    	});
+
+    	index.store();
+    	logInfo("Decoded "+index.getDecodedBlockCount()+" of "+index.getBlockCount()+" ABC blocks.");
+    	return linkTypes(hierarchy, types);
+    }
+
+    private boolean isSelected(String className) {
+    	if ( classList.contains(className) ) {
+    		return true;
+    	}
+    	for ( Pattern p : patternList ) {
+    		if ( p.matcher(className).matches() ) {
+    			return true;
+    		}
+    	}
+    	return false;
+    }
+
+    /**
+     * Reflects the selected classes and their superclasses, without inherited
+     * members.
+     */
+    private Map<String,Type> collectTypes(ClassHierarchy hierarchy, TypeSource source) throws ResolverException {
+    	
+    	Map<String,Type> types = new HashMap<>();
+
+    	for ( int i = 0; i < hierarchy.size(); i++ ) {
+    		String className = hierarchy.getName(i);
+    		if ( isSelected(className) ) {
+    			logInfo("  "+className);
+    			types.put(className, source.reflect(i));
+    		}
     	}
     	
     	// Need to reflect any superclasses that weren't in our list.
     	Map<String,Type> newTypes = new HashMap<>();
-    	for ( String className : reflectionData.types.keySet() ) {
-    		while ( superclassByClass.containsKey(className) ) {
-    			className = superclassByClass.get(className);
-        		if ( !reflectionData.types.containsKey(className) && instanceInfoByClass.containsKey(className) ) {
-        			AS3Data abcData = instanceInfoByClass.get(className).getLeft();
-        			InstanceInfo instanceInfo = instanceInfoByClass.get(className).getRight();
-    				Type type = reflectClass(abcData, className, instanceInfo);
+    	for ( String className : types.keySet() ) {
+    		int c = hierarchy.indexOf(className);
+    		while ( hierarchy.getSuperclass(c) >= 0 ) {
+    			c = hierarchy.getSuperclass(c);
+    			className = hierarchy.getName(c);
+        		if ( !types.containsKey(className) ) {
+    				Type type = source.reflect(c);
     				newTypes.put(className, type);
         		}
     		}
     	}
 
     	for ( String className : newTypes.keySet() ) {
-    		reflectionData.types.put(className, newTypes.get(className));
+    		types.put(className, newTypes.get(className));
+    	}
+    	return types;
+    }
+
+    /**
+     * Adds the inherited members to copies of the types and stores every
+     * distinct member once. The given types are not changed, so types from
+     * cached summaries can be linked again.
+     */
+    static ClassReflectionData linkTypes(ClassHierarchy hierarchy, Map<String,Type> types) {
+    	
+    	ClassReflectionData reflectionData = new ClassReflectionData();
+    	reflectionData.types = new HashMap<>();
+    	for ( Map.Entry<String,Type> entry : types.entrySet() ) {
+    		reflectionData.types.put(entry.getKey(), copyType(entry.getValue()));
     	}
     	
     	// Now walk inheritance tree, adding fields from super- to sub-classes.
-    	DefaultMutableTreeNode root = Util.buildInheritanceTree(superclassByClass);
-
-		@SuppressWarnings("unchecked")
-		Enumeration<DefaultMutableTreeNode> traverse = root.breadthFirstEnumeration();
-		while ( traverse.hasMoreElements() ) {
-			DefaultMutableTreeNode node = traverse.nextElement();
-			String className = (String) node.getUserObject();
+		for ( int c : hierarchy.getTopologicalOrder() ) {
+			String className = hierarchy.getName(c);
 			if ( reflectionData.types.containsKey(className) ) {
 				Type classType = reflectionData.types.get(className);
 				
-				@SuppressWarnings("unchecked")
-				Enumeration<DefaultMutableTreeNode> children = node.children();
-				while ( children.hasMoreElements() ) {
-					DefaultMutableTreeNode child = children.nextElement();
-					String subclassName = (String) child.getUserObject();
+				for ( int child : hierarchy.getSubclasses(c) ) {
+					String subclassName = hierarchy.getName(child);
 					
-					// ALL classes are in the tree, but we only care about the classes in classList plus their
+					// ALL classes are in the index, but we only care about the classes in classList plus their
 					// superclasses.
 					if ( reflectionData.types.containsKey(subclassName) ) {
 						Type subclassType = reflectionData.types.get(subclassName);
 			
 						// Add superclass fields to subclass, skipping fields that already exist
 						// (by name) in subclass.
-						for ( Field superField : classType.fields ) {
-							if ( !subclassType.fields.stream().anyMatch(f -> f.name.equals(superField.name)) ) {
-								subclassType.fields.add(superField);
-							}
-						}
-						for ( Accessor superAcc : classType.accessors ) {
-							if ( !subclassType.accessors.stream().anyMatch(a -> a.name.equals(superAcc.name)) ) {
-								subclassType.accessors.add(superAcc);
-							}
-						}
+						addMissingMembers(subclassType.fields, classType.fields);
+						addMissingMembers(subclassType.accessors, classType.accessors);
 					}
 				}
 			}
@@ -274,45 +402,77 @@ public class ReflectTool {
 		reflectionData.fields = new ArrayList<>();
 		reflectionData.accessors = new ArrayList<>();
 		
+		// Equal members are stored once. Inherited members are shared instances, so
+		// most lookups are answered by the identity maps without hashing the member.
 		Map<Field,Integer> uniqueFields = new HashMap<>();
 		Map<Accessor,Integer> uniqueAccessors = new HashMap<>();
+		Map<Field,Integer> fieldIndexByInstance = new IdentityHashMap<>();
+		Map<Accessor,Integer> accessorIndexByInstance = new IdentityHashMap<>();
 		for ( Type type : reflectionData.types.values() ) {
-			for ( Field field : type.fields ) {
-				if ( !uniqueFields.containsKey(field) ) {
-					uniqueFields.put(field, reflectionData.fields.size());
-					reflectionData.fields.add(field);
-				}
-			}
-			for ( Accessor acc : type.accessors ) {
-				if ( !uniqueAccessors.containsKey(acc) ) {
-					uniqueAccessors.put(acc, reflectionData.accessors.size());
-					reflectionData.accessors.add(acc);
-				}
-			}
-		}
-
-		for ( Type type : reflectionData.types.values() ) {
-			type.fieldIndices = new ArrayList<>();
-			for ( Field field : type.fields ) {
-				type.fieldIndices.add(reflectionData.fields.indexOf(field));
-			}
-			type.accessorIndices = new ArrayList<>();
-			for ( Accessor acc : type.accessors ) {
-				type.accessorIndices.add(reflectionData.accessors.indexOf(acc));
-			}
-			if ( type.fieldIndices.size() == 0 ) {
-				type.fieldIndices = null;
-			}
-			if ( type.accessorIndices.size() == 0 ) {
-				type.accessorIndices = null;
-			}
+			type.fieldIndices = indexMembers(type.fields, reflectionData.fields, uniqueFields, fieldIndexByInstance);
+			type.accessorIndices = indexMembers(type.accessors, reflectionData.accessors, uniqueAccessors, accessorIndexByInstance);
 			type.fields = null;
 			type.accessors = null;
 		}
     	return reflectionData;
     }
 
-    private Type reflectClass(AS3Data abcData, String className, InstanceInfo instanceInfo) throws ResolverException {
+    /**
+     * Copies a type with its own member lists. The members are shared.
+     */
+    private static Type copyType(Type type) {
+    	Type copy = new Type();
+    	copy.name = type.name;
+    	copy.fullName = type.fullName;
+    	copy.clazz = type.clazz;
+    	copy.isDynamic = type.isDynamic;
+    	copy.isInterface = type.isInterface;
+    	copy.interfaces = type.interfaces;
+    	copy.fields = new ArrayList<>(type.fields);
+    	copy.accessors = new ArrayList<>(type.accessors);
+    	copy.metadata = type.metadata;
+    	return copy;
+    }
+
+    private static <T extends Field> void addMissingMembers(List<T> members, List<T> superMembers) {
+    	Set<String> names = new HashSet<>();
+    	for ( T member : members ) {
+    		names.add(member.name);
+    	}
+    	for ( T superMember : superMembers ) {
+    		if ( names.add(superMember.name) ) {
+    			members.add(superMember);
+    		}
+    	}
+    }
+
+    private static <T extends Field> List<Integer> indexMembers(List<T> members, List<T> uniqueMembers, Map<T,Integer> indexByMember, Map<T,Integer> indexByInstance) {
+    	if ( members.isEmpty() ) {
+    		return null;
+    	}
+    	List<Integer> result = new ArrayList<>(members.size());
+    	for ( T member : members ) {
+    		Integer index = indexByInstance.get(member);
+    		if ( index == null ) {
+    			index = indexByMember.get(member);
+    			if ( index == null ) {
+    				index = uniqueMembers.size();
+    				indexByMember.put(member, index);
+    				uniqueMembers.add(member);
+    			}
+    			indexByInstance.put(member, index);
+    		}
+    		result.add(index);
+    	}
+    	return result;
+    }
+
+    /**
+     * Reflects a class of the given index. The index resolves the constant pool
+     * of the ABC block of the class.
+     */
+    private Type reflectClass(ClassIndex index, AS3Data abcData, String className, InstanceInfo instanceInfo) throws ResolverException {
+    	ResolvedConstantPool pool = index.getConstantPool(abcData);
     	Type result = new Type();
     	
     	result.fullName = className;
@@ -331,10 +491,10 @@ public class ReflectTool {
 			int multinameKind = multiname.getKind().value();			
 			if ( multinameKind == 7 ) {	// QName
 				QName qname = (QName)multiname.getData();
-				Pair<String,Integer> ns = resolveNamespace(abcData, qname.getNs().value());
+				int nsKind = pool.getNamespaceKind(qname.getNs().value());
 				
-//				System.out.println("    "+resolveString(abcData, qname.getName().value()) + " " + ns.getLeft()+" "+ns.getRight());
-				if ( ns.getValue() != 0x16 ) {
+//				System.out.println("    "+pool.getString(qname.getName().value()) + " " + pool.getNamespaceName(qname.getNs().value())+" "+nsKind);
+				if ( nsKind != 0x16 ) {
 					// private or protected, skip
 					continue;
 				}
@@ -346,20 +506,20 @@ public class ReflectTool {
 				TraitSlot slot = (TraitSlot) trait.getData();
 				
 				Field field = new Field();
-				field.name = ABCUtil.resolveMultiname(abcData, trait.getName().value(), false);
-				field.typeName = ABCUtil.resolveMultiname(abcData, slot.getTypeName().value(), true);
+				field.name = pool.getMultiname(trait.getName().value(), false);
+				field.typeName = pool.getMultiname(slot.getTypeName().value(), true);
 				
-				field.metadata = getMetadata(abcData, trait);
+				field.metadata = getMetadata(abcData, pool, trait);
 				
 				result.fields.add(field);
 			}
 			else if ( tclass.equals(TraitClass.class) ) {
-				result.metadata = getMetadata(abcData, trait);
+				result.metadata = getMetadata(abcData, pool, trait);
 			}
 			else if ( tclass.equals(TraitGetter.class) || tclass.equals(TraitSetter.class) ) {
 				TraitMethod method = (TraitMethod) trait.getData();
 				MethodInfo methodInfo = abcData.getMethodInfos().get(method.getMethod().value());
-				String accessorName = resolveString(abcData, methodInfo.getName().value());
+				String accessorName = pool.getString(methodInfo.getName().value());
 
 				if ( tclass.equals(TraitGetter.class) ) {
 					getters.put(accessorName, trait);
@@ -383,7 +543,7 @@ public class ReflectTool {
     			// Metadata can be on getter or setter, but not both. Need
     			// to choose the right one in order to get metadata.
     			TraitsInfo t = setters.get(acc);
-    			List<Metadata> gm = getMetadata(abcData, getters.get(acc));
+    			List<Metadata> gm = getMetadata(abcData, pool, getters.get(acc));
     			if ( gm != null ) {
     				t = getters.get(acc);
     			}    			
@@ -399,21 +559,21 @@ public class ReflectTool {
     		}
     	}
     	
-    	result.accessors = createAccessors(abcData, readonly, access_readonly);
-    	result.accessors.addAll(createAccessors(abcData, writeonly, access_writeonly));
-    	result.accessors.addAll(createAccessors(abcData, readwrite, access_readwrite));
+    	result.accessors = createAccessors(abcData, pool, readonly, access_readonly);
+    	result.accessors.addAll(createAccessors(abcData, pool, writeonly, access_writeonly));
+    	result.accessors.addAll(createAccessors(abcData, pool, readwrite, access_readwrite));
     	
     	if ( instanceInfo.getInterfaceCount().value() > 0 ) {
     		result.interfaces = new ArrayList<>();
     		for ( EncodedU30 iface : instanceInfo.getInterfaces() ) {
-    			result.interfaces.add( ABCUtil.resolveMultiname(abcData, iface.value(), true) );
+    			result.interfaces.add( pool.getMultiname(iface.value(), true) );
     		}
     	}
     	
 		return result;
     }
 
-    private List<Accessor> createAccessors(AS3Data abcData, List<TraitsInfo> traits, AccessorAccess access ) throws ResolverException {
+    private List<Accessor> createAccessors(AS3Data abcData, ResolvedConstantPool pool, List<TraitsInfo> traits, AccessorAccess access ) throws ResolverException {
     	List<Accessor> result = new ArrayList<>();
 
     	for ( TraitsInfo trait : traits ) {
@@ -433,9 +593,9 @@ public class ReflectTool {
 				typeNameIndex = methodInfo.getParamTypes().get(0).value();
 			}
 	
-			acc.typeName = ABCUtil.resolveMultiname(abcData, typeNameIndex, true);
-			acc.name = resolveString(abcData, methodNameIndex);
-			acc.metadata = getMetadata(abcData, trait);
+			acc.typeName = pool.getMultiname(typeNameIndex, true);
+			acc.name = pool.getString(methodNameIndex);
+			acc.metadata = getMetadata(abcData, pool, trait);
 			acc.access = access;
 			
 			result.add(acc);
@@ -443,13 +603,13 @@ public class ReflectTool {
     	return result;
     }
     
-    private List<Metadata> getMetadata(AS3Data abcData, TraitsInfo trait) {
+    private List<Metadata> getMetadata(AS3Data abcData, ResolvedConstantPool pool, TraitsInfo trait) {
     	List<Metadata> result = null;
     	if ( trait.getMetaDataCount() != null ) {
 			result = new ArrayList<>();
 			for ( EncodedU30 md : trait.getMetaData() ) {
 				MetaData metaData = abcData.getMetaData().get(md.value());
-				String mdname = resolveString(abcData, metaData.getName().value());
+				String mdname = pool.getString(metaData.getName().value());
 				if ( mdname.equals("__go_to_definition_help") ) {
 					continue;
 				}
@@ -459,10 +619,10 @@ public class ReflectTool {
 					int k = itemInfo.getKey().value();
 					String key = null, value = null;
 					if ( k != 0 ) {
-						key = resolveString(abcData, k);
+						key = pool.getString(k);
 					}
 					int v = itemInfo.getValue().value();
-					value = resolveString(abcData, v);
+					value = pool.getString(v);
 					fieldMetaData.addArgument(new MetadataArgument(key, value));
 				}
 				result.add(fieldMetaData);
@@ -473,19 +633,4 @@ public class ReflectTool {
     	}
 		return result;
 	}
-    
-    private String resolveString(AS3Data abcData, int index) {
-    	String result = null;
-    	if ( index != 0 ) {
-    		result = abcData.getConstantPool().getStrings().get(index-1).getName().value();
-    	}
-    	return result;
-    }
-
-    private Pair<String,Integer> resolveNamespace(AS3Data abcData, int index) {
-		NamespaceInfo namespace = abcData.getConstantPool().getNamespaces().get(index-1);
-		String name = resolveString(abcData, namespace.getName().value());
-    	int kind = namespace.getKind().value();
-		return new ImmutablePair<String, Integer>(name, kind); 
-    }
 }
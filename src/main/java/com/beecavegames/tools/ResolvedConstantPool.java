@@ -0,0 +1,168 @@
+package com.beecavegames.tools;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import tv.porst.swfretools.parser.structures.ConstantPool;
+import tv.porst.swfretools.parser.structures.EncodedU30;
+import tv.porst.swfretools.parser.structures.GenericVector;
+import tv.porst.swfretools.parser.structures.MultinameInfo;
+import tv.porst.swfretools.parser.structures.NamespaceInfo;
+import tv.porst.swfretools.parser.structures.NamespaceSetInfo;
+import tv.porst.swfretools.parser.structures.QName;
+import tv.porst.swfretools.utils.ResolverException;
+
+/**
+ * Resolved view of the constant pool of one ABC block. Strings, namespaces,
+ * namespace sets and multiname strings are resolved on first access and kept
+ * in arrays indexed by constant pool index, so looking up a name again is a
+ * single array read. All strings are interned.
+ * 
+ * Entries are written without locking. Concurrent readers may resolve the
+ * same entry twice, but always to equal strings. Strings are immutable, so
+ * they can be published through plain array writes. Namespace sets are
+ * arrays that are filled after they are created, so they are published
+ * through an AtomicReferenceArray; a reader never sees a set whose
+ * elements are not written yet.
+ */
+public class ResolvedConstantPool {
+
+    private static final String[] NO_PARTS = new String[0];
+
+    private final ConstantPool constantPool;
+
+    private final String[] strings;
+    private final String[] namespaceNames;
+    private final AtomicReferenceArray<String[]> namespaceSets;
+    private final String[] multinames;
+    private final String[] qualifiedMultinames;
+
+    public ResolvedConstantPool(ConstantPool constantPool) {
+    	this.constantPool = constantPool;
+    	strings = new String[constantPool.getStrings().size() + 1];
+    	namespaceNames = new String[constantPool.getNamespaces().size() + 1];
+    	namespaceSets = new AtomicReferenceArray<>(constantPool.getNamespaceSets().size() + 1);
+    	multinames = new String[constantPool.getMultinames().size() + 1];
+    	qualifiedMultinames = new String[constantPool.getMultinames().size() + 1];
+    }
+
+    public ConstantPool getConstantPool() {
+    	return constantPool;
+    }
+
+    /**
+     * Same result as ABCUtil.resolveMultiname(abc, index, full).
+     */
+    public String getMultiname(int index, boolean full) throws ResolverException {
+    	String[] cache = full ? qualifiedMultinames : multinames;
+    	String result = cache[index];
+    	if ( result == null ) {
+    		result = index == 0 ? "*" : resolveMultiname(index, full);
+    		cache[index] = result;
+    	}
+    	return result;
+    }
+
+    public int getNamespaceKind(int index) {
+    	return constantPool.getNamespaces().get(index - 1).getKind().value();
+    }
+
+    public String getNamespaceName(int index) {
+    	String result = namespaceNames[index];
+    	if ( result == null && index != 0 ) {
+    		NamespaceInfo namespace = constantPool.getNamespaces().get(index - 1);
+    		result = getString(namespace.getName().value());
+    		namespaceNames[index] = result;
+    	}
+    	return result;
+    }
+
+    /**
+     * Returns the names of the namespaces in a namespace set. The returned
+     * array is shared and must not be modified.
+     */
+    public String[] getNamespaceSet(int index) {
+    	String[] result = namespaceSets.get(index);
+    	if ( result == null && index != 0 ) {
+    		NamespaceSetInfo namespaceSet = constantPool.getNamespaceSets().get(index - 1);
+    		result = new String[namespaceSet.getNamespaces().size()];
+    		int i = 0;
+    		for ( EncodedU30 ns : namespaceSet.getNamespaces() ) {
+    			result[i++] = getNamespaceName(ns.value());
+    		}
+    		namespaceSets.set(index, result);
+    	}
+    	return result;
+    }
+
+    public String getString(int index) {
+    	String result = strings[index];
+    	if ( result == null && index != 0 ) {
+    		result = constantPool.getStrings().get(index - 1).getName().value().intern();
+    		strings[index] = result;
+    	}
+    	return result;
+    }
+
+    private String resolveMultiname(int index, boolean full) throws ResolverException {
+    	String result;
+    	String[] array = resolveParts(constantPool.getMultinames().get(index - 1));
+    	if ( array.length > 0 ) {
+    		if ( full ) {
+    			int len = array.length;
+    			result = ABCUtil.resolveTypeName(array[len-2], array[len-1]);
+    			len -= 2;
+    			// This loop is to handle nested Vectors
+    			while ( len > 0 ) {
+    				String outer = ABCUtil.resolveTypeName(array[len-2], array[len-1]);
+    				len -= 2;
+    				result = outer + ".<" + result + ">";
+    			}
+    		}
+    		else {
+    			result = array[array.length-1];
+    		}
+    	}
+    	else {
+    		result = "";
+    	}
+    	// REMOVE "__AS3__.vec::" namespace on Vector.<>
+    	return result.replace("__AS3__.vec::", "").intern();
+    }
+
+    // Same parts as ActionScript3Helpers.resolveMultiname, taken from the resolved strings.
+    private String[] resolveParts(MultinameInfo multinameInfo) throws ResolverException {
+    	if ( multinameInfo.getKind().value() == 7 ) {
+    		QName qname = (QName) multinameInfo.getData();
+    		int ns = qname.getNs().value();
+    		if ( ns == 0 ) {
+    			return NO_PARTS;
+    		}
+    		if ( ns > constantPool.getNamespaces().size() ) {
+    			throw new ResolverException("Invalid namespace index");
+    		}
+    		String namespaceName = resolveString(constantPool.getNamespaces().get(ns - 1).getName().value());
+    		String name = resolveString(qname.getName().value());
+    		return new String[] { namespaceName, name };
+    	}
+    	else if ( multinameInfo.getKind().value() == 29 ) {
+    		GenericVector vec = (GenericVector) multinameInfo.getData();
+    		String[] outer = resolveParts(constantPool.getMultinames().get(vec.getTypeDefinition().value()-1));
+    		String[] inner = resolveParts(constantPool.getMultinames().get(vec.getParams().get(0).value()-1));
+    		// inner could be more nested Vectors, so concat full arrays
+    		String[] result = new String[outer.length + inner.length];
+    		System.arraycopy(outer, 0, result, 0, outer.length);
+    		System.arraycopy(inner, 0, result, outer.length, inner.length);
+    		return result;
+    	}
+    	else {
+    		return NO_PARTS;
+    	}
+    }
+
+    private String resolveString(int index) throws ResolverException {
+    	if ( index >= strings.length ) {
+    		throw new ResolverException("Invalid string index");
+    	}
+    	return getString(index);
+    }
+}
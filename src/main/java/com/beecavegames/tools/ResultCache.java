@@ -0,0 +1,346 @@
+package com.beecavegames.tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.SWFParser;
+import tv.porst.swfretools.parser.SWFParserException;
+import tv.porst.swfretools.parser.structures.RecordHeader;
+import tv.porst.swfretools.parser.structures.SWFFile;
+import tv.porst.swfretools.parser.tags.LazyTag;
+import tv.porst.swfretools.parser.tags.Tag;
+import tv.porst.swfretools.parser.tags.TagCodes;
+
+/**
+ * On-disk cache of the JSON and AMF outputs of the tools.
+ *
+ * The outputs only depend on the ABC data of a SWF file and on the options of
+ * the tool, so an entry is keyed by a SHA-256 hash of the DoABC and RawABC tag
+ * bodies and the options. Changes to images, sounds or frame scripts outside
+ * the ABC data keep the key. An entry is stored as "key.amf" in the cache
+ * directory, and its JSON output as "variant.json" under a variant key that
+ * also covers the formatting. Only the outputs that were written at least once
+ * are present. The tools also keep partial results of single ABC blocks in the
+ * cache, keyed by the bytes of the block, as "key.summary".
+ *
+ * The cache is kept below a size bound by deleting the least recently used
+ * files. The modification time of a file is set whenever it is used, so it
+ * doubles as its last access time. The size of the cache is tracked while
+ * outputs are stored, and the directory is only scanned when the total crosses
+ * the bound. Files are written to a temporary name and moved into place, so
+ * several processes can share a cache directory.
+ */
+public class ResultCache {
+
+    /**
+     * Part of every key. Change it when the output format of a tool changes so
+     * that old entries are no longer used.
+     */
+    private static final String VERSION = "1";
+
+    public static final String JSON = "json";
+    public static final String AMF = "amf";
+    public static final String SUMMARY = "summary";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * Size of the cached files as of the last scan plus the outputs stored
+     * since, or -1 before the first scan.
+     */
+    private long totalBytes = -1;
+
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+    	if ( maxBytes < 0 ) {
+    		throw new IllegalArgumentException("Cache size must not be negative");
+    	}
+    	this.directory = directory;
+    	this.maxBytes = maxBytes;
+    	Files.createDirectories(directory);
+    }
+
+    /**
+     * Computes the key of a SWF file for a tool. The file is only indexed, no
+     * tag is decoded.
+     */
+    public static String key(Path swf, String tool, String... options) throws IOException, SWFParserException {
+    	return key(SWFParser.parse(swf, ParseOptions.lazy()), tool, options);
+    }
+
+    /**
+     * Computes the key of a SWF file for a tool from the DoABC and RawABC tags of
+     * the file. Every option is hashed with its length so that different splits
+     * of the same characters give different keys. Null options are allowed.
+     */
+    public static String key(SWFFile swfFile, String tool, String... options) {
+    	MessageDigest digest = digest(tool, options);
+    	ByteBuffer data = swfFile.getDecompressedBuffer();
+    	for ( Tag tag : swfFile.getTags() ) {
+    		RecordHeader header = tag.getHeader();
+    		if ( header.getTagCode() != TagCodes.DoABC && header.getTagCode() != TagCodes.RawABC ) {
+    			continue;
+    		}
+    		int start = tag.getBitPosition() / 8 + header.getHeaderLength();
+    		ByteBuffer body = data.duplicate();
+    		body.position(start);
+    		body.limit(start + header.getNormalizedLength());
+    		update(digest, header, body);
+    	}
+    	return toHex(digest);
+    }
+
+    /**
+     * Computes the key of one ABC block of a SWF file for a tool. The key only
+     * depends on the bytes of the block, not on its position in the file.
+     */
+    public static String blockKey(LazyTag tag, String tool, String... options) {
+    	MessageDigest digest = digest(tool, options);
+    	ByteBuffer body = tag.getData();
+    	body.position(body.position() + tag.getHeader().getHeaderLength());
+    	update(digest, tag.getHeader(), body);
+    	return toHex(digest);
+    }
+
+    /**
+     * Computes the key of a variant of an output from the key of the output, for
+     * example of the JSON output in one formatting.
+     */
+    public static String variantKey(String key, String... options) {
+    	MessageDigest digest = digest(key, options);
+    	return toHex(digest);
+    }
+
+    /**
+     * Returns the cached output of a key, or null if it is not cached.
+     */
+    public byte[] load(String key, String extension) throws IOException {
+    	Path file = directory.resolve(key+"."+extension);
+    	if ( !touch(file) ) {
+    		return null;
+    	}
+    	try {
+    		return Files.readAllBytes(file);
+    	}
+    	catch ( NoSuchFileException e ) {
+    		return null;
+    	}
+    }
+
+    /**
+     * Serves a job from the cache. The cached outputs are copied to the output
+     * files of the job, or the JSON is printed to stdout when the job has no
+     * output file. The JSON output also depends on its formatting, so it has its
+     * own key. Returns false and does nothing if an output the job needs is not
+     * cached.
+     */
+    public boolean restore(String jsonKey, String amfKey, BatchJob job) throws IOException {
+    	boolean printOutput = !job.hasOutputFile();
+    	Path json = (job.jsonFilename != null || printOutput) ? directory.resolve(jsonKey+"."+JSON) : null;
+    	Path amf = (job.amfFilename != null) ? directory.resolve(amfKey+"."+AMF) : null;
+    	if ( (json != null && !touch(json)) || (amf != null && !touch(amf)) ) {
+    		return false;
+    	}
+
+    	try {
+    		if ( printOutput ) {
+    			Files.copy(json, System.out);
+    			System.out.println();
+    		}
+    		else if ( json != null ) {
+    			Files.copy(json, Paths.get(job.jsonFilename), StandardCopyOption.REPLACE_EXISTING);
+    		}
+    		if ( amf != null ) {
+    			Files.copy(amf, Paths.get(job.amfFilename), StandardCopyOption.REPLACE_EXISTING);
+    		}
+    	}
+    	catch ( NoSuchFileException e ) {
+    		// Evicted by another process between the check and the copy.
+    		return false;
+    	}
+    	return true;
+    }
+
+    /**
+     * Stores one output of a key and evicts the least recently used files if the
+     * cache has grown beyond its size bound.
+     */
+    public void store(String key, String extension, byte[] data) throws IOException {
+    	Path target = directory.resolve(key+"."+extension);
+    	long replacedSize = sizeOf(target);
+    	Path temp = Files.createTempFile(directory, key, ".tmp");
+    	try {
+    		Files.write(temp, data);
+    		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    	}
+    	finally {
+    		Files.deleteIfExists(temp);
+    	}
+    	grow(data.length - replacedSize);
+    }
+
+    /**
+     * Stores a copy of an output file, like store(String, String, byte[]).
+     */
+    public void store(String key, String extension, Path file) throws IOException {
+    	Path target = directory.resolve(key+"."+extension);
+    	long replacedSize = sizeOf(target);
+    	long size;
+    	Path temp = Files.createTempFile(directory, key, ".tmp");
+    	try {
+    		Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+    		size = Files.size(temp);
+    		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    	}
+    	finally {
+    		Files.deleteIfExists(temp);
+    	}
+    	grow(size - replacedSize);
+    }
+
+    /**
+     * Adds the size of a stored output to the running total and evicts files
+     * once the total exceeds the size bound. The directory is only scanned on
+     * the first store and on eviction, which also counts the files that other
+     * processes stored in the meantime.
+     */
+    private synchronized void grow(long bytes) throws IOException {
+    	if ( totalBytes < 0 ) {
+    		evict();
+    		return;
+    	}
+    	totalBytes += bytes;
+    	if ( totalBytes > maxBytes ) {
+    		evict();
+    	}
+    }
+
+    /**
+     * Deletes the least recently used files until the cache is within its size
+     * bound, and sets the running total to the size of the remaining files.
+     */
+    private synchronized void evict() throws IOException {
+    	final List<Path> files = new ArrayList<>();
+    	final List<FileTime> times = new ArrayList<>();
+    	List<Long> sizes = new ArrayList<>();
+    	long total = 0;
+    	try ( DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.{"+JSON+","+AMF+","+SUMMARY+"}") ) {
+    		for ( Path file : stream ) {
+    			try {
+    				long size = Files.size(file);
+    				times.add(Files.getLastModifiedTime(file));
+    				sizes.add(size);
+    				files.add(file);
+    				total += size;
+    			}
+    			catch ( NoSuchFileException e ) {
+    				// Evicted by another process.
+    			}
+    		}
+    	}
+    	if ( total <= maxBytes ) {
+    		totalBytes = total;
+    		return;
+    	}
+
+    	List<Integer> order = new ArrayList<>();
+    	for ( int i = 0; i < files.size(); i++ ) {
+    		order.add(i);
+    	}
+    	Collections.sort(order, new Comparator<Integer>() {
+    		@Override
+    		public int compare(Integer i1, Integer i2) {
+    			return times.get(i1).compareTo(times.get(i2));
+    		}
+    	});
+    	for ( int i : order ) {
+    		if ( total <= maxBytes ) {
+    			break;
+    		}
+    		Files.deleteIfExists(files.get(i));
+    		total -= sizes.get(i);
+    	}
+    	totalBytes = total;
+    }
+
+    private static long sizeOf(Path file) throws IOException {
+    	try {
+    		return Files.size(file);
+    	}
+    	catch ( NoSuchFileException e ) {
+    		return 0;
+    	}
+    }
+
+    /**
+     * Marks a cached file as used. Returns false if the file is not cached.
+     */
+    private static boolean touch(Path file) throws IOException {
+    	try {
+    		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    		return true;
+    	}
+    	catch ( NoSuchFileException e ) {
+    		return false;
+    	}
+    }
+
+    private static MessageDigest digest(String tool, String... options) {
+    	MessageDigest digest;
+    	try {
+    		digest = MessageDigest.getInstance("SHA-256");
+    	}
+    	catch ( NoSuchAlgorithmException e ) {
+    		throw new IllegalStateException(e);
+    	}
+    	update(digest, VERSION);
+    	update(digest, tool);
+    	for ( String option : options ) {
+    		update(digest, option);
+    	}
+    	return digest;
+    }
+
+    private static String toHex(MessageDigest digest) {
+    	StringBuilder hex = new StringBuilder();
+    	for ( byte b : digest.digest() ) {
+    		hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    	}
+    	return hex.toString();
+    }
+
+    private static void update(MessageDigest digest, RecordHeader header, ByteBuffer body) {
+    	digest.update((byte) header.getTagCode());
+    	digest.update(ByteBuffer.allocate(4).putInt(header.getNormalizedLength()).array());
+    	digest.update(body);
+    }
+
+    /**
+     * Hashes a string with its length. A null string is hashed as length -1, so
+     * that it gives another key than the empty string.
+     */
+    private static void update(MessageDigest digest, String value) {
+    	if ( value == null ) {
+    		digest.update(ByteBuffer.allocate(4).putInt(-1).array());
+    		return;
+    	}
+    	byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    	digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+    	digest.update(bytes);
+    }
+}
@@ -0,0 +1,28 @@
+package com.beecavegames.tools;
+
+import java.util.Locale;
+
+import org.kohsuke.args4j.Localizable;
+
+/**
+ * A command line usage error message for CmdLineException. The message is
+ * used as it is, it is neither translated nor formatted.
+ */
+class UsageMessage implements Localizable
+{
+	private final String message;
+
+    public UsageMessage(String message) {
+    	this.message = message;
+    }
+
+    @Override
+    public String formatWithLocale(Locale locale, Object... args) {
+    	return message;
+    }
+
+    @Override
+    public String format(Object... args) {
+    	return message;
+    }
+}
@@ -1,16 +1,35 @@
 package tv.porst.splib.binaryparser;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * Class that can be used to parse simple data structures from
- * byte streams.
+ * byte streams. The parser reads directly from a read-only view of
+ * its input and never copies it, so it can be used on memory-mapped
+ * files as well as on heap arrays.
+ * 
+ * Besides the read methods that return parsed type objects, the parser
+ * offers primitive read methods ({@link #u8()}, {@link #u16()}, {@link #u32()},
+ * {@link #ubits(int)}, {@link #sbits(int)} and {@link #peekU8()}) that return
+ * plain values and do not allocate anything.
  */
 public class BinaryParser {
 
 	/**
 	 * The data to parse.
 	 */
-	private final byte[] data;
+	private final ByteBuffer data;
+
+	/**
+	 * The length of the data to parse in bytes.
+	 */
+	private final int length;
+
+	/**
+	 * Position of the first byte of the data in the input stream.
+	 */
+	private final int offset;
 
 	/**
 	 * The current byte position.
@@ -34,7 +53,99 @@ public class BinaryParser {
 			throw new IllegalArgumentException("Data argument must not be null");
 		}
 
-		this.data = data.clone();
+		this.data = ByteBuffer.wrap(data).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+		this.length = data.length;
+		this.offset = 0;
+	}
+
+	/**
+	 * Creates a new binary parser object that parses data from
+	 * the remaining bytes of the given buffer. The buffer content
+	 * is not copied and the position of the buffer is not modified.
+	 * 
+	 * @param data The source buffer.
+	 */
+	public BinaryParser(final ByteBuffer data) {
+		this(data, 0);
+	}
+
+	/**
+	 * Creates a new binary parser object that parses a part of a larger
+	 * input stream. The remaining bytes of the given buffer are the part of
+	 * the input stream that starts at the given offset. All positions that
+	 * are used and returned by the parser are positions in the whole input
+	 * stream. The buffer content is not copied and the position of the
+	 * buffer is not modified.
+	 * 
+	 * @param data The source buffer.
+	 * @param offset Position of the first remaining byte of the buffer in the input stream.
+	 */
+	public BinaryParser(final ByteBuffer data, final int offset) {
+
+		if (data == null) {
+			throw new IllegalArgumentException("Data argument must not be null");
+		}
+
+		if (offset < 0) {
+			throw new IllegalArgumentException("Offset argument must not be negative");
+		}
+
+		this.data = data.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+		this.length = this.data.remaining();
+		this.offset = offset;
+	}
+
+	/**
+	 * Returns the current position in bits, counted from the start of the
+	 * input stream.
+	 * 
+	 * @return The current bit offset.
+	 */
+	private int bitOffset() {
+		return 8 * (offset + bytePosition) + bitPosition;
+	}
+
+	/**
+	 * Returns the eight bytes starting at the given position as a big-endian
+	 * 64 bit value. Bytes beyond the end of the stream are read as zero.
+	 * 
+	 * @param position The byte position of the first byte.
+	 * 
+	 * @return The 64 bit window starting at the given position.
+	 */
+	private long bitWindow(final int position) {
+
+		if (position + 8 <= length) {
+			return Long.reverseBytes(data.getLong(position));
+		}
+
+		long window = 0;
+
+		for (int i=0;i<8;i++) {
+			window = (window << 8) | (position + i < length ? data.get(position + i) & 0xFF : 0);
+		}
+
+		return window;
+	}
+
+	/**
+	 * Throws an exception if the parser is not byte aligned.
+	 */
+	private void checkAligned() {
+		if (bitPosition != 0) {
+			throw new IllegalStateException("Parser is not byte aligned");
+		}
+	}
+
+	/**
+	 * Throws an exception if fewer than the given number of bits are left.
+	 * 
+	 * @param numberOfBits The number of bits to check for.
+	 */
+	private void checkBitsLeft(final int numberOfBits) {
+		if (8L * bytePosition + bitPosition + numberOfBits > 8L * length) {
+			throw new IllegalArgumentException("Not enough data left");
+		}
 	}
 
 	/**
@@ -62,16 +173,38 @@ public class BinaryParser {
 	 * @return The current byte position.
 	 */
 	public int getBytePosition() {
-		return bytePosition;
+		return offset + bytePosition;
+	}
+
+	/**
+	 * Returns a read-only view of the parsed byte stream. The returned
+	 * buffer shares its content with the parser. Its first byte is the
+	 * byte at the offset the parser was created with.
+	 * 
+	 * @return A read-only view of the parsed byte stream.
+	 */
+	public ByteBuffer getData() {
+		return data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
 	}
 
 	/**
-	 * Returns the length of the byte stream.
+	 * Returns the length of the byte stream. This is the position that
+	 * follows the last byte the parser can read.
 	 * 
 	 * @return The length of the byte stream.
 	 */
 	public int getLength() {
-		return data.length;
+		return offset + length;
+	}
+
+	/**
+	 * Returns the position of the first byte of the parsed byte stream in
+	 * the input stream.
+	 * 
+	 * @return The position of the first byte of the parsed byte stream.
+	 */
+	public int getOffset() {
+		return offset;
 	}
 
 	/**
@@ -80,7 +213,7 @@ public class BinaryParser {
 	 * @return True, if parsing is complete. False, if there is data left to parse.
 	 */
 	public boolean isDone() {
-		return bytePosition == data.length;
+		return bytePosition == length;
 	}
 
 	/**
@@ -97,10 +230,37 @@ public class BinaryParser {
 			throw new IllegalArgumentException("Number of bits argument must be between 0 and 32");
 		}
 
+		return new UBits(bitOffset(), numberOfBits, peekUbits(numberOfBits));
+	}
+
+	/**
+	 * Peeks at the next unsigned byte without moving the current parsing
+	 * position forward.
+	 * 
+	 * @return The peeked unsigned byte.
+	 */
+	public int peekU8() {
+
+		checkBitsLeft(8);
+		checkAligned();
+
+		return data.get(bytePosition) & 0xFF;
+	}
+
+	/**
+	 * Peeks at the next few unsigned bits without moving the current parsing
+	 * position forward.
+	 * 
+	 * @param numberOfBits The number of bits to peek at. This value must be between 0 and 32.
+	 * 
+	 * @return The peeked bits.
+	 */
+	public int peekUbits(final int numberOfBits) {
+
 		final int bytePosition = this.bytePosition;
 		final int bitPosition = this.bitPosition;
 
-		final UBits value = readBits(numberOfBits);
+		final int value = ubits(numberOfBits);
 
 		this.bitPosition = bitPosition;
 		this.bytePosition = bytePosition;
@@ -153,16 +313,7 @@ public class BinaryParser {
 	 * @return The peeked UINT8 value.
 	 */
 	public UINT8 peekUInt8() {
-
-		final int bytePosition = this.bytePosition;
-		final int bitPosition = this.bitPosition;
-
-		final UINT8 value = readUInt8();
-
-		this.bitPosition = bitPosition;
-		this.bytePosition = bytePosition;
-
-		return value;
+		return new UINT8(bitOffset(), peekU8());
 	}
 
 	/**
@@ -174,27 +325,9 @@ public class BinaryParser {
 	 */
 	public UBits readBits(final int numberOfBits) {
 
-		if (bytePosition * 8 + bitPosition + numberOfBits > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
-
-		final int oldBytePosition = bytePosition;
-		final int oldBitPosition = bitPosition;
-
-		int value = 0;
-
-		for (int i=0;i<numberOfBits;i++) {
-			value = (value << 1) | ((data[bytePosition] >> (7 - bitPosition)) & 1);
+		final int bitOffset = bitOffset();
 
-			bitPosition++;
-
-			if (bitPosition == 8) {
-				bitPosition = 0;
-				bytePosition++;
-			}
-		}
-
-		return new UBits(8 * oldBytePosition + oldBitPosition, numberOfBits, value);
+		return new UBits(bitOffset, numberOfBits, ubits(numberOfBits));
 	}
 
 	/**
@@ -204,15 +337,40 @@ public class BinaryParser {
 	 */
 	public byte readByte() {
 
-		if (bytePosition * 8 + bitPosition + 8 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
+		checkBitsLeft(8);
+		checkAligned();
+
+		return data.get(bytePosition++);
+	}
+
+	/**
+	 * Reads the next number of bytes from the byte stream.
+	 * 
+	 * @param numberOfBytes The number of bytes to read.
+	 * 
+	 * @return The read bytes.
+	 */
+	public byte[] readBytes(final int numberOfBytes) {
+
+		if (numberOfBytes < 0) {
+			throw new IllegalArgumentException("The number of bytes to read can not be negative");
 		}
 
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
+		if (bytePosition * 8 + bitPosition + 8L * numberOfBytes > length * 8L) {
+			throw new IllegalArgumentException("Not enough data left");
 		}
 
-		return data[bytePosition++];
+		checkAligned();
+
+		final byte[] bytes = new byte[numberOfBytes];
+
+		final ByteBuffer source = data.duplicate();
+		source.position(bytePosition);
+		source.get(bytes);
+
+		bytePosition += numberOfBytes;
+
+		return bytes;
 	}
 
 	/**
@@ -222,12 +380,9 @@ public class BinaryParser {
 	 */
 	public Flag readFlag() {
 
-		final int bytePosition = this.bytePosition;
-		final int bitPosition = this.bitPosition;
-
-		final UBits value = readBits(1);
+		final int bitOffset = bitOffset();
 
-		return new Flag(8 * bytePosition + bitPosition, value.value() == 1);
+		return new Flag(bitOffset, ubits(1) == 1);
 	}
 
 	/**
@@ -237,9 +392,9 @@ public class BinaryParser {
 	 */
 	public Float32 readFloat() {
 
-		final float value = Float.intBitsToFloat(readInt32().value());
+		final float value = Float.intBitsToFloat(s32());
 
-		return new Float32(8 * bytePosition + bitPosition - 32, value);
+		return new Float32(bitOffset() - 32, value);
 	}
 
 	/**
@@ -248,9 +403,9 @@ public class BinaryParser {
 	 * @return The next short float.
 	 */
 	public Float16 readFloat16() {
-		readInt16();
+		u16();
 
-		return new Float16(8 * bytePosition + bitPosition - 16, (float) 0.0);
+		return new Float16(bitOffset() - 16, (float) 0.0);
 	}
 
 	/**
@@ -260,9 +415,9 @@ public class BinaryParser {
 	 */
 	public Float64 readFloat64() {
 
-		final double value = Double.longBitsToDouble(readInt64().value());
+		final double value = Double.longBitsToDouble(s64());
 
-		return new Float64(8 * bytePosition + bitPosition - 64, value);
+		return new Float64(bitOffset() - 64, value);
 	}
 
 	/**
@@ -272,18 +427,9 @@ public class BinaryParser {
 	 */
 	public INT16 readInt16() {
 
-		if (bytePosition * 8 + bitPosition + 16 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
-
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
-		}
-
-		final int firstByte = readByte() & 0xFF;
-		final int secondByte = readByte() & 0xFF;
+		final int value = u16();
 
-		return new INT16(8 * bytePosition + bitPosition - 16, secondByte << 8 | firstByte);
+		return new INT16(bitOffset() - 16, value);
 	}
 
 	/**
@@ -293,25 +439,18 @@ public class BinaryParser {
 	 */
 	public INT24 readInt24() {
 
-		if (bytePosition * 8 + bitPosition + 24 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
-
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
-		}
-
-		final int firstByte = readByte() & 0xFF;
-		final int secondByte = readByte() & 0xFF;
-		final int thirdByte = readByte() & 0xFF;
+		checkBitsLeft(24);
+		checkAligned();
 
-		int value = thirdByte << 16 | secondByte << 8 | firstByte;
+		int value = (data.get(bytePosition + 2) & 0xFF) << 16 | (data.getShort(bytePosition) & 0xFFFF);
 
 		if (value > 0x7FFFFF) {
 			value = value - 0x1000000;
 		}
 
-		return new INT24(8 * bytePosition + bitPosition - 24, value);
+		bytePosition += 3;
+
+		return new INT24(bitOffset() - 24, value);
 	}
 
 	/**
@@ -321,20 +460,9 @@ public class BinaryParser {
 	 */
 	public INT32 readInt32() {
 
-		if (bytePosition * 8 + bitPosition + 32 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
+		final int value = s32();
 
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
-		}
-
-		final int firstByte = readByte() & 0xFF;
-		final int secondByte = readByte() & 0xFF;
-		final int thirdByte = readByte() & 0xFF;
-		final int fourthByte = readByte() & 0xFF;
-
-		return new INT32(8 * bytePosition + bitPosition - 32, fourthByte << 24 | thirdByte << 16 | secondByte << 8 | firstByte);
+		return new INT32(bitOffset() - 32, value);
 	}
 
 	/**
@@ -344,24 +472,9 @@ public class BinaryParser {
 	 */
 	public INT64 readInt64() {
 
-		if (bytePosition * 8 + bitPosition + 64 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
-
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
-		}
-
-		final int firstByte = readByte() & 0xFF;
-		final int secondByte = readByte() & 0xFF;
-		final int thirdByte = readByte() & 0xFF;
-		final int fourthByte = readByte() & 0xFF;
-		final int fifthByte = readByte() & 0xFF;
-		final int sixthByte = readByte() & 0xFF;
-		final int seventhByte = readByte() & 0xFF;
-		final int eigthByte = readByte() & 0xFF;
+		final long value = s64();
 
-		return new INT64(8 * bytePosition + bitPosition - 64, eigthByte << 56 | seventhByte << 48 | sixthByte << 40 | fifthByte << 32 | fourthByte << 24 | thirdByte << 16 | secondByte << 8 | firstByte);
+		return new INT64(bitOffset() - 64, value);
 	}
 
 	/**
@@ -373,27 +486,9 @@ public class BinaryParser {
 	 */
 	public Bits readSBits(final int numberOfBits) {
 
-		if (bytePosition * 8 + bitPosition + numberOfBits > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
-
-		final int oldBytePosition = bytePosition;
-		final int oldBitPosition = bitPosition;
-
-		int value = 0;
-
-		for (int i=0;i<numberOfBits;i++) {
-			value = (value << 1) | ((data[bytePosition] >> (7 - bitPosition)) & 1);
+		final int bitOffset = bitOffset();
 
-			bitPosition++;
-
-			if (bitPosition == 8) {
-				bitPosition = 0;
-				bytePosition++;
-			}
-		}
-
-		return new Bits(8 * oldBytePosition + oldBitPosition, numberOfBits, value);
+		return new Bits(bitOffset, numberOfBits, sbits(numberOfBits));
 	}
 
 	/**
@@ -415,7 +510,7 @@ public class BinaryParser {
 			value.append((char) b);
 		}
 
-		return new AsciiString(8 * bytePosition + bitPosition, value.toString(), true);
+		return new AsciiString(8 * (offset + bytePosition) + bitPosition, value.toString(), true);
 	}
 
 	/**
@@ -438,7 +533,7 @@ public class BinaryParser {
 			value.append((char) readByte());
 		}
 
-		return new AsciiString(8 * bytePosition - 8 * numberOfBytes, value.toString(), false);
+		return new AsciiString(8 * (offset + bytePosition - numberOfBytes), value.toString(), false);
 	}
 
 	/**
@@ -448,18 +543,9 @@ public class BinaryParser {
 	 */
 	public UINT16 readUInt16() {
 
-		if (bytePosition * 8 + bitPosition + 16 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
+		final int value = u16();
 
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
-		}
-
-		final int firstByte = readByte() & 0xFF;
-		final int secondByte = readByte() & 0xFF;
-
-		return new UINT16(8 * bytePosition + bitPosition - 16, secondByte << 8 | firstByte);
+		return new UINT16(bitOffset() - 16, value);
 	}
 
 	/**
@@ -469,20 +555,9 @@ public class BinaryParser {
 	 */
 	public UINT32 readUInt32() {
 
-		if (bytePosition * 8 + bitPosition + 32 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
-		}
+		final long value = u32();
 
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
-		}
-
-		final int firstByte = readByte() & 0xFF;
-		final int secondByte = readByte() & 0xFF;
-		final int thirdByte = readByte() & 0xFF;
-		final int fourthByte = readByte() & 0xFF;
-
-		return new UINT32(8 * bytePosition + bitPosition - 32, fourthByte << 24 | thirdByte << 16 | secondByte << 8 | firstByte);
+		return new UINT32(bitOffset() - 32, value);
 	}
 
 	/**
@@ -492,17 +567,88 @@ public class BinaryParser {
 	 */
 	public UINT8 readUInt8() {
 
-		if (bytePosition * 8 + bitPosition + 32 > data.length * 8) {
-			throw new IllegalArgumentException("Not enough data left");
+		final int value = u8();
+
+		return new UINT8(bitOffset() - 8, value);
+	}
+
+	/**
+	 * Reads the next number of bytes from the byte stream into a UTF-8
+	 * string. The bytes are not copied and are only decoded when the value
+	 * of the string is requested.
+	 * 
+	 * @param numberOfBytes The number of bytes of the string.
+	 * 
+	 * @return The read string.
+	 */
+	public UTF8String readUTF8String(final int numberOfBytes) {
+
+		if (numberOfBytes < 0) {
+			throw new IllegalArgumentException("The number of bytes in the string can not be negative");
 		}
 
-		if (bitPosition != 0) {
-			throw new IllegalStateException("Parser is not byte aligned");
+		checkBitsLeft(8 * numberOfBytes);
+		checkAligned();
+
+		final UTF8String value = new UTF8String(data, bytePosition, numberOfBytes, bitOffset());
+
+		bytePosition += numberOfBytes;
+
+		return value;
+	}
+
+	/**
+	 * Reads the next signed integer from the byte stream.
+	 * 
+	 * @return The next signed integer.
+	 */
+	public int s32() {
+
+		checkBitsLeft(32);
+		checkAligned();
+
+		final int value = data.getInt(bytePosition);
+
+		bytePosition += 4;
+
+		return value;
+	}
+
+	/**
+	 * Reads the next signed long from the byte stream.
+	 * 
+	 * @return The next signed long.
+	 */
+	public long s64() {
+
+		checkBitsLeft(64);
+		checkAligned();
+
+		final long value = data.getLong(bytePosition);
+
+		bytePosition += 8;
+
+		return value;
+	}
+
+	/**
+	 * Reads the next few signed bits from the byte stream and sign-extends them.
+	 * 
+	 * @param numberOfBits The number of signed bits to read. This value must be between 0 and 32.
+	 * 
+	 * @return The read signed bits.
+	 */
+	public int sbits(final int numberOfBits) {
+
+		final int value = ubits(numberOfBits);
+
+		if (numberOfBits == 0 || numberOfBits == 32) {
+			return value;
 		}
 
-		final int firstByte = readByte() & 0xFF;
+		final int shift = 32 - numberOfBits;
 
-		return new UINT8(8 * bytePosition + bitPosition - 8, firstByte);
+		return (value << shift) >> shift;
 	}
 
 	/**
@@ -513,19 +659,89 @@ public class BinaryParser {
 	 */
 	public void setPosition(final int bytePosition, final int bitPosition) {
 
-		if (bytePosition < 0) {
-			throw new IllegalArgumentException("Byte position argument must not be negative");
+		if (bytePosition < offset) {
+			throw new IllegalArgumentException("Byte position argument must not be before the start of the input buffer");
 		}
 
 		if (bitPosition < 0) {
 			throw new IllegalArgumentException("Bit position argument must not be negative");
 		}
 
-		if (bytePosition * 8 + bitPosition > data.length * 8) {
+		if ((bytePosition - offset) * 8L + bitPosition > length * 8L) {
 			throw new IllegalArgumentException("Can not move read position beyond the end of the input buffer");
 		}
 
-		this.bytePosition = bytePosition;
+		this.bytePosition = bytePosition - offset;
 		this.bitPosition = bitPosition;
 	}
+
+	/**
+	 * Reads the next unsigned short integer from the byte stream.
+	 * 
+	 * @return The next unsigned short integer.
+	 */
+	public int u16() {
+
+		checkBitsLeft(16);
+		checkAligned();
+
+		final int value = data.getShort(bytePosition) & 0xFFFF;
+
+		bytePosition += 2;
+
+		return value;
+	}
+
+	/**
+	 * Reads the next unsigned integer from the byte stream.
+	 * 
+	 * @return The next unsigned integer.
+	 */
+	public long u32() {
+		return s32() & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Reads the next unsigned byte from the byte stream.
+	 * 
+	 * @return The next unsigned byte.
+	 */
+	public int u8() {
+
+		checkBitsLeft(8);
+		checkAligned();
+
+		return data.get(bytePosition++) & 0xFF;
+	}
+
+	/**
+	 * Reads the next few unsigned bits from the byte stream.
+	 * 
+	 * @param numberOfBits The number of bits to read. This value must be between 0 and 32.
+	 * 
+	 * @return The read bits.
+	 */
+	public int ubits(final int numberOfBits) {
+
+		if (numberOfBits < 0 || numberOfBits > 32) {
+			throw new IllegalArgumentException("Number of bits argument must be between 0 and 32");
+		}
+
+		checkBitsLeft(numberOfBits);
+
+		if (numberOfBits == 0) {
+			return 0;
+		}
+
+		// A field of up to 32 bits that starts at bit 0-7 of the current byte always
+		// fits into the 64 bit window that starts at the current byte.
+		final int value = (int) ((bitWindow(bytePosition) << bitPosition) >>> (64 - numberOfBits));
+
+		final int nextBitPosition = bitPosition + numberOfBits;
+
+		bytePosition += nextBitPosition >>> 3;
+		bitPosition = nextBitPosition & 7;
+
+		return value;
+	}
 }
\ No newline at end of file
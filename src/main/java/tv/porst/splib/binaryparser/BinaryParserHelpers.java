@@ -71,12 +71,6 @@ public final class BinaryParserHelpers {
 			throw new IllegalArgumentException("Not enough bytes left in the input stream");
 		}
 
-		final byte[] array = new byte[length];
-
-		for (int i=0;i<array.length;i++) {
-			array[i] = parser.readByte();
-		}
-
-		return array;
+		return parser.readBytes(length);
 	}
 }
\ No newline at end of file
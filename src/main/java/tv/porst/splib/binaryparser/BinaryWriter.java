@@ -0,0 +1,239 @@
+package tv.porst.splib.binaryparser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Class that can be used to write simple data structures to byte streams.
+ * It is the counterpart of {@link BinaryParser}.
+ * 
+ * The bytes are written into a direct buffer that grows as needed. The
+ * write methods take plain values and do not allocate anything unless the
+ * buffer has to grow.
+ */
+public class BinaryWriter {
+
+	/**
+	 * Byte ranges up to this length are copied byte by byte instead of
+	 * through a temporary view of the source buffer.
+	 */
+	private static final int SMALL_COPY_LENGTH = 32;
+
+	/**
+	 * The written data. Its position is the current write position.
+	 */
+	private ByteBuffer data;
+
+	/**
+	 * Creates a new binary writer object with a small initial capacity.
+	 */
+	public BinaryWriter() {
+		this(1024);
+	}
+
+	/**
+	 * Creates a new binary writer object.
+	 * 
+	 * @param capacity The initial capacity of the buffer in bytes.
+	 */
+	public BinaryWriter(final int capacity) {
+
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity argument must not be negative");
+		}
+
+		data = ByteBuffer.allocateDirect(Math.max(capacity, 16)).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Makes sure that the given number of bytes can be written.
+	 * 
+	 * @param numberOfBytes The number of bytes to write.
+	 */
+	private void ensureCapacity(final int numberOfBytes) {
+
+		if (data.remaining() >= numberOfBytes) {
+			return;
+		}
+
+		final long required = (long) data.position() + numberOfBytes;
+
+		if (required > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Can not write more than 2 GB");
+		}
+
+		final int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, 2L * data.capacity()));
+
+		final ByteBuffer grown = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+
+		data.flip();
+		grown.put(data);
+
+		data = grown;
+	}
+
+	/**
+	 * Returns a read-only view of the bytes written so far. The view shares
+	 * its content with the writer until the writer has to grow.
+	 * 
+	 * @return The written bytes.
+	 */
+	public ByteBuffer getData() {
+
+		final ByteBuffer written = data.duplicate();
+
+		written.flip();
+
+		return written.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Returns the number of bytes written so far.
+	 * 
+	 * @return The number of bytes written so far.
+	 */
+	public int getLength() {
+		return data.position();
+	}
+
+	/**
+	 * Discards all bytes written so far. The buffer is kept for reuse.
+	 */
+	public void reset() {
+		data.clear();
+	}
+
+	/**
+	 * Returns a copy of the bytes written so far.
+	 * 
+	 * @return The written bytes.
+	 */
+	public byte[] toByteArray() {
+
+		final byte[] bytes = new byte[data.position()];
+
+		getData().get(bytes);
+
+		return bytes;
+	}
+
+	/**
+	 * Writes the remaining bytes of a buffer. The position of the buffer is
+	 * not modified.
+	 * 
+	 * @param bytes The bytes to write.
+	 */
+	public void writeBytes(final ByteBuffer bytes) {
+		writeBytes(bytes, bytes.position(), bytes.remaining());
+	}
+
+	/**
+	 * Writes a range of the bytes of a buffer. The position of the buffer is
+	 * not modified.
+	 * 
+	 * @param bytes The buffer that contains the bytes to write.
+	 * @param index Index of the first byte to write.
+	 * @param length Number of bytes to write.
+	 */
+	public void writeBytes(final ByteBuffer bytes, final int index, final int length) {
+
+		ensureCapacity(length);
+
+		if (length <= SMALL_COPY_LENGTH) {
+
+			for (int i=0;i<length;i++) {
+				data.put(bytes.get(index + i));
+			}
+		}
+		else {
+
+			final ByteBuffer range = bytes.duplicate();
+
+			range.limit(index + length);
+			range.position(index);
+
+			data.put(range);
+		}
+	}
+
+	/**
+	 * Writes a double value in IEEE 754 format. The bits of the value are
+	 * written unchanged, including the payload of NaN values.
+	 * 
+	 * @param value The value to write.
+	 */
+	public void writeDouble(final double value) {
+
+		ensureCapacity(8);
+
+		data.putLong(Double.doubleToRawLongBits(value));
+	}
+
+	/**
+	 * Writes a variable-length encoded 32 bit integer as it is used in ABC
+	 * data. Every byte holds seven bits of the value and a flag that says
+	 * whether another byte follows. The fifth byte holds the four highest bits.
+	 * 
+	 * The value is written with at least the given number of bytes, so that
+	 * values which were read from a longer than necessary encoding are written
+	 * back unchanged.
+	 * 
+	 * @param value The value to write.
+	 * @param minimumLength The minimum number of bytes to write, between 1 and 5.
+	 */
+	public void writeEncodedU32(final int value, final int minimumLength) {
+
+		if (minimumLength < 1 || minimumLength > 5) {
+			throw new IllegalArgumentException("Invalid encoded integer length " + minimumLength);
+		}
+
+		int length = 1;
+
+		while (length < 5 && value >>> 7 * length != 0) {
+			length++;
+		}
+
+		length = Math.max(length, minimumLength);
+
+		ensureCapacity(length);
+
+		for (int i=0;i<length - 1;i++) {
+			data.put((byte) (value >>> 7 * i & 0x7F | 0x80));
+		}
+
+		data.put((byte) (length == 5 ? value >>> 28 : value >>> 7 * (length - 1) & 0x7F));
+	}
+
+	/**
+	 * Writes an unsigned 16 bit integer in little-endian byte order.
+	 * 
+	 * @param value The value to write.
+	 */
+	public void writeU16(final int value) {
+
+		ensureCapacity(2);
+
+		data.putShort((short) value);
+	}
+
+	/**
+	 * Writes an unsigned byte.
+	 * 
+	 * @param value The value to write.
+	 */
+	public void writeU8(final int value) {
+
+		ensureCapacity(1);
+
+		data.put((byte) value);
+	}
+
+	/**
+	 * Writes the bytes of a UTF-8 string without decoding it.
+	 * 
+	 * @param string The string to write.
+	 */
+	public void writeUTF8String(final UTF8String string) {
+		string.writeTo(this);
+	}
+}
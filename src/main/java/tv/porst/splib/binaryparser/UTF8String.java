@@ -0,0 +1,174 @@
+package tv.porst.splib.binaryparser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a parsed UTF-8 string.
+ * 
+ * The string is kept as a view of the bytes of the input stream and is only
+ * decoded when its value is first requested. Strings can be compared with
+ * a query string without being decoded.
+ */
+public final class UTF8String implements IFileElement {
+
+	/**
+	 * The buffer that contains the bytes of the string.
+	 */
+	private final ByteBuffer data;
+
+	/**
+	 * Index of the first byte of the string in the buffer.
+	 */
+	private final int index;
+
+	/**
+	 * Length of the string in bytes.
+	 */
+	private final int length;
+
+	/**
+	 * Bit position of the string in the input stream.
+	 */
+	private final int bitPosition;
+
+	/**
+	 * The decoded string or null if the string was not decoded yet.
+	 */
+	private String value;
+
+	/**
+	 * Creates a new UTF8String object.
+	 * 
+	 * @param data The buffer that contains the bytes of the string. The buffer is not copied.
+	 * @param index Index of the first byte of the string in the buffer.
+	 * @param length Length of the string in bytes.
+	 * @param bitPosition Bit position of the string in the input stream.
+	 */
+	public UTF8String(final ByteBuffer data, final int index, final int length, final int bitPosition) {
+
+		if (data == null) {
+			throw new IllegalArgumentException("Data argument must not be null");
+		}
+
+		if (index < 0 || length < 0 || index + length > data.limit()) {
+			throw new IllegalArgumentException("String bytes are outside of the data");
+		}
+
+		if (bitPosition < 0) {
+			throw new IllegalArgumentException("Byte position must not be negative");
+		}
+
+		this.data = data;
+		this.index = index;
+		this.length = length;
+		this.bitPosition = bitPosition;
+	}
+
+	/**
+	 * Compares the bytes of the string with the UTF-8 encoding of a query
+	 * string. The string is not decoded.
+	 * 
+	 * @param query The query string.
+	 * 
+	 * @return True, if the string is equal to the query string. False, otherwise.
+	 */
+	public boolean contentEquals(final String query) {
+
+		if (value != null) {
+			return value.equals(query);
+		}
+
+		int position = index;
+		final int end = index + length;
+
+		for (int i=0;i<query.length();i++) {
+
+			final char c = query.charAt(i);
+
+			if (c < 0x80) {
+				if (position == end || data.get(position++) != c) {
+					return false;
+				}
+			}
+			else {
+				final byte[] encoded = query.substring(i).getBytes(StandardCharsets.UTF_8);
+
+				if (end - position != encoded.length) {
+					return false;
+				}
+
+				for (final byte b : encoded) {
+					if (data.get(position++) != b) {
+						return false;
+					}
+				}
+
+				return true;
+			}
+		}
+
+		return position == end;
+	}
+
+	@Override
+	public int getBitLength() {
+		return 8 * length;
+	}
+
+	@Override
+	public int getBitPosition() {
+		return bitPosition;
+	}
+
+	/**
+	 * Returns the length of the string in bytes.
+	 * 
+	 * @return The length of the string in bytes.
+	 */
+	public int getByteLength() {
+		return length;
+	}
+
+	/**
+	 * Returns a read-only view of the bytes of the string.
+	 * 
+	 * @return The bytes of the string.
+	 */
+	public ByteBuffer getBytes() {
+
+		final ByteBuffer bytes = data.asReadOnlyBuffer();
+
+		bytes.limit(index + length).position(index);
+
+		return bytes.slice();
+	}
+
+	/**
+	 * Returns the decoded string. Malformed byte sequences are replaced
+	 * with the Unicode replacement character.
+	 * 
+	 * @return The decoded string.
+	 */
+	public String value() {
+
+		String decoded = value;
+
+		if (decoded == null) {
+			decoded = StandardCharsets.UTF_8.decode(getBytes()).toString();
+			value = decoded;
+		}
+
+		return decoded;
+	}
+
+	/**
+	 * Writes the bytes of the string without copying them to a temporary
+	 * buffer first.
+	 * 
+	 * @param writer The writer to write to.
+	 */
+	void writeTo(final BinaryWriter writer) {
+		writer.writeBytes(data, index, length);
+	}
+}
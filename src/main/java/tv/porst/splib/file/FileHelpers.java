@@ -4,6 +4,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Contains helper functions for working with files.
@@ -48,6 +52,27 @@ public final class FileHelpers {
 		return data;
 	}
 
+	/**
+	 * Maps a whole file into memory for reading. The file content is not
+	 * copied to the heap; pages are loaded by the operating system on access.
+	 * 
+	 * @param file The input file.
+	 * 
+	 * @return A read-only buffer that maps the file.
+	 * 
+	 * @throws IOException Thrown if the file could not be mapped.
+	 */
+	public static MappedByteBuffer mapFile(final Path file) throws IOException {
+
+		if (file == null) {
+			throw new IllegalArgumentException("File argument must not be null");
+		}
+
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
 	/**
 	 * Reads a whole file into a byte array.
 	 * 
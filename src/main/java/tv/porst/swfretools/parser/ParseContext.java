@@ -0,0 +1,179 @@
+package tv.porst.swfretools.parser;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the structure that is currently being parsed.
+ * 
+ * Structure parsers enter the name of the structure they parse and leave it
+ * again when they are done. Elements of lists are marked with their index.
+ * The names are string constants and are only stored by reference, so that
+ * a successful parse never builds any strings. The human-readable path of
+ * a field is only built if parsing the field fails.
+ */
+public final class ParseContext {
+
+	/**
+	 * Marks frames that do not carry an index.
+	 */
+	private static final int NO_INDEX = -1;
+
+	/**
+	 * Names of the entered structures. Index frames have no name.
+	 */
+	private String[] names = new String[16];
+
+	/**
+	 * Indices of the entered list elements.
+	 */
+	private int[] indices = new int[16];
+
+	/**
+	 * Number of currently entered frames.
+	 */
+	private int depth = 0;
+
+	/**
+	 * Appends a single path segment.
+	 * 
+	 * @param path The path to extend.
+	 * @param name Name of the segment.
+	 * @param index Index of the segment or NO_INDEX.
+	 * 
+	 * @return NO_INDEX.
+	 */
+	private static int appendSegment(final StringBuilder path, final String name, final int index) {
+
+		if (path.length() != 0 && name != null && !name.isEmpty()) {
+			path.append("::");
+		}
+
+		if (name != null) {
+			path.append(name);
+		}
+
+		if (index != NO_INDEX) {
+			path.append('[').append(index).append(']');
+		}
+
+		return NO_INDEX;
+	}
+
+	/**
+	 * Marks the next entered structure or parsed field as the list element
+	 * with the given index. Must be matched by a call to {@link #leave()}.
+	 * 
+	 * @param index Index of the list element.
+	 */
+	public void element(final int index) {
+		push(null, index);
+	}
+
+	/**
+	 * Enters a structure. Must be matched by a call to {@link #leave()}.
+	 * 
+	 * @param name Name of the structure in its parent structure.
+	 */
+	public void enter(final String name) {
+		push(name, NO_INDEX);
+	}
+
+	/**
+	 * Enters all frames of another context. A parser that continues the work
+	 * of another parser on a different thread starts with the frames of the
+	 * other parser, so that it reports the same paths.
+	 * 
+	 * @param other The context whose frames are entered.
+	 */
+	public void enterAll(final ParseContext other) {
+
+		for (int i=0;i<other.depth;i++) {
+			push(other.names[i], other.indices[i]);
+		}
+	}
+
+	/**
+	 * Returns the number of currently entered frames.
+	 * 
+	 * @return The number of currently entered frames.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Builds the human-readable path of a field in the current structure.
+	 * 
+	 * @param fieldName Name of the field in the current structure.
+	 * 
+	 * @return The path of the field.
+	 */
+	public String getPath(final String fieldName) {
+
+		final StringBuilder path = new StringBuilder();
+
+		int index = NO_INDEX;
+
+		for (int i=0;i<depth;i++) {
+
+			if (names[i] == null) {
+				index = indices[i];
+			}
+			else {
+				index = appendSegment(path, names[i], index);
+			}
+		}
+
+		appendSegment(path, fieldName, index);
+
+		return path.toString();
+	}
+
+	/**
+	 * Leaves the most recently entered structure or list element.
+	 */
+	public void leave() {
+
+		if (depth == 0) {
+			throw new IllegalStateException("No structure was entered");
+		}
+
+		depth--;
+		names[depth] = null;
+	}
+
+	/**
+	 * Pushes a new frame.
+	 * 
+	 * @param name Name of the frame or null for index frames.
+	 * @param index Index of the frame or NO_INDEX for name frames.
+	 */
+	private void push(final String name, final int index) {
+
+		if (depth == names.length) {
+			names = Arrays.copyOf(names, 2 * depth);
+			indices = Arrays.copyOf(indices, 2 * depth);
+		}
+
+		names[depth] = name;
+		indices[depth] = index;
+		depth++;
+	}
+
+	/**
+	 * Drops all frames above the given depth. This is used to recover after
+	 * a parser exception interrupted a structure parser.
+	 * 
+	 * @param depth The depth to return to.
+	 */
+	public void reset(final int depth) {
+
+		if (depth < 0 || depth > this.depth) {
+			throw new IllegalArgumentException("Invalid depth");
+		}
+
+		Arrays.fill(names, depth, this.depth, null);
+
+		this.depth = depth;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package tv.porst.swfretools.parser;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options that control which tags of a SWF file are decoded while the file
+ * is parsed.
+ * 
+ * Tags that are not selected for decoding are only indexed. Their record
+ * header is parsed and their body is kept as a view of the file data that
+ * is decoded when it is first requested through
+ * {@link tv.porst.swfretools.parser.tags.LazyTag#getTag()}.
+ * 
+ * If a pool is given, the tags are first indexed sequentially and the
+ * selected tags are then decoded concurrently on the pool. The code of the
+ * method bodies in ABC data is decoded concurrently as well.
+ * 
+ * If compact code is requested, the code of the method bodies in ABC data
+ * is stored in flat columns instead of one object per instruction.
+ * 
+ * If only declarations are requested, the method bodies in ABC data are
+ * skipped and kept as byte ranges that are decoded when the method bodies
+ * are first requested.
+ */
+public final class ParseOptions {
+
+	/**
+	 * Options that decode all tags while the file is parsed.
+	 */
+	public static final ParseOptions DEFAULT = new ParseOptions(null, null, false, false);
+
+	/**
+	 * Codes of the tags that are decoded while the file is parsed or null
+	 * if all tags are decoded.
+	 */
+	private final BitSet decodedTagCodes;
+
+	/**
+	 * Pool on which the tags are decoded or null if the tags are decoded
+	 * sequentially.
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Flag that says whether the code of method bodies is stored in compact form.
+	 */
+	private final boolean compactCode;
+
+	/**
+	 * Flag that says whether the method bodies in ABC data are skipped.
+	 */
+	private final boolean declarationsOnly;
+
+	/**
+	 * Creates a new options object.
+	 * 
+	 * @param decodedTagCodes Codes of the tags that are decoded while the file is parsed or null.
+	 * @param pool Pool on which the tags are decoded or null.
+	 * @param compactCode Flag that says whether the code of method bodies is stored in compact form.
+	 * @param declarationsOnly Flag that says whether the method bodies in ABC data are skipped.
+	 */
+	private ParseOptions(final BitSet decodedTagCodes, final ForkJoinPool pool, final boolean compactCode, final boolean declarationsOnly) {
+		this.decodedTagCodes = decodedTagCodes;
+		this.pool = pool;
+		this.compactCode = compactCode;
+		this.declarationsOnly = declarationsOnly;
+	}
+
+	/**
+	 * Creates options that decode only tags with the given codes while the
+	 * file is parsed. All other tags are decoded on demand.
+	 * 
+	 * @param tagCodes Codes of the tags to decode.
+	 * 
+	 * @return The created options.
+	 */
+	public static ParseOptions decodeOnly(final int... tagCodes) {
+
+		if (tagCodes == null) {
+			throw new IllegalArgumentException("Tag codes must not be null");
+		}
+
+		final BitSet decodedTagCodes = new BitSet();
+
+		for (final int tagCode : tagCodes) {
+
+			if (tagCode < 0) {
+				throw new IllegalArgumentException("Tag codes must not be negative");
+			}
+
+			decodedTagCodes.set(tagCode);
+		}
+
+		return new ParseOptions(decodedTagCodes, null, false, false);
+	}
+
+	/**
+	 * Returns the pool on which the tags are decoded.
+	 * 
+	 * @return The pool on which the tags are decoded or null if the tags are decoded sequentially.
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Creates options that only index the tags while the file is parsed.
+	 * All tags are decoded on demand.
+	 * 
+	 * @return The created options.
+	 */
+	public static ParseOptions lazy() {
+		return decodeOnly();
+	}
+
+	/**
+	 * Returns a flag that says whether the code of method bodies is stored
+	 * in compact form.
+	 * 
+	 * @return True, if the code is stored in compact form. False, if every instruction is stored as an object.
+	 */
+	public boolean isCompactCode() {
+		return compactCode;
+	}
+
+	/**
+	 * Returns a flag that says whether the method bodies in ABC data are
+	 * skipped while the file is parsed.
+	 * 
+	 * @return True, if only the byte ranges of the method bodies are kept. False, if the method bodies are decoded.
+	 */
+	public boolean isDeclarationsOnly() {
+		return declarationsOnly;
+	}
+
+	/**
+	 * Determines whether tags with the given code are decoded while the
+	 * file is parsed.
+	 * 
+	 * @param tagCode The code of the tag.
+	 * 
+	 * @return True, if the tags are decoded while the file is parsed. False, if they are decoded on demand.
+	 */
+	public boolean isDecoded(final int tagCode) {
+		return decodedTagCodes == null || decodedTagCodes.get(tagCode);
+	}
+
+	/**
+	 * Creates options that decode all tags in the same way as these options.
+	 * 
+	 * @return The created options.
+	 */
+	public ParseOptions withAllTags() {
+		return decodedTagCodes == null ? this : new ParseOptions(null, pool, compactCode, declarationsOnly);
+	}
+
+	/**
+	 * Creates options that are the same as these options but store the code
+	 * of method bodies in compact form.
+	 * 
+	 * @return The created options.
+	 */
+	public ParseOptions withCompactCode() {
+		return new ParseOptions(decodedTagCodes, pool, true, declarationsOnly);
+	}
+
+	/**
+	 * Creates options that are the same as these options but skip the method
+	 * bodies in ABC data. Constant pool, method signatures, metadata,
+	 * instances, classes and scripts are still parsed.
+	 * 
+	 * @return The created options.
+	 */
+	public ParseOptions withDeclarationsOnly() {
+		return new ParseOptions(decodedTagCodes, pool, compactCode, true);
+	}
+
+	/**
+	 * Creates options that select the same tags as these options but decode
+	 * them concurrently on the given pool.
+	 * 
+	 * @param pool Pool on which the tags are decoded or null to decode them sequentially.
+	 * 
+	 * @return The created options.
+	 */
+	public ParseOptions withPool(final ForkJoinPool pool) {
+		return new ParseOptions(decodedTagCodes, pool, compactCode, declarationsOnly);
+	}
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package tv.porst.swfretools.parser;
 
+import java.nio.ByteBuffer;
+
 import tv.porst.splib.binaryparser.BinaryParser;
 
 /**
@@ -10,6 +12,11 @@ import tv.porst.splib.binaryparser.BinaryParser;
  */
 public final class SWFBinaryParser extends BinaryParser {
 
+	/**
+	 * Keeps track of the structure that is currently being parsed.
+	 */
+	private final ParseContext context = new ParseContext();
+
 	/**
 	 * Creates a new SWF binary parser object.
 	 * 
@@ -18,4 +25,35 @@ public final class SWFBinaryParser extends BinaryParser {
 	public SWFBinaryParser(final byte[] data) {
 		super(data);
 	}
+
+	/**
+	 * Creates a new SWF binary parser object that reads directly
+	 * from the given buffer without copying it.
+	 * 
+	 * @param data The byte input to parse.
+	 */
+	public SWFBinaryParser(final ByteBuffer data) {
+		super(data);
+	}
+
+	/**
+	 * Creates a new SWF binary parser object that reads the part of a SWF
+	 * file which starts at the given offset. The buffer is not copied.
+	 * 
+	 * @param data The byte input to parse.
+	 * @param offset Position of the first remaining byte of the buffer in the SWF file.
+	 */
+	public SWFBinaryParser(final ByteBuffer data, final int offset) {
+		super(data, offset);
+	}
+
+	/**
+	 * Returns the context that keeps track of the structure that is
+	 * currently being parsed.
+	 * 
+	 * @return The parse context.
+	 */
+	public ParseContext getContext() {
+		return context;
+	}
 }
\ No newline at end of file
@@ -1,40 +1,130 @@
 package tv.porst.swfretools.parser;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 
 /**
- * Contains code for decompressing the ZLIB-packed part of a SWF file.
+ * Contains code for decompressing the ZLIB-packed or LZMA-packed part of a SWF file.
+ * 
+ * The uncompressed header of the input file is written in front of the
+ * decompressed data so that only one parser object is necessary for parsing.
+ * The data is decompressed straight into the output array. The array is
+ * allocated with the size that is declared in the FileLength field of the
+ * header, but at most a multiple of the compressed size, so that a corrupt
+ * header cannot force a huge allocation. It grows as needed.
  */
 public final class SWFDecompressor {
 
 	/**
-	 * Concatenates the original uncompressed header of the input file with the decompressed data.
-	 * This step is added so that only one parser object is necessary for parsing.
+	 * Length of the uncompressed SWF header that precedes the compressed data.
+	 */
+	private static final int HEADER_LENGTH = 8;
+
+	/**
+	 * Offset of the LZMA properties in LZMA-packed files. The header is followed
+	 * by the length of the compressed data.
+	 */
+	private static final int LZMA_PROPERTIES_OFFSET = 12;
+
+	/**
+	 * Size of the LZMA properties.
+	 */
+	private static final int LZMA_PROPERTIES_SIZE = 5;
+
+	/**
+	 * Size of the chunks in which compressed data that is not backed by an
+	 * array is passed to the inflater.
+	 */
+	private static final int INPUT_CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * Largest size of an array.
+	 */
+	private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Factor by which the initial size of the output array may exceed the size
+	 * of the compressed data. SWF files rarely compress better than this, and
+	 * the array grows if they do.
+	 */
+	private static final int MAX_INITIAL_RATIO = 16;
+
+	/**
+	 * Initial size of the output array that is allowed for any compressed size.
+	 */
+	private static final int MIN_INITIAL_LENGTH = 64 * 1024;
+
+	/**
+	 * Allocates the output array for the decompressed file and copies the
+	 * header of the input file into it.
 	 * 
-	 * @param fileData The file data to parse.
-	 * @param decompressedData The decompressed file data.
+	 * @param fileData The file data to decompress.
+	 * @param fileLength The file length that is declared in the header.
 	 * 
-	 * @return The header from the file data prepended in front of the decompressed data.
+	 * @return The output array with the header already in place.
 	 */
+	private static byte[] createOutput(final ByteBuffer fileData, final long fileLength) {
 
-	private static byte[] concatPreprocessedData(final byte[] fileData, final byte[] decompressedData) {
-		assert fileData != null && fileData.length >= 8 : "Invalid SWF file data passed to function";
-		assert decompressedData != null && decompressedData.length >= 8 : "Invalid SWF file data passed to function";
+		final long maxInitialLength = HEADER_LENGTH + Math.max((long) fileData.remaining() * MAX_INITIAL_RATIO, MIN_INITIAL_LENGTH);
 
-		final byte[] decompressedFile = new byte[8 + decompressedData.length];
+		final byte[] output = new byte[(int) Math.min(fileLength, maxInitialLength)];
 
-		System.arraycopy(fileData, 0, decompressedFile, 0, 8);
-		System.arraycopy(decompressedData, 0, decompressedFile, 8, decompressedData.length);
+		fileData.duplicate().get(output, 0, HEADER_LENGTH);
 
 		// Mark the data as decompressed
-		decompressedFile[0] = 'F';
+		output[0] = 'F';
+
+		return output;
+	}
+
+	/**
+	 * Returns the file length that is declared in the header.
+	 * 
+	 * @param fileData The file data to decompress.
+	 * 
+	 * @return The declared length of the decompressed file.
+	 * 
+	 * @throws IOException Thrown if the header declares an invalid file length.
+	 */
+	private static long getFileLength(final ByteBuffer fileData) throws IOException {
+
+		final long fileLength = fileData.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt(fileData.position() + 4) & 0xFFFFFFFFL;
 
-		return decompressedFile;
+		if (fileLength < HEADER_LENGTH || fileLength > MAX_LENGTH) {
+			throw new IOException(String.format("Invalid file length in SWF header: %d", fileLength));
+		}
+
+		return fileLength;
+	}
+
+	/**
+	 * Returns the new size of a full output array. The array grows up to the
+	 * declared file length first and beyond it only if the header declared a
+	 * file length that is too small.
+	 * 
+	 * @param length The current size of the array.
+	 * @param fileLength The file length that is declared in the header.
+	 * 
+	 * @return The new size of the array.
+	 * 
+	 * @throws IOException Thrown if the array cannot grow any more.
+	 */
+	private static int grow(final int length, final long fileLength) throws IOException {
+
+		if (length >= MAX_LENGTH) {
+			throw new IOException("Decompressed data is too large");
+		}
+
+		final long doubled = 2L * length;
+
+		return (int) Math.min(length < fileLength ? Math.min(doubled, fileLength) : doubled, MAX_LENGTH);
 	}
 
 	/**
@@ -46,107 +136,258 @@ public final class SWFDecompressor {
 	 * 
 	 * @throws IOException Thrown if decompressing the data failed.
 	 */
-	private static byte[] decompress(final byte[] fileData) throws IOException {
+	private static byte[] decompress(final ByteBuffer fileData) throws IOException {
 
-		assert fileData != null && fileData.length >= 8 : "Invalid SWF file data passed to function";
+		assert fileData != null && fileData.remaining() >= HEADER_LENGTH : "Invalid SWF file data passed to function";
 
-		if ( fileData[0] == 'C' ) {
+		if (fileData.get(fileData.position()) == 'C') {
 			return inflate(fileData);
 		}
 		else {
 			return LZMAdecompress(fileData);
 		}
 	}
-	
-	private static byte[] inflate(final byte[] fileData) throws IOException {
-		
-		final ByteArrayOutputStream output = new ByteArrayOutputStream();
-		final Inflater decompressor = new Inflater();
-		decompressor.setInput(strip(fileData, 8));
 
-		final byte[] buffer = new byte[1024];
+	private static byte[] inflate(final ByteBuffer fileData) throws IOException {
+
+		final long fileLength = getFileLength(fileData);
+		byte[] output = createOutput(fileData, fileLength);
+		int length = HEADER_LENGTH;
 
-		int count = 0;
+		final ByteBuffer input = fileData.duplicate();
+		input.position(input.position() + HEADER_LENGTH);
+
+		final byte[] chunk = input.hasArray() ? null : new byte[Math.min(INPUT_CHUNK_SIZE, input.remaining())];
+
+		final Inflater decompressor = new Inflater();
+
+		if (chunk == null) {
+			decompressor.setInput(input.array(), input.arrayOffset() + input.position(), input.remaining());
+		}
 
 		try {
-			do {
-				count = decompressor.inflate(buffer);
-				output.write(buffer, 0, count);
-			} while (count != 0 && !decompressor.finished());
+			while (!decompressor.finished()) {
+
+				if (decompressor.needsInput()) {
+
+					if (chunk == null || !input.hasRemaining()) {
+						break;
+					}
+
+					final int count = Math.min(chunk.length, input.remaining());
+
+					input.get(chunk, 0, count);
+					decompressor.setInput(chunk, 0, count);
+				}
+
+				final int count = decompressor.inflate(output, length, output.length - length);
+
+				length += count;
+
+				if (count == 0 && !decompressor.finished() && !decompressor.needsInput()) {
+
+					if (length != output.length || decompressor.needsDictionary()) {
+						break;
+					}
+
+					output = Arrays.copyOf(output, grow(output.length, fileLength));
+				}
+			}
 		}
 		catch( final DataFormatException dfe )
 		{
 			dfe.printStackTrace();
 		}
-
-		try {
-			output.close();
-		}
-		catch (final IOException e) {
+		finally {
+			decompressor.end();
 		}
 
-		return output.toByteArray();
+		return length == output.length ? output : Arrays.copyOf(output, length);
 	}
 
-	private static byte[] LZMAdecompress(final byte[] fileData) throws IOException {
-		final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-		DataInputStream in = new DataInputStream(new ByteArrayInputStream(fileData));
-		in.skipBytes(4);
-		int uncompressedLength = Integer.reverseBytes(in.readInt());
-		@SuppressWarnings("unused")
-		int lzmaLength = in.readInt();
-		int propertiesSize = 5;
-		byte[] properties = new byte[propertiesSize];
-		if (in.read(properties, 0, propertiesSize) != propertiesSize) {
+	private static byte[] LZMAdecompress(final ByteBuffer fileData) throws IOException {
+
+		final long fileLength = getFileLength(fileData);
+		final byte[] output = createOutput(fileData, fileLength);
+
+		final ByteBuffer input = fileData.duplicate();
+		input.position(input.position() + LZMA_PROPERTIES_OFFSET);
+
+		if (input.remaining() < LZMA_PROPERTIES_SIZE) {
 			throw new IOException("input .lzma file is too short");
 		}
-		SevenZip.Compression.LZMA.Decoder decoder = new SevenZip.Compression.LZMA.Decoder();
+
+		final byte[] properties = new byte[LZMA_PROPERTIES_SIZE];
+		input.get(properties);
+
+		final SevenZip.Compression.LZMA.Decoder decoder = new SevenZip.Compression.LZMA.Decoder();
 		if (!decoder.SetDecoderProperties(properties)) {
 			throw new IOException("Incorrect stream properties");
 		}
-	    int totalBytes = uncompressedLength - 8; //magic 8 is static part of header length
 
-		if (!decoder.Code(in, output, totalBytes)) {
+		final InputStream in = input.hasArray() ? new ByteArrayInputStream(input.array(), input.arrayOffset() + input.position(), input.remaining()) : new ByteBufferInputStream(input);
+		final ArrayOutputStream out = new ArrayOutputStream(output, HEADER_LENGTH, fileLength);
+
+		if (!decoder.Code(in, out, fileLength - HEADER_LENGTH)) {
 			throw new IOException("Error in data stream");
 		}
-		
-		return output.toByteArray();
+
+		return out.toByteArray();
 	}
+
 	/**
-	 * Strips the first 8 bytes of the input array.
+	 * Decompresses compressed SWF file data.
 	 * 
-	 * @param bytes The input array.
+	 * @param fileData File data to be parsed.
 	 * 
-	 * @return The stripped output array.
+	 * @return The decompressed file data that is now ready for parsing.
+	 * 
+	 * @throws SWFParserException Thrown if decompressing the data failed.
 	 */
-	private static byte[] strip(final byte[] bytes, int bytesToStrip) {
+	public static byte[] decompressData(final byte[] fileData) throws SWFParserException, IOException {
 
-		assert bytes != null : "Bytes array must not be null";
-		assert bytes.length >= bytesToStrip : "Bytes array must be at least bytesToStrip bytes long";
+		assert fileData != null : "Invalid SWF file data passed to function";
 
-		final byte[] strippedArray = new byte[bytes.length - bytesToStrip];
-		System.arraycopy(bytes, bytesToStrip, strippedArray, 0, bytes.length - bytesToStrip);
-		return strippedArray;
+		return decompress(ByteBuffer.wrap(fileData));
 	}
 
 	/**
-	 * Decompresses compressed SWF file data.
+	 * Decompresses compressed SWF file data. The compressed data is read
+	 * directly from the buffer and is not copied.
 	 * 
-	 * @param fileData File data to be parsed.
+	 * @param fileData File data to be parsed, starting at the position of the buffer.
 	 * 
 	 * @return The decompressed file data that is now ready for parsing.
 	 * 
 	 * @throws SWFParserException Thrown if decompressing the data failed.
 	 */
-	public static byte[] decompressData(final byte[] fileData) throws SWFParserException, IOException {
+	public static byte[] decompressData(final ByteBuffer fileData) throws SWFParserException, IOException {
 
 		assert fileData != null : "Invalid SWF file data passed to function";
 
-//		try {
-			return concatPreprocessedData(fileData, decompress(fileData));
-//		} catch (final IOException e) {
-//			throw new SWFParserException(0x00001, 0, "Invalid SWF file: Compressed data could not be decompressed");
-//		}
+		return decompress(fileData);
+	}
+
+	/**
+	 * Output stream that writes into a preallocated array and grows it up to a
+	 * size limit.
+	 */
+	private static final class ArrayOutputStream extends OutputStream {
+
+		/**
+		 * The array to write to.
+		 */
+		private byte[] data;
+
+		/**
+		 * The position of the next byte to write.
+		 */
+		private int position;
+
+		/**
+		 * The size that the written data must not exceed.
+		 */
+		private final long limit;
+
+		/**
+		 * Creates a new output stream.
+		 * 
+		 * @param data The array to write to.
+		 * @param position The position of the first byte to write.
+		 * @param limit The size that the written data must not exceed.
+		 */
+		public ArrayOutputStream(final byte[] data, final int position, final long limit) {
+			this.data = data;
+			this.position = position;
+			this.limit = limit;
+		}
+
+		/**
+		 * Makes room for more bytes.
+		 * 
+		 * @param length The number of bytes to write.
+		 * 
+		 * @throws IOException Thrown if the bytes exceed the size limit.
+		 */
+		private void ensureCapacity(final int length) throws IOException {
+
+			if (length > limit - position) {
+				throw new IOException("Decompressed data exceeds the file length declared in the SWF header");
+			}
+
+			if (length > data.length - position) {
+				data = Arrays.copyOf(data, (int) Math.min(Math.max(2L * data.length, (long) position + length), limit));
+			}
+		}
+
+		/**
+		 * Returns the written data.
+		 * 
+		 * @return The written data, including the bytes in front of the first
+		 * written byte.
+		 */
+		public byte[] toByteArray() {
+			return position == data.length ? data : Arrays.copyOf(data, position);
+		}
+
+		@Override
+		public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+
+			ensureCapacity(length);
+
+			System.arraycopy(bytes, offset, data, position, length);
+			position += length;
+		}
+
+		@Override
+		public void write(final int value) throws IOException {
+
+			ensureCapacity(1);
+
+			data[position++] = (byte) value;
+		}
+	}
+
+	/**
+	 * Input stream that reads from a buffer.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		/**
+		 * The buffer to read from.
+		 */
+		private final ByteBuffer data;
+
+		/**
+		 * Creates a new input stream.
+		 * 
+		 * @param data The buffer to read from.
+		 */
+		public ByteBufferInputStream(final ByteBuffer data) {
+			this.data = data;
+		}
+
+		@Override
+		public int read() {
+			return data.hasRemaining() ? data.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(final byte[] bytes, final int offset, final int length) {
+
+			if (length == 0) {
+				return 0;
+			}
+
+			if (!data.hasRemaining()) {
+				return -1;
+			}
+
+			final int count = Math.min(length, data.remaining());
+
+			data.get(bytes, offset, count);
+
+			return count;
+		}
 	}
 }
\ No newline at end of file
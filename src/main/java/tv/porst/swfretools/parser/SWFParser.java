@@ -2,6 +2,8 @@ package tv.porst.swfretools.parser;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT32;
@@ -35,6 +37,23 @@ public final class SWFParser {
 		return (fileData[0] == 'Z' || fileData[0] == 'C' || fileData[0] == 'F') && fileData[1] == 'W' && fileData[2] == 'S';
 	}
 
+	/**
+	 * Verifies the signature of the SWF file to be parsed.
+	 * 
+	 * @param fileData File data to be parsed, starting at the current buffer position.
+	 * 
+	 * @return True, if the file data starts with a Flash signature. False, otherwise.
+	 */
+	public static boolean hasValidSignature(final ByteBuffer fileData) {
+
+		assert fileData != null && fileData.remaining() >= 3 : "Invalid SWF file data passed to function";
+
+		final int start = fileData.position();
+		final byte signature = fileData.get(start);
+
+		return (signature == 'Z' || signature == 'C' || signature == 'F') && fileData.get(start + 1) == 'W' && fileData.get(start + 2) == 'S';
+	}
+
 	/**
 	 * Determines whether file data to be parsed is compressed or not.
 	 * 
@@ -49,6 +68,22 @@ public final class SWFParser {
 		return fileData[0] == 'C' || fileData[0] == 'Z';
 	}
 
+	/**
+	 * Determines whether file data to be parsed is compressed or not.
+	 * 
+	 * @param fileData File data to be parsed, starting at the current buffer position.
+	 * 
+	 * @return True, if the file data is compressed. False, otherwise.
+	 */
+	public static boolean isCompressed(final ByteBuffer fileData) {
+
+		assert fileData != null && fileData.remaining() >= 1 : "Invalid SWF file data passed to function";
+
+		final byte signature = fileData.get(fileData.position());
+
+		return signature == 'C' || signature == 'Z';
+	}
+
 	/**
 	 * Parses a SWF file.
 	 * 
@@ -60,6 +95,21 @@ public final class SWFParser {
 	 * @throws SWFParserException Thrown if the given file could not be parsed.
 	 */
 	public static SWFFile parse(final File file) throws IOException, SWFParserException {
+		return parse(file, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses a SWF file.
+	 * 
+	 * @param file The file to parse.
+	 * @param options Selects the tags that are decoded while the file is parsed.
+	 * 
+	 * @return The parsed SWF file.
+	 * 
+	 * @throws IOException Thrown if the given file could not be read.
+	 * @throws SWFParserException Thrown if the given file could not be parsed.
+	 */
+	public static SWFFile parse(final File file, final ParseOptions options) throws IOException, SWFParserException {
 
 		if (file == null) {
 			throw new IllegalArgumentException("Argument file must not be null");
@@ -67,7 +117,45 @@ public final class SWFParser {
 
 		final byte[] fileData = FileHelpers.readFile(file);
 
-		return parse(fileData);
+		return parse(fileData, options);
+	}
+
+	/**
+	 * Parses a SWF file. The file is memory-mapped instead of being read
+	 * into the heap, so uncompressed files are parsed without copying
+	 * their content at all.
+	 * 
+	 * @param file The file to parse.
+	 * 
+	 * @return The parsed SWF file.
+	 * 
+	 * @throws IOException Thrown if the given file could not be read.
+	 * @throws SWFParserException Thrown if the given file could not be parsed.
+	 */
+	public static SWFFile parse(final Path file) throws IOException, SWFParserException {
+		return parse(file, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses a SWF file. The file is memory-mapped instead of being read
+	 * into the heap, so uncompressed files are parsed without copying
+	 * their content at all.
+	 * 
+	 * @param file The file to parse.
+	 * @param options Selects the tags that are decoded while the file is parsed.
+	 * 
+	 * @return The parsed SWF file.
+	 * 
+	 * @throws IOException Thrown if the given file could not be read.
+	 * @throws SWFParserException Thrown if the given file could not be parsed.
+	 */
+	public static SWFFile parse(final Path file, final ParseOptions options) throws IOException, SWFParserException {
+
+		if (file == null) {
+			throw new IllegalArgumentException("Argument file must not be null");
+		}
+
+		return parse(FileHelpers.mapFile(file), options);
 	}
 
 	/**
@@ -81,12 +169,68 @@ public final class SWFParser {
 	 * @throws SWFParserException Thrown if the given file could not be parsed.
 	 */
 	public static SWFFile parse(final byte[] fileData) throws IOException, SWFParserException {
+		return parse(fileData, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses a SWF file.
+	 * 
+	 * @param bytes Bytes of file to parse.
+	 * @param options Selects the tags that are decoded while the file is parsed.
+	 * 
+	 * @return The parsed SWF file.
+	 * 
+	 * @throws IOException Thrown if the given file could not be read.
+	 * @throws SWFParserException Thrown if the given file could not be parsed.
+	 */
+	public static SWFFile parse(final byte[] fileData, final ParseOptions options) throws IOException, SWFParserException {
+
+		if (fileData == null) {
+			throw new IllegalArgumentException("Argument file data must not be null");
+		}
+
+		return parse(ByteBuffer.wrap(fileData), options);
+	}
+
+	/**
+	 * Parses a SWF file from the remaining bytes of a buffer. The buffer is
+	 * not copied if the file is not compressed.
+	 * 
+	 * @param fileData Bytes of file to parse.
+	 * 
+	 * @return The parsed SWF file.
+	 * 
+	 * @throws IOException Thrown if the given file could not be read.
+	 * @throws SWFParserException Thrown if the given file could not be parsed.
+	 */
+	public static SWFFile parse(final ByteBuffer fileData) throws IOException, SWFParserException {
+		return parse(fileData, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses a SWF file from the remaining bytes of a buffer. The buffer is
+	 * not copied if the file is not compressed. Tags that are not selected
+	 * for decoding by the options are only indexed and decoded on demand.
+	 * 
+	 * @param fileData Bytes of file to parse.
+	 * @param options Selects the tags that are decoded while the file is parsed.
+	 * 
+	 * @return The parsed SWF file.
+	 * 
+	 * @throws IOException Thrown if the given file could not be read.
+	 * @throws SWFParserException Thrown if the given file could not be parsed.
+	 */
+	public static SWFFile parse(final ByteBuffer fileData, final ParseOptions options) throws IOException, SWFParserException {
 
 		if (fileData == null) {
 			throw new IllegalArgumentException("Argument file data must not be null");
 		}
 
-		if (fileData.length < 8) {
+		if (options == null) {
+			throw new IllegalArgumentException("Argument options must not be null");
+		}
+
+		if (fileData.remaining() < 8) {
 			throw new SWFParserException(0x00002, 0, "Invalid SWF file: File too small");
 		}
 
@@ -94,9 +238,9 @@ public final class SWFParser {
 			throw new SWFParserException(0x00003, 0, "Invalid SWF file: File signature not found");
 		}
 
-		final byte[] parserInputData = isCompressed(fileData) ? SWFDecompressor.decompressData(fileData) : fileData;
+		final boolean wasCompressed = isCompressed(fileData);
 
-		final boolean wasCompressed = parserInputData != fileData;
+		final ByteBuffer parserInputData = wasCompressed ? ByteBuffer.wrap(SWFDecompressor.decompressData(fileData)) : fileData.slice();
 
 		final SWFBinaryParser parser = new SWFBinaryParser(parserInputData);
 
@@ -113,7 +257,7 @@ public final class SWFParser {
 		final UINT16 frameRate = parser.readUInt16();
 		final UINT16 frameCount = parser.readUInt16();
 
-		final TagParserResult tags = TagParser.parse(parser, version.value());
+		final TagParserResult tags = TagParser.parse(parser, version.value(), options);
 
 		return new SWFFile(parserInputData, wasCompressed, signature1, signature2, signature3, version, fileLength, frameSize, frameRate, frameCount, tags.getTags());
 	}
@@ -17,6 +17,7 @@ import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT32;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.splib.binaryparser.UTF8String;
 import tv.porst.swfretools.parser.structures.ByteArray;
 
 /**
@@ -33,13 +34,13 @@ public final class SWFParserHelpers {
 	 * @param parser The parser that provides the stream.
 	 * @param numberOfBytes The number of remaining bytes to check for.
 	 * @param errorCode The error code of the exception to be thrown.
-	 * @param fieldName Name of the field to be parsed.
+	 * @param fieldName Name of the field to be parsed, relative to the structure the parser context is in.
 	 * 
 	 * @throws SWFParserException Thrown if fewer than the given number of bytes are left in the input stream.
 	 */
 	private static void throwIf(final SWFBinaryParser parser, final long numberOfBytes, final int errorCode, final String fieldName) throws SWFParserException {
 		if (!BinaryParserHelpers.hasBytesLeft(parser, numberOfBytes)) {
-			throw new SWFParserException(errorCode, parser.getBytePosition(), String.format("Read beyond file while parsing %s (%08X)", fieldName, parser.getBytePosition()));
+			throw new SWFParserException(errorCode, parser.getBytePosition(), String.format("Read beyond file while parsing %s (%08X)", parser.getContext().getPath(fieldName), parser.getBytePosition()));
 		}
 	}
 
@@ -49,13 +50,13 @@ public final class SWFParserHelpers {
 	 * @param parser The parser that provides the stream.
 	 * @param numberOfBits The number of remaining bits to check for.
 	 * @param errorCode The error code of the exception to be thrown.
-	 * @param fieldName Name of the field to be parsed.
+	 * @param fieldName Name of the field to be parsed, relative to the structure the parser context is in.
 	 * 
 	 * @throws SWFParserException Thrown if fewer than the given number of bits are left in the input stream.
 	 */
 	private static void throwIfB(final SWFBinaryParser parser, final int numberOfBits, final int errorCode, final String fieldName) throws SWFParserException {
 		if (!BinaryParserHelpers.hasBitsLeft(parser, numberOfBits)) {
-			throw new SWFParserException(errorCode, parser.getBytePosition(), String.format("Read beyond file while parsing %s (%08X)", fieldName, parser.getBytePosition()));
+			throw new SWFParserException(errorCode, parser.getBytePosition(), String.format("Read beyond file while parsing %s (%08X)", parser.getContext().getPath(fieldName), parser.getBytePosition()));
 		}
 	}
 
@@ -432,6 +433,22 @@ public final class SWFParserHelpers {
 		return condition.value() ? parseString(parser, errorCode, fieldName) : null;
 	}
 
+	/**
+	 * Parses an 8 bit unsigned integer without allocating a parsed type object.
+	 * 
+	 * @param parser The parser that provides the input stream.
+	 * @param errorCode Error code in case parsing fails.
+	 * @param fieldName Name of the field to parse.
+	 * 
+	 * @return The parsed 8 bit unsigned integer.
+	 * 
+	 * @throws SWFParserException Thrown if parsing failed.
+	 */
+	public static int parseU8(final SWFBinaryParser parser, final int errorCode, final String fieldName) throws SWFParserException {
+		throwIf(parser, UINT8.BYTE_LENGTH, errorCode, fieldName);
+		return parser.u8();
+	}
+
 	/**
 	 * Parses an unsigned bit field.
 	 * 
@@ -611,4 +628,20 @@ public final class SWFParserHelpers {
 	public static UINT8 parseUINT8If(final SWFBinaryParser parser, final int errorCode, final Flag condition, final String fieldName) throws SWFParserException {
 		return condition.value() ? parseUINT8(parser, errorCode, fieldName) : null;
 	}
+
+	/**
+	 * Parses a UTF-8 string of a given length.
+	 * 
+	 * @param parser The parser that provides the input stream.
+	 * @param length The number of bytes to read.
+	 * @param errorCode Error code in case parsing fails.
+	 * @param fieldName Name of the field to parse.
+	 * 
+	 * @return The parsed UTF-8 string.
+	 * 
+	 * @throws SWFParserException Thrown if parsing failed.
+	 */
+	public static UTF8String parseUTF8String(final SWFBinaryParser parser, final int length, final int errorCode, final String fieldName) throws SWFParserException {
+		return parser.readUTF8String(length);
+	}
 }
\ No newline at end of file
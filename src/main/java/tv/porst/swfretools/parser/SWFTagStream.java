@@ -0,0 +1,817 @@
+package tv.porst.swfretools.parser;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.splib.binaryparser.UINT32;
+import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.structures.Rect;
+import tv.porst.swfretools.parser.structures.RectParser;
+import tv.porst.swfretools.parser.tags.Tag;
+import tv.porst.swfretools.parser.tags.TagParser;
+
+/**
+ * Parses the tags of a SWF file while the file is still being read.
+ * 
+ * A background thread reads and decompresses the input stream and cuts the
+ * decompressed data into tags as soon as the record header of a tag is
+ * available. The tags are parsed on the thread that iterates over the stream,
+ * so decompressing and parsing overlap. Tags that were cut but not yet parsed
+ * are buffered up to a configurable number of bytes, so the memory used for
+ * file data is bounded by that limit plus the size of the largest tag.
+ */
+public final class SWFTagStream implements Iterator<Tag>, Closeable {
+
+	/**
+	 * Default number of bytes that are buffered ahead of the parser.
+	 */
+	public static final int DEFAULT_BUFFER_LIMIT = 4 * 1024 * 1024;
+
+	/**
+	 * Length of the uncompressed SWF header that precedes the compressed data.
+	 */
+	private static final int HEADER_LENGTH = 8;
+
+	/**
+	 * Size of the LZMA properties in LZMA-packed files.
+	 */
+	private static final int LZMA_PROPERTIES_SIZE = 5;
+
+	/**
+	 * Size of the chunks in which the input is read.
+	 */
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Largest array that is allocated for a chunk before its bytes arrive.
+	 * Longer chunks grow while they are filled, so that a damaged tag length
+	 * does not allocate more memory than the input actually provides.
+	 */
+	private static final int MAX_INITIAL_CHUNK_LENGTH = 1024 * 1024;
+
+	/**
+	 * Marks the end of the decompressed data.
+	 */
+	private static final Chunk END = new Chunk(0, new byte[0]);
+
+	/**
+	 * The stream the file is read from.
+	 */
+	private final InputStream input;
+
+	/**
+	 * Maximum number of bytes that are buffered ahead of the parser.
+	 */
+	private final int bufferLimit;
+
+	/**
+	 * Permits for the bytes that may still be buffered ahead of the parser.
+	 */
+	private final Semaphore bufferPermits;
+
+	/**
+	 * Chunks that were cut but not yet parsed.
+	 */
+	private final BlockingQueue<Chunk> chunks = new LinkedBlockingQueue<Chunk>();
+
+	/**
+	 * Thread that reads and decompresses the input.
+	 */
+	private final Thread decompressor;
+
+	/**
+	 * Error that stopped the decompressor thread or null.
+	 */
+	private volatile IOException readError;
+
+	/**
+	 * Errors that appeared while parsing the tags.
+	 */
+	private final List<ParserError> errors = new ArrayList<ParserError>();
+
+	/**
+	 * Flag that says whether the input was compressed.
+	 */
+	private final boolean wasCompressed;
+
+	/**
+	 * First signature byte of the file.
+	 */
+	private final UINT8 signature1;
+
+	/**
+	 * Second signature byte of the file.
+	 */
+	private final UINT8 signature2;
+
+	/**
+	 * Third signature byte of the file.
+	 */
+	private final UINT8 signature3;
+
+	/**
+	 * Flash version of the file.
+	 */
+	private final UINT8 version;
+
+	/**
+	 * Length of the uncompressed file.
+	 */
+	private final UINT32 fileLength;
+
+	/**
+	 * Size of the frames of the SWF file.
+	 */
+	private final Rect frameSize;
+
+	/**
+	 * Frame rate of the SWF file.
+	 */
+	private final UINT16 frameRate;
+
+	/**
+	 * Number of frames of the SWF file.
+	 */
+	private final UINT16 frameCount;
+
+	/**
+	 * The next tag to return or null if it was not parsed yet.
+	 */
+	private Tag nextTag;
+
+	/**
+	 * Flag that says whether all tags were returned.
+	 */
+	private boolean done = false;
+
+	/**
+	 * Creates a new tag stream that buffers up to {@link #DEFAULT_BUFFER_LIMIT}
+	 * bytes ahead of the parser.
+	 * 
+	 * @param input The stream the SWF file is read from.
+	 * 
+	 * @throws IOException Thrown if the header of the file could not be read.
+	 * @throws SWFParserException Thrown if the header of the file could not be parsed.
+	 */
+	public SWFTagStream(final InputStream input) throws IOException, SWFParserException {
+		this(input, DEFAULT_BUFFER_LIMIT);
+	}
+
+	/**
+	 * Creates a new tag stream. The SWF header is read before the constructor
+	 * returns, the tags are read in the background.
+	 * 
+	 * @param input The stream the SWF file is read from.
+	 * @param bufferLimit Maximum number of bytes that are buffered ahead of the parser.
+	 * 
+	 * @throws IOException Thrown if the header of the file could not be read.
+	 * @throws SWFParserException Thrown if the header of the file could not be parsed.
+	 */
+	public SWFTagStream(final InputStream input, final int bufferLimit) throws IOException, SWFParserException {
+
+		if (input == null) {
+			throw new IllegalArgumentException("Argument input must not be null");
+		}
+
+		if (bufferLimit <= 0) {
+			throw new IllegalArgumentException("Buffer limit must be positive");
+		}
+
+		this.input = input;
+		this.bufferLimit = bufferLimit;
+		this.bufferPermits = new Semaphore(bufferLimit);
+
+		final byte[] prefix = new byte[HEADER_LENGTH];
+
+		if (readFully(input, prefix, 0, HEADER_LENGTH) < HEADER_LENGTH) {
+			throw new SWFParserException(0x00002, 0, "Invalid SWF file: File too small");
+		}
+
+		if (!SWFParser.hasValidSignature(prefix)) {
+			throw new SWFParserException(0x00003, 0, "Invalid SWF file: File signature not found");
+		}
+
+		wasCompressed = SWFParser.isCompressed(prefix);
+
+		decompressor = new Thread(new Decompressor(prefix), "SWF decompressor");
+		decompressor.setDaemon(true);
+		decompressor.start();
+
+		final Chunk header = takeChunk();
+
+		if (header == END) {
+			close();
+
+			if (readError != null) {
+				throw readError;
+			}
+
+			throw new SWFParserException(0x00002, 0, "Invalid SWF file: File too small");
+		}
+
+		final SWFBinaryParser parser = new SWFBinaryParser(ByteBuffer.wrap(header.data));
+
+		try {
+			signature1 = parser.readUInt8();
+			signature2 = parser.readUInt8();
+			signature3 = parser.readUInt8();
+
+			version = parser.readUInt8();
+
+			fileLength = parser.readUInt32();
+
+			frameSize = RectParser.parse(parser, "SWFHeader::FrameSize");
+
+			frameRate = parser.readUInt16();
+			frameCount = parser.readUInt16();
+		}
+		catch (final SWFParserException | IllegalArgumentException e) {
+			close();
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads bytes from a stream until the requested number of bytes was read
+	 * or the stream ended.
+	 * 
+	 * @param input The stream to read from.
+	 * @param data The array to read into.
+	 * @param offset The first position to fill.
+	 * @param length The number of bytes to read.
+	 * 
+	 * @return The number of bytes read.
+	 * 
+	 * @throws IOException Thrown if reading failed.
+	 */
+	private static int readFully(final InputStream input, final byte[] data, final int offset, final int length) throws IOException {
+
+		int count = 0;
+
+		while (count < length) {
+
+			final int read = input.read(data, offset + count, length - count);
+
+			if (read == -1) {
+				break;
+			}
+
+			count += read;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Parses a chunk that holds the data of one tag.
+	 * 
+	 * @param chunk The chunk to parse.
+	 * 
+	 * @return The parsed tag or null if parsing failed.
+	 */
+	private Tag parseChunk(final Chunk chunk) {
+
+		final SWFBinaryParser parser = new SWFBinaryParser(ByteBuffer.wrap(chunk.data), chunk.offset);
+
+		try {
+			return TagParser.parseTag(parser, version.value(), errors);
+		}
+		catch (final IllegalArgumentException e) {
+			errors.add(new ParserError(chunk.offset, e.getMessage() == null ? "Invalid tag data" : e.getMessage()));
+
+			return null;
+		}
+	}
+
+	/**
+	 * Takes the next chunk from the queue and returns its bytes to the buffer
+	 * budget.
+	 * 
+	 * @return The next chunk.
+	 * 
+	 * @throws InterruptedIOException Thrown if the thread was interrupted while waiting.
+	 */
+	private Chunk takeChunk() throws InterruptedIOException {
+
+		final Chunk chunk;
+
+		try {
+			chunk = chunks.take();
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new InterruptedIOException("Interrupted while waiting for SWF data");
+		}
+
+		bufferPermits.release(Math.min(chunk.data.length, bufferLimit));
+
+		return chunk;
+	}
+
+	/**
+	 * Stops reading the input and closes it.
+	 * 
+	 * @throws IOException Thrown if closing the input failed.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		done = true;
+		nextTag = null;
+
+		decompressor.interrupt();
+
+		input.close();
+	}
+
+	/**
+	 * Returns the errors that appeared while parsing the tags returned so far.
+	 * 
+	 * @return The errors that appeared while parsing the tags.
+	 */
+	public List<ParserError> getErrors() {
+		return new ArrayList<ParserError>(errors);
+	}
+
+	/**
+	 * Returns the length of the uncompressed file.
+	 * 
+	 * @return The length of the uncompressed file.
+	 */
+	public UINT32 getFileLength() {
+		return fileLength;
+	}
+
+	/**
+	 * Returns the number of frames of the SWF file.
+	 * 
+	 * @return The number of frames of the SWF file.
+	 */
+	public UINT16 getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Returns the frame rate of the SWF file.
+	 * 
+	 * @return The frame rate of the SWF file.
+	 */
+	public UINT16 getFrameRate() {
+		return frameRate;
+	}
+
+	/**
+	 * Returns the size of the frames of the SWF file.
+	 * 
+	 * @return The size of the frames of the SWF file.
+	 */
+	public Rect getFrameSize() {
+		return frameSize;
+	}
+
+	/**
+	 * Returns the first signature byte of the file.
+	 * 
+	 * @return The first signature byte of the file.
+	 */
+	public UINT8 getSignature1() {
+		return signature1;
+	}
+
+	/**
+	 * Returns the second signature byte of the file.
+	 * 
+	 * @return The second signature byte of the file.
+	 */
+	public UINT8 getSignature2() {
+		return signature2;
+	}
+
+	/**
+	 * Returns the third signature byte of the file.
+	 * 
+	 * @return The third signature byte of the file.
+	 */
+	public UINT8 getSignature3() {
+		return signature3;
+	}
+
+	/**
+	 * Returns the Flash version of the file.
+	 * 
+	 * @return The Flash version of the file.
+	 */
+	public UINT8 getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns a flag that says whether the input was compressed.
+	 * 
+	 * @return True, if the input was compressed. False, otherwise.
+	 */
+	public boolean getWasCompressed() {
+		return wasCompressed;
+	}
+
+	/**
+	 * Waits until the next tag was parsed or the end of the file was reached.
+	 * 
+	 * @return True, if there is another tag. False, otherwise.
+	 * 
+	 * @throws UncheckedIOException Thrown if reading or decompressing the input failed.
+	 */
+	@Override
+	public boolean hasNext() {
+
+		while (nextTag == null && !done) {
+
+			final Chunk chunk;
+
+			try {
+				chunk = takeChunk();
+			}
+			catch (final InterruptedIOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			if (chunk == END) {
+				done = true;
+
+				if (readError != null) {
+					throw new UncheckedIOException(readError);
+				}
+			}
+			else {
+				nextTag = parseChunk(chunk);
+			}
+		}
+
+		return nextTag != null;
+	}
+
+	/**
+	 * Returns the next tag of the file.
+	 * 
+	 * @return The next tag of the file.
+	 * 
+	 * @throws UncheckedIOException Thrown if reading or decompressing the input failed.
+	 */
+	@Override
+	public Tag next() {
+
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		final Tag tag = nextTag;
+
+		nextTag = null;
+
+		return tag;
+	}
+
+	/**
+	 * Part of the decompressed file that is parsed on its own.
+	 */
+	private static final class Chunk {
+
+		/**
+		 * Offset of the chunk in the decompressed file.
+		 */
+		private final int offset;
+
+		/**
+		 * Bytes of the chunk.
+		 */
+		private final byte[] data;
+
+		/**
+		 * Creates a new chunk.
+		 * 
+		 * @param offset Offset of the chunk in the decompressed file.
+		 * @param data Bytes of the chunk.
+		 */
+		public Chunk(final int offset, final byte[] data) {
+			this.offset = offset;
+			this.data = data;
+		}
+	}
+
+	/**
+	 * Reads and decompresses the input and passes it to a tag framer.
+	 */
+	private final class Decompressor implements Runnable {
+
+		/**
+		 * The uncompressed header of the file.
+		 */
+		private final byte[] prefix;
+
+		/**
+		 * Creates a new decompressor.
+		 * 
+		 * @param prefix The uncompressed header of the file.
+		 */
+		public Decompressor(final byte[] prefix) {
+			this.prefix = prefix;
+		}
+
+		/**
+		 * Copies all remaining bytes of a stream to the framer.
+		 * 
+		 * @param source The stream to copy.
+		 * @param framer The framer to copy to.
+		 * 
+		 * @throws IOException Thrown if reading or framing failed.
+		 */
+		private void copy(final InputStream source, final TagFramer framer) throws IOException {
+
+			final byte[] buffer = new byte[READ_BUFFER_SIZE];
+
+			int read;
+
+			while ((read = source.read(buffer)) != -1) {
+				framer.write(buffer, 0, read);
+			}
+		}
+
+		/**
+		 * Decompresses the LZMA-packed part of the input.
+		 * 
+		 * @param framer The framer to write to.
+		 * @param fileLength The length of the decompressed file.
+		 * 
+		 * @throws IOException Thrown if reading or decompressing failed.
+		 */
+		private void LZMAdecompress(final TagFramer framer, final long fileLength) throws IOException {
+
+			// Skip the length of the compressed data
+			final byte[] properties = new byte[LZMA_PROPERTIES_SIZE];
+
+			if (readFully(input, properties, 0, 4) < 4 || readFully(input, properties, 0, LZMA_PROPERTIES_SIZE) < LZMA_PROPERTIES_SIZE) {
+				throw new EOFException("input .lzma file is too short");
+			}
+
+			final SevenZip.Compression.LZMA.Decoder decoder = new SevenZip.Compression.LZMA.Decoder();
+			if (!decoder.SetDecoderProperties(properties)) {
+				throw new IOException("Incorrect stream properties");
+			}
+
+			if (!decoder.Code(input, framer, fileLength - HEADER_LENGTH)) {
+				throw new IOException("Error in data stream");
+			}
+		}
+
+		@Override
+		public void run() {
+
+			final TagFramer framer = new TagFramer();
+
+			try {
+				final long fileLength = ByteBuffer.wrap(prefix).order(ByteOrder.LITTLE_ENDIAN).getInt(4) & 0xFFFFFFFFL;
+
+				final byte[] header = prefix.clone();
+
+				// Mark the data as decompressed
+				header[0] = 'F';
+
+				framer.write(header, 0, HEADER_LENGTH);
+
+				if (prefix[0] == 'C') {
+					final Inflater inflater = new Inflater();
+
+					try {
+						copy(new InflaterInputStream(input, inflater, READ_BUFFER_SIZE), framer);
+					}
+					finally {
+						inflater.end();
+					}
+				}
+				else if (prefix[0] == 'Z') {
+					LZMAdecompress(framer, fileLength);
+				}
+				else {
+					copy(input, framer);
+				}
+
+				framer.finish();
+			}
+			catch (final IOException e) {
+				readError = e;
+			}
+			finally {
+				chunks.add(END);
+			}
+		}
+	}
+
+	/**
+	 * Output stream that cuts the decompressed file into the SWF header and
+	 * the individual tags. The array of every chunk is allocated with the
+	 * length that is known from its header and filled directly. Chunks
+	 * longer than MAX_INITIAL_CHUNK_LENGTH start smaller and grow as their
+	 * bytes arrive.
+	 */
+	private final class TagFramer extends OutputStream {
+
+		/**
+		 * Collects the bytes that are needed to determine the length of the
+		 * next chunk. The SWF header needs 9 bytes, tag headers up to 6.
+		 */
+		private final byte[] pending = new byte[9];
+
+		/**
+		 * Number of bytes in the pending array.
+		 */
+		private int pendingLength = 0;
+
+		/**
+		 * The chunk that is currently being filled or null.
+		 */
+		private byte[] current;
+
+		/**
+		 * Number of bytes in the current chunk.
+		 */
+		private int currentLength = 0;
+
+		/**
+		 * Length of the current chunk according to its header.
+		 */
+		private int chunkLength = 0;
+
+		/**
+		 * Offset of the next chunk in the decompressed file.
+		 */
+		private int offset = 0;
+
+		/**
+		 * Buffer for writing single bytes.
+		 */
+		private final byte[] single = new byte[1];
+
+		/**
+		 * Allocates the array for the next chunk once its length is known.
+		 * 
+		 * @param length The length of the next chunk.
+		 * 
+		 * @throws IOException Thrown if the thread was interrupted while waiting for buffer space.
+		 */
+		private void begin(final int length) throws IOException {
+
+			try {
+				bufferPermits.acquire(Math.min(length, bufferLimit));
+			}
+			catch (final InterruptedException e) {
+				throw new InterruptedIOException("Interrupted while waiting for the parser");
+			}
+
+			current = new byte[Math.min(length, MAX_INITIAL_CHUNK_LENGTH)];
+			currentLength = pendingLength;
+			chunkLength = length;
+
+			System.arraycopy(pending, 0, current, 0, pendingLength);
+
+			pendingLength = 0;
+		}
+
+		/**
+		 * Determines the length of the next chunk from the pending bytes.
+		 * 
+		 * @return The length of the next chunk or -1 if more bytes are needed.
+		 * 
+		 * @throws IOException Thrown if the chunk has an invalid length.
+		 */
+		private int chunkLength() throws IOException {
+
+			if (offset == 0) {
+
+				if (pendingLength < HEADER_LENGTH + 1) {
+					return -1;
+				}
+
+				// The frame size rectangle starts with a 5-bit field size
+				final int bits = (pending[HEADER_LENGTH] & 0xFF) >>> 3;
+
+				return HEADER_LENGTH + (5 + 4 * bits + 7) / 8 + 4;
+			}
+
+			if (pendingLength < 2) {
+				return -1;
+			}
+
+			final int length = (pending[0] & 0xFF | (pending[1] & 0xFF) << 8) & 0x3F;
+
+			if (length != 0x3F) {
+				return 2 + length;
+			}
+
+			if (pendingLength < 6) {
+				return -1;
+			}
+
+			final long longLength = (pending[2] & 0xFF | (pending[3] & 0xFF) << 8 | (pending[4] & 0xFF) << 16 | (pending[5] & 0xFF) << 24) & 0xFFFFFFFFL;
+
+			if (longLength > Integer.MAX_VALUE - 6) {
+				throw new IOException(String.format("Invalid tag length at offset %d: %d", offset, longLength));
+			}
+
+			return 6 + (int) longLength;
+		}
+
+		/**
+		 * Passes the current chunk to the parser.
+		 */
+		private void emit() {
+
+			chunks.add(new Chunk(offset, currentLength == current.length ? current : Arrays.copyOf(current, currentLength)));
+
+			offset += currentLength;
+			current = null;
+			currentLength = 0;
+		}
+
+		/**
+		 * Passes an incomplete last chunk to the parser, so that the parser can
+		 * report the truncated data.
+		 */
+		public void finish() {
+
+			if (current != null) {
+				emit();
+			}
+			else if (pendingLength > 0) {
+				current = Arrays.copyOf(pending, pendingLength);
+				currentLength = pendingLength;
+				pendingLength = 0;
+
+				emit();
+			}
+		}
+
+		@Override
+		public void write(final byte[] data, int position, int length) throws IOException {
+
+			while (length > 0) {
+
+				if (current == null) {
+
+					pending[pendingLength++] = data[position++];
+					length--;
+
+					final int chunkLength = chunkLength();
+
+					if (chunkLength != -1) {
+						begin(chunkLength);
+					}
+				}
+				else {
+					if (currentLength == current.length) {
+						current = Arrays.copyOf(current, (int) Math.min(2L * current.length, chunkLength));
+					}
+
+					final int count = Math.min(length, current.length - currentLength);
+
+					System.arraycopy(data, position, current, currentLength, count);
+
+					currentLength += count;
+					position += count;
+					length -= count;
+				}
+
+				if (current != null && currentLength == chunkLength) {
+					emit();
+				}
+			}
+		}
+
+		@Override
+		public void write(final int value) throws IOException {
+
+			single[0] = (byte) value;
+
+			write(single, 0, 1);
+		}
+	}
+}
\ No newline at end of file
@@ -3,14 +3,20 @@ package tv.porst.swfretools.parser.actions.as2;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
 public class ActionGotoFrameParser {
 
 	public static ActionGotoFrame parse(final SWFBinaryParser parser, final UINT8 actionCode, final String fieldName) throws SWFParserException {
-		final UINT16 length = parseUINT16(parser, 0x00006, fieldName + "::Length");
-		final UINT16 frame = parseUINT16(parser, 0x00006, fieldName + "::Frame");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 length = parseUINT16(parser, 0x00006, "Length");
+		final UINT16 frame = parseUINT16(parser, 0x00006, "Frame");
+
+		context.leave();
 
 		return new ActionGotoFrame(actionCode, length, frame);
 	}
@@ -5,14 +5,20 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.AsciiString;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
 public class ActionGotoLabelParser {
 
 	public static ActionGotoLabel parse(final SWFBinaryParser parser, final UINT8 actionCode, final String fieldName) throws SWFParserException {
-		final UINT16 length = parseUINT16(parser, 0x00006, fieldName + "::Length");
-		final AsciiString label = parseString(parser, 0x00006, "::Label");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 length = parseUINT16(parser, 0x00006, "Length");
+		final AsciiString label = parseString(parser, 0x00006, "Label");
+
+		context.leave();
 
 		return new ActionGotoLabel(actionCode, length, label);
 	}
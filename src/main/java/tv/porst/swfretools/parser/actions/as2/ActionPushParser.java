@@ -9,34 +9,38 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.SWFParserHelpers;
 
 public class ActionPushParser {
 
-	private static PushedValue<?> parsePushedValue(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
+	private static PushedValue<?> parsePushedValue(final SWFBinaryParser parser) throws SWFParserException {
 
-		final UINT8 type = parseUINT8(parser, 0x00006, fieldName + "::Type");
+		final UINT8 type = parseUINT8(parser, 0x00006, "Type");
 
 		switch (type.value()) {
-		case 0: return new PushedString(type, SWFParserHelpers.parseString(parser, 0x00006, fieldName + "::String"));
-		case 1: return new PushedFloat(type, SWFParserHelpers.parseFloat(parser, 0x00006, fieldName + "::Float"));
+		case 0: return new PushedString(type, SWFParserHelpers.parseString(parser, 0x00006, "String"));
+		case 1: return new PushedFloat(type, SWFParserHelpers.parseFloat(parser, 0x00006, "Float"));
 		case 2: return new PushedNull(type);
 		case 3: return new PushedUndefined(type);
-		case 4: return new PushedRegisterNumber(type, parseUINT8(parser, 0x00006, fieldName + "::RegisterNumber"));
-		case 5: return new PushedBoolean(type, parseUINT8(parser, 0x00006, fieldName + "::Boolean"));
-		case 6: return new PushedDouble(type, SWFParserHelpers.parseDouble(parser, 0x00006, fieldName + "::Double"));
-		case 7: return new PushedInteger(type, parseUINT32(parser, 0x00006, fieldName + "::Integer"));
-		case 8: return new PushedConstant8(type, parseUINT8(parser, 0x00006, fieldName + "::Constant8"));
-		case 9: return new PushedConstant16(type, parseUINT16(parser, 0x00006, fieldName + "::Constant16"));
+		case 4: return new PushedRegisterNumber(type, parseUINT8(parser, 0x00006, "RegisterNumber"));
+		case 5: return new PushedBoolean(type, parseUINT8(parser, 0x00006, "Boolean"));
+		case 6: return new PushedDouble(type, SWFParserHelpers.parseDouble(parser, 0x00006, "Double"));
+		case 7: return new PushedInteger(type, parseUINT32(parser, 0x00006, "Integer"));
+		case 8: return new PushedConstant8(type, parseUINT8(parser, 0x00006, "Constant8"));
+		case 9: return new PushedConstant16(type, parseUINT16(parser, 0x00006, "Constant16"));
 		default: return new PushedUnknown(type);
 		}
 
 	}
 
 	public static ActionPush parse(final SWFBinaryParser parser, final UINT8 actionCode, final String fieldName) throws SWFParserException {
-		final UINT16 length = parseUINT16(parser, 0x00006, fieldName + "::Length");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 length = parseUINT16(parser, 0x00006, "Length");
 
 		final int end = parser.getBytePosition() + length.value();
 
@@ -44,13 +48,15 @@ public class ActionPushParser {
 
 		while (parser.getBytePosition() < end) {
 			try {
-				pushedValues.add(parsePushedValue(parser, fieldName));
+				pushedValues.add(parsePushedValue(parser));
 			}
 			catch (final IllegalArgumentException e) {
 				break;
 			}
 		}
 
+		context.leave();
+
 		return new ActionPush(actionCode, length, new PushedValueList(pushedValues));
 	}
 }
\ No newline at end of file
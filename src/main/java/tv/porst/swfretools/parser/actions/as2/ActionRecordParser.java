@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,6 +30,9 @@ public final class ActionRecordParser {
 	 */
 	public static List<Action> parse(final SWFBinaryParser parser, final long actionRecordSize, final String fieldName) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+		final int depth = context.getDepth();
+
 		final List<Action> actions = new ArrayList<Action>();
 		final int startOffset = parser.getBytePosition();
 
@@ -36,7 +40,9 @@ public final class ActionRecordParser {
 
 			while (parser.getBytePosition() - startOffset < actionRecordSize) {
 
-				final UINT8 actionCode = parseUINT8(parser, 0x00006, fieldName + "::ActionCode");
+				context.enter(fieldName);
+				final UINT8 actionCode = parseUINT8(parser, 0x00006, "ActionCode");
+				context.leave();
 
 				switch (actionCode.value()) {
 				case ActionCodes.ActionEnd: actions.add(new ActionEnd(actionCode)); break;
@@ -148,6 +154,7 @@ public final class ActionRecordParser {
 			}
 		}
 		catch (final IllegalArgumentException e) {
+			context.reset(depth);
 		}
 
 		return actions;
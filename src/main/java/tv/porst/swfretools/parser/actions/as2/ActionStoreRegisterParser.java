@@ -4,14 +4,20 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
 public class ActionStoreRegisterParser {
 
 	public static ActionStoreRegister parse(final SWFBinaryParser parser, final UINT8 actionCode, final String fieldName) throws SWFParserException {
-		final UINT16 length = parseUINT16(parser, 0x00006, fieldName + "::Length");
-		final UINT8 registerNumber = parseUINT8(parser, 0x00006, fieldName + "::RegisterNumber");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 length = parseUINT16(parser, 0x00006, "Length");
+		final UINT8 registerNumber = parseUINT8(parser, 0x00006, "RegisterNumber");
+
+		context.leave();
 
 		return new ActionStoreRegister(actionCode, length, registerNumber);
 	}
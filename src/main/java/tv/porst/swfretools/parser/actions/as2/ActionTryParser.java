@@ -13,6 +13,7 @@ import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.ActionList;
@@ -21,21 +22,26 @@ public class ActionTryParser {
 
 	public static ActionTry parse(final SWFBinaryParser parser, final UINT8 actionCode, final String fieldName) throws SWFParserException {
 
-		final UINT16 length = parseUINT16(parser, 0x00006, fieldName + "::Length");
-		final UBits reserved = parseUBits(parser, 5, 0x00006, fieldName + "::Reserved");
-		final Flag catchInRegisterFlag = parseFlag(parser, 0x00006, fieldName + "::CatchInRegisterFlag");
-		final Flag finallyBlockFlag = parseFlag(parser, 0x00006, fieldName + "::FinallyBlockFlag");
-		final Flag catchBlockFlag = parseFlag(parser, 0x00006, fieldName + "::CatchBlockFlag");
-		final UINT16 trySize = parseUINT16(parser, 0x00006, fieldName + "::TrySize");
-		final UINT16 catchSize = parseUINT16(parser, 0x00006, fieldName + "::CatchSize");
-		final UINT16 finallySize = parseUINT16(parser, 0x00006, fieldName + "::FinallySize");
-
-		final AsciiString catchName = parseStringIf(parser, 0x00006, !catchInRegisterFlag.value(), "::CatchName");
-		final UINT8 catchRegister = parseUINT8If(parser, 0x00006, catchInRegisterFlag, fieldName + "::CatchRegister");
-
-		final List<Action> tryBody = ActionRecordParser.parse(parser, trySize.value(), fieldName + "::TryBody");
-		final List<Action> catchBody = ActionRecordParser.parse(parser, catchSize.value(), fieldName + "::CatchBody");
-		final List<Action> finallyBody = ActionRecordParser.parse(parser, finallySize.value(), fieldName + "::FinallyBody");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 length = parseUINT16(parser, 0x00006, "Length");
+		final UBits reserved = parseUBits(parser, 5, 0x00006, "Reserved");
+		final Flag catchInRegisterFlag = parseFlag(parser, 0x00006, "CatchInRegisterFlag");
+		final Flag finallyBlockFlag = parseFlag(parser, 0x00006, "FinallyBlockFlag");
+		final Flag catchBlockFlag = parseFlag(parser, 0x00006, "CatchBlockFlag");
+		final UINT16 trySize = parseUINT16(parser, 0x00006, "TrySize");
+		final UINT16 catchSize = parseUINT16(parser, 0x00006, "CatchSize");
+		final UINT16 finallySize = parseUINT16(parser, 0x00006, "FinallySize");
+
+		final AsciiString catchName = parseStringIf(parser, 0x00006, !catchInRegisterFlag.value(), "CatchName");
+		final UINT8 catchRegister = parseUINT8If(parser, 0x00006, catchInRegisterFlag, "CatchRegister");
+
+		final List<Action> tryBody = ActionRecordParser.parse(parser, trySize.value(), "TryBody");
+		final List<Action> catchBody = ActionRecordParser.parse(parser, catchSize.value(), "CatchBody");
+		final List<Action> finallyBody = ActionRecordParser.parse(parser, finallySize.value(), "FinallyBody");
+
+		context.leave();
 
 		return new ActionTry(actionCode, length, reserved, catchInRegisterFlag, finallyBlockFlag,
 				catchBlockFlag, trySize, catchSize, finallySize, catchName, catchRegister,
@@ -6,6 +6,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.ActionList;
@@ -13,10 +14,15 @@ import tv.porst.swfretools.parser.structures.ActionList;
 public class ActionWithParser {
 
 	public static ActionWith parse(final SWFBinaryParser parser, final UINT8 actionCode, final String fieldName) throws SWFParserException {
-		final UINT16 length = parseUINT16(parser, 0x00006, fieldName + "::Length");
-		final UINT16 size = parseUINT16(parser, 0x00006, fieldName + "::Size");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
 
-		final List<Action> actions = ActionRecordParser.parse(parser, size.value(), fieldName + "::Actions");
+		final UINT16 length = parseUINT16(parser, 0x00006, "Length");
+		final UINT16 size = parseUINT16(parser, 0x00006, "Size");
+
+		final List<Action> actions = ActionRecordParser.parse(parser, size.value(), "Actions");
+
+		context.leave();
 
 		return new ActionWith(actionCode, length, size, new ActionList(actions));
 	}
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.actions.as3;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -12,7 +13,12 @@ public final class AS3AstypelateParser {
 
 	public static AS3Astypelate parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 opcode = parseUINT8(parser, 0x00006, fieldName + "::opcode");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 opcode = parseUINT8(parser, 0x00006, "opcode");
+
+		context.leave();
 
 		return new AS3Astypelate(opcode);
 	}
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.actions.as3;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.EncodedU30;
@@ -14,9 +15,14 @@ public final class AS3CallmethodParser {
 
 	public static AS3Callmethod parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 opcode = parseUINT8(parser, 0x00006, fieldName + "::opcode");
-		final EncodedU30 index = EncodedU30Parser.parse(parser, fieldName + "::index");
-		final EncodedU30 argCount = EncodedU30Parser.parse(parser, fieldName + "::arg_count");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 opcode = parseUINT8(parser, 0x00006, "opcode");
+		final EncodedU30 index = EncodedU30Parser.parse(parser, "index");
+		final EncodedU30 argCount = EncodedU30Parser.parse(parser, "arg_count");
+
+		context.leave();
 
 		return new AS3Callmethod(opcode, index, argCount);
 	}
@@ -0,0 +1,259 @@
+package tv.porst.swfretools.parser.actions.as3;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.SWFParserException;
+
+/**
+ * Compact representation of an ActionScript 3 instruction stream.
+ * 
+ * Instead of one object per instruction and operand, the opcodes, the byte
+ * offsets and the operand values of all instructions are stored in flat
+ * arrays. The instructions can be iterated with a cursor. Instruction
+ * objects are only created on request by decoding the instruction again
+ * from the file data.
+ */
+public final class AS3CodeColumns {
+
+	/**
+	 * Byte position of the code in the input stream.
+	 */
+	private final int position;
+
+	/**
+	 * Number of bytes of the code.
+	 */
+	private final int length;
+
+	/**
+	 * Number of instructions.
+	 */
+	private final int count;
+
+	/**
+	 * Opcodes of the instructions.
+	 */
+	private final byte[] opcodes;
+
+	/**
+	 * Offsets of the instructions relative to the start of the code.
+	 */
+	private final int[] offsets;
+
+	/**
+	 * Index of the first operand of every instruction in the operands array.
+	 * Has one more element than there are instructions.
+	 */
+	private final int[] operandStarts;
+
+	/**
+	 * Operand values of all instructions in the order they appear in the code.
+	 */
+	private final int[] operands;
+
+	/**
+	 * The bytes of the code.
+	 */
+	private final ByteBuffer data;
+
+	/**
+	 * Creates a new code columns object.
+	 * 
+	 * @param position Byte position of the code in the input stream.
+	 * @param length Number of bytes of the code.
+	 * @param count Number of instructions.
+	 * @param opcodes Opcodes of the instructions.
+	 * @param offsets Offsets of the instructions relative to the start of the code.
+	 * @param operandStarts Index of the first operand of every instruction in the operands array.
+	 * @param operands Operand values of all instructions.
+	 * @param data The bytes of the code.
+	 */
+	AS3CodeColumns(final int position, final int length, final int count, final byte[] opcodes, final int[] offsets,
+			final int[] operandStarts, final int[] operands, final ByteBuffer data) {
+
+		this.position = position;
+		this.length = length;
+		this.count = count;
+		this.opcodes = opcodes;
+		this.offsets = offsets;
+		this.operandStarts = operandStarts;
+		this.operands = operands;
+		this.data = data;
+	}
+
+	/**
+	 * Makes sure that an instruction index is valid.
+	 * 
+	 * @param index The index to check.
+	 */
+	private void checkIndex(final int index) {
+
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Invalid instruction index " + index);
+		}
+	}
+
+	/**
+	 * Returns a cursor that is positioned before the first instruction.
+	 * 
+	 * @return A new cursor.
+	 */
+	public AS3InstructionCursor cursor() {
+		return new AS3InstructionCursor(this);
+	}
+
+	/**
+	 * Decodes the instruction object at the current parser position. The
+	 * instructions were decoded before, so decoding them again must not fail.
+	 * 
+	 * @param parser Provides the input data.
+	 * 
+	 * @return The instruction object.
+	 */
+	private static AS3Instruction decodeInstruction(final SWFBinaryParser parser) {
+
+		try {
+			return AS3CodeParser.decodeInstruction(parser);
+		}
+		catch (final SWFParserException e) {
+			throw new IllegalStateException("Could not decode previously decoded instruction", e);
+		}
+	}
+
+	/**
+	 * Returns the number of instructions.
+	 * 
+	 * @return The number of instructions.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns a view of the bytes of the code.
+	 * 
+	 * @return The bytes of the code.
+	 */
+	public ByteBuffer getData() {
+		return data.duplicate();
+	}
+
+	/**
+	 * Creates the instruction object of an instruction.
+	 * 
+	 * @param index Index of the instruction.
+	 * 
+	 * @return The instruction object.
+	 */
+	public AS3Instruction getInstruction(final int index) {
+
+		checkIndex(index);
+
+		final SWFBinaryParser parser = new SWFBinaryParser(data.duplicate(), position);
+
+		parser.setPosition(position + offsets[index], 0);
+
+		return decodeInstruction(parser);
+	}
+
+	/**
+	 * Creates the instruction objects of all instructions.
+	 * 
+	 * @return The instruction objects.
+	 */
+	public AS3InstructionList getInstructions() {
+
+		final SWFBinaryParser parser = new SWFBinaryParser(data.duplicate(), position);
+
+		final List<AS3Instruction> instructions = new ArrayList<AS3Instruction>(count);
+
+		for (int i=0;i<count;i++) {
+			instructions.add(decodeInstruction(parser));
+		}
+
+		return new AS3InstructionList(instructions);
+	}
+
+	/**
+	 * Returns the number of bytes of the code.
+	 * 
+	 * @return The number of bytes of the code.
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns the offset of an instruction relative to the start of the code.
+	 * 
+	 * @param index Index of the instruction.
+	 * 
+	 * @return The offset of the instruction.
+	 */
+	public int getOffset(final int index) {
+
+		checkIndex(index);
+
+		return offsets[index];
+	}
+
+	/**
+	 * Returns the opcode of an instruction.
+	 * 
+	 * @param index Index of the instruction.
+	 * 
+	 * @return The opcode of the instruction.
+	 */
+	public int getOpcode(final int index) {
+
+		checkIndex(index);
+
+		return opcodes[index] & 0xFF;
+	}
+
+	/**
+	 * Returns an operand of an instruction. The operands are numbered in
+	 * the order in which they appear in the code. For lookupswitch
+	 * instructions these are the default offset, the case count and the
+	 * case offsets.
+	 * 
+	 * @param index Index of the instruction.
+	 * @param operand Index of the operand.
+	 * 
+	 * @return The value of the operand.
+	 */
+	public int getOperand(final int index, final int operand) {
+
+		if (operand < 0 || operand >= getOperandCount(index)) {
+			throw new IndexOutOfBoundsException("Invalid operand index " + operand);
+		}
+
+		return operands[operandStarts[index] + operand];
+	}
+
+	/**
+	 * Returns the number of operands of an instruction.
+	 * 
+	 * @param index Index of the instruction.
+	 * 
+	 * @return The number of operands of the instruction.
+	 */
+	public int getOperandCount(final int index) {
+
+		checkIndex(index);
+
+		return operandStarts[index + 1] - operandStarts[index];
+	}
+
+	/**
+	 * Returns the byte position of the code in the input stream.
+	 * 
+	 * @return The byte position of the code.
+	 */
+	public int getPosition() {
+		return position;
+	}
+}
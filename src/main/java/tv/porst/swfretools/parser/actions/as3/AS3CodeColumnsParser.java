@@ -0,0 +1,367 @@
+package tv.porst.swfretools.parser.actions.as3;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import tv.porst.swfretools.parser.SWFBinaryParser;
+
+/**
+ * Decodes ActionScript 3 code into its compact column representation.
+ */
+public final class AS3CodeColumnsParser {
+
+	/**
+	 * Instruction with one encoded U30 operand.
+	 */
+	private static final byte U30 = 1;
+
+	/**
+	 * Instruction with two encoded U30 operands.
+	 */
+	private static final byte U30_U30 = 2;
+
+	/**
+	 * Instruction with one byte operand.
+	 */
+	private static final byte U8 = 3;
+
+	/**
+	 * Instruction with two byte operands.
+	 */
+	private static final byte U8_U8 = 4;
+
+	/**
+	 * Instruction with one signed 24 bit operand.
+	 */
+	private static final byte S24 = 5;
+
+	/**
+	 * The debug instruction.
+	 */
+	private static final byte DEBUG = 6;
+
+	/**
+	 * The lookupswitch instruction.
+	 */
+	private static final byte LOOKUPSWITCH = 7;
+
+	/**
+	 * Operand format of every opcode. The formats follow the instruction
+	 * parsers that are used by {@link AS3CodeParser}. Opcodes without a
+	 * format have no operands.
+	 */
+	private static final byte[] FORMATS = new byte[256];
+
+	static {
+		FORMATS[AS3Opcodes.ASTYPE] = U30;
+		FORMATS[AS3Opcodes.COERCE] = U30;
+		FORMATS[AS3Opcodes.DEBUGFILE] = U30;
+		FORMATS[AS3Opcodes.DECLOCAL] = U30;
+		FORMATS[AS3Opcodes.DECLOCALI] = U30;
+		FORMATS[AS3Opcodes.DELETEPROPERTY] = U30;
+		FORMATS[AS3Opcodes.DXNS] = U30;
+		FORMATS[AS3Opcodes.FINDDEF] = U30;
+		FORMATS[AS3Opcodes.FINDPROPERTY] = U30;
+		FORMATS[AS3Opcodes.FINDPROPSTRICT] = U30;
+		FORMATS[AS3Opcodes.GETDESCENDANTS] = U30;
+		FORMATS[AS3Opcodes.GETLEX] = U30;
+		FORMATS[AS3Opcodes.GETLOCAL] = U30;
+		FORMATS[AS3Opcodes.GETPROPERTY] = U30;
+		FORMATS[AS3Opcodes.GETSCOPEOBJECT] = U30;
+		FORMATS[AS3Opcodes.GETSUPER] = U30;
+		FORMATS[AS3Opcodes.INCLOCAL] = U30;
+		FORMATS[AS3Opcodes.INCLOCALI] = U30;
+		FORMATS[AS3Opcodes.INITPROPERTY] = U30;
+		FORMATS[AS3Opcodes.ISTYPE] = U30;
+		FORMATS[AS3Opcodes.KILL] = U30;
+		FORMATS[AS3Opcodes.NEWCATCH] = U30;
+		FORMATS[AS3Opcodes.NEWCLASS] = U30;
+		FORMATS[AS3Opcodes.NEWFUNCTION] = U30;
+		FORMATS[AS3Opcodes.NEWOBJECT] = U30;
+		FORMATS[AS3Opcodes.PUSHDOUBLE] = U30;
+		FORMATS[AS3Opcodes.PUSHINT] = U30;
+		FORMATS[AS3Opcodes.PUSHNAMESPACE] = U30;
+		FORMATS[AS3Opcodes.PUSHSHORT] = U30;
+		FORMATS[AS3Opcodes.PUSHSTRING] = U30;
+		FORMATS[AS3Opcodes.PUSHUINT] = U30;
+		FORMATS[AS3Opcodes.SETLOCAL] = U30;
+		FORMATS[AS3Opcodes.SETPROPERTY] = U30;
+		FORMATS[AS3Opcodes.SETSUPER] = U30;
+		FORMATS[AS3Opcodes.APPLYTYPE] = U30;
+		FORMATS[AS3Opcodes.CALL] = U30;
+		FORMATS[AS3Opcodes.CONSTRUCT] = U30;
+		FORMATS[AS3Opcodes.CONSTRUCTSUPER] = U30;
+		FORMATS[AS3Opcodes.NEWARRAY] = U30;
+		FORMATS[AS3Opcodes.DEBUGLINE] = U30;
+		FORMATS[AS3Opcodes.GETGLOBALSLOT] = U30;
+		FORMATS[AS3Opcodes.GETSLOT] = U30;
+		FORMATS[AS3Opcodes.SETSLOT] = U30;
+		FORMATS[AS3Opcodes.SETGLOBALSLOT] = U30;
+
+		FORMATS[AS3Opcodes.CALLMETHOD] = U30_U30;
+		FORMATS[AS3Opcodes.CALLPROPERTY] = U30_U30;
+		FORMATS[AS3Opcodes.CALLPROPLEX] = U30_U30;
+		FORMATS[AS3Opcodes.CALLPROPVOID] = U30_U30;
+		FORMATS[AS3Opcodes.CALLSTATIC] = U30_U30;
+		FORMATS[AS3Opcodes.CALLSUPER] = U30_U30;
+		FORMATS[AS3Opcodes.CALLSUPERVOID] = U30_U30;
+		FORMATS[AS3Opcodes.CONSTRUCTPROP] = U30_U30;
+
+		FORMATS[AS3Opcodes.PUSHBYTE] = U8;
+
+		FORMATS[AS3Opcodes.HASNEXT2] = U8_U8;
+
+		FORMATS[AS3Opcodes.IFEQ] = S24;
+		FORMATS[AS3Opcodes.IFFALSE] = S24;
+		FORMATS[AS3Opcodes.IFGE] = S24;
+		FORMATS[AS3Opcodes.IFGT] = S24;
+		FORMATS[AS3Opcodes.IFLE] = S24;
+		FORMATS[AS3Opcodes.IFLT] = S24;
+		FORMATS[AS3Opcodes.IFNE] = S24;
+		FORMATS[AS3Opcodes.IFNGE] = S24;
+		FORMATS[AS3Opcodes.IFNGT] = S24;
+		FORMATS[AS3Opcodes.IFNLE] = S24;
+		FORMATS[AS3Opcodes.IFNLT] = S24;
+		FORMATS[AS3Opcodes.IFSTRICTEQ] = S24;
+		FORMATS[AS3Opcodes.IFSTRICTNE] = S24;
+		FORMATS[AS3Opcodes.IFTRUE] = S24;
+		FORMATS[AS3Opcodes.JUMP] = S24;
+
+		FORMATS[AS3Opcodes.DEBUG] = DEBUG;
+
+		FORMATS[AS3Opcodes.LOOKUPSWITCH] = LOOKUPSWITCH;
+	}
+
+	/**
+	 * Opcodes of the instructions decoded so far.
+	 */
+	private byte[] opcodes;
+
+	/**
+	 * Offsets of the instructions decoded so far.
+	 */
+	private int[] offsets;
+
+	/**
+	 * Index of the first operand of every instruction decoded so far.
+	 */
+	private int[] operandStarts;
+
+	/**
+	 * Operand values of the instructions decoded so far.
+	 */
+	private int[] operands;
+
+	/**
+	 * Number of instructions decoded so far.
+	 */
+	private int count = 0;
+
+	/**
+	 * Number of operands decoded so far.
+	 */
+	private int operandCount = 0;
+
+	/**
+	 * Creates a new parser for code of the given length.
+	 * 
+	 * @param length Number of bytes of the code.
+	 */
+	private AS3CodeColumnsParser(final int length) {
+
+		final int capacity = Math.max(4, length / 2);
+
+		opcodes = new byte[capacity];
+		offsets = new int[capacity];
+		operandStarts = new int[capacity + 1];
+		operands = new int[capacity];
+	}
+
+	/**
+	 * Adds an instruction.
+	 * 
+	 * @param opcode The opcode of the instruction.
+	 * @param offset The offset of the instruction.
+	 */
+	private void addInstruction(final int opcode, final int offset) {
+
+		if (count == opcodes.length) {
+			opcodes = Arrays.copyOf(opcodes, 2 * count);
+			offsets = Arrays.copyOf(offsets, 2 * count);
+			operandStarts = Arrays.copyOf(operandStarts, 2 * count + 1);
+		}
+
+		opcodes[count] = (byte) opcode;
+		offsets[count] = offset;
+		operandStarts[count] = operandCount;
+
+		count++;
+	}
+
+	/**
+	 * Adds an operand to the last instruction.
+	 * 
+	 * @param value The value of the operand.
+	 */
+	private void addOperand(final int value) {
+
+		if (operandCount == operands.length) {
+			operands = Arrays.copyOf(operands, 2 * operandCount);
+		}
+
+		operands[operandCount++] = value;
+	}
+
+	/**
+	 * Decodes code of the given length from the current parser position.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param length Number of bytes of the code.
+	 * 
+	 * @return The decoded code or null if the code runs beyond the input data.
+	 */
+	public static AS3CodeColumns parse(final SWFBinaryParser parser, final int length) {
+
+		final int start = parser.getBytePosition();
+		final int end = start + length;
+
+		final AS3CodeColumnsParser columns = new AS3CodeColumnsParser(length);
+
+		try {
+			while (parser.getBytePosition() < end) {
+				columns.parseInstruction(parser, start);
+			}
+		}
+		catch (final IllegalArgumentException e) {
+			return null;
+		}
+
+		final ByteBuffer data = parser.getData();
+		data.limit(parser.getBytePosition() - parser.getOffset());
+		data.position(start - parser.getOffset());
+
+		return columns.toColumns(start, parser.getBytePosition() - start, data.slice());
+	}
+
+	/**
+	 * Reads a signed 24 bit value.
+	 * 
+	 * @param parser Provides the input data.
+	 * 
+	 * @return The value.
+	 */
+	private static int parseEncodedS24(final SWFBinaryParser parser) {
+
+		final int value = parser.u8() | parser.u8() << 8 | parser.u8() << 16;
+
+		return value << 8 >> 8;
+	}
+
+	/**
+	 * Reads an encoded U30 value.
+	 * 
+	 * @param parser Provides the input data.
+	 * 
+	 * @return The value.
+	 */
+	private static int parseEncodedU30(final SWFBinaryParser parser) {
+
+		int result = parser.u8();
+
+		if ((result & 0x00000080) == 0) {
+			return result;
+		}
+
+		result = (result & 0x0000007f) | parser.u8() << 7;
+
+		if ((result & 0x00004000) == 0) {
+			return result;
+		}
+
+		result = (result & 0x00003fff) | parser.u8() << 14;
+
+		if ((result & 0x00200000) == 0) {
+			return result;
+		}
+
+		result = (result & 0x001fffff) | parser.u8() << 21;
+
+		if ((result & 0x10000000) == 0) {
+			return result;
+		}
+
+		return (result & 0x0fffffff) | parser.u8() << 28;
+	}
+
+	/**
+	 * Decodes a single instruction.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param start Byte position of the code.
+	 */
+	private void parseInstruction(final SWFBinaryParser parser, final int start) {
+
+		final int offset = parser.getBytePosition() - start;
+		final int opcode = parser.u8();
+
+		addInstruction(opcode, offset);
+
+		switch (FORMATS[opcode]) {
+		case U30:
+			addOperand(parseEncodedU30(parser));
+			break;
+		case U30_U30:
+			addOperand(parseEncodedU30(parser));
+			addOperand(parseEncodedU30(parser));
+			break;
+		case U8:
+			addOperand(parser.u8());
+			break;
+		case U8_U8:
+			addOperand(parser.u8());
+			addOperand(parser.u8());
+			break;
+		case S24:
+			addOperand(parseEncodedS24(parser));
+			break;
+		case DEBUG:
+			addOperand(parser.u8());
+			addOperand(parseEncodedU30(parser));
+			addOperand(parser.u8());
+			addOperand(parseEncodedU30(parser));
+			break;
+		case LOOKUPSWITCH:
+			addOperand(parseEncodedS24(parser));
+
+			final int caseCount = parseEncodedU30(parser);
+
+			addOperand(caseCount);
+
+			for (int i=0;i<caseCount+1;i++) {
+				addOperand(parseEncodedS24(parser));
+			}
+
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Creates the columns from the decoded instructions. The arrays are
+	 * trimmed to their used size.
+	 * 
+	 * @param position Byte position of the code.
+	 * @param length Number of bytes of the code.
+	 * @param data The bytes of the code.
+	 * 
+	 * @return The created columns.
+	 */
+	private AS3CodeColumns toColumns(final int position, final int length, final ByteBuffer data) {
+
+		operandStarts[count] = operandCount;
+
+		return new AS3CodeColumns(position, length, count, Arrays.copyOf(opcodes, count), Arrays.copyOf(offsets, count),
+				Arrays.copyOf(operandStarts, count + 1), Arrays.copyOf(operands, operandCount), data);
+	}
+}
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.actions.as3;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.EncodedU30;
@@ -13,8 +14,13 @@ import tv.porst.swfretools.parser.structures.EncodedU30Parser;
 public final class AS3DebuglineParser {
 
 	public static AS3Debugline parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final UINT8 opcode = parseUINT8(parser, 0x00006, fieldName + "::opcode");
-		final EncodedU30 lineNum = EncodedU30Parser.parse(parser, fieldName + "::linenum");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 opcode = parseUINT8(parser, 0x00006, "opcode");
+		final EncodedU30 lineNum = EncodedU30Parser.parse(parser, "linenum");
+
+		context.leave();
 
 		return new AS3Debugline(opcode, lineNum);
 	}
@@ -3,6 +3,7 @@ package tv.porst.swfretools.parser.actions.as3;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -12,9 +13,14 @@ import tv.porst.swfretools.parser.SWFParserException;
 public final class AS3Hasnext2Parser {
 
 	public static AS3Hasnext2 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final UINT8 opcode = parseUINT8(parser, 0x00006, fieldName + "::opcode");
-		final UINT8 objectReg = parseUINT8(parser, 0x00006, fieldName + "::object_reg");
-		final UINT8 indexReg = parseUINT8(parser, 0x00006, fieldName + "::index_reg");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 opcode = parseUINT8(parser, 0x00006, "opcode");
+		final UINT8 objectReg = parseUINT8(parser, 0x00006, "object_reg");
+		final UINT8 indexReg = parseUINT8(parser, 0x00006, "index_reg");
+
+		context.leave();
 
 		return new AS3Hasnext2(opcode, objectReg, indexReg);
 	}
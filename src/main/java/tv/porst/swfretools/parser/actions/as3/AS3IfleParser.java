@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseINT24;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.INT24;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -13,8 +14,13 @@ import tv.porst.swfretools.parser.SWFParserException;
 public final class AS3IfleParser {
 
 	public static AS3Ifle parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final UINT8 opcode = parseUINT8(parser, 0x00006, fieldName + "::opcode");
-		final INT24 offset = parseINT24(parser, 0x00006, fieldName + "::offset");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 opcode = parseUINT8(parser, 0x00006, "opcode");
+		final INT24 offset = parseINT24(parser, 0x00006, "offset");
+
+		context.leave();
 
 		return new AS3Ifle(opcode, offset);
 	}
@@ -0,0 +1,123 @@
+package tv.porst.swfretools.parser.actions.as3;
+
+/**
+ * Iterates over the instructions of compact ActionScript 3 code without
+ * creating instruction objects.
+ * 
+ * A new cursor is positioned before the first instruction. Every call to
+ * {@link #next()} moves it to the next instruction.
+ */
+public final class AS3InstructionCursor {
+
+	/**
+	 * The code to iterate over.
+	 */
+	private final AS3CodeColumns code;
+
+	/**
+	 * Index of the current instruction.
+	 */
+	private int index = -1;
+
+	/**
+	 * Creates a new cursor.
+	 * 
+	 * @param code The code to iterate over.
+	 */
+	AS3InstructionCursor(final AS3CodeColumns code) {
+		this.code = code;
+	}
+
+	/**
+	 * Returns the byte position of the current instruction in the input stream.
+	 * 
+	 * @return The byte position of the current instruction.
+	 */
+	public int getBytePosition() {
+		return code.getPosition() + code.getOffset(index);
+	}
+
+	/**
+	 * Returns the index of the current instruction.
+	 * 
+	 * @return The index of the current instruction.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the offset of the current instruction relative to the start of the code.
+	 * 
+	 * @return The offset of the current instruction.
+	 */
+	public int getOffset() {
+		return code.getOffset(index);
+	}
+
+	/**
+	 * Returns the opcode of the current instruction.
+	 * 
+	 * @return The opcode of the current instruction.
+	 */
+	public int getOpcode() {
+		return code.getOpcode(index);
+	}
+
+	/**
+	 * Returns an operand of the current instruction.
+	 * 
+	 * @param operand Index of the operand.
+	 * 
+	 * @return The value of the operand.
+	 */
+	public int getOperand(final int operand) {
+		return code.getOperand(index, operand);
+	}
+
+	/**
+	 * Returns the number of operands of the current instruction.
+	 * 
+	 * @return The number of operands of the current instruction.
+	 */
+	public int getOperandCount() {
+		return code.getOperandCount(index);
+	}
+
+	/**
+	 * Moves the cursor to the next instruction.
+	 * 
+	 * @return True, if the cursor is on an instruction. False, if there are no more instructions.
+	 */
+	public boolean next() {
+
+		if (index < code.getCount()) {
+			index++;
+		}
+
+		return index < code.getCount();
+	}
+
+	/**
+	 * Moves the cursor to the instruction with the given index.
+	 * 
+	 * @param index Index of the instruction.
+	 */
+	public void seek(final int index) {
+
+		if (index < 0 || index >= code.getCount()) {
+			throw new IndexOutOfBoundsException("Invalid instruction index " + index);
+		}
+
+		this.index = index;
+	}
+
+	/**
+	 * Creates the instruction object of the current instruction.
+	 * 
+	 * @return The instruction object.
+	 */
+	public AS3Instruction toInstruction() {
+		return code.getInstruction(index);
+	}
+}
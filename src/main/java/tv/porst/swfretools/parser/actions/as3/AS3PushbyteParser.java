@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.actions.as3;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -11,8 +12,13 @@ import tv.porst.swfretools.parser.SWFParserException;
 public final class AS3PushbyteParser {
 
 	public static AS3Pushbyte parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final UINT8 opcode = parseUINT8(parser, 0x00006, fieldName + "::opcode");
-		final UINT8 byteValue = parseUINT8(parser, 0x00006, fieldName + "::byte_value");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 opcode = parseUINT8(parser, 0x00006, "opcode");
+		final UINT8 byteValue = parseUINT8(parser, 0x00006, "byte_value");
+
+		context.leave();
 
 		return new AS3Pushbyte(opcode, byteValue);
 	}
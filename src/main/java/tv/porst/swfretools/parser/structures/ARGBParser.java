@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -25,10 +26,15 @@ public final class ARGBParser {
 	 */
 	public static ARGB parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 alpha = parseUINT8(parser, 0x00006, fieldName + "::Alpha");
-		final UINT8 red = parseUINT8(parser, 0x00006, fieldName + "::Red");
-		final UINT8 green = parseUINT8(parser, 0x00006, fieldName + "::Green");
-		final UINT8 blue = parseUINT8(parser, 0x00006, fieldName + "::Blue");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 alpha = parseUINT8(parser, 0x00006, "Alpha");
+		final UINT8 red = parseUINT8(parser, 0x00006, "Red");
+		final UINT8 green = parseUINT8(parser, 0x00006, "Green");
+		final UINT8 blue = parseUINT8(parser, 0x00006, "Blue");
+
+		context.leave();
 
 		return new ARGB(alpha, red, green, blue);
 	}
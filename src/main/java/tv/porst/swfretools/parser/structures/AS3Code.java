@@ -1,33 +1,171 @@
 package tv.porst.swfretools.parser.structures;
 
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+
 import tv.porst.splib.binaryparser.IFileElement;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.actions.as3.AS3CodeColumns;
+import tv.porst.swfretools.parser.actions.as3.AS3CodeColumnsParser;
+import tv.porst.swfretools.parser.actions.as3.AS3InstructionCursor;
 import tv.porst.swfretools.parser.actions.as3.AS3InstructionList;
 
 public class AS3Code implements IFileElement {
 
 	private final AS3InstructionList instructions;
 
+	/**
+	 * Compact representation of the code or null if the code is stored as
+	 * instruction objects.
+	 */
+	private final AS3CodeColumns columns;
+
+	/**
+	 * The bytes of code that is stored as instruction objects or null if
+	 * they are not known.
+	 */
+	private final ByteBuffer data;
+
+	/**
+	 * The instruction objects of compact code from the last call of
+	 * getInstructions(). They are dropped when memory runs low.
+	 */
+	private volatile SoftReference<AS3InstructionList> decodedInstructions;
+
 	public AS3Code(final AS3InstructionList instructions) {
+		this(instructions, null);
+	}
+
+	/**
+	 * Creates code that is stored as instruction objects and keeps a view of
+	 * the bytes the instructions were decoded from.
+	 */
+	public AS3Code(final AS3InstructionList instructions, final ByteBuffer data) {
 		this.instructions = instructions;
+		this.columns = null;
+		this.data = data == null ? null : data.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Creates code that is stored in compact form. Instruction objects are
+	 * only created when they are requested.
+	 */
+	public AS3Code(final AS3CodeColumns columns) {
+		this.instructions = null;
+		this.columns = columns;
+		this.data = null;
+	}
+
+	/**
+	 * Returns a cursor over the instructions of compact code.
+	 * 
+	 * @return A new cursor.
+	 */
+	public AS3InstructionCursor cursor() {
+
+		if (columns == null) {
+			throw new IllegalStateException("Code is not stored in compact form");
+		}
+
+		return columns.cursor();
 	}
 
 	@Override
 	public int getBitLength() {
-		return instructions.getBitLength();
+		return columns == null ? instructions.getBitLength() : 8 * columns.getLength();
 	}
 
 	@Override
 	public int getBitPosition() {
-		return instructions.getBitPosition();
+
+		if (columns == null) {
+			return instructions.getBitPosition();
+		}
+
+		return columns.getCount() == 0 ? 0 : 8 * columns.getPosition();
+	}
+
+	/**
+	 * Returns the compact representation of the code.
+	 * 
+	 * @return The compact representation or null if the code is stored as instruction objects.
+	 */
+	public AS3CodeColumns getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a view of the bytes of the code.
+	 * 
+	 * @return The bytes of the code or null if the code was not parsed from bytes.
+	 */
+	public ByteBuffer getData() {
+
+		if (columns != null) {
+			return columns.getData();
+		}
+
+		return data == null ? null : data.duplicate();
 	}
 
 	/**
-	 * Returns the
-	 *
-	 * @return The
+	 * Returns the instructions of the code. The instruction objects of
+	 * compact code are created on the first call and kept until memory runs
+	 * low, so later calls usually return the same list.
+	 * 
+	 * @return The instructions of the code.
 	 */
 	public AS3InstructionList getInstructions() {
-		return instructions;
+
+		if (columns == null) {
+			return instructions;
+		}
+
+		final SoftReference<AS3InstructionList> reference = decodedInstructions;
+
+		AS3InstructionList decoded = reference == null ? null : reference.get();
+
+		if (decoded == null) {
+			decoded = columns.getInstructions();
+			decodedInstructions = new SoftReference<AS3InstructionList>(decoded);
+		}
+
+		return decoded;
+	}
+
+	/**
+	 * Returns a flag that says whether the code is stored in compact form.
+	 * 
+	 * @return True, if the code is stored in compact form. False, otherwise.
+	 */
+	public boolean isCompact() {
+		return columns != null;
+	}
+
+	/**
+	 * Returns the code in compact form. Code that is stored as instruction
+	 * objects is decoded again from its bytes.
+	 * 
+	 * @return The compact representation of the code.
+	 */
+	public AS3CodeColumns toColumns() {
+
+		if (columns != null) {
+			return columns;
+		}
+
+		if (data == null) {
+			throw new IllegalStateException("Code was not parsed from bytes");
+		}
+
+		final int position = getBitPosition() / 8;
+		final AS3CodeColumns decoded = AS3CodeColumnsParser.parse(new SWFBinaryParser(data.duplicate(), position), data.remaining());
+
+		if (decoded == null) {
+			throw new IllegalStateException("Could not decode previously decoded code");
+		}
+
+		return decoded;
 	}
 
 }
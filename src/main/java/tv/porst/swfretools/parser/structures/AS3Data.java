@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import tv.porst.splib.binaryparser.IFileElement;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.SWFParserHelpers;
 
 public class AS3Data implements IFileElement {
@@ -32,7 +33,13 @@ public class AS3Data implements IFileElement {
 
 	private final EncodedU30 methodBodyCount;
 
-	private final MethodBodyList methodBodies;
+	private MethodBodyList methodBodies;
+
+	/**
+	 * Byte ranges of the method bodies if the ABC data was parsed without
+	 * them, null otherwise.
+	 */
+	private final RawMethodBodies rawMethodBodies;
 
 	public AS3Data(final UINT16 minorVersion, final UINT16 majorVersion, final ConstantPool constantPool,
 			final EncodedU30 methodCount, final MethodInfoList methodInfos, final EncodedU30 metaDataCount,
@@ -54,12 +61,45 @@ public class AS3Data implements IFileElement {
 		this.scripts = scripts;
 		this.methodBodyCount = methodBodyCount;
 		this.methodBodies = methodBodies;
+		this.rawMethodBodies = null;
+	}
+
+	/**
+	 * Creates ABC data whose method bodies were skipped while parsing. The
+	 * method bodies are decoded from their byte ranges when they are first
+	 * requested.
+	 */
+	public AS3Data(final UINT16 minorVersion, final UINT16 majorVersion, final ConstantPool constantPool,
+			final EncodedU30 methodCount, final MethodInfoList methodInfos, final EncodedU30 metaDataCount,
+			final MetaDataList metaData, final EncodedU30 classCount, final InstanceInfoList instances,
+			final ClassInfoList classes, final EncodedU30 scriptCount, final ScriptInfoList scripts,
+			final EncodedU30 methodBodyCount, final RawMethodBodies rawMethodBodies) {
+
+		if (rawMethodBodies == null) {
+			throw new IllegalArgumentException("Raw method bodies must not be null");
+		}
+
+		this.minorVersion = minorVersion;
+		this.majorVersion = majorVersion;
+		this.constantPool = constantPool;
+		this.methodCount = methodCount;
+		this.methodInfos = methodInfos;
+		this.metaDataCount = metaDataCount;
+		this.metaData = metaData;
+		this.classCount = classCount;
+		this.instances = instances;
+		this.classes = classes;
+		this.scriptCount = scriptCount;
+		this.scripts = scripts;
+		this.methodBodyCount = methodBodyCount;
+		this.methodBodies = null;
+		this.rawMethodBodies = rawMethodBodies;
 	}
 	@Override
 	public int getBitLength() {
 		return SWFParserHelpers.addBitLengths(minorVersion, majorVersion, constantPool, methodCount,
 				methodInfos, metaDataCount, metaData, classCount, instances, classes, scriptCount,
-				scripts, methodBodyCount, methodBodies);
+				scripts, methodBodyCount, rawMethodBodies == null ? methodBodies : rawMethodBodies);
 	}
 	@Override
 	public int getBitPosition() {
@@ -122,11 +162,24 @@ public class AS3Data implements IFileElement {
 		return metaDataCount;
 	}
 	/**
-	 * Returns the
+	 * Returns the method bodies. If the ABC data was parsed without the
+	 * method bodies, they are decoded when this method is first called.
 	 *
-	 * @return The
+	 * @return The method bodies.
+	 *
+	 * @throws IllegalStateException Thrown if the skipped method bodies could not be decoded.
 	 */
-	public MethodBodyList getMethodBodies() {
+	public synchronized MethodBodyList getMethodBodies() {
+
+		if (methodBodies == null) {
+			try {
+				methodBodies = rawMethodBodies.parse();
+			}
+			catch (final SWFParserException e) {
+				throw new IllegalStateException("Method bodies could not be decoded: " + e.getMessage(), e);
+			}
+		}
+
 		return methodBodies;
 	}
 	/**
@@ -163,6 +216,16 @@ public class AS3Data implements IFileElement {
 		return minorVersion;
 	}
 
+	/**
+	 * Returns the byte ranges of the method bodies if the ABC data was
+	 * parsed without them.
+	 *
+	 * @return The byte ranges of the method bodies or null if the method bodies were parsed.
+	 */
+	public RawMethodBodies getRawMethodBodies() {
+		return rawMethodBodies;
+	}
+
 	/**
 	 * Returns the
 	 *
@@ -2,70 +2,319 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
+import tv.porst.swfretools.parser.ParseOptions;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
+import tv.porst.swfretools.parser.actions.as3.AS3CodeParser;
 
 public class AS3DataParser {
 
+	/**
+	 * Number of method bodies whose code is decoded by a single task.
+	 */
+	private static final int METHOD_BODIES_PER_TASK = 64;
+
+	/**
+	 * Smallest number of bytes a method body takes: eight encoded integers
+	 * of one byte each and no code.
+	 */
+	private static final int MIN_METHOD_BODY_LENGTH = 8;
+
+	/**
+	 * Decodes the code of the method bodies and puts the completed method
+	 * bodies back in place. Compact code is stored in flat columns. Returns false if the code of any method body
+	 * could not be decoded or did not end where the method body says.
+	 */
+	private static boolean decodeCode(final SWFBinaryParser parser, final MethodBody[] methodBodies, final int from, final int to, final boolean compact) {
+
+		final SWFBinaryParser codeParser = new SWFBinaryParser(parser.getData(), parser.getOffset());
+
+		for (int i=from;i<to;i++) {
+
+			final MethodBody body = methodBodies[i];
+			final EncodedU30 codeLength = body.getCodeLength();
+			final int codePosition = (codeLength.getBitPosition() + codeLength.getBitLength()) / 8;
+
+			final AS3Code code;
+
+			try {
+				codeParser.setPosition(codePosition, 0);
+
+				code = AS3CodeParser.parse(codeParser, codeLength.value(), "code", compact);
+			}
+			catch (final SWFParserException | IllegalArgumentException e) {
+				return false;
+			}
+
+			if (codeParser.getBytePosition() != codePosition + codeLength.value()) {
+				return false;
+			}
+
+			methodBodies[i] = new MethodBody(body.getMethod(), body.getMaxStack(), body.getLocalCount(), body.getInitScopeDepth(),
+					body.getMaxScopeDepth(), codeLength, code, body.getExceptionCount(), body.getExceptions(), body.getTraitCount(), body.getTraits());
+		}
+
+		return true;
+	}
+
 	public static AS3Data parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
+		return parse(parser, fieldName, ParseOptions.DEFAULT);
+	}
 
-		final UINT16 minorVersion = parseUINT16(parser, 0x00006, fieldName + "::minor_version");
-		final UINT16 majorVersion = parseUINT16(parser, 0x00006, fieldName + "::major_version");
-		final ConstantPool constantPool = ConstantPoolParser.parse(parser, fieldName + "::constant_pool");
+	/**
+	 * Parses ABC data. If the options have a pool, the method body table is
+	 * scanned without decoding the code first and the code of the method
+	 * bodies is then decoded concurrently on the pool. If the options ask
+	 * for compact code, the code is stored in flat columns. If the options
+	 * ask for declarations only, the method bodies are skipped and only
+	 * their byte ranges are kept.
+	 */
+	public static AS3Data parse(final SWFBinaryParser parser, final String fieldName, final ParseOptions options) throws SWFParserException {
 
-		final EncodedU30 methodCount = EncodedU30Parser.parse(parser, fieldName + "::method_count");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 minorVersion = parseUINT16(parser, 0x00006, "minor_version");
+		final UINT16 majorVersion = parseUINT16(parser, 0x00006, "major_version");
+		final ConstantPool constantPool = ConstantPoolParser.parse(parser, "constant_pool");
+
+		final EncodedU30 methodCount = EncodedU30Parser.parse(parser, "method_count");
 
 		final List<MethodInfo> methodInfos = new ArrayList<MethodInfo>();
 
 		for (int i=0;i<methodCount.value();i++) {
-			methodInfos.add(MethodInfoParser.parse(parser, String.format(fieldName + "::method_info[%d]", i)));
+			context.element(i);
+			methodInfos.add(MethodInfoParser.parse(parser, "method_info"));
+			context.leave();
 		}
 
-		final EncodedU30 metaDataCount = EncodedU30Parser.parse(parser, fieldName + "::metadata_count");
+		final EncodedU30 metaDataCount = EncodedU30Parser.parse(parser, "metadata_count");
 
 		final List<MetaData> metaData = new ArrayList<MetaData>();
 
 		for (int i=0;i<metaDataCount.value();i++) {
-			metaData.add(MetaDataParser.parse(parser, String.format(fieldName + "::metadata[%d]", i)));
+			context.element(i);
+			metaData.add(MetaDataParser.parse(parser, "metadata"));
+			context.leave();
 		}
 
-		final EncodedU30 classCount = EncodedU30Parser.parse(parser, fieldName + "::class_count");
+		final EncodedU30 classCount = EncodedU30Parser.parse(parser, "class_count");
 
 		final List<InstanceInfo> instances = new ArrayList<InstanceInfo>();
 
 		for (int i=0;i<classCount.value();i++) {
-			instances.add(InstanceInfoParser.parse(parser, String.format(fieldName + "::instances[%d]", i)));
+			context.element(i);
+			instances.add(InstanceInfoParser.parse(parser, "instances"));
+			context.leave();
 		}
 
 		final List<ClassInfo> classes = new ArrayList<ClassInfo>();
 
 		for (int i=0;i<classCount.value();i++) {
-			classes.add(ClassInfoParser.parse(parser, String.format(fieldName + "::class[%d]", i)));
+			context.element(i);
+			classes.add(ClassInfoParser.parse(parser, "class"));
+			context.leave();
 		}
 
-		final EncodedU30 scriptCount = EncodedU30Parser.parse(parser, fieldName + "::script_count");
+		final EncodedU30 scriptCount = EncodedU30Parser.parse(parser, "script_count");
 
 		final List<ScriptInfo> scripts = new ArrayList<ScriptInfo>();
 
 		for (int i=0;i<scriptCount.value();i++) {
-			scripts.add(ScriptInfoParser.parse(parser, String.format(fieldName + "::script[%d]", i)));
+			context.element(i);
+			scripts.add(ScriptInfoParser.parse(parser, "script"));
+			context.leave();
 		}
 
-		final EncodedU30 methodBodyCount = EncodedU30Parser.parse(parser, fieldName + "::method_body_count");
+		final EncodedU30 methodBodyCount = EncodedU30Parser.parse(parser, "method_body_count");
 
-		final List<MethodBody> methodBodies = new ArrayList<MethodBody>();
+		final RawMethodBodies rawMethodBodies = options.isDeclarationsOnly()
+				? skipMethodBodies(parser, methodBodyCount.value(), options.isCompactCode())
+				: null;
+
+		if (rawMethodBodies != null) {
+
+			context.leave();
 
-		for (int i=0;i<methodBodyCount.value();i++) {
-			methodBodies.add(MethodBodyParser.parse(parser, String.format(fieldName + "::script[%d]", i)));
+			return new AS3Data(minorVersion, majorVersion, constantPool, methodCount, new MethodInfoList(methodInfos),
+					metaDataCount, new MetaDataList(metaData), classCount, new InstanceInfoList(instances),
+					new ClassInfoList(classes), scriptCount, new ScriptInfoList(scripts), methodBodyCount, rawMethodBodies);
 		}
 
+		final List<MethodBody> methodBodies = options.getPool() == null || methodBodyCount.value() <= METHOD_BODIES_PER_TASK
+				? parseMethodBodies(parser, methodBodyCount.value(), options.isCompactCode())
+				: parseMethodBodies(parser, methodBodyCount.value(), options.getPool(), options.isCompactCode());
+
+		context.leave();
+
 		return new AS3Data(minorVersion, majorVersion, constantPool, methodCount, new MethodInfoList(methodInfos),
 				metaDataCount, new MetaDataList(metaData), classCount, new InstanceInfoList(instances),
-				new ClassInfoList(classes), scriptCount, new ScriptInfoList(scripts), methodCount, new MethodBodyList(methodBodies));
+				new ClassInfoList(classes), scriptCount, new ScriptInfoList(scripts), methodBodyCount, new MethodBodyList(methodBodies));
+	}
+
+	/**
+	 * Checks whether the rest of the input can hold the given number of
+	 * method bodies. Counts read from damaged input can be far too large
+	 * to allocate tables for.
+	 */
+	private static boolean fitsMethodBodies(final SWFBinaryParser parser, final int methodBodyCount) {
+		return methodBodyCount >= 0 && methodBodyCount <= (parser.getLength() - parser.getBytePosition()) / MIN_METHOD_BODY_LENGTH;
+	}
+
+	private static List<MethodBody> parseMethodBodies(final SWFBinaryParser parser, final int methodBodyCount, final boolean compact) throws SWFParserException {
+
+		final ParseContext context = parser.getContext();
+
+		final List<MethodBody> methodBodies = new ArrayList<MethodBody>();
+
+		for (int i=0;i<methodBodyCount;i++) {
+			context.element(i);
+			methodBodies.add(MethodBodyParser.parse(parser, "script", true, compact));
+			context.leave();
+		}
+
+		return methodBodies;
+	}
+
+	/**
+	 * Parses the method body table and decodes the code of the method bodies
+	 * concurrently. If anything goes wrong, the table is parsed again
+	 * sequentially so that the result and the reported errors are the same
+	 * as those of a sequential parse.
+	 */
+	private static List<MethodBody> parseMethodBodies(final SWFBinaryParser parser, final int methodBodyCount, final ForkJoinPool pool, final boolean compact) throws SWFParserException {
+
+		if (!fitsMethodBodies(parser, methodBodyCount)) {
+			return parseMethodBodies(parser, methodBodyCount, compact);
+		}
+
+		final ParseContext context = parser.getContext();
+		final int depth = context.getDepth();
+		final int start = parser.getBytePosition();
+
+		final MethodBody[] methodBodies = new MethodBody[methodBodyCount];
+
+		try {
+			for (int i=0;i<methodBodyCount;i++) {
+				context.element(i);
+				methodBodies[i] = MethodBodyParser.parse(parser, "script", false, false);
+				context.leave();
+			}
+		}
+		catch (final SWFParserException | IllegalArgumentException e) {
+			context.reset(depth);
+			parser.setPosition(start, 0);
+
+			return parseMethodBodies(parser, methodBodyCount, compact);
+		}
+
+		final DecodeCodeTask task = new DecodeCodeTask(parser, methodBodies, 0, methodBodyCount, compact);
+
+		final boolean decoded = ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task);
+
+		if (!decoded) {
+			parser.setPosition(start, 0);
+
+			return parseMethodBodies(parser, methodBodyCount, compact);
+		}
+
+		return Arrays.asList(methodBodies);
 	}
 
-}
+	/**
+	 * Skips the method body table and returns the byte ranges of the method
+	 * bodies. Returns null if the table could not be skipped. The parser is
+	 * then back at the start of the table, so that parsing the table again
+	 * reports the same errors as a full parse.
+	 */
+	private static RawMethodBodies skipMethodBodies(final SWFBinaryParser parser, final int methodBodyCount, final boolean compact) throws SWFParserException {
+
+		if (!fitsMethodBodies(parser, methodBodyCount)) {
+			return null;
+		}
+
+		final ParseContext context = parser.getContext();
+		final int depth = context.getDepth();
+		final int start = parser.getBytePosition();
+
+		final int[] positions = new int[methodBodyCount + 1];
+
+		try {
+			for (int i=0;i<methodBodyCount;i++) {
+				positions[i] = parser.getBytePosition();
+				context.element(i);
+				MethodBodyParser.skip(parser, "script");
+				context.leave();
+			}
+		}
+		catch (final SWFParserException | IllegalArgumentException e) {
+			context.reset(depth);
+			parser.setPosition(start, 0);
+
+			return null;
+		}
+
+		positions[positions.length - 1] = parser.getBytePosition();
+
+		final ByteBuffer data = parser.getData();
+
+		data.position(start - parser.getOffset());
+		data.limit(parser.getBytePosition() - parser.getOffset());
+
+		return new RawMethodBodies(data.slice(), positions, compact);
+	}
+
+	/**
+	 * Decodes the code of a range of method bodies, splitting the range
+	 * until it is small enough.
+	 */
+	private static final class DecodeCodeTask extends RecursiveTask<Boolean> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final SWFBinaryParser parser;
+
+		private final MethodBody[] methodBodies;
+
+		private final int from;
+
+		private final int to;
+
+		private final boolean compact;
+
+		public DecodeCodeTask(final SWFBinaryParser parser, final MethodBody[] methodBodies, final int from, final int to, final boolean compact) {
+			this.parser = parser;
+			this.methodBodies = methodBodies;
+			this.from = from;
+			this.to = to;
+			this.compact = compact;
+		}
+
+		@Override
+		protected Boolean compute() {
+
+			if (to - from <= METHOD_BODIES_PER_TASK) {
+				return decodeCode(parser, methodBodies, from, to, compact);
+			}
+
+			final int middle = (from + to) >>> 1;
+
+			final DecodeCodeTask left = new DecodeCodeTask(parser, methodBodies, from, middle, compact);
+			left.fork();
+
+			final boolean right = new DecodeCodeTask(parser, methodBodies, middle, to, compact).compute();
+
+			return left.join() && right;
+		}
+	}
+}
\ No newline at end of file
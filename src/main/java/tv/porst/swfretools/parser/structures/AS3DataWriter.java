@@ -0,0 +1,432 @@
+package tv.porst.swfretools.parser.structures;
+
+import java.nio.ByteBuffer;
+
+import tv.porst.splib.binaryparser.BinaryWriter;
+import tv.porst.splib.binaryparser.Float64;
+import tv.porst.splib.binaryparser.UINT8;
+
+/**
+ * Writes ABC data back to bytes.
+ *
+ * Every field is written with the encoding it was parsed from. Encoded
+ * integers keep their original length even if a shorter encoding exists, so
+ * unmodified ABC data is written back byte for byte. Strings, code and the
+ * method body tables of ABC data that was parsed without method bodies are
+ * copied from the original bytes without decoding them.
+ */
+public final class AS3DataWriter {
+
+	/**
+	 * Makes sure that a count field matches the number of elements that
+	 * follow it.
+	 */
+	private static void checkCount(final EncodedU30 count, final int size, final String fieldName) {
+
+		if (count.value() != size) {
+			throw new IllegalArgumentException(fieldName + " is " + count.value() + " but there are " + size + " elements");
+		}
+	}
+
+	/**
+	 * Makes sure that a constant pool count field matches the number of
+	 * entries. Constant pool counts are one larger than the number of
+	 * entries because entry 0 is implicit, but an empty pool may have a
+	 * count of 0 or 1.
+	 */
+	private static void checkPoolCount(final EncodedU30 count, final int size, final String fieldName) {
+
+		if (Math.max(count.value() - 1, 0) != size) {
+			throw new IllegalArgumentException(fieldName + " is " + count.value() + " but there are " + size + " entries");
+		}
+	}
+
+	/**
+	 * Writes ABC data into a new buffer.
+	 *
+	 * @param abcData The ABC data to write.
+	 *
+	 * @return A read-only buffer that contains the written abcFile structure.
+	 */
+	public static ByteBuffer write(final AS3Data abcData) {
+
+		final BinaryWriter writer = new BinaryWriter(abcData.getBitLength() / 8 + 16);
+
+		write(writer, abcData);
+
+		return writer.getData();
+	}
+
+	/**
+	 * Writes ABC data.
+	 *
+	 * @param writer The writer to write to.
+	 * @param abcData The ABC data to write.
+	 */
+	public static void write(final BinaryWriter writer, final AS3Data abcData) {
+
+		writer.writeU16(abcData.getMinorVersion().value());
+		writer.writeU16(abcData.getMajorVersion().value());
+
+		writeConstantPool(writer, abcData.getConstantPool());
+
+		checkCount(abcData.getMethodCount(), abcData.getMethodInfos().size(), "method_count");
+		writeU30(writer, abcData.getMethodCount());
+
+		for (int i=0;i<abcData.getMethodInfos().size();i++) {
+			final MethodInfo methodInfo = abcData.getMethodInfos().get(i);
+			writeMethodInfo(writer, methodInfo);
+		}
+
+		checkCount(abcData.getMetaDataCount(), abcData.getMetaData().size(), "metadata_count");
+		writeU30(writer, abcData.getMetaDataCount());
+
+		for (int i=0;i<abcData.getMetaData().size();i++) {
+			final MetaData metaData = abcData.getMetaData().get(i);
+			writeMetaData(writer, metaData);
+		}
+
+		checkCount(abcData.getClassCount(), abcData.getInstances().size(), "class_count");
+		checkCount(abcData.getClassCount(), abcData.getClasses().size(), "class_count");
+		writeU30(writer, abcData.getClassCount());
+
+		for (int i=0;i<abcData.getInstances().size();i++) {
+			final InstanceInfo instance = abcData.getInstances().get(i);
+			writeInstanceInfo(writer, instance);
+		}
+
+		for (int i=0;i<abcData.getClasses().size();i++) {
+			final ClassInfo classInfo = abcData.getClasses().get(i);
+			writeU30(writer, classInfo.getcInit());
+			writeTraits(writer, classInfo.getTraitCount(), classInfo.getTraits());
+		}
+
+		checkCount(abcData.getScriptCount(), abcData.getScripts().size(), "script_count");
+		writeU30(writer, abcData.getScriptCount());
+
+		for (int i=0;i<abcData.getScripts().size();i++) {
+			final ScriptInfo script = abcData.getScripts().get(i);
+			writeU30(writer, script.getInit());
+			writeTraits(writer, script.getTraitCount(), script.getTraits());
+		}
+
+		final RawMethodBodies rawMethodBodies = abcData.getRawMethodBodies();
+
+		if (rawMethodBodies != null) {
+
+			checkCount(abcData.getMethodBodyCount(), rawMethodBodies.size(), "method_body_count");
+			writeU30(writer, abcData.getMethodBodyCount());
+
+			writer.writeBytes(rawMethodBodies.getData());
+		}
+		else {
+
+			checkCount(abcData.getMethodBodyCount(), abcData.getMethodBodies().size(), "method_body_count");
+			writeU30(writer, abcData.getMethodBodyCount());
+
+			for (int i=0;i<abcData.getMethodBodies().size();i++) {
+				final MethodBody methodBody = abcData.getMethodBodies().get(i);
+				writeMethodBody(writer, methodBody);
+			}
+		}
+	}
+
+	private static void writeConstantPool(final BinaryWriter writer, final ConstantPool constantPool) {
+
+		checkPoolCount(constantPool.getIntCount(), constantPool.getIntegers().size(), "int_count");
+		writeU30(writer, constantPool.getIntCount());
+
+		for (int i=0;i<constantPool.getIntegers().size();i++) {
+			final EncodedS32 integer = constantPool.getIntegers().get(i);
+			writer.writeEncodedU32((int) integer.value(), integer.getBitLength() / 8);
+		}
+
+		checkPoolCount(constantPool.getUintCount(), constantPool.getUintegers().size(), "uint_count");
+		writeU30(writer, constantPool.getUintCount());
+
+		for (int i=0;i<constantPool.getUintegers().size();i++) {
+			final EncodedU32 uinteger = constantPool.getUintegers().get(i);
+			writer.writeEncodedU32((int) uinteger.value(), uinteger.getBitLength() / 8);
+		}
+
+		checkPoolCount(constantPool.getDoubleCount(), constantPool.getDoubles().size(), "double_count");
+		writeU30(writer, constantPool.getDoubleCount());
+
+		for (int i=0;i<constantPool.getDoubles().size();i++) {
+			final Float64 value = constantPool.getDoubles().get(i);
+			writer.writeDouble(value.value());
+		}
+
+		checkPoolCount(constantPool.getStringCount(), constantPool.getStrings().size(), "string_count");
+		writeU30(writer, constantPool.getStringCount());
+
+		for (int i=0;i<constantPool.getStrings().size();i++) {
+			final StringInfo string = constantPool.getStrings().get(i);
+
+			if (string.getSize().value() != string.getName().getByteLength()) {
+				throw new IllegalArgumentException("String size does not match the length of the string");
+			}
+
+			writeU30(writer, string.getSize());
+			writer.writeUTF8String(string.getName());
+		}
+
+		checkPoolCount(constantPool.getNamespaceCount(), constantPool.getNamespaces().size(), "namespace_count");
+		writeU30(writer, constantPool.getNamespaceCount());
+
+		for (int i=0;i<constantPool.getNamespaces().size();i++) {
+			final NamespaceInfo namespace = constantPool.getNamespaces().get(i);
+			writeU8(writer, namespace.getKind());
+			writeU30(writer, namespace.getName());
+		}
+
+		checkPoolCount(constantPool.getNamespaceSetCount(), constantPool.getNamespaceSets().size(), "ns_set_count");
+		writeU30(writer, constantPool.getNamespaceSetCount());
+
+		for (int i=0;i<constantPool.getNamespaceSets().size();i++) {
+			final NamespaceSetInfo namespaceSet = constantPool.getNamespaceSets().get(i);
+			writeU30List(writer, namespaceSet.getCount(), namespaceSet.getNamespaces(), "count");
+		}
+
+		checkPoolCount(constantPool.getMultinameCount(), constantPool.getMultinames().size(), "multiname_count");
+		writeU30(writer, constantPool.getMultinameCount());
+
+		for (int i=0;i<constantPool.getMultinames().size();i++) {
+			final MultinameInfo multiname = constantPool.getMultinames().get(i);
+			writeMultiname(writer, multiname);
+		}
+	}
+
+	private static void writeInstanceInfo(final BinaryWriter writer, final InstanceInfo instance) {
+
+		writeU30(writer, instance.getName());
+		writeU30(writer, instance.getSuperName());
+		writeU8(writer, instance.getFlags());
+
+		if (instance.getProtectedNs() != null) {
+			writeU30(writer, instance.getProtectedNs());
+		}
+
+		writeU30List(writer, instance.getInterfaceCount(), instance.getInterfaces(), "intrf_count");
+		writeU30(writer, instance.getIinit());
+		writeTraits(writer, instance.getTraitCount(), instance.getTraits());
+	}
+
+	/**
+	 * Writes metadata. The keys of all items come before their values.
+	 */
+	private static void writeMetaData(final BinaryWriter writer, final MetaData metaData) {
+
+		writeU30(writer, metaData.getName());
+
+		checkCount(metaData.getItemCount(), metaData.getItems().size(), "item_count");
+		writeU30(writer, metaData.getItemCount());
+
+		for (int i=0;i<metaData.getItems().size();i++) {
+			final ItemInfo item = metaData.getItems().get(i);
+			writeU30(writer, item.getKey());
+		}
+
+		for (int i=0;i<metaData.getItems().size();i++) {
+			final ItemInfo item = metaData.getItems().get(i);
+			writeU30(writer, item.getValue());
+		}
+	}
+
+	/**
+	 * Writes a method body. The code is copied from the bytes it was decoded
+	 * from.
+	 */
+	private static void writeMethodBody(final BinaryWriter writer, final MethodBody methodBody) {
+
+		final AS3Code code = methodBody.getCode();
+		final ByteBuffer codeData = code == null ? null : code.getData();
+
+		if (codeData == null) {
+			throw new IllegalArgumentException("The code of the method body of method " + methodBody.getMethod().value() + " was not parsed from bytes");
+		}
+
+		writeU30(writer, methodBody.getMethod());
+		writeU30(writer, methodBody.getMaxStack());
+		writeU30(writer, methodBody.getLocalCount());
+		writeU30(writer, methodBody.getInitScopeDepth());
+		writeU30(writer, methodBody.getMaxScopeDepth());
+		writeU30(writer, methodBody.getCodeLength());
+		writer.writeBytes(codeData);
+
+		checkCount(methodBody.getExceptionCount(), methodBody.getExceptions().size(), "exception_count");
+		writeU30(writer, methodBody.getExceptionCount());
+
+		for (int i=0;i<methodBody.getExceptions().size();i++) {
+			final ExceptionInfo exception = methodBody.getExceptions().get(i);
+			writeU30(writer, exception.getFrom());
+			writeU30(writer, exception.getTo());
+			writeU30(writer, exception.getTarget());
+			writeU30(writer, exception.getExcType());
+			writeU30(writer, exception.getVarName());
+		}
+
+		writeTraits(writer, methodBody.getTraitCount(), methodBody.getTraits());
+	}
+
+	private static void writeMethodInfo(final BinaryWriter writer, final MethodInfo methodInfo) {
+
+		checkCount(methodInfo.getParamCount(), methodInfo.getParamTypes().size(), "param_count");
+		writeU30(writer, methodInfo.getParamCount());
+		writeU30(writer, methodInfo.getReturnType());
+
+		for (int i=0;i<methodInfo.getParamTypes().size();i++) {
+			final EncodedU30 paramType = methodInfo.getParamTypes().get(i);
+			writeU30(writer, paramType);
+		}
+
+		writeU30(writer, methodInfo.getName());
+		writeU8(writer, methodInfo.getFlags());
+
+		final OptionInfo optionInfo = methodInfo.getOptionInfo();
+
+		if (optionInfo != null) {
+
+			checkCount(optionInfo.getOptionCount(), optionInfo.getOptions().size(), "option_count");
+			writeU30(writer, optionInfo.getOptionCount());
+
+			for (int i=0;i<optionInfo.getOptions().size();i++) {
+				final OptionDetail option = optionInfo.getOptions().get(i);
+				writeU30(writer, option.getVal());
+				writeU8(writer, option.getKind());
+			}
+		}
+
+		final ParamInfo paramInfo = methodInfo.getParamInfo();
+
+		if (paramInfo != null) {
+
+			checkCount(methodInfo.getParamCount(), paramInfo.getParamNames().size(), "param_count");
+
+			for (int i=0;i<paramInfo.getParamNames().size();i++) {
+				final EncodedU30 paramName = paramInfo.getParamNames().get(i);
+				writeU30(writer, paramName);
+			}
+		}
+	}
+
+	private static void writeMultiname(final BinaryWriter writer, final MultinameInfo multiname) {
+
+		writeU8(writer, multiname.getKind());
+
+		final IMultiname data = multiname.getData();
+
+		if (data instanceof QName) {
+			writeU30(writer, ((QName) data).getNs());
+			writeU30(writer, ((QName) data).getName());
+		}
+		else if (data instanceof QNameA) {
+			writeU30(writer, ((QNameA) data).getNs());
+			writeU30(writer, ((QNameA) data).getName());
+		}
+		else if (data instanceof RTQName) {
+			writeU30(writer, ((RTQName) data).getName());
+		}
+		else if (data instanceof RTQNameA) {
+			writeU30(writer, ((RTQNameA) data).getName());
+		}
+		else if (data instanceof Multiname) {
+			writeU30(writer, ((Multiname) data).getName());
+			writeU30(writer, ((Multiname) data).getNsSet());
+		}
+		else if (data instanceof MultinameA) {
+			writeU30(writer, ((MultinameA) data).getName());
+			writeU30(writer, ((MultinameA) data).getNsSet());
+		}
+		else if (data instanceof MultinameL) {
+			writeU30(writer, ((MultinameL) data).getNsSet());
+		}
+		else if (data instanceof MultinameLA) {
+			writeU30(writer, ((MultinameLA) data).getNsSet());
+		}
+		else if (data instanceof GenericVector) {
+			writeU30(writer, ((GenericVector) data).getTypeDefinition());
+			writeU30List(writer, ((GenericVector) data).getParamCount(), ((GenericVector) data).getParams(), "param_count");
+		}
+		else if (!(data instanceof RTQNameL) && !(data instanceof RTQNameLA)) {
+			throw new IllegalArgumentException("Unknown multiname type: " + (data == null ? null : data.getClass().getSimpleName()));
+		}
+	}
+
+	private static void writeTrait(final BinaryWriter writer, final TraitsInfo trait) {
+
+		writeU30(writer, trait.getName());
+		writeU8(writer, trait.getKind());
+
+		final ITraitKind data = trait.getData();
+
+		if (data instanceof TraitSlot) {
+
+			final TraitSlot slot = (TraitSlot) data;
+
+			writeU30(writer, slot.getSlotId());
+			writeU30(writer, slot.getTypeName());
+			writeU30(writer, slot.getvIndex());
+
+			if (slot.getvKind() != null) {
+				writeU8(writer, slot.getvKind());
+			}
+		}
+		else if (data instanceof TraitMethod) {
+			writeU30(writer, ((TraitMethod) data).getDispId());
+			writeU30(writer, ((TraitMethod) data).getMethod());
+		}
+		else if (data instanceof TraitClass) {
+			writeU30(writer, ((TraitClass) data).getSlotId());
+			writeU30(writer, ((TraitClass) data).getClassIndex());
+		}
+		else if (data instanceof TraitFunction) {
+			writeU30(writer, ((TraitFunction) data).getSlotId());
+			writeU30(writer, ((TraitFunction) data).getFunction());
+		}
+		else {
+			throw new IllegalArgumentException("Unknown trait type: " + (data == null ? null : data.getClass().getSimpleName()));
+		}
+
+		if (trait.getMetaDataCount() != null) {
+			writeU30List(writer, trait.getMetaDataCount(), trait.getMetaData(), "metadata_count");
+		}
+	}
+
+	private static void writeTraits(final BinaryWriter writer, final EncodedU30 traitCount, final TraitsInfoList traits) {
+
+		checkCount(traitCount, traits.size(), "trait_count");
+		writeU30(writer, traitCount);
+
+		for (int i=0;i<traits.size();i++) {
+			final TraitsInfo trait = traits.get(i);
+			writeTrait(writer, trait);
+		}
+	}
+
+	/**
+	 * Writes an encoded UINT30 field with at least as many bytes as it was
+	 * parsed from.
+	 */
+	private static void writeU30(final BinaryWriter writer, final EncodedU30 value) {
+		writer.writeEncodedU32(value.value(), Math.max(value.getBitLength() / 8, 1));
+	}
+
+	/**
+	 * Writes a count field and the encoded UINT30 fields it counts.
+	 */
+	private static void writeU30List(final BinaryWriter writer, final EncodedU30 count, final EncodedU30List values, final String fieldName) {
+
+		checkCount(count, values.size(), fieldName);
+		writeU30(writer, count);
+
+		for (int i=0;i<values.size();i++) {
+			final EncodedU30 value = values.get(i);
+			writeU30(writer, value);
+		}
+	}
+
+	private static void writeU8(final BinaryWriter writer, final UINT8 value) {
+		writer.writeU8(value.value());
+	}
+}
@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseFlag;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.Flag;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -26,18 +27,23 @@ public final class BevelFilterParser {
 	 */
 	public static BevelFilter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final RGBA shadowColor = RGBAParser.parse(parser, fieldName + "::ShadowColor");
-		final RGBA highlightColor = RGBAParser.parse(parser, fieldName + "::HighlightColor");
-		final Fixed blurX = FixedParser.parse(parser, fieldName + "::BlurX");
-		final Fixed blurY = FixedParser.parse(parser, fieldName + "::BlurY");
-		final Fixed angle = FixedParser.parse(parser, fieldName + "::Angle");
-		final Fixed distance = FixedParser.parse(parser, fieldName + "::Distance");
-		final Fixed8 strength = Fixed8Parser.parse(parser, fieldName + "::Strength");
-		final Flag innerShadow = parseFlag(parser, 0x00006, fieldName + "::InnerShadow");
-		final Flag knockout = parseFlag(parser, 0x00006, fieldName + "::Knockout");
-		final Flag compositeSource = parseFlag(parser, 0x00006, fieldName + "::CompositeSource");
-		final Flag onTop = parseFlag(parser, 0x00006, fieldName + "::OnTop");
-		final UBits passes = parseUBits(parser, 4, 0x00006, fieldName + "::Passes");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final RGBA shadowColor = RGBAParser.parse(parser, "ShadowColor");
+		final RGBA highlightColor = RGBAParser.parse(parser, "HighlightColor");
+		final Fixed blurX = FixedParser.parse(parser, "BlurX");
+		final Fixed blurY = FixedParser.parse(parser, "BlurY");
+		final Fixed angle = FixedParser.parse(parser, "Angle");
+		final Fixed distance = FixedParser.parse(parser, "Distance");
+		final Fixed8 strength = Fixed8Parser.parse(parser, "Strength");
+		final Flag innerShadow = parseFlag(parser, 0x00006, "InnerShadow");
+		final Flag knockout = parseFlag(parser, 0x00006, "Knockout");
+		final Flag compositeSource = parseFlag(parser, 0x00006, "CompositeSource");
+		final Flag onTop = parseFlag(parser, 0x00006, "OnTop");
+		final UBits passes = parseUBits(parser, 4, 0x00006, "Passes");
+
+		context.leave();
 
 		return new BevelFilter(shadowColor, highlightColor, blurX, blurY, angle, distance, strength, innerShadow, knockout, compositeSource, onTop, passes);
 	}
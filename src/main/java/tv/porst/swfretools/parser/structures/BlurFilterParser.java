@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,10 +25,15 @@ public final class BlurFilterParser {
 	 */
 	public static BlurFilter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final Fixed blurX = FixedParser.parse(parser, fieldName + "::BlurX");
-		final Fixed blurY = FixedParser.parse(parser, fieldName + "::BlurY");
-		final UBits passes = parseUBits(parser, 5, 0x00006, fieldName + "::Passes");
-		final UBits reserved = parseUBits(parser, 3, 0x00006, fieldName + "::Reserved");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final Fixed blurX = FixedParser.parse(parser, "BlurX");
+		final Fixed blurY = FixedParser.parse(parser, "BlurY");
+		final UBits passes = parseUBits(parser, 5, 0x00006, "Passes");
+		final UBits reserved = parseUBits(parser, 3, 0x00006, "Reserved");
+
+		context.leave();
 
 		return new BlurFilter(blurX, blurY, passes, reserved);
 	}
@@ -8,6 +8,7 @@ import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -30,19 +31,24 @@ public final class ButtonRecord2Parser {
 	 */
 	public static ButtonRecord2 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits buttonReserved = parseUBits(parser, 2, 0x00006, fieldName + "::ButtonReserved");
-		final Flag buttonHasBlendMode = parseFlag(parser, 0x00006, fieldName + "::ButtonHasBlendMode");
-		final Flag buttonHasFilterList = parseFlag(parser, 0x00006, fieldName + "::ButtonHasFilterList");
-		final Flag buttonStateHitTest = parseFlag(parser, 0x00006, fieldName + "::ButtonStateHitTest");
-		final Flag buttonStateDown = parseFlag(parser, 0x00006, fieldName + "::ButtonStateDown");
-		final Flag buttonStateOver = parseFlag(parser, 0x00006, fieldName + "::ButtonStateOver");
-		final Flag buttonStateUp = parseFlag(parser, 0x00006, fieldName + "::ButtonStateUp");
-		final UINT16 characterID = parseUINT16(parser, 0x00006, fieldName + "::CharacterID");
-		final UINT16 placeDepth = parseUINT16(parser, 0x00006, fieldName + "::PlaceDepth");
-		final Matrix placeMatrix = MatrixParser.parse(parser, fieldName + "::PlaceMatrix");
-		final CxFormWithAlpha colorTransform = CxFormWithAlphaParser.parse(parser, fieldName + "::CxFormWithAlpha");
-		final FilterList filterList = FilterListParser.parseIf(parser, buttonHasFilterList, fieldName + "::FilterList");
-		final UINT8 blendMode = parseUINT8If(parser, 0x00006, buttonHasBlendMode, fieldName + "::BlendMode");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits buttonReserved = parseUBits(parser, 2, 0x00006, "ButtonReserved");
+		final Flag buttonHasBlendMode = parseFlag(parser, 0x00006, "ButtonHasBlendMode");
+		final Flag buttonHasFilterList = parseFlag(parser, 0x00006, "ButtonHasFilterList");
+		final Flag buttonStateHitTest = parseFlag(parser, 0x00006, "ButtonStateHitTest");
+		final Flag buttonStateDown = parseFlag(parser, 0x00006, "ButtonStateDown");
+		final Flag buttonStateOver = parseFlag(parser, 0x00006, "ButtonStateOver");
+		final Flag buttonStateUp = parseFlag(parser, 0x00006, "ButtonStateUp");
+		final UINT16 characterID = parseUINT16(parser, 0x00006, "CharacterID");
+		final UINT16 placeDepth = parseUINT16(parser, 0x00006, "PlaceDepth");
+		final Matrix placeMatrix = MatrixParser.parse(parser, "PlaceMatrix");
+		final CxFormWithAlpha colorTransform = CxFormWithAlphaParser.parse(parser, "CxFormWithAlpha");
+		final FilterList filterList = FilterListParser.parseIf(parser, buttonHasFilterList, "FilterList");
+		final UINT8 blendMode = parseUINT8If(parser, 0x00006, buttonHasBlendMode, "BlendMode");
+
+		context.leave();
 
 		return new ButtonRecord2(buttonReserved, buttonHasBlendMode, buttonHasFilterList,
 				buttonStateHitTest, buttonStateDown, buttonStateOver,
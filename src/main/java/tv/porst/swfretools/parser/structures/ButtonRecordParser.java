@@ -6,6 +6,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,16 +29,21 @@ public final class ButtonRecordParser {
 	 */
 	public static ButtonRecord parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits buttonReserved = parseUBits(parser, 2, 0x00006, fieldName + "::ButtonReserved");
-		final Flag buttonHasBlendMode = parseFlag(parser, 0x00006, fieldName + "::ButtonHasBlendMode");
-		final Flag buttonHasFilterList = parseFlag(parser, 0x00006, fieldName + "::ButtonHasFilterList");
-		final Flag buttonStateHitTest = parseFlag(parser, 0x00006, fieldName + "::ButtonStateHitTest");
-		final Flag buttonStateDown = parseFlag(parser, 0x00006, fieldName + "::ButtonStateDown");
-		final Flag buttonStateOver = parseFlag(parser, 0x00006, fieldName + "::ButtonStateOver");
-		final Flag buttonStateUp = parseFlag(parser, 0x00006, fieldName + "::ButtonStateUp");
-		final UINT16 characterID = parseUINT16(parser, 0x00006, fieldName + "::CharacterID");
-		final UINT16 placeDepth = parseUINT16(parser, 0x00006, fieldName + "::PlaceDepth");
-		final Matrix placeMatrix = MatrixParser.parse(parser, fieldName + "::PlaceMatrix");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits buttonReserved = parseUBits(parser, 2, 0x00006, "ButtonReserved");
+		final Flag buttonHasBlendMode = parseFlag(parser, 0x00006, "ButtonHasBlendMode");
+		final Flag buttonHasFilterList = parseFlag(parser, 0x00006, "ButtonHasFilterList");
+		final Flag buttonStateHitTest = parseFlag(parser, 0x00006, "ButtonStateHitTest");
+		final Flag buttonStateDown = parseFlag(parser, 0x00006, "ButtonStateDown");
+		final Flag buttonStateOver = parseFlag(parser, 0x00006, "ButtonStateOver");
+		final Flag buttonStateUp = parseFlag(parser, 0x00006, "ButtonStateUp");
+		final UINT16 characterID = parseUINT16(parser, 0x00006, "CharacterID");
+		final UINT16 placeDepth = parseUINT16(parser, 0x00006, "PlaceDepth");
+		final Matrix placeMatrix = MatrixParser.parse(parser, "PlaceMatrix");
+
+		context.leave();
 
 		return new ButtonRecord(buttonReserved, buttonHasBlendMode, buttonHasFilterList,
 				buttonStateHitTest, buttonStateDown, buttonStateOver,
@@ -7,6 +7,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT32;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.actions.as2.Action;
@@ -32,12 +33,17 @@ public final class ClipActionRecordParser {
 	 */
 	public static ClipActionRecord parse(final SWFBinaryParser parser, final int version, final String fieldName) throws SWFParserException {
 
-		final ClipEventFlags eventFlags = ClipEventFlagsParser.parse(parser, version, fieldName);
-		final UINT32 actionRecordSize = parseUINT32(parser, 0x00006, fieldName + "::ActionRecordSize");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final ClipEventFlags eventFlags = ClipEventFlagsParser.parse(parser, version, "EventFlags");
+		final UINT32 actionRecordSize = parseUINT32(parser, 0x00006, "ActionRecordSize");
 
 		// ClipEventKeyPress is null for version <= 5
-		final UINT8 keyCode = eventFlags.getClipEventKeyPress() == null ? null : parseUINT8If(parser, 0x00006, eventFlags.getClipEventKeyPress(), fieldName + "::ClipActionsEndFlag");
-		final List<Action> actions = ActionRecordParser.parse(parser, actionRecordSize.value(), fieldName + "::Actions");
+		final UINT8 keyCode = eventFlags.getClipEventKeyPress() == null ? null : parseUINT8If(parser, 0x00006, eventFlags.getClipEventKeyPress(), "ClipActionsEndFlag");
+		final List<Action> actions = ActionRecordParser.parse(parser, actionRecordSize.value(), "Actions");
+
+		context.leave();
 
 		return new ClipActionRecord(eventFlags, actionRecordSize, keyCode, new ActionList(actions));
 	}
@@ -9,6 +9,7 @@ import java.util.List;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.IParsedINTElement;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -32,8 +33,11 @@ public final class ClipActionsParser {
 	 */
 	public static ClipActions parse(final SWFBinaryParser parser, final int version, final String fieldName) throws SWFParserException {
 
-		final UINT16 reserved = parseUINT16(parser, 0x00006, fieldName + "::Reserved");
-		final ClipEventFlags allEventFlags = ClipEventFlagsParser.parse(parser, version, fieldName);
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 reserved = parseUINT16(parser, 0x00006, "Reserved");
+		final ClipEventFlags allEventFlags = ClipEventFlagsParser.parse(parser, version, "AllEventFlags");
 
 		final List<ClipActionRecord> clipActionRecords = new ArrayList<ClipActionRecord>();
 
@@ -47,11 +51,15 @@ public final class ClipActionsParser {
 				break;
 			}
 
-			clipActionRecords.add(ClipActionRecordParser.parse(parser, version, fieldName));
+			context.element(clipActionRecords.size());
+			clipActionRecords.add(ClipActionRecordParser.parse(parser, version, "ClipActionRecords"));
+			context.leave();
 
 		} while (true);
 
-		final IParsedINTElement clipActionEndFlag = version <= 5 ? parseUINT16(parser, 0x00006, fieldName + "::ClipActionsEndFlag") : parseUINT32(parser, 0x00006, fieldName + "::ClipActionsEndFlag");
+		final IParsedINTElement clipActionEndFlag = version <= 5 ? parseUINT16(parser, 0x00006, "ClipActionsEndFlag") : parseUINT32(parser, 0x00006, "ClipActionsEndFlag");
+
+		context.leave();
 
 		return new ClipActions(reserved, allEventFlags, new ClipActionRecordList(clipActionRecords), clipActionEndFlag);
 	}
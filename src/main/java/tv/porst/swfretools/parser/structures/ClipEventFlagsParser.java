@@ -5,6 +5,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseFlagIf;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBitsIf;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,31 +29,36 @@ public final class ClipEventFlagsParser {
 	 */
 	public static ClipEventFlags parse(final SWFBinaryParser parser, final int version, final String fieldName) throws SWFParserException {
 
-		final Flag clipEventKeyUp = parseFlag(parser, 0x00006, fieldName + "::ClipEventKeyUp");
-		final Flag clipEventKeyDown = parseFlag(parser, 0x00006, fieldName + "::ClipEventKeyDown");
-		final Flag clipEventMouseUp = parseFlag(parser, 0x00006, fieldName + "::ClipEventMouseUp");
-		final Flag clipEventMouseDown = parseFlag(parser, 0x00006, fieldName + "::ClipEventMouseDown");
-		final Flag clipEventMouseMove = parseFlag(parser, 0x00006, fieldName + "::ClipEventMouseDown");
-		final Flag clipEventUnload = parseFlag(parser, 0x00006, fieldName + "::ClipEventUnload");
-		final Flag clipEventEnterFrame = parseFlag(parser, 0x00006, fieldName + "::ClipEventEnterFrame");
-		final Flag clipEventLoad = parseFlag(parser, 0x00006, fieldName + "::ClipEventLoad");
-		final Flag clipEventDragOver = parseFlag(parser, 0x00006, fieldName + "::ClipEventDragOver");
-		final Flag clipEventRollOut = parseFlag(parser, 0x00006, fieldName + "::ClipEventRollOut");
-		final Flag clipEventRollOver = parseFlag(parser, 0x00006, fieldName + "::ClipEventRollOver");
-		final Flag clipEventReleaseOutside = parseFlag(parser, 0x00006, fieldName + "::ClipEventReleaseOutside");
-		final Flag clipEventRelease = parseFlag(parser, 0x00006, fieldName + "::ClipEventRelease");
-		final Flag clipEventPress = parseFlag(parser, 0x00006, fieldName + "::ClipEventPress");
-		final Flag clipEventInitialize = parseFlag(parser, 0x00006, fieldName + "::ClipEventInitialize");
-		final Flag clipEventData = parseFlag(parser, 0x00006, fieldName + "::ClipEventData");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
 
-		final UBits reserved = parseUBitsIf(parser, 5, 0x00006, version >= 6, fieldName + "::Reserved");
-		final Flag clipEventConstruct = parseFlagIf(parser, 0x00006, version >= 6, fieldName + "::ClipEventConstruct");
-		final Flag clipEventKeyPress = parseFlagIf(parser, 0x00006, version >= 6, fieldName + "::ClipEventKeyPress");
-		final Flag clipEventDragOut = parseFlagIf(parser, 0x00006, version >= 6, fieldName + "::ClipEventDragOut");
-		final UBits reserved2 = parseUBitsIf(parser, 8, 0x00006, version >= 6, fieldName + "::Reserved2");
+		final Flag clipEventKeyUp = parseFlag(parser, 0x00006, "ClipEventKeyUp");
+		final Flag clipEventKeyDown = parseFlag(parser, 0x00006, "ClipEventKeyDown");
+		final Flag clipEventMouseUp = parseFlag(parser, 0x00006, "ClipEventMouseUp");
+		final Flag clipEventMouseDown = parseFlag(parser, 0x00006, "ClipEventMouseDown");
+		final Flag clipEventMouseMove = parseFlag(parser, 0x00006, "ClipEventMouseDown");
+		final Flag clipEventUnload = parseFlag(parser, 0x00006, "ClipEventUnload");
+		final Flag clipEventEnterFrame = parseFlag(parser, 0x00006, "ClipEventEnterFrame");
+		final Flag clipEventLoad = parseFlag(parser, 0x00006, "ClipEventLoad");
+		final Flag clipEventDragOver = parseFlag(parser, 0x00006, "ClipEventDragOver");
+		final Flag clipEventRollOut = parseFlag(parser, 0x00006, "ClipEventRollOut");
+		final Flag clipEventRollOver = parseFlag(parser, 0x00006, "ClipEventRollOver");
+		final Flag clipEventReleaseOutside = parseFlag(parser, 0x00006, "ClipEventReleaseOutside");
+		final Flag clipEventRelease = parseFlag(parser, 0x00006, "ClipEventRelease");
+		final Flag clipEventPress = parseFlag(parser, 0x00006, "ClipEventPress");
+		final Flag clipEventInitialize = parseFlag(parser, 0x00006, "ClipEventInitialize");
+		final Flag clipEventData = parseFlag(parser, 0x00006, "ClipEventData");
+
+		final UBits reserved = parseUBitsIf(parser, 5, 0x00006, version >= 6, "Reserved");
+		final Flag clipEventConstruct = parseFlagIf(parser, 0x00006, version >= 6, "ClipEventConstruct");
+		final Flag clipEventKeyPress = parseFlagIf(parser, 0x00006, version >= 6, "ClipEventKeyPress");
+		final Flag clipEventDragOut = parseFlagIf(parser, 0x00006, version >= 6, "ClipEventDragOut");
+		final UBits reserved2 = parseUBitsIf(parser, 8, 0x00006, version >= 6, "Reserved2");
 
 		parser.align();
 
+		context.leave();
+
 		return new ClipEventFlags(clipEventKeyUp, clipEventKeyDown,
 				clipEventMouseUp, clipEventMouseDown, clipEventMouseMove,
 				clipEventUnload, clipEventEnterFrame, clipEventLoad,
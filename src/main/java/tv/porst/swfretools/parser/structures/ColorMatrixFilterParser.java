@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.Float32;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -27,12 +28,19 @@ public final class ColorMatrixFilterParser {
 	 * @throws SWFParserException Thrown if the structure could not be parsed.
 	 */
 	public static ColorMatrixFilter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
 		final List<Float32> matrix = new ArrayList<Float32>();
 
 		for (int i=0;i<20;i++) {
-			matrix.add(parseFloat(parser, 0x00006, String.format(fieldName + "::Matrix[%d]", i)));
+			context.element(i);
+			matrix.add(parseFloat(parser, 0x00006, "Matrix"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new ColorMatrixFilter(new Float32List(matrix));
 	}
 }
\ No newline at end of file
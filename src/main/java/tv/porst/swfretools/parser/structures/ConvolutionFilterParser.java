@@ -12,6 +12,7 @@ import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.Float32;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -34,21 +35,28 @@ public final class ConvolutionFilterParser {
 	 */
 	public static ConvolutionFilter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 matrixX = parseUINT8(parser, 0x00006, fieldName + "::MatrixX");
-		final UINT8 matrixY = parseUINT8(parser, 0x00006, fieldName + "::MatrixY");
-		final Float32 divisor = parseFloat(parser, 0x00006, fieldName + "::Divisor");
-		final Float32 bias = parseFloat(parser, 0x00006, fieldName + "::Bias");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 matrixX = parseUINT8(parser, 0x00006, "MatrixX");
+		final UINT8 matrixY = parseUINT8(parser, 0x00006, "MatrixY");
+		final Float32 divisor = parseFloat(parser, 0x00006, "Divisor");
+		final Float32 bias = parseFloat(parser, 0x00006, "Bias");
 		final List<Float32> matrix = new ArrayList<Float32>();
 
 		for (int i=0;i<matrixX.value() * matrixY.value();i++) {
-			matrix.add(parseFloat(parser, 0x00006, String.format(fieldName + "::Matrix[%d]", i)));
+			context.element(i);
+			matrix.add(parseFloat(parser, 0x00006, "Matrix"));
+			context.leave();
 		}
 
-		final RGBA defaultColor = RGBAParser.parse(parser, fieldName + "::DefaultColor");
+		final RGBA defaultColor = RGBAParser.parse(parser, "DefaultColor");
+
+		final UBits reserved = parseUBits(parser, 6, 0x00006, "Reserved");
+		final Flag clamp = parseFlag(parser, 0x00006, "Clamp");
+		final Flag preserveAlpha = parseFlag(parser, 0x00006, "PreserveAlpha");
 
-		final UBits reserved = parseUBits(parser, 6, 0x00006, fieldName + "Reserved");
-		final Flag clamp = parseFlag(parser, 0x00006, fieldName + "::Clamp");
-		final Flag preserveAlpha = parseFlag(parser, 0x00006, fieldName + "::PreserveAlpha");
+		context.leave();
 
 		return new ConvolutionFilter(matrixX, matrixY, divisor, bias, new Float32List(matrix), defaultColor, reserved, clamp, preserveAlpha);
 	}
@@ -6,6 +6,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.Bits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,13 +29,18 @@ public final class CurvedEdgeRecordParser {
 	 */
 	public static CurvedEdgeRecord parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final Flag typeFlag = parseFlag(parser, 0x00006, fieldName + "::TypeFlag");
-		final Flag straightFlag = parseFlag(parser, 0x00006, fieldName + "::StraightFlag");
-		final UBits numBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumBits");
-		final Bits controlDeltaX = parseSBits(parser, numBits.value() + 2, 0x00006, fieldName + "::ControlDeltaX");
-		final Bits controlDeltaY = parseSBits(parser, numBits.value() + 2, 0x00006, fieldName + "::ControlDeltaY");
-		final Bits anchorDeltaX = parseSBits(parser, numBits.value() + 2, 0x00006, fieldName + "::AnchorDeltaX");
-		final Bits anchorDeltaY = parseSBits(parser, numBits.value() + 2, 0x00006, fieldName + "::AnchorDeltaY");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final Flag typeFlag = parseFlag(parser, 0x00006, "TypeFlag");
+		final Flag straightFlag = parseFlag(parser, 0x00006, "StraightFlag");
+		final UBits numBits = parseUBits(parser, 4, 0x00006, "NumBits");
+		final Bits controlDeltaX = parseSBits(parser, numBits.value() + 2, 0x00006, "ControlDeltaX");
+		final Bits controlDeltaY = parseSBits(parser, numBits.value() + 2, 0x00006, "ControlDeltaY");
+		final Bits anchorDeltaX = parseSBits(parser, numBits.value() + 2, 0x00006, "AnchorDeltaX");
+		final Bits anchorDeltaY = parseSBits(parser, numBits.value() + 2, 0x00006, "AnchorDeltaY");
+
+		context.leave();
 
 		return new CurvedEdgeRecord(typeFlag, straightFlag, numBits, controlDeltaX, controlDeltaY, anchorDeltaX, anchorDeltaY);
 	}
@@ -6,6 +6,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.Bits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -36,18 +37,23 @@ public final class CxFormParser {
 			throw new IllegalArgumentException("Field name argument must not be null");
 		}
 
-		final Flag hasAddTerms = parseFlag(parser, 0x00006, fieldName + "::HasAddTerms");
-		final Flag hasMultTerms = parseFlag(parser, 0x00006, fieldName + "::HasMultTerms");
-		final UBits nBits = parseUBits(parser, 4, 0x00006, fieldName + "::NBits");
-		final Bits redMultTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasMultTerms.value(), fieldName + "::RedMultTerm");
-		final Bits greenMultTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasMultTerms.value(), fieldName + "::GreenMultTerm");
-		final Bits blueMultTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasMultTerms.value(), fieldName + "::BlueMultTerm");
-		final Bits redAddTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasAddTerms.value(), fieldName + "::RedAddTerm");
-		final Bits greenAddTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasAddTerms.value(), fieldName + "::GreenAddTerm");
-		final Bits blueAddTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasAddTerms.value(), fieldName + "::BlueAddTerm");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final Flag hasAddTerms = parseFlag(parser, 0x00006, "HasAddTerms");
+		final Flag hasMultTerms = parseFlag(parser, 0x00006, "HasMultTerms");
+		final UBits nBits = parseUBits(parser, 4, 0x00006, "NBits");
+		final Bits redMultTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasMultTerms.value(), "RedMultTerm");
+		final Bits greenMultTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasMultTerms.value(), "GreenMultTerm");
+		final Bits blueMultTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasMultTerms.value(), "BlueMultTerm");
+		final Bits redAddTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasAddTerms.value(), "RedAddTerm");
+		final Bits greenAddTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasAddTerms.value(), "GreenAddTerm");
+		final Bits blueAddTerm = parseSBitsIf(parser, nBits.value(), 0x00006, hasAddTerms.value(), "BlueAddTerm");
 
 		parser.align();
 
+		context.leave();
+
 		return new CxForm(hasAddTerms, hasMultTerms, nBits, redMultTerm, greenMultTerm, blueMultTerm, redAddTerm, greenAddTerm, blueAddTerm);
 	}
 }
\ No newline at end of file
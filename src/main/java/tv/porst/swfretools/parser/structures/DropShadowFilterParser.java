@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseFlag;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.Flag;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -26,16 +27,21 @@ public final class DropShadowFilterParser {
 	 */
 	public static DropShadowFilter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final RGBA dropShadowColor = RGBAParser.parse(parser, fieldName + "::DropShadowColor");
-		final Fixed blurX = FixedParser.parse(parser, fieldName + "::BlurX");
-		final Fixed blurY = FixedParser.parse(parser, fieldName + "::BlurY");
-		final Fixed angle = FixedParser.parse(parser, fieldName + "::Angle");
-		final Fixed distance = FixedParser.parse(parser, fieldName + "::Distance");
-		final Fixed8 strength = Fixed8Parser.parse(parser, fieldName + "::Strength");
-		final Flag innerShadow = parseFlag(parser, 0x00006, fieldName + "::InnerShadow");
-		final Flag knockout = parseFlag(parser, 0x00006, fieldName + "::KnockoutFilters");
-		final Flag compositeSource = parseFlag(parser, 0x00006, fieldName + "::CompositeSource");
-		final UBits passes = parseUBits(parser, 5, 0x00006, fieldName + "::Passes");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final RGBA dropShadowColor = RGBAParser.parse(parser, "DropShadowColor");
+		final Fixed blurX = FixedParser.parse(parser, "BlurX");
+		final Fixed blurY = FixedParser.parse(parser, "BlurY");
+		final Fixed angle = FixedParser.parse(parser, "Angle");
+		final Fixed distance = FixedParser.parse(parser, "Distance");
+		final Fixed8 strength = Fixed8Parser.parse(parser, "Strength");
+		final Flag innerShadow = parseFlag(parser, 0x00006, "InnerShadow");
+		final Flag knockout = parseFlag(parser, 0x00006, "KnockoutFilters");
+		final Flag compositeSource = parseFlag(parser, 0x00006, "CompositeSource");
+		final UBits passes = parseUBits(parser, 5, 0x00006, "Passes");
+
+		context.leave();
 
 		return new DropShadowFilter(dropShadowColor, blurX, blurY, angle, distance, strength, innerShadow, knockout, compositeSource, passes);
 	}
@@ -10,8 +10,8 @@ import tv.porst.splib.binaryparser.IFileElement;
  */
 public final class EncodedS32 implements IFileElement {
 
-	private int bitPosition;
-	private int bitLength;
+	private final int bitPosition;
+	private final int bitLength;
 
 	/**
 	 * The decoded integer value.
@@ -25,6 +25,8 @@ public final class EncodedS32 implements IFileElement {
 	 */
 	public EncodedS32(final int bitPosition, final int bitLength, final long value) {
 
+		this.bitPosition = bitPosition;
+		this.bitLength = bitLength;
 		this.value = value;
 	}
 
@@ -1,6 +1,6 @@
 package tv.porst.swfretools.parser.structures;
 
-import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
+import static tv.porst.swfretools.parser.SWFParserHelpers.parseU8;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -25,35 +25,35 @@ public final class EncodedS32Parser {
 
 		final int bitPosition = 8 * parser.getBytePosition() + parser.getBitPosition();
 
-		int result = parseUINT8(parser, 0x00006, fieldName).value();
+		int result = parseU8(parser, 0x00006, fieldName);
 
 		if ((result & 0x00000080) == 0)
 		{
 			return new EncodedS32(bitPosition, 8, result);
 		}
 
-		result = (result & 0x0000007f) | parseUINT8(parser, 0x00006, fieldName).value() << 7;
+		result = (result & 0x0000007f) | parseU8(parser, 0x00006, fieldName) << 7;
 
 		if ((result & 0x00004000) == 0)
 		{
 			return new EncodedS32(bitPosition, 16, result);
 		}
 
-		result = (result & 0x00003fff) | parseUINT8(parser, 0x00006, fieldName).value() << 14;
+		result = (result & 0x00003fff) | parseU8(parser, 0x00006, fieldName) << 14;
 
 		if ((result & 0x00200000) == 0)
 		{
 			return new EncodedS32(bitPosition, 24, result);
 		}
 
-		result = (result & 0x001fffff) | parseUINT8(parser, 0x00006, fieldName).value() << 21;
+		result = (result & 0x001fffff) | parseU8(parser, 0x00006, fieldName) << 21;
 
 		if ((result & 0x10000000) == 0)
 		{
 			return new EncodedS32(bitPosition, 32, result);
 		}
 
-		result = (result & 0x0fffffff) | parseUINT8(parser, 0x00006, fieldName).value() << 28;
+		result = (result & 0x0fffffff) | parseU8(parser, 0x00006, fieldName) << 28;
 
 		return new EncodedS32(bitPosition, 40, result);
 	}
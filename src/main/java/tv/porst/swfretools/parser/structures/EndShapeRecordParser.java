@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseFlag;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -26,8 +27,13 @@ public final class EndShapeRecordParser {
 	 */
 	public static EndShapeRecord parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final Flag typeFlag = parseFlag(parser, 0x00006, fieldName + "::NumberOfFilters");
-		final UBits endOfShape = parseUBits(parser, 5, 0x00006, fieldName + "::EndOfShape");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final Flag typeFlag = parseFlag(parser, 0x00006, "NumberOfFilters");
+		final UBits endOfShape = parseUBits(parser, 5, 0x00006, "EndOfShape");
+
+		context.leave();
 
 		return new EndShapeRecord(typeFlag, endOfShape);
 	}
@@ -5,6 +5,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -51,13 +52,18 @@ public final class FillStyle3Parser {
 	 */
 	public static FillStyle3 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 fillStyleType = parseUINT8(parser, 0x00006, fieldName + "::FillStyleType");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 fillStyleType = parseUINT8(parser, 0x00006, "FillStyleType");
 		final int fillStyleTypeValue = fillStyleType.value();
-		final RGBA color = RGBAParser.parseIf(parser, fillStyleTypeValue == 0x00, fieldName + "::Color");
-		final Matrix gradientMatrix = MatrixParser.parseIf(parser, fillStyleTypeValue == 0x10 || fillStyleTypeValue == 0x12 || fillStyleTypeValue == 0x13, fieldName + "::GradientMatrix");
-		final IGradient gradient = getGradient(parser, fillStyleTypeValue, fieldName + "::Gradient");
-		final UINT16 bitmapId = parseUINT16If(parser, 0x00006, fillStyleTypeValue >= 0x40 && fillStyleTypeValue <= 0x43, fieldName + "::BitmapID");
-		final Matrix bitmapMatrix= MatrixParser.parseIf(parser, fillStyleTypeValue >= 0x40 && fillStyleTypeValue <= 0x43, fieldName + "::BitmapMatrix");
+		final RGBA color = RGBAParser.parseIf(parser, fillStyleTypeValue == 0x00, "Color");
+		final Matrix gradientMatrix = MatrixParser.parseIf(parser, fillStyleTypeValue == 0x10 || fillStyleTypeValue == 0x12 || fillStyleTypeValue == 0x13, "GradientMatrix");
+		final IGradient gradient = getGradient(parser, fillStyleTypeValue, "Gradient");
+		final UINT16 bitmapId = parseUINT16If(parser, 0x00006, fillStyleTypeValue >= 0x40 && fillStyleTypeValue <= 0x43, "BitmapID");
+		final Matrix bitmapMatrix= MatrixParser.parseIf(parser, fillStyleTypeValue >= 0x40 && fillStyleTypeValue <= 0x43, "BitmapMatrix");
+
+		context.leave();
 
 		return new FillStyle3(fillStyleType, color, gradientMatrix, gradient, bitmapId, bitmapMatrix);
 
@@ -9,6 +9,7 @@ import java.util.List;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -31,17 +32,24 @@ public final class FillStyleArrayParser {
 	 */
 	public static FillStyleArray parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 fillStyleCount = parseUINT8(parser, 0x00006, fieldName + "::FillStyleCount");
-		final UINT16 fillStyleCountExtended = fillStyleCount.value() == 0xFF ? parseUINT16(parser, 0x00006, fieldName + "::FillStyleCountExtended") : null;
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 fillStyleCount = parseUINT8(parser, 0x00006, "FillStyleCount");
+		final UINT16 fillStyleCountExtended = fillStyleCount.value() == 0xFF ? parseUINT16(parser, 0x00006, "FillStyleCountExtended") : null;
 
 		final int normalizedCount = fillStyleCount.value() == 0xFF ? fillStyleCountExtended.value() : fillStyleCount.value();
 
 		final List<FillStyle> fillStyles = new ArrayList<FillStyle>();
 
 		for (int i=0;i<normalizedCount;i++) {
-			fillStyles.add(FillStyleParser.parse(parser, String.format(fieldName + "::FillStyles[%d]", fillStyles.size())));
+			context.element(fillStyles.size());
+			fillStyles.add(FillStyleParser.parse(parser, "FillStyles"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new FillStyleArray(fillStyleCount, fillStyleCountExtended, new FillStyleList(fillStyles));
 	}
 
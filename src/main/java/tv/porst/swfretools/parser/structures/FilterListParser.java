@@ -7,6 +7,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,13 +30,20 @@ public final class FilterListParser {
 	 */
 	public static FilterList parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 numberOfFilters = parseUINT8(parser, 0x00006, fieldName + "::NumberOfFilters");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 numberOfFilters = parseUINT8(parser, 0x00006, "NumberOfFilters");
 		final List<Filter> filters = new ArrayList<Filter>();
 
 		for (int i=0;i<numberOfFilters.value();i++) {
-			filters.add(FilterParser.parse(parser, String.format(fieldName + "::Filters[%d]", i)));
+			context.element(i);
+			filters.add(FilterParser.parse(parser, "Filters"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new FilterList(numberOfFilters, new SingleFilterList(filters));
 	}
 
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,17 +25,22 @@ public final class FilterParser {
 	 */
 	public static Filter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 filterId = parseUINT8(parser, 0x00006, fieldName + "::FilterId");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 filterId = parseUINT8(parser, 0x00006, "FilterId");
 		final int filterIdValue = filterId.value();
 
-		final DropShadowFilter dropShadowFilter = filterIdValue == 0 ? DropShadowFilterParser.parse(parser, fieldName + "::DropShadowFilter") : null;
-		final BlurFilter blurFilter = filterIdValue == 1 ? BlurFilterParser.parse(parser, fieldName + "::BlurFilter") : null;
-		final GlowFilter glowFilter = filterIdValue == 2 ? GlowFilterParser.parse(parser, fieldName + "::GlowFilter") : null;
-		final BevelFilter bevelFilter = filterIdValue == 3 ? BevelFilterParser.parse(parser, fieldName + "::BevelFilter") : null;
-		final GradientGlowFilter gradientGlowFilter = filterIdValue == 4 ? GradientGlowFilterParser.parse(parser, fieldName + "::GradientGlowFilter") : null;
-		final ConvolutionFilter convolutionFilter = filterIdValue == 5 ? ConvolutionFilterParser.parse(parser, fieldName + "::ConvolutionFilter") : null;
-		final ColorMatrixFilter colorMatrixFilter = filterIdValue == 6 ? ColorMatrixFilterParser.parse(parser, fieldName) : null;
-		final GradientBevelFilter gradientBevelFilter = filterIdValue == 7 ? GradientBevelFilterParser.parse(parser, fieldName + "::GradientBevelFilter") : null;
+		final DropShadowFilter dropShadowFilter = filterIdValue == 0 ? DropShadowFilterParser.parse(parser, "DropShadowFilter") : null;
+		final BlurFilter blurFilter = filterIdValue == 1 ? BlurFilterParser.parse(parser, "BlurFilter") : null;
+		final GlowFilter glowFilter = filterIdValue == 2 ? GlowFilterParser.parse(parser, "GlowFilter") : null;
+		final BevelFilter bevelFilter = filterIdValue == 3 ? BevelFilterParser.parse(parser, "BevelFilter") : null;
+		final GradientGlowFilter gradientGlowFilter = filterIdValue == 4 ? GradientGlowFilterParser.parse(parser, "GradientGlowFilter") : null;
+		final ConvolutionFilter convolutionFilter = filterIdValue == 5 ? ConvolutionFilterParser.parse(parser, "ConvolutionFilter") : null;
+		final ColorMatrixFilter colorMatrixFilter = filterIdValue == 6 ? ColorMatrixFilterParser.parse(parser, "ColorMatrixFilter") : null;
+		final GradientBevelFilter gradientBevelFilter = filterIdValue == 7 ? GradientBevelFilterParser.parse(parser, "GradientBevelFilter") : null;
+
+		context.leave();
 
 		return new Filter(filterId, dropShadowFilter, blurFilter, glowFilter, bevelFilter, gradientGlowFilter, convolutionFilter, colorMatrixFilter, gradientBevelFilter);
 	}
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -25,8 +26,13 @@ public final class Fixed8Parser {
 	 */
 	public static Fixed8 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 integer = parseUINT8(parser, 0x00006, fieldName + "::Integer");
-		final UINT8 decimal = parseUINT8(parser, 0x00006, fieldName + "::Decimal");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 integer = parseUINT8(parser, 0x00006, "Integer");
+		final UINT8 decimal = parseUINT8(parser, 0x00006, "Decimal");
+
+		context.leave();
 
 		return new Fixed8(integer, decimal);
 	}
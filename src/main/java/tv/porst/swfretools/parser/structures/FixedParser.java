@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -25,8 +26,13 @@ public final class FixedParser {
 	 */
 	public static Fixed parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT16 integer = parseUINT16(parser, 0x00006, fieldName + "::Integer");
-		final UINT16 decimal = parseUINT16(parser, 0x00006, fieldName + "::Decimal");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 integer = parseUINT16(parser, 0x00006, "Integer");
+		final UINT16 decimal = parseUINT16(parser, 0x00006, "Decimal");
+
+		context.leave();
 
 		return new Fixed(integer, decimal);
 	}
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseString;
 import tv.porst.splib.binaryparser.AsciiString;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -25,8 +26,13 @@ public final class FrameLabelsParser {
 	 */
 	public static FrameLabel parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU32 offset = EncodedU32Parser.parse(parser, fieldName + "::Offset");
-		final AsciiString name = parseString(parser, 0x00006, fieldName + "::Name");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU32 offset = EncodedU32Parser.parse(parser, "Offset");
+		final AsciiString name = parseString(parser, 0x00006, "Name");
+
+		context.leave();
 
 		return new FrameLabel(offset, name);
 	}
@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseFlag;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.Flag;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -26,14 +27,19 @@ public final class GlowFilterParser {
 	 */
 	public static GlowFilter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final RGBA glowColor = RGBAParser.parse(parser, fieldName + "::GlowColor");
-		final Fixed blurX = FixedParser.parse(parser, fieldName + "::BlurX");
-		final Fixed blurY = FixedParser.parse(parser, fieldName + "::BlurY");
-		final Fixed8 strength = Fixed8Parser.parse(parser, fieldName + "::Strength");
-		final Flag innerShadow = parseFlag(parser, 0x00006, fieldName + "::InnerShadow");
-		final Flag knockout = parseFlag(parser, 0x00006, fieldName + "::KnockOut");
-		final Flag compositeSource = parseFlag(parser, 0x00006, fieldName + "::CompositeSource");
-		final UBits passes = parseUBits(parser, 5, 0x00006, fieldName + "::Passes");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final RGBA glowColor = RGBAParser.parse(parser, "GlowColor");
+		final Fixed blurX = FixedParser.parse(parser, "BlurX");
+		final Fixed blurY = FixedParser.parse(parser, "BlurY");
+		final Fixed8 strength = Fixed8Parser.parse(parser, "Strength");
+		final Flag innerShadow = parseFlag(parser, 0x00006, "InnerShadow");
+		final Flag knockout = parseFlag(parser, 0x00006, "KnockOut");
+		final Flag compositeSource = parseFlag(parser, 0x00006, "CompositeSource");
+		final UBits passes = parseUBits(parser, 5, 0x00006, "Passes");
+
+		context.leave();
 
 		return new GlowFilter(glowColor, blurX, blurY, strength, innerShadow, knockout, compositeSource, passes);
 	}
@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseSBits;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.Bits;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,8 +29,13 @@ public final class GlyphEntryParser {
 	 * @throws SWFParserException Thrown if the structure could not be parsed.
 	 */
 	public static GlyphEntry parse(final SWFBinaryParser parser, final int glyphBits, final int advanceBits, final String fieldName) throws SWFParserException {
-		final UBits glyphIndex = parseUBits(parser, glyphBits, 0x00006, fieldName + "::GlyphIndex");
-		final Bits advanceIndex = parseSBits(parser, advanceBits, 0x00006, fieldName + "::AdvanceIndex");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits glyphIndex = parseUBits(parser, glyphBits, 0x00006, "GlyphIndex");
+		final Bits advanceIndex = parseSBits(parser, advanceBits, 0x00006, "AdvanceIndex");
+
+		context.leave();
 
 		return new GlyphEntry(glyphIndex, advanceIndex);
 	}
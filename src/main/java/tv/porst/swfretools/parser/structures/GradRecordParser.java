@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,8 +25,13 @@ public final class GradRecordParser {
 	 */
 	public static GradRecord parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 ratio = parseUINT8(parser, 0x00006, fieldName + "::Ratio");
-		final RGB color = RGBParser.parse(parser, fieldName + "::RGB");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 ratio = parseUINT8(parser, 0x00006, "Ratio");
+		final RGB color = RGBParser.parse(parser, "RGB");
+
+		context.leave();
 
 		return new GradRecord(ratio, color);
 	}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,16 +29,23 @@ public final class Gradient3Parser {
 	 */
 	public static Gradient3 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits spreadMode = parseUBits(parser, 2, 0x00006, fieldName + "::SpreadMode");
-		final UBits interpolationMode = parseUBits(parser, 2, 0x00006, fieldName + "::InterpolationMode");
-		final UBits numGradients = parseUBits(parser, 4, 0x00006, fieldName + "::NumGradients");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits spreadMode = parseUBits(parser, 2, 0x00006, "SpreadMode");
+		final UBits interpolationMode = parseUBits(parser, 2, 0x00006, "InterpolationMode");
+		final UBits numGradients = parseUBits(parser, 4, 0x00006, "NumGradients");
 
 		final List<GradRecord3> gradientRecords = new ArrayList<GradRecord3>();
 
 		for (int i=0;i<numGradients.value();i++) {
-			gradientRecords.add(GradRecord3Parser.parse(parser, String.format(fieldName + "::GradientRecords[%d]", i)));
+			context.element(i);
+			gradientRecords.add(GradRecord3Parser.parse(parser, "GradientRecords"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new Gradient3(spreadMode, interpolationMode, numGradients, new GradRecord3List(gradientRecords));
 	}
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.util.List;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -32,30 +33,39 @@ public final class GradientGlowFilterParser {
 	 */
 	public static GradientGlowFilter parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 numColors = parseUINT8(parser, 0x00006, fieldName + "::NumColors");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 numColors = parseUINT8(parser, 0x00006, "NumColors");
 
 		final List<RGBA> gradientColors = new ArrayList<RGBA>();
 
 		for (int i=0;i<numColors.value();i++) {
-			gradientColors.add(RGBAParser.parse(parser, String.format(fieldName + "::GradientColors[%d]", i)));
+			context.element(i);
+			gradientColors.add(RGBAParser.parse(parser, "GradientColors"));
+			context.leave();
 		}
 
 		final List<UINT8> gradientRatio = new ArrayList<UINT8>();
 
 		for (int i=0;i<numColors.value();i++) {
-			gradientRatio.add(parseUINT8(parser, 0x00006, String.format(fieldName + "::GradientRatio[%d]", i)));
+			context.element(i);
+			gradientRatio.add(parseUINT8(parser, 0x00006, "GradientRatio"));
+			context.leave();
 		}
 
-		final Fixed blurX = FixedParser.parse(parser, fieldName + "::BlurX");
-		final Fixed blurY = FixedParser.parse(parser, fieldName + "::BlurY");
-		final Fixed angle = FixedParser.parse(parser, fieldName + "::Angle");
-		final Fixed distance = FixedParser.parse(parser, fieldName + "::Distance");
-		final Fixed8 strength = Fixed8Parser.parse(parser, fieldName + "::Strength");
-		final Flag innerShadow = parseFlag(parser, 0x00006, fieldName + "::InnerShadow");
-		final Flag knockout = parseFlag(parser, 0x00006, fieldName + "::KnockOut");
-		final Flag compositeSource = parseFlag(parser, 0x00006, fieldName + "::CompositeSource");
-		final Flag onTop = parseFlag(parser, 0x00006, fieldName + "::OnTop");
-		final UBits passes = parseUBits(parser, 4, 0x00006, fieldName + "::Passes");
+		final Fixed blurX = FixedParser.parse(parser, "BlurX");
+		final Fixed blurY = FixedParser.parse(parser, "BlurY");
+		final Fixed angle = FixedParser.parse(parser, "Angle");
+		final Fixed distance = FixedParser.parse(parser, "Distance");
+		final Fixed8 strength = Fixed8Parser.parse(parser, "Strength");
+		final Flag innerShadow = parseFlag(parser, 0x00006, "InnerShadow");
+		final Flag knockout = parseFlag(parser, 0x00006, "KnockOut");
+		final Flag compositeSource = parseFlag(parser, 0x00006, "CompositeSource");
+		final Flag onTop = parseFlag(parser, 0x00006, "OnTop");
+		final UBits passes = parseUBits(parser, 4, 0x00006, "Passes");
+
+		context.leave();
 
 		return new GradientGlowFilter(numColors, new RGBAList(gradientColors), new UINT8List(gradientRatio), blurX, blurY, angle, distance, strength, innerShadow, knockout, compositeSource, onTop, passes);
 	}
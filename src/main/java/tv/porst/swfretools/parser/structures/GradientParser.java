@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,16 +29,23 @@ public final class GradientParser {
 	 */
 	public static Gradient parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits spreadMode = parseUBits(parser, 2, 0x00006, fieldName + "::SpreadMode");
-		final UBits interpolationMode = parseUBits(parser, 2, 0x00006, fieldName + "::InterpolationMode");
-		final UBits numGradients = parseUBits(parser, 4, 0x00006, fieldName + "::NumGradients");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits spreadMode = parseUBits(parser, 2, 0x00006, "SpreadMode");
+		final UBits interpolationMode = parseUBits(parser, 2, 0x00006, "InterpolationMode");
+		final UBits numGradients = parseUBits(parser, 4, 0x00006, "NumGradients");
 
 		final List<GradRecord> gradientRecords = new ArrayList<GradRecord>();
 
 		for (int i=0;i<numGradients.value();i++) {
-			gradientRecords.add(GradRecordParser.parse(parser, String.format(fieldName + "::GradientRecord[%d]", i)));
+			context.element(i);
+			gradientRecords.add(GradRecordParser.parse(parser, "GradientRecord"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new Gradient(spreadMode, interpolationMode, numGradients, new GradRecordList(gradientRecords));
 	}
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package tv.porst.swfretools.parser.structures;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -7,8 +8,13 @@ public class ItemInfoParser {
 
 	public static ItemInfo parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU30 key = EncodedU30Parser.parse(parser, fieldName + "::key");
-		final EncodedU30 value = EncodedU30Parser.parse(parser, fieldName + "::value");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 key = EncodedU30Parser.parse(parser, "key");
+		final EncodedU30 value = EncodedU30Parser.parse(parser, "value");
+
+		context.leave();
 
 		return new ItemInfo(key, value);
 	}
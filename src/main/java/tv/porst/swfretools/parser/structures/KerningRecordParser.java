@@ -5,6 +5,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.INT16;
 import tv.porst.splib.binaryparser.IParsedINTElement;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,9 +29,14 @@ public final class KerningRecordParser {
 	 */
 	public static KerningRecord parse(final SWFBinaryParser parser, final boolean fontFlagsWideCodes, final String fieldName) throws SWFParserException {
 
-		final IParsedINTElement fontKerningCode1 = fontFlagsWideCodes ? parseUINT16(parser, 0x00006, fieldName + "::FontKerningCode1") : parseUINT8(parser, 0x00006, fieldName + "::FontKerningCode1");
-		final IParsedINTElement fontKerningCode2 = fontFlagsWideCodes ? parseUINT16(parser, 0x00006, fieldName + "::FontKerningCode2") : parseUINT8(parser, 0x00006, fieldName + "::FontKerningCode2");
-		final INT16 fontKerningAdjustment = parseINT16(parser, 0x00006, fieldName + "::FontKerningAdjustment");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final IParsedINTElement fontKerningCode1 = fontFlagsWideCodes ? parseUINT16(parser, 0x00006, "FontKerningCode1") : parseUINT8(parser, 0x00006, "FontKerningCode1");
+		final IParsedINTElement fontKerningCode2 = fontFlagsWideCodes ? parseUINT16(parser, 0x00006, "FontKerningCode2") : parseUINT8(parser, 0x00006, "FontKerningCode2");
+		final INT16 fontKerningAdjustment = parseINT16(parser, 0x00006, "FontKerningAdjustment");
+
+		context.leave();
 
 		return new KerningRecord(fontKerningCode1, fontKerningCode2, fontKerningAdjustment);
 	}
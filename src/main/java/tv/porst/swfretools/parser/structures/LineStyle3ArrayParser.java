@@ -9,6 +9,7 @@ import java.util.List;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -31,17 +32,24 @@ public final class LineStyle3ArrayParser {
 	 */
 	public static LineStyle3Array parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 lineStyleCount = parseUINT8(parser, 0x00006, fieldName + "::LineStyleCount");
-		final UINT16 lineStyleCountExtended = parseUINT16If(parser, 0x00006, lineStyleCount.value() == 0xFF, fieldName + "::LineStyleCountExtended");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 lineStyleCount = parseUINT8(parser, 0x00006, "LineStyleCount");
+		final UINT16 lineStyleCountExtended = parseUINT16If(parser, 0x00006, lineStyleCount.value() == 0xFF, "LineStyleCountExtended");
 
 		final int normalizedCount = lineStyleCount.value() == 0xFF ? lineStyleCountExtended.value() : lineStyleCount.value();
 
 		final List<LineStyle3> lineStyles = new ArrayList<LineStyle3>();
 
 		for (int i=0;i<normalizedCount;i++) {
-			lineStyles.add(LineStyle3Parser.parse(parser, String.format(fieldName + "::LineStyles[%d]", i)));
+			context.element(i);
+			lineStyles.add(LineStyle3Parser.parse(parser, "LineStyles"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new LineStyle3Array(lineStyleCount, lineStyleCountExtended, new LineStyle3List(lineStyles));
 	}
 
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,8 +25,13 @@ public final class LineStyle3Parser {
 	 */
 	public static LineStyle3 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT16 width = parseUINT16(parser, 0x00006, fieldName + "::Width");
-		final RGBA color = RGBAParser.parse(parser, fieldName + "::Color");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 width = parseUINT16(parser, 0x00006, "Width");
+		final RGBA color = RGBAParser.parse(parser, "Color");
+
+		context.leave();
 
 		return new LineStyle3(width, color);
 
@@ -7,6 +7,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16If;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,19 +30,24 @@ public final class LineStyle4Parser {
 	 */
 	public static LineStyle4 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT16 width = parseUINT16(parser, 0x00006, fieldName + "::Width");
-		final UBits startCapStyle = parseUBits(parser, 2, 0x00006, fieldName + "::StartCapStyle");
-		final UBits joinStyle = parseUBits(parser, 2, 0x00006, fieldName + "::JoinStyle");
-		final Flag hasFillFlag = parseFlag(parser, 0x00006, fieldName + "::HasFillFlag");
-		final Flag noHScaleFlag = parseFlag(parser, 0x00006, fieldName + "::NoHScaleFlag");
-		final Flag noVScaleFlag = parseFlag(parser, 0x00006, fieldName + "::NoVScaleFlag");
-		final Flag pixelHintingFlag = parseFlag(parser, 0x00006, fieldName + "::PixelHintingFlag");
-		final UBits reserved = parseUBits(parser, 5, 0x00006, fieldName + "::Reserved");
-		final Flag noClose = parseFlag(parser, 0x00006, fieldName + "::NoClose");
-		final UBits endCapStyle = parseUBits(parser, 2, 0x00006, fieldName + "::EndCapStyle");
-		final UINT16 miterLimitFactor = parseUINT16If(parser, 0x00006, joinStyle.value() == 2, fieldName + "::MiterLimitFactor");
-		final RGBA color = RGBAParser.parseIf(parser, !hasFillFlag.value(), fieldName + "::Color");
-		final FillStyle3 fillType = FillStyle3Parser.parseIf(parser, hasFillFlag, fieldName + "::FillType");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 width = parseUINT16(parser, 0x00006, "Width");
+		final UBits startCapStyle = parseUBits(parser, 2, 0x00006, "StartCapStyle");
+		final UBits joinStyle = parseUBits(parser, 2, 0x00006, "JoinStyle");
+		final Flag hasFillFlag = parseFlag(parser, 0x00006, "HasFillFlag");
+		final Flag noHScaleFlag = parseFlag(parser, 0x00006, "NoHScaleFlag");
+		final Flag noVScaleFlag = parseFlag(parser, 0x00006, "NoVScaleFlag");
+		final Flag pixelHintingFlag = parseFlag(parser, 0x00006, "PixelHintingFlag");
+		final UBits reserved = parseUBits(parser, 5, 0x00006, "Reserved");
+		final Flag noClose = parseFlag(parser, 0x00006, "NoClose");
+		final UBits endCapStyle = parseUBits(parser, 2, 0x00006, "EndCapStyle");
+		final UINT16 miterLimitFactor = parseUINT16If(parser, 0x00006, joinStyle.value() == 2, "MiterLimitFactor");
+		final RGBA color = RGBAParser.parseIf(parser, !hasFillFlag.value(), "Color");
+		final FillStyle3 fillType = FillStyle3Parser.parseIf(parser, hasFillFlag, "FillType");
+
+		context.leave();
 
 		return new LineStyle4(width, startCapStyle, joinStyle, hasFillFlag,
 				noHScaleFlag, noVScaleFlag, pixelHintingFlag, reserved, noClose,
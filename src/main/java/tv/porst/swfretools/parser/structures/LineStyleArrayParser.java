@@ -9,6 +9,7 @@ import java.util.List;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -33,17 +34,24 @@ public final class LineStyleArrayParser {
 
 		parser.align();
 
-		final UINT8 lineStyleCount = parseUINT8(parser, 0x00006, fieldName + "::LineStyleCount");
-		final UINT16 lineStyleCountExtended = parseUINT16If(parser, 0x00006, lineStyleCount.value() == 0xFF, fieldName + "::LineStyleCountExtended");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 lineStyleCount = parseUINT8(parser, 0x00006, "LineStyleCount");
+		final UINT16 lineStyleCountExtended = parseUINT16If(parser, 0x00006, lineStyleCount.value() == 0xFF, "LineStyleCountExtended");
 
 		final int normalizedCount = lineStyleCount.value() == 0xFF ? lineStyleCountExtended.value() : lineStyleCount.value();
 
 		final List<LineStyle> lineStyles = new ArrayList<LineStyle>();
 
 		for (int i=0;i<normalizedCount;i++) {
-			lineStyles.add(LineStyleParser.parse(parser, String.format("LineStyles[%d]", i)));
+			context.element(i);
+			lineStyles.add(LineStyleParser.parse(parser, "LineStyles"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new LineStyleArray(lineStyleCount, lineStyleCountExtended, new LineStyleList(lineStyles));
 	}
 
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,8 +25,13 @@ public final class LineStyleParser {
 	 */
 	public static LineStyle parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT16 lineStyleType = parseUINT16(parser, 0x00006, fieldName + "::LineStyleType");
-		final RGB color = RGBParser.parse(parser, fieldName + "::Color");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 lineStyleType = parseUINT16(parser, 0x00006, "LineStyleType");
+		final RGB color = RGBParser.parse(parser, "Color");
+
+		context.leave();
 
 		return new LineStyle(lineStyleType, color);
 	}
@@ -3,14 +3,18 @@ package tv.porst.swfretools.parser.structures;
 import java.util.ArrayList;
 import java.util.List;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
 public class MetaDataParser {
 
 	public static MetaData parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final EncodedU30 name = EncodedU30Parser.parse(parser, fieldName + "::name");
-		final EncodedU30 itemCount = EncodedU30Parser.parse(parser, fieldName + "::item_count");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 name = EncodedU30Parser.parse(parser, "name");
+		final EncodedU30 itemCount = EncodedU30Parser.parse(parser, "item_count");
 
 		final List<ItemInfo> items = new ArrayList<ItemInfo>();
 
@@ -28,6 +32,8 @@ public class MetaDataParser {
 			items.add(new ItemInfo(keys.get(i), values.get(i)));
 		}
 
+		context.leave();
+
 		return new MetaData(name, itemCount, new ItemInfoList(items));
 	}
 
@@ -3,6 +3,7 @@ package tv.porst.swfretools.parser.structures;
 import java.util.ArrayList;
 import java.util.List;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.actions.as3.AS3CodeParser;
@@ -10,32 +11,121 @@ import tv.porst.swfretools.parser.actions.as3.AS3CodeParser;
 public class MethodBodyParser {
 
 	public static MethodBody parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final EncodedU30 method = EncodedU30Parser.parse(parser, fieldName + "::method");
-		final EncodedU30 maxStack = EncodedU30Parser.parse(parser, fieldName + "::max_stack");
-		final EncodedU30 localCount = EncodedU30Parser.parse(parser, fieldName + "::local_count");
-		final EncodedU30 initScopeDepth = EncodedU30Parser.parse(parser, fieldName + "::init_scope_depth");
-		final EncodedU30 maxScopeDepth = EncodedU30Parser.parse(parser, fieldName + "::max_scope_depth");
-		final EncodedU30 codeLength = EncodedU30Parser.parse(parser, fieldName + "::code_length");
+		return parse(parser, fieldName, true, false);
+	}
+
+	/**
+	 * Parses a method body. If the code is not decoded, the parser skips
+	 * it and the returned method body has no code. Compact code is stored
+	 * in flat columns.
+	 */
+	public static MethodBody parse(final SWFBinaryParser parser, final String fieldName, final boolean decodeCode, final boolean compactCode) throws SWFParserException {
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 method = EncodedU30Parser.parse(parser, "method");
+		final EncodedU30 maxStack = EncodedU30Parser.parse(parser, "max_stack");
+		final EncodedU30 localCount = EncodedU30Parser.parse(parser, "local_count");
+		final EncodedU30 initScopeDepth = EncodedU30Parser.parse(parser, "init_scope_depth");
+		final EncodedU30 maxScopeDepth = EncodedU30Parser.parse(parser, "max_scope_depth");
+		final EncodedU30 codeLength = EncodedU30Parser.parse(parser, "code_length");
+
+		final AS3Code code;
 
-		final AS3Code code = AS3CodeParser.parse(parser, (int) codeLength.value(), fieldName + "::code");
+		if (decodeCode) {
+			code = AS3CodeParser.parse(parser, (int) codeLength.value(), "code", compactCode);
+		}
+		else {
+			code = null;
+			parser.setPosition(parser.getBytePosition() + codeLength.value(), 0);
+		}
 
-		final EncodedU30 exceptionCount = EncodedU30Parser.parse(parser, fieldName + "::exception_count");
+		final EncodedU30 exceptionCount = EncodedU30Parser.parse(parser, "exception_count");
 
 		final List<ExceptionInfo> exceptions = new ArrayList<ExceptionInfo>();
 
 		for (int i=0;i<exceptionCount.value();i++) {
-			exceptions.add(ExceptionInfoParser.parse(parser, String.format(fieldName + "::exception[%d]", i)));
+			context.element(i);
+			exceptions.add(ExceptionInfoParser.parse(parser, "exception"));
+			context.leave();
 		}
 
-		final EncodedU30 traitCount = EncodedU30Parser.parse(parser, fieldName + "::trait_count");
+		final EncodedU30 traitCount = EncodedU30Parser.parse(parser, "trait_count");
 
 		final List<TraitsInfo> traits = new ArrayList<TraitsInfo>();
 
 		for (int i=0;i<traitCount.value();i++) {
-			traits.add(TraitsInfoParser.parse(parser, String.format(fieldName + "::trait[%d]", i)));
+			context.element(i);
+			traits.add(TraitsInfoParser.parse(parser, "trait"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new MethodBody(method, maxStack, localCount, initScopeDepth, maxScopeDepth, codeLength, code, exceptionCount, new ExceptionInfoList(exceptions), traitCount, new TraitsInfoList(traits));
 	}
 
-}
+	/**
+	 * Moves the parser past a method body without creating it. Only the
+	 * traits of the method body are parsed, everything else is skipped.
+	 * Reading past the end of the input throws an IllegalArgumentException.
+	 */
+	static void skip(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		// method, max_stack, local_count, init_scope_depth and max_scope_depth
+		for (int i=0;i<5;i++) {
+			skipU30(parser);
+		}
+
+		final int codeLength = skipU30(parser);
+
+		if (codeLength < 0) {
+			throw new IllegalArgumentException("Code length must not be negative");
+		}
+
+		parser.setPosition(parser.getBytePosition() + codeLength, 0);
+
+		final int exceptionCount = skipU30(parser);
+
+		// from, to, target, exc_type and var_name
+		for (int i=0;i<exceptionCount;i++) {
+			for (int j=0;j<5;j++) {
+				skipU30(parser);
+			}
+		}
+
+		final int traitCount = skipU30(parser);
+
+		for (int i=0;i<traitCount;i++) {
+			context.element(i);
+			TraitsInfoParser.parse(parser, "trait");
+			context.leave();
+		}
+
+		context.leave();
+	}
+
+	/**
+	 * Reads an encoded UINT30 value without creating a field for it.
+	 */
+	private static int skipU30(final SWFBinaryParser parser) {
+
+		int result = 0;
+
+		for (int shift=0;shift<28;shift+=7) {
+
+			final int value = parser.u8();
+
+			result |= (value & 0x7F) << shift;
+
+			if ((value & 0x80) == 0) {
+				return result;
+			}
+		}
+
+		return result | parser.u8() << 28;
+	}
+
+}
\ No newline at end of file
@@ -8,6 +8,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -30,17 +31,24 @@ public final class MorphFillStyleArrayParser {
 	 */
 	public static MorphFillStyleArray parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 fillStyleCount = parseUINT8(parser, 0x00006, fieldName + "::FillStyleCount");
-		final UINT16 fillStyleCountExtended = parseUINT16If(parser, 0x00006, fillStyleCount.value() == 0xFF, fieldName + "::FillStyleCountExtended");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 fillStyleCount = parseUINT8(parser, 0x00006, "FillStyleCount");
+		final UINT16 fillStyleCountExtended = parseUINT16If(parser, 0x00006, fillStyleCount.value() == 0xFF, "FillStyleCountExtended");
 
 		final int normalizedCount = fillStyleCount.value() == 0xFF ? fillStyleCountExtended.value() : fillStyleCount.value();
 
 		final List<MorphFillStyle> fillStyles = new ArrayList<MorphFillStyle>();
 
 		for (int i=0;i<normalizedCount;i++) {
-			fillStyles.add(MorphFillStyleParser.parse(parser, String.format(fieldName + "::FillStyles[%d]", i)));
+			context.element(i);
+			fillStyles.add(MorphFillStyleParser.parse(parser, "FillStyles"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new MorphFillStyleArray(fillStyleCount, fillStyleCountExtended, new MorphFillStyleList(fillStyles));
 	}
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -28,14 +29,21 @@ public final class MorphGradientParser {
 	 */
 	public static MorphGradient parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 numGradients = parseUINT8(parser, 0x00006, fieldName + "::NumGradients");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 numGradients = parseUINT8(parser, 0x00006, "NumGradients");
 
 		final List<MorphGradientRecord> gradientRecords = new ArrayList<MorphGradientRecord>();
 
 		for (int i=0;i<numGradients.value();i++) {
-			gradientRecords.add(MorphGradientRecordParser.parse(parser, String.format(fieldName + "::GradientRecords[%d]", i)));
+			context.element(i);
+			gradientRecords.add(MorphGradientRecordParser.parse(parser, "GradientRecords"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new MorphGradient(numGradients, new MorphGradientRecordList(gradientRecords));
 	}
 
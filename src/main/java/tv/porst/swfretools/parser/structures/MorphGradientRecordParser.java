@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,10 +25,15 @@ public final class MorphGradientRecordParser {
 	 */
 	public static MorphGradientRecord parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 startRatio = parseUINT8(parser, 0x00006, fieldName + "::StartRatio");
-		final RGBA startColor = RGBAParser.parse(parser, fieldName + "::StartColor");
-		final UINT8 endRatio = parseUINT8(parser, 0x00006, fieldName + "::EndRatio");
-		final RGBA endColor = RGBAParser.parse(parser, fieldName + "::EndColor");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 startRatio = parseUINT8(parser, 0x00006, "StartRatio");
+		final RGBA startColor = RGBAParser.parse(parser, "StartColor");
+		final UINT8 endRatio = parseUINT8(parser, 0x00006, "EndRatio");
+		final RGBA endColor = RGBAParser.parse(parser, "EndColor");
+
+		context.leave();
 
 		return new MorphGradientRecord(startRatio, startColor, endRatio, endColor);
 	}
@@ -7,6 +7,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16If;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,21 +30,26 @@ public final class MorphLineStyle2Parser {
 	 */
 	public static MorphLineStyle2 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT16 startWidth = parseUINT16(parser, 0x00006, fieldName + "::StartWidth");
-		final UINT16 endWidth = parseUINT16(parser, 0x00006, fieldName + "::EndWidth");
-		final UBits startCapStyle = parseUBits(parser, 2, 0x00006, fieldName + "::StartCapStyle");
-		final UBits joinStyle = parseUBits(parser, 2, 0x00006, fieldName + "::JoinStyle");
-		final Flag hasFillFlag = parseFlag(parser, 0x00006, fieldName + "::HasFillFlag");
-		final Flag noHScaleFlag = parseFlag(parser, 0x00006, fieldName + "::NoHScaleFlag");
-		final Flag noVScaleFlag = parseFlag(parser, 0x00006, fieldName + "::NoVScaleFlag");
-		final Flag pixelHintingFlag = parseFlag(parser, 0x00006, fieldName + "::PixelHintingFlag");
-		final UBits reserved = parseUBits(parser, 5, 0x00006, fieldName + "::Reserved");
-		final Flag noClose = parseFlag(parser, 0x00006, fieldName + "::NoClose");
-		final UBits endCapStyle = parseUBits(parser, 2, 0x00006, fieldName + "::EndCapStyle");
-		final UINT16 miterLimitFactor = parseUINT16If(parser, 0x00006, joinStyle.value() == 2, fieldName + "::MiterLimitFactor");
-		final RGBA startColor = RGBAParser.parseIf(parser, !hasFillFlag.value(), fieldName + "::StartColor");
-		final RGBA endColor = RGBAParser.parseIf(parser, !hasFillFlag.value(), fieldName + "::EndColor");
-		final MorphFillStyle fillType = MorphFillStyleParser.parseIf(parser, hasFillFlag, fieldName + "::FillType");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 startWidth = parseUINT16(parser, 0x00006, "StartWidth");
+		final UINT16 endWidth = parseUINT16(parser, 0x00006, "EndWidth");
+		final UBits startCapStyle = parseUBits(parser, 2, 0x00006, "StartCapStyle");
+		final UBits joinStyle = parseUBits(parser, 2, 0x00006, "JoinStyle");
+		final Flag hasFillFlag = parseFlag(parser, 0x00006, "HasFillFlag");
+		final Flag noHScaleFlag = parseFlag(parser, 0x00006, "NoHScaleFlag");
+		final Flag noVScaleFlag = parseFlag(parser, 0x00006, "NoVScaleFlag");
+		final Flag pixelHintingFlag = parseFlag(parser, 0x00006, "PixelHintingFlag");
+		final UBits reserved = parseUBits(parser, 5, 0x00006, "Reserved");
+		final Flag noClose = parseFlag(parser, 0x00006, "NoClose");
+		final UBits endCapStyle = parseUBits(parser, 2, 0x00006, "EndCapStyle");
+		final UINT16 miterLimitFactor = parseUINT16If(parser, 0x00006, joinStyle.value() == 2, "MiterLimitFactor");
+		final RGBA startColor = RGBAParser.parseIf(parser, !hasFillFlag.value(), "StartColor");
+		final RGBA endColor = RGBAParser.parseIf(parser, !hasFillFlag.value(), "EndColor");
+		final MorphFillStyle fillType = MorphFillStyleParser.parseIf(parser, hasFillFlag, "FillType");
+
+		context.leave();
 
 		return new MorphLineStyle2(startWidth, endWidth, startCapStyle, joinStyle, hasFillFlag,
 				noHScaleFlag, noVScaleFlag, pixelHintingFlag, reserved, noClose, endCapStyle,
@@ -8,6 +8,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -30,17 +31,24 @@ public class MorphLineStyleArrayParser {
 	 */
 	public static MorphLineStyleArray parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 lineStyleCount = parseUINT8(parser, 0x00006, fieldName + "::LineStyleCount");
-		final UINT16 lineStyleCountExtended = parseUINT16If(parser, 0x00006, lineStyleCount.value() == 0xFF, fieldName + "::LineStyleCountExtended");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 lineStyleCount = parseUINT8(parser, 0x00006, "LineStyleCount");
+		final UINT16 lineStyleCountExtended = parseUINT16If(parser, 0x00006, lineStyleCount.value() == 0xFF, "LineStyleCountExtended");
 
 		final int normalizedCount = lineStyleCount.value() == 0xFF ? lineStyleCountExtended.value() : lineStyleCount.value();
 
 		final List<MorphLineStyle> lineStyles = new ArrayList<MorphLineStyle>();
 
 		for (int i=0;i<normalizedCount;i++) {
-			lineStyles.add(MorphLineStyleParser.parse(parser, String.format(fieldName + "::LineStyles[%d]", i)));
+			context.element(i);
+			lineStyles.add(MorphLineStyleParser.parse(parser, "LineStyles"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new MorphLineStyleArray(lineStyleCount, lineStyleCountExtended, new MorphLineStyleList(lineStyles));
 	}
 }
\ No newline at end of file
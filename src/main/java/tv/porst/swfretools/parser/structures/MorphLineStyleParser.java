@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,10 +25,15 @@ public class MorphLineStyleParser {
 	 */
 	public static MorphLineStyle parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT16 startWidth = parseUINT16(parser, 0x00006, fieldName + "::StartWidth");
-		final UINT16 endWidth = parseUINT16(parser, 0x00006, fieldName + "::EndWidth");
-		final RGBA startColor = RGBAParser.parse(parser, fieldName + "::StartColor");
-		final RGBA endColor = RGBAParser.parse(parser, fieldName + "::EndColor");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 startWidth = parseUINT16(parser, 0x00006, "StartWidth");
+		final UINT16 endWidth = parseUINT16(parser, 0x00006, "EndWidth");
+		final RGBA startColor = RGBAParser.parse(parser, "StartColor");
+		final RGBA endColor = RGBAParser.parse(parser, "EndColor");
+
+		context.leave();
 
 		return new MorphLineStyle(startWidth, endWidth, startColor, endColor);
 	}
@@ -1,13 +1,19 @@
 package tv.porst.swfretools.parser.structures;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
 public class MultinameAParser {
 
 	public static MultinameA parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final EncodedU30 name = EncodedU30Parser.parse(parser, fieldName + "::name");
-		final EncodedU30 nsSet = EncodedU30Parser.parse(parser, fieldName + "::ns_set");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 name = EncodedU30Parser.parse(parser, "name");
+		final EncodedU30 nsSet = EncodedU30Parser.parse(parser, "ns_set");
+
+		context.leave();
 
 		return new MultinameA(name, nsSet);
 	}
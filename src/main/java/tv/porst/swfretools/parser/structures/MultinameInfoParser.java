@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -26,8 +27,13 @@ public class MultinameInfoParser {
 
 	public static MultinameInfo parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 kind = parseUINT8(parser, 0x00006, fieldName + "::kind");
-		final IMultiname data = parseData(parser, kind, fieldName + "::data");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 kind = parseUINT8(parser, 0x00006, "kind");
+		final IMultiname data = parseData(parser, kind, "data");
+
+		context.leave();
 
 		return new MultinameInfo(kind, data);
 	}
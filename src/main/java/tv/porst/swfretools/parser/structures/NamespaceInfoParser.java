@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -9,8 +10,13 @@ public class NamespaceInfoParser {
 
 	public static NamespaceInfo parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 kind = parseUINT8(parser, 0x00006, fieldName + "::kind");
-		final EncodedU30 name = EncodedU30Parser.parse(parser, fieldName + "::name");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 kind = parseUINT8(parser, 0x00006, "kind");
+		final EncodedU30 name = EncodedU30Parser.parse(parser, "name");
+
+		context.leave();
 
 		return new NamespaceInfo(kind, name);
 	}
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -9,8 +10,13 @@ public class OptionDetailParser {
 
 	public static OptionDetail parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU30 val = EncodedU30Parser.parse(parser, fieldName + "::val");
-		final UINT8 kind = parseUINT8(parser, 0x00006, fieldName + "::kind");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 val = EncodedU30Parser.parse(parser, "val");
+		final UINT8 kind = parseUINT8(parser, 0x00006, "kind");
+
+		context.leave();
 
 		return new OptionDetail(val, kind);
 	}
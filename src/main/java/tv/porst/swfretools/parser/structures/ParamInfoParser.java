@@ -3,6 +3,7 @@ package tv.porst.swfretools.parser.structures;
 import java.util.ArrayList;
 import java.util.List;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -10,12 +11,19 @@ public class ParamInfoParser {
 
 	public static ParamInfo parse(final SWFBinaryParser parser, final EncodedU30 paramCount, final String fieldName) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
 		final List<EncodedU30> paramNames = new ArrayList<EncodedU30>();
 
 		for (int i=0;i<paramCount.value();i++) {
-			paramNames.add(EncodedU30Parser.parse(parser, String.format(fieldName + "::param_name[%d]", i)));
+			context.element(i);
+			paramNames.add(EncodedU30Parser.parse(parser, "param_name"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new ParamInfo(new EncodedU30List(paramNames));
 	}
 
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,10 +25,15 @@ public final class Pix15Parser {
 	 */
 	public static Pix15 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits pix15Reserved = parseUBits(parser, 1, 0x00006, fieldName + "::Pix15Reserved");
-		final UBits pix15Red = parseUBits(parser, 5, 0x00006, fieldName + "::Pix15Red");
-		final UBits pix15Green = parseUBits(parser, 5, 0x00006, fieldName + "::Pix15Green");
-		final UBits pix15Blue = parseUBits(parser, 5, 0x00006, fieldName + "::Pix15Blue");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits pix15Reserved = parseUBits(parser, 1, 0x00006, "Pix15Reserved");
+		final UBits pix15Red = parseUBits(parser, 5, 0x00006, "Pix15Red");
+		final UBits pix15Green = parseUBits(parser, 5, 0x00006, "Pix15Green");
+		final UBits pix15Blue = parseUBits(parser, 5, 0x00006, "Pix15Blue");
+
+		context.leave();
 
 		return new Pix15(pix15Reserved, pix15Red, pix15Blue, pix15Green);
 	}
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -24,10 +25,15 @@ public final class Pix24Parser {
 	 */
 	public static Pix24 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 pix24Reserved = parseUINT8(parser, 0x00006, fieldName + "::Pix24Reserved");
-		final UINT8 pix24Red = parseUINT8(parser, 0x00006, fieldName + "::Pix24Red");
-		final UINT8 pix24Green = parseUINT8(parser, 0x00006, fieldName + "::Pix24Green");
-		final UINT8 pix24Blue = parseUINT8(parser, 0x00006, fieldName + "::Pix24Blue");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 pix24Reserved = parseUINT8(parser, 0x00006, "Pix24Reserved");
+		final UINT8 pix24Red = parseUINT8(parser, 0x00006, "Pix24Red");
+		final UINT8 pix24Green = parseUINT8(parser, 0x00006, "Pix24Green");
+		final UINT8 pix24Blue = parseUINT8(parser, 0x00006, "Pix24Blue");
+
+		context.leave();
 
 		return new Pix24(pix24Reserved, pix24Red, pix24Green, pix24Blue);
 	}
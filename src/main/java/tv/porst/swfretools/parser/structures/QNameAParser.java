@@ -1,5 +1,6 @@
 package tv.porst.swfretools.parser.structures;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -7,8 +8,13 @@ public class QNameAParser {
 
 	public static QNameA parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU30 ns = EncodedU30Parser.parse(parser, fieldName + "::ns");
-		final EncodedU30 name = EncodedU30Parser.parse(parser, fieldName + "::name");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 ns = EncodedU30Parser.parse(parser, "ns");
+		final EncodedU30 name = EncodedU30Parser.parse(parser, "name");
+
+		context.leave();
 
 		return new QNameA(ns, name);
 	}
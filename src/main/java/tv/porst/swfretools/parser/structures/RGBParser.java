@@ -3,6 +3,7 @@ package tv.porst.swfretools.parser.structures;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT8;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -26,9 +27,14 @@ public final class RGBParser {
 	 */
 	public static RGB parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 red = parseUINT8(parser, 0x00006, fieldName + "::Red");
-		final UINT8 green = parseUINT8(parser, 0x00006, fieldName + "::Green");
-		final UINT8 blue = parseUINT8(parser, 0x00006, fieldName + "::Blue");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 red = parseUINT8(parser, 0x00006, "Red");
+		final UINT8 green = parseUINT8(parser, 0x00006, "Green");
+		final UINT8 blue = parseUINT8(parser, 0x00006, "Blue");
+
+		context.leave();
 
 		return new RGB(red, green, blue);
 	}
@@ -1,12 +1,18 @@
 package tv.porst.swfretools.parser.structures;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
 public class RTQNameAParser {
 
 	public static RTQNameA parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
-		final EncodedU30 name = EncodedU30Parser.parse(parser, fieldName + "::name");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 name = EncodedU30Parser.parse(parser, "name");
+
+		context.leave();
 
 		return new RTQNameA(name);
 	}
@@ -0,0 +1,164 @@
+package tv.porst.swfretools.parser.structures;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import tv.porst.splib.binaryparser.IFileElement;
+import tv.porst.swfretools.parser.ParseContext;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.SWFParserException;
+
+/**
+ * Method body table of ABC data that was parsed without the method bodies.
+ *
+ * Only the byte range of every method body is known. The bytes are a view
+ * of the file data and are not copied. The method bodies are decoded from
+ * the bytes when they are requested.
+ */
+public final class RawMethodBodies implements IFileElement {
+
+	/**
+	 * The bytes of the method body table, starting with the first method body.
+	 */
+	private final ByteBuffer data;
+
+	/**
+	 * Byte positions of the method bodies in the file, followed by the
+	 * position that follows the last method body.
+	 */
+	private final int[] positions;
+
+	/**
+	 * Flag that says whether the code of the method bodies is stored in compact form.
+	 */
+	private final boolean compactCode;
+
+	/**
+	 * Creates a new raw method body table object.
+	 *
+	 * @param data The bytes of the method body table, starting with the first method body.
+	 * @param positions Byte positions of the method bodies followed by the end of the last method body.
+	 * @param compactCode Flag that says whether the code of the method bodies is stored in compact form.
+	 */
+	public RawMethodBodies(final ByteBuffer data, final int[] positions, final boolean compactCode) {
+
+		if (data == null) {
+			throw new IllegalArgumentException("Method body data must not be null");
+		}
+
+		if (positions == null || positions.length == 0) {
+			throw new IllegalArgumentException("Method body positions must not be empty");
+		}
+
+		this.data = data.asReadOnlyBuffer();
+		this.positions = positions.clone();
+		this.compactCode = compactCode;
+	}
+
+	@Override
+	public int getBitLength() {
+		return 8 * (positions[positions.length - 1] - positions[0]);
+	}
+
+	@Override
+	public int getBitPosition() {
+		return size() == 0 ? 0 : 8 * positions[0];
+	}
+
+	/**
+	 * Returns the number of bytes of a method body.
+	 *
+	 * @param index The index of the method body.
+	 *
+	 * @return The number of bytes of the method body.
+	 */
+	public int getByteLength(final int index) {
+		return positions[index + 1] - positions[index];
+	}
+
+	/**
+	 * Returns the byte position of a method body in the file.
+	 *
+	 * @param index The index of the method body.
+	 *
+	 * @return The byte position of the method body.
+	 */
+	public int getBytePosition(final int index) {
+		return positions[index];
+	}
+
+	/**
+	 * Returns a view of the bytes of the method body table.
+	 *
+	 * @return The bytes of all method bodies.
+	 */
+	public ByteBuffer getData() {
+		return data.duplicate();
+	}
+
+	/**
+	 * Returns a view of the bytes of a method body.
+	 *
+	 * @param index The index of the method body.
+	 *
+	 * @return The bytes of the method body.
+	 */
+	public ByteBuffer getData(final int index) {
+
+		final ByteBuffer body = data.duplicate();
+
+		body.position(positions[index] - positions[0]);
+		body.limit(positions[index + 1] - positions[0]);
+
+		return body.slice();
+	}
+
+	/**
+	 * Decodes all method bodies.
+	 *
+	 * @return The decoded method bodies.
+	 *
+	 * @throws SWFParserException Thrown if a method body could not be decoded.
+	 */
+	public MethodBodyList parse() throws SWFParserException {
+
+		final SWFBinaryParser parser = new SWFBinaryParser(data.duplicate(), positions[0]);
+		final ParseContext context = parser.getContext();
+
+		final List<MethodBody> methodBodies = new ArrayList<MethodBody>(size());
+
+		for (int i=0;i<size();i++) {
+			context.element(i);
+			methodBodies.add(MethodBodyParser.parse(parser, "script", true, compactCode));
+			context.leave();
+		}
+
+		return new MethodBodyList(methodBodies);
+	}
+
+	/**
+	 * Decodes a single method body.
+	 *
+	 * @param index The index of the method body.
+	 *
+	 * @return The decoded method body.
+	 *
+	 * @throws SWFParserException Thrown if the method body could not be decoded.
+	 */
+	public MethodBody parse(final int index) throws SWFParserException {
+
+		final SWFBinaryParser parser = new SWFBinaryParser(getData(index), positions[index]);
+
+		return MethodBodyParser.parse(parser, "script", true, compactCode);
+	}
+
+	/**
+	 * Returns the number of method bodies.
+	 *
+	 * @return The number of method bodies.
+	 */
+	public int size() {
+		return positions.length - 1;
+	}
+}
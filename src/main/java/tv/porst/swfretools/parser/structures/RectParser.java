@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseSBits;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.Bits;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -30,23 +31,29 @@ public final class RectParser {
 			throw new IllegalArgumentException("Parser argument must not be null");
 		}
 
-		final UBits nBits = parseUBits(parser, 5, 0x00006, fieldName + "::NBits");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits nBits = parseUBits(parser, 5, 0x00006, "NBits");
 
 		// It is unclear what happens if nBits is 0. This situation is not specified
 		// in the SWF file format reference.
 
 		if (nBits.value() == 0) {
 			parser.align();
+			context.leave();
 			return new Rect(nBits, null, null, null, null);
 		}
 
-		final Bits xMin = parseSBits(parser, nBits.value(), 0x00006, fieldName + "::XMin");
-		final Bits xMax = parseSBits(parser, nBits.value(), 0x00006, fieldName + "::XMax");
-		final Bits yMin = parseSBits(parser, nBits.value(), 0x00006, fieldName + "::YMin");
-		final Bits yMax = parseSBits(parser, nBits.value(), 0x00006, fieldName + "::YMax");
+		final Bits xMin = parseSBits(parser, nBits.value(), 0x00006, "XMin");
+		final Bits xMax = parseSBits(parser, nBits.value(), 0x00006, "XMax");
+		final Bits yMin = parseSBits(parser, nBits.value(), 0x00006, "YMin");
+		final Bits yMax = parseSBits(parser, nBits.value(), 0x00006, "YMax");
 
 		parser.align();
 
+		context.leave();
+
 		return new Rect(nBits, xMin, xMax, yMin, yMax);
 	}
 }
\ No newline at end of file
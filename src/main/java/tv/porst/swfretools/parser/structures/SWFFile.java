@@ -1,5 +1,7 @@
 package tv.porst.swfretools.parser.structures;
 
+import java.nio.ByteBuffer;
+
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT32;
 import tv.porst.splib.binaryparser.UINT8;
@@ -15,7 +17,7 @@ public final class SWFFile {
 	/**
 	 * Decompressed SWF data.
 	 */
-	private final byte[] decompressedData;
+	private final ByteBuffer decompressedData;
 
 	/**
 	 * Flag that says whether the file was compressed originally.
@@ -82,11 +84,11 @@ public final class SWFFile {
 	 * @param frameCount Total number of frames in file.
 	 * @param tags List of tags in file.
 	 */
-	public SWFFile(final byte[] decompressedData, final boolean wasCompressed, final UINT8 signature1, final UINT8 signature2, final UINT8 signature3,
+	public SWFFile(final ByteBuffer decompressedData, final boolean wasCompressed, final UINT8 signature1, final UINT8 signature2, final UINT8 signature3,
 			final UINT8 version, final UINT32 fileLength, final Rect frameSize, final UINT16 frameRate,
 			final UINT16 frameCount, final TagList tags) {
 
-		this.decompressedData = decompressedData;
+		this.decompressedData = decompressedData.asReadOnlyBuffer();
 		this.wasCompressed = wasCompressed;
 		this.signature1 = signature1;
 		this.signature2 = signature2;
@@ -106,7 +108,22 @@ public final class SWFFile {
 	 * @return The decompressed data.
 	 */
 	public byte[] getDecompressedData() {
-		return decompressedData.clone();
+
+		final byte[] data = new byte[decompressedData.remaining()];
+
+		decompressedData.duplicate().get(data);
+
+		return data;
+	}
+
+	/**
+	 * Returns a read-only view of the decompressed data. Unlike
+	 * {@link #getDecompressedData()} this does not copy the data.
+	 * 
+	 * @return A read-only view of the decompressed data.
+	 */
+	public ByteBuffer getDecompressedBuffer() {
+		return decompressedData.duplicate();
 	}
 
 	/**
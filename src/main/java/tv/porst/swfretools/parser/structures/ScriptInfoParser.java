@@ -3,6 +3,7 @@ package tv.porst.swfretools.parser.structures;
 import java.util.ArrayList;
 import java.util.List;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -10,15 +11,22 @@ public class ScriptInfoParser {
 
 	public static ScriptInfo parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU30 init = EncodedU30Parser.parse(parser, fieldName + "::init");
-		final EncodedU30 traitCount = EncodedU30Parser.parse(parser, fieldName + "::trait_count");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 init = EncodedU30Parser.parse(parser, "init");
+		final EncodedU30 traitCount = EncodedU30Parser.parse(parser, "trait_count");
 
 		final List<TraitsInfo> traits = new ArrayList<TraitsInfo>();
 
 		for (int i=0;i<traitCount.value();i++) {
-			traits.add(TraitsInfoParser.parse(parser, String.format(fieldName + "::traits[%d]", i)));
+			context.element(i);
+			traits.add(TraitsInfoParser.parse(parser, "traits"));
+			context.leave();
 		}
 
+		context.leave();
+
 		return new ScriptInfo(init, traitCount, new TraitsInfoList(traits));
 	}
 
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,8 +30,11 @@ public final class Shape3Parser {
 	 */
 	public static Shape3 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits numFillBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumFillBits");
-		final UBits numLineBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumLineBits");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits numFillBits = parseUBits(parser, 4, 0x00006, "NumFillBits");
+		final UBits numLineBits = parseUBits(parser, 4, 0x00006, "NumLineBits");
 		final List<Shape3Record> shapeRecords = new ArrayList<Shape3Record>();
 
 		Shape3Record shapeRecord = null;
@@ -40,7 +44,7 @@ public final class Shape3Parser {
 
 		do {
 
-			shapeRecord = ShapeRecord3Parser.parse(parser, currentNumFillBits, currentNumLineBits, fieldName + "::ShapeRecord");
+			shapeRecord = ShapeRecord3Parser.parse(parser, currentNumFillBits, currentNumLineBits, "ShapeRecord");
 
 			shapeRecords.add(shapeRecord);
 
@@ -53,6 +57,8 @@ public final class Shape3Parser {
 
 		parser.align();
 
+		context.leave();
+
 		return new Shape3(numFillBits, numLineBits, new Shape3RecordList(shapeRecords));
 	}
 }
\ No newline at end of file
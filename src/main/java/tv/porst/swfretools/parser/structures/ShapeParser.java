@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,8 +30,11 @@ public final class ShapeParser {
 	 */
 	public static Shape parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits numFillBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumFillBits");
-		final UBits numLineBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumLineBits");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UBits numFillBits = parseUBits(parser, 4, 0x00006, "NumFillBits");
+		final UBits numLineBits = parseUBits(parser, 4, 0x00006, "NumLineBits");
 
 		final List<ShapeRecord> shapeRecords = new ArrayList<ShapeRecord>();
 
@@ -41,7 +45,7 @@ public final class ShapeParser {
 
 		do {
 
-			shapeRecord = ShapeRecordParser.parse(parser, currentNumFillBits, currentNumLineBits, fieldName + "::ShapeRecord");
+			shapeRecord = ShapeRecordParser.parse(parser, currentNumFillBits, currentNumLineBits, "ShapeRecord");
 
 			shapeRecords.add(shapeRecord);
 
@@ -60,6 +64,8 @@ public final class ShapeParser {
 
 		parser.align();
 
+		context.leave();
+
 		return new Shape(numFillBits, numLineBits, new ShapeRecordList(shapeRecords));
 	}
 }
\ No newline at end of file
@@ -26,15 +26,15 @@ public final class ShapeRecordParser {
 	 */
 	public static ShapeRecord parse(final SWFBinaryParser parser, final UBits fillBits, final UBits lineBits, final String fieldName) throws SWFParserException {
 
-		final UBits first6 = parser.peekBits(6);
+		final int first6 = parser.peekUbits(6);
 
-		if (first6.value() == 0) {
+		if (first6 == 0) {
 			return EndShapeRecordParser.parse(parser, fieldName);
 		}
-		else if ((first6.value() & 0x30) == 0x30) {
+		else if ((first6 & 0x30) == 0x30) {
 			return StraightEdgeRecordParser.parse(parser, fieldName);
 		}
-		else if ((first6.value() & 0x20) == 0x20) {
+		else if ((first6 & 0x20) == 0x20) {
 			return CurvedEdgeRecordParser.parse(parser, fieldName);
 		}
 		else {
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,10 +30,13 @@ public final class ShapeWithStyle3Parser {
 	 */
 	public static ShapeWithStyle3 parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final FillStyle3Array fillStyles = FillStyle3ArrayParser.parse(parser, fieldName + "::FillStyles");
-		final LineStyle3Array lineStyles = LineStyle3ArrayParser.parse(parser, fieldName + "::LineStyles");
-		final UBits numFillBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumFillBits");
-		final UBits numLineBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumLineBits");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final FillStyle3Array fillStyles = FillStyle3ArrayParser.parse(parser, "FillStyles");
+		final LineStyle3Array lineStyles = LineStyle3ArrayParser.parse(parser, "LineStyles");
+		final UBits numFillBits = parseUBits(parser, 4, 0x00006, "NumFillBits");
+		final UBits numLineBits = parseUBits(parser, 4, 0x00006, "NumLineBits");
 		final List<Shape3Record> shapeRecords = new ArrayList<Shape3Record>();
 
 		Shape3Record shapeRecord = null;
@@ -42,7 +46,7 @@ public final class ShapeWithStyle3Parser {
 
 		do {
 
-			shapeRecord = ShapeRecord3Parser.parse(parser, currentNumFillBits, currentNumLineBits, fieldName + "::ShapeRecord");
+			shapeRecord = ShapeRecord3Parser.parse(parser, currentNumFillBits, currentNumLineBits, "ShapeRecord");
 
 			shapeRecords.add(shapeRecord);
 
@@ -61,6 +65,8 @@ public final class ShapeWithStyle3Parser {
 
 		parser.align();
 
+		context.leave();
+
 		return new ShapeWithStyle3(fillStyles, lineStyles, numFillBits, numLineBits, shapeRecord);
 	}
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -29,10 +30,13 @@ public final class ShapeWithStyleParser {
 	 */
 	public static ShapeWithStyle parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final FillStyleArray fillStyles = FillStyleArrayParser.parse(parser, fieldName + "::FillStyles");
-		final LineStyleArray lineStyles = LineStyleArrayParser.parse(parser, fieldName + "::LineStyle");
-		final UBits numFillBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumFillBits");
-		final UBits numLineBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumLineBits");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final FillStyleArray fillStyles = FillStyleArrayParser.parse(parser, "FillStyles");
+		final LineStyleArray lineStyles = LineStyleArrayParser.parse(parser, "LineStyle");
+		final UBits numFillBits = parseUBits(parser, 4, 0x00006, "NumFillBits");
+		final UBits numLineBits = parseUBits(parser, 4, 0x00006, "NumLineBits");
 
 		final List<ShapeRecord> shapeRecords = new ArrayList<ShapeRecord>();
 
@@ -43,7 +47,7 @@ public final class ShapeWithStyleParser {
 
 		do {
 
-			shapeRecord = ShapeRecordParser.parse(parser, currentNumFillBits, currentNumLineBits, fieldName + "::ShapeRecord");
+			shapeRecord = ShapeRecordParser.parse(parser, currentNumFillBits, currentNumLineBits, "ShapeRecord");
 
 			shapeRecords.add(shapeRecord);
 
@@ -62,6 +66,8 @@ public final class ShapeWithStyleParser {
 
 		parser.align();
 
+		context.leave();
+
 		return new ShapeWithStyle(fillStyles, lineStyles, numFillBits, numLineBits, shapeRecord);
 	}
 }
\ No newline at end of file
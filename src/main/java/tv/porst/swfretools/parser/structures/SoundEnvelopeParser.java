@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT32;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT32;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -27,9 +28,14 @@ public final class SoundEnvelopeParser {
 	 */
 	public static SoundEnvelope parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT32 pos44 = parseUINT32(parser, 0x00006, fieldName + "::Pos44");
-		final UINT16 leftLevel = parseUINT16(parser, 0x00006, fieldName + "LeftLevel");
-		final UINT16 rightLevel = parseUINT16(parser, 0x00006, fieldName + "RightLevel");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT32 pos44 = parseUINT32(parser, 0x00006, "Pos44");
+		final UINT16 leftLevel = parseUINT16(parser, 0x00006, "LeftLevel");
+		final UINT16 rightLevel = parseUINT16(parser, 0x00006, "RightLevel");
+
+		context.leave();
 
 		return new SoundEnvelope(pos44, leftLevel, rightLevel);
 	}
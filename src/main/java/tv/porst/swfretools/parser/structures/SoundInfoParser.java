@@ -14,6 +14,7 @@ import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT32;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -37,27 +38,34 @@ public final class SoundInfoParser {
 	 */
 	public static SoundInfo parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UBits reserved = parseUBits(parser, 2, 0x00006, fieldName + "::Reserved");
-		final Flag syncStop = parseFlag(parser, 0x00006, fieldName + "::SyncStopY");
-		final Flag syncNoMultiple = parseFlag(parser, 0x00006, fieldName + "::SyncNoMultiple");
-		final Flag hasEnvelope = parseFlag(parser, 0x00006, fieldName + "::HasMultiple");
-		final Flag hasLoops = parseFlag(parser, 0x00006, fieldName + "::HasLoops");
-		final Flag hasOutPoint= parseFlag(parser, 0x00006, fieldName + "::HasOutPoint");
-		final Flag hasInPoint = parseFlag(parser, 0x00006, fieldName + "::HasInPoint");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
 
-		final UINT32 inPoint = parseUINT32If(parser, 0x00006, hasInPoint, fieldName + "::InPoint");
-		final UINT32 outPoint = parseUINT32If(parser, 0x00006, hasOutPoint, fieldName + "::OutPoint");
-		final UINT16 loopCount = parseUINT16If(parser, 0x000006, hasLoops, fieldName + "::LoopCount");
-		final UINT8 envPoints = parseUINT8If(parser, 0x00006, hasEnvelope, fieldName + "::EnvPoints");
+		final UBits reserved = parseUBits(parser, 2, 0x00006, "Reserved");
+		final Flag syncStop = parseFlag(parser, 0x00006, "SyncStopY");
+		final Flag syncNoMultiple = parseFlag(parser, 0x00006, "SyncNoMultiple");
+		final Flag hasEnvelope = parseFlag(parser, 0x00006, "HasMultiple");
+		final Flag hasLoops = parseFlag(parser, 0x00006, "HasLoops");
+		final Flag hasOutPoint= parseFlag(parser, 0x00006, "HasOutPoint");
+		final Flag hasInPoint = parseFlag(parser, 0x00006, "HasInPoint");
+
+		final UINT32 inPoint = parseUINT32If(parser, 0x00006, hasInPoint, "InPoint");
+		final UINT32 outPoint = parseUINT32If(parser, 0x00006, hasOutPoint, "OutPoint");
+		final UINT16 loopCount = parseUINT16If(parser, 0x000006, hasLoops, "LoopCount");
+		final UINT8 envPoints = parseUINT8If(parser, 0x00006, hasEnvelope, "EnvPoints");
 
 		final List<SoundEnvelope> envelopeRecords = new ArrayList<SoundEnvelope>();
 
 		if (hasEnvelope.value()) {
 			for (int i=0;i<envPoints.value();i++) {
-				envelopeRecords.add(SoundEnvelopeParser.parse(parser, String.format("EnvelopeRecords[%d]", i)));
+				context.element(i);
+				envelopeRecords.add(SoundEnvelopeParser.parse(parser, "EnvelopeRecords"));
+				context.leave();
 			}
 		}
 
+		context.leave();
+
 		return new SoundInfo(reserved, syncStop, syncNoMultiple, hasEnvelope, hasLoops,
 				hasOutPoint, hasInPoint, inPoint, outPoint, loopCount, envPoints,
 				new SoundEnvelopeList(envelopeRecords));
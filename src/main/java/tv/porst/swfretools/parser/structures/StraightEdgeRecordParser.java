@@ -7,6 +7,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseUBits;
 import tv.porst.splib.binaryparser.Bits;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -30,13 +31,18 @@ public final class StraightEdgeRecordParser {
 	 */
 	public static StraightEdgeRecord parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final Flag typeFlag = parseFlag(parser, 0x00006, fieldName + "::TypeFlag");
-		final Flag straightFlag = parseFlag(parser, 0x00006, fieldName + "::StraightFlag");
-		final UBits numBits = parseUBits(parser, 4, 0x00006, fieldName + "::NumBits");
-		final Flag generalLineFlag = parseFlag(parser, 0x00006, fieldName + "::GeneralLineFlag");
-		final Flag vertLineFlag =  parseFlagIf(parser, 0x00006, !generalLineFlag.value(), fieldName + "::VertLineFlag");
-		final Bits deltaX = parseSBitsIf(parser, numBits.value() + 2, 0x00006, generalLineFlag.value() || !vertLineFlag.value(), fieldName + "::DeltaX");
-		final Bits deltaY = parseSBitsIf(parser, numBits.value() + 2, 0x00006, generalLineFlag.value() || vertLineFlag.value(), fieldName + "::DeltaY");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final Flag typeFlag = parseFlag(parser, 0x00006, "TypeFlag");
+		final Flag straightFlag = parseFlag(parser, 0x00006, "StraightFlag");
+		final UBits numBits = parseUBits(parser, 4, 0x00006, "NumBits");
+		final Flag generalLineFlag = parseFlag(parser, 0x00006, "GeneralLineFlag");
+		final Flag vertLineFlag =  parseFlagIf(parser, 0x00006, !generalLineFlag.value(), "VertLineFlag");
+		final Bits deltaX = parseSBitsIf(parser, numBits.value() + 2, 0x00006, generalLineFlag.value() || !vertLineFlag.value(), "DeltaX");
+		final Bits deltaY = parseSBitsIf(parser, numBits.value() + 2, 0x00006, generalLineFlag.value() || vertLineFlag.value(), "DeltaY");
+
+		context.leave();
 
 		return new StraightEdgeRecord(typeFlag, straightFlag, numBits, generalLineFlag, vertLineFlag, deltaX, deltaY);
 	}
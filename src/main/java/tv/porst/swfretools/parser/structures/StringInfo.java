@@ -1,15 +1,15 @@
 package tv.porst.swfretools.parser.structures;
 
-import tv.porst.splib.binaryparser.AsciiString;
 import tv.porst.splib.binaryparser.IFileElement;
+import tv.porst.splib.binaryparser.UTF8String;
 import tv.porst.swfretools.parser.SWFParserHelpers;
 
 public class StringInfo implements IFileElement {
 
 	private final EncodedU30 size;
-	private final AsciiString name;
+	private final UTF8String name;
 
-	public StringInfo(final EncodedU30 size, final AsciiString name) {
+	public StringInfo(final EncodedU30 size, final UTF8String name) {
 		this.size = size;
 		this.name = name;
 	}
@@ -29,7 +29,7 @@ public class StringInfo implements IFileElement {
 	 *
 	 * @return The
 	 */
-	public AsciiString getName() {
+	public UTF8String getName() {
 		return name;
 	}
 
@@ -1,7 +1,8 @@
 package tv.porst.swfretools.parser.structures;
 
-import static tv.porst.swfretools.parser.SWFParserHelpers.parseString;
-import tv.porst.splib.binaryparser.AsciiString;
+import static tv.porst.swfretools.parser.SWFParserHelpers.parseUTF8String;
+import tv.porst.splib.binaryparser.UTF8String;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -9,8 +10,13 @@ public class StringInfoParser {
 
 	public static StringInfo parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU30 size = EncodedU30Parser.parse(parser, fieldName + "::size");
-		final AsciiString name = parseString(parser, (int) size.value(), 0x00006, fieldName + "::utf8");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 size = EncodedU30Parser.parse(parser, "size");
+		final UTF8String name = parseUTF8String(parser, (int) size.value(), 0x00006, "utf8");
+
+		context.leave();
 
 		return new StringInfo(size, name);
 	}
@@ -4,6 +4,7 @@ import static tv.porst.swfretools.parser.SWFParserHelpers.parseString;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT16;
 import tv.porst.splib.binaryparser.AsciiString;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -27,8 +28,13 @@ public final class SymbolParser {
 	 */
 	public static Symbol parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT16 tag = parseUINT16(parser, 0x00006, fieldName + "::Tag");
-		final AsciiString name = parseString(parser, 0x00006, fieldName + "::Name");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT16 tag = parseUINT16(parser, 0x00006, "Tag");
+		final AsciiString name = parseString(parser, 0x00006, "Name");
+
+		context.leave();
 
 		return new Symbol(tag, name);
 	}
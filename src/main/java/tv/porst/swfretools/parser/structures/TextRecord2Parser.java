@@ -13,6 +13,7 @@ import tv.porst.splib.binaryparser.INT16;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -38,27 +39,34 @@ public final class TextRecord2Parser {
 	 */
 	public static TextRecord2 parse(final SWFBinaryParser parser, final int glyphBits, final int advanceBits, final String fieldName) throws SWFParserException {
 
-		final Flag textRecordType = parseFlag(parser, 0x00006, fieldName + "::TextRecordType");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final Flag textRecordType = parseFlag(parser, 0x00006, "TextRecordType");
 		final UBits styleFlagsReserved = parser.readBits(3);
-		final Flag styleFlagsHasFont = parseFlag(parser, 0x00006, fieldName + "::StyleFlagsHasFont");
-		final Flag styleFlagsHasColor = parseFlag(parser, 0x00006, fieldName + "::StyleFlagsHasColor");
-		final Flag styleFlagsHasYOffset = parseFlag(parser, 0x00006, fieldName + "::StyleFlagsHasYOffset");
-		final Flag styleFlagsHasXOffset = parseFlag(parser, 0x00006, fieldName + "::StyleFlagsHasXOffset");
-		final UINT16 fontID = parseUINT16If(parser, 0x00006, styleFlagsHasFont, fieldName + "::FontID");
-		final RGBA textColor = RGBAParser.parseIf(parser, styleFlagsHasColor, fieldName + "::TextColor");
-		final INT16 xOffset = parseINT16If(parser, 0x00006, styleFlagsHasXOffset, fieldName + "::XOffset");
-		final INT16 yOffset = parseINT16If(parser, 0x00006, styleFlagsHasYOffset, fieldName + "::YOffset");
-		final UINT16 textHeight = parseUINT16If(parser, 0x00006, styleFlagsHasFont, fieldName + "::TextHeight");
-		final UINT8 glyphCount = parseUINT8(parser, 0x00006, fieldName + "::GlyphCount");
+		final Flag styleFlagsHasFont = parseFlag(parser, 0x00006, "StyleFlagsHasFont");
+		final Flag styleFlagsHasColor = parseFlag(parser, 0x00006, "StyleFlagsHasColor");
+		final Flag styleFlagsHasYOffset = parseFlag(parser, 0x00006, "StyleFlagsHasYOffset");
+		final Flag styleFlagsHasXOffset = parseFlag(parser, 0x00006, "StyleFlagsHasXOffset");
+		final UINT16 fontID = parseUINT16If(parser, 0x00006, styleFlagsHasFont, "FontID");
+		final RGBA textColor = RGBAParser.parseIf(parser, styleFlagsHasColor, "TextColor");
+		final INT16 xOffset = parseINT16If(parser, 0x00006, styleFlagsHasXOffset, "XOffset");
+		final INT16 yOffset = parseINT16If(parser, 0x00006, styleFlagsHasYOffset, "YOffset");
+		final UINT16 textHeight = parseUINT16If(parser, 0x00006, styleFlagsHasFont, "TextHeight");
+		final UINT8 glyphCount = parseUINT8(parser, 0x00006, "GlyphCount");
 
 		final List<GlyphEntry> glyphEntries = new ArrayList<GlyphEntry>();
 
 		for (int i=0;i<glyphCount.value();i++) {
-			glyphEntries.add(GlyphEntryParser.parse(parser, glyphBits, advanceBits, String.format("GlyphEntries[%d]", i)));
+			context.element(i);
+			glyphEntries.add(GlyphEntryParser.parse(parser, glyphBits, advanceBits, "GlyphEntries"));
+			context.leave();
 		}
 
 		parser.align();
 
+		context.leave();
+
 		return new TextRecord2(textRecordType, styleFlagsReserved, styleFlagsHasFont,
 				styleFlagsHasColor, styleFlagsHasYOffset, styleFlagsHasXOffset,
 				fontID, textColor, xOffset, yOffset, textHeight, glyphCount, new GlyphEntryList(glyphEntries));
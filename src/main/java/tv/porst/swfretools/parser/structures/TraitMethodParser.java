@@ -1,5 +1,6 @@
 package tv.porst.swfretools.parser.structures;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -7,8 +8,13 @@ public class TraitMethodParser {
 
 	public static TraitMethod parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU30 dispId = EncodedU30Parser.parse(parser, fieldName + "::disp_id");
-		final EncodedU30 method = EncodedU30Parser.parse(parser, fieldName + "::method");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 dispId = EncodedU30Parser.parse(parser, "disp_id");
+		final EncodedU30 method = EncodedU30Parser.parse(parser, "method");
+
+		context.leave();
 
 		return new TraitMethod(dispId, method);
 	}
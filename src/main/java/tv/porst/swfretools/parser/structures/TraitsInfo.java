@@ -8,6 +8,8 @@ public class TraitsInfo implements IFileElement {
 
 	private final EncodedU30 name;
 
+	private final UINT8 kind;
+
 	private final ITraitKind data;
 
 	private final EncodedU30 metaDataCount;
@@ -18,13 +20,14 @@ public class TraitsInfo implements IFileElement {
 			final EncodedU30 metaDataCount, final EncodedU30List metaData) {
 
 		this.name = name;
+		this.kind = kind;
 		this.data = data;
 		this.metaDataCount = metaDataCount;
 		this.metaData = metaData;
 	}
 	@Override
 	public int getBitLength() {
-		return SWFParserHelpers.addBitLengths(name, data, metaDataCount, metaData);
+		return SWFParserHelpers.addBitLengths(name, kind, data, metaDataCount, metaData);
 	}
 	@Override
 	public int getBitPosition() {
@@ -39,6 +42,15 @@ public class TraitsInfo implements IFileElement {
 		return data;
 	}
 
+	/**
+	 * Returns the
+	 *
+	 * @return The
+	 */
+	public UINT8 getKind() {
+		return kind;
+	}
+
 	/**
 	 * Returns the
 	 *
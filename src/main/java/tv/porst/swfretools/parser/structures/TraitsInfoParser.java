@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -27,22 +28,29 @@ public class TraitsInfoParser {
 
 	public static TraitsInfo parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final EncodedU30 name = EncodedU30Parser.parse(parser, fieldName + "::name");
-		final UINT8 kind = parseUINT8(parser, 0x00006, fieldName + "::kind");
-		final ITraitKind data = parseTraitKind(parser, kind, fieldName + "::data");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final EncodedU30 name = EncodedU30Parser.parse(parser, "name");
+		final UINT8 kind = parseUINT8(parser, 0x00006, "kind");
+		final ITraitKind data = parseTraitKind(parser, kind, "data");
 
 		final boolean hasMetaData = (kind.value() >>> 4 & 0x4) != 0;
 
-		final EncodedU30 metaDataCount = hasMetaData ? EncodedU30Parser.parse(parser, fieldName + "::metadata_count") : null;
+		final EncodedU30 metaDataCount = hasMetaData ? EncodedU30Parser.parse(parser, "metadata_count") : null;
 
 		final List<EncodedU30> metaData = hasMetaData ? new ArrayList<EncodedU30>() : null;
 
 		if (hasMetaData) {
 			for (int i=0;i<metaDataCount.value();i++) {
-				metaData.add(EncodedU30Parser.parse(parser, String.format(fieldName + "::meta_data[%d]", i)));
+				context.element(i);
+				metaData.add(EncodedU30Parser.parse(parser, "meta_data"));
+				context.leave();
 			}
 		}
 
+		context.leave();
+
 		return new TraitsInfo(name, kind, data, metaDataCount, metaData == null ? null : new EncodedU30List(metaData));
 	}
 
@@ -2,6 +2,7 @@ package tv.porst.swfretools.parser.structures;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseFloat16;
 import tv.porst.splib.binaryparser.Float16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -25,8 +26,13 @@ public final class ZoneDataParser {
 	 */
 	public static ZoneData parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final Float16 alignmentCoordinate = parseFloat16(parser, 0x00006, fieldName + "::AlignmentCoordinate");
-		final Float16 range = parseFloat16(parser, 0x00006, fieldName + "::Range");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final Float16 alignmentCoordinate = parseFloat16(parser, 0x00006, "AlignmentCoordinate");
+		final Float16 range = parseFloat16(parser, 0x00006, "Range");
+
+		context.leave();
 
 		return new ZoneData(alignmentCoordinate, range);
 	}
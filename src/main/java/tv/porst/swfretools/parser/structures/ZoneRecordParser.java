@@ -10,6 +10,7 @@ import java.util.List;
 import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 
@@ -33,17 +34,24 @@ public final class ZoneRecordParser {
 	 */
 	public static ZoneRecord parse(final SWFBinaryParser parser, final String fieldName) throws SWFParserException {
 
-		final UINT8 numZoneData = parseUINT8(parser, 0x00006, fieldName + "::NumZoneData");
+		final ParseContext context = parser.getContext();
+		context.enter(fieldName);
+
+		final UINT8 numZoneData = parseUINT8(parser, 0x00006, "NumZoneData");
 
 		final List<ZoneData> zoneData = new ArrayList<ZoneData>();
 
 		for (int i=0;i<numZoneData.value();i++) {
-			zoneData.add(ZoneDataParser.parse(parser, String.format("zoneData[%d]", i)));
+			context.element(i);
+			zoneData.add(ZoneDataParser.parse(parser, "zoneData"));
+			context.leave();
 		}
 
-		final UBits reserved = parseUBits(parser, 6, 0x00006, fieldName + "::Reserved");
-		final Flag zoneMaskY = parseFlag(parser, 0x00006, fieldName + "::ZoneMaskY");
-		final Flag zoneMaskX = parseFlag(parser, 0x00006, fieldName + "::ZoneMaskX");
+		final UBits reserved = parseUBits(parser, 6, 0x00006, "Reserved");
+		final Flag zoneMaskY = parseFlag(parser, 0x00006, "ZoneMaskY");
+		final Flag zoneMaskX = parseFlag(parser, 0x00006, "ZoneMaskX");
+
+		context.leave();
 
 		return new ZoneRecord(numZoneData, new ZoneDataList(zoneData), reserved, zoneMaskY, zoneMaskX);
 	}
@@ -12,6 +12,7 @@ import tv.porst.splib.binaryparser.Flag;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.ButtonCondAction;
@@ -39,6 +40,8 @@ public final class DefineButton2Parser {
 	 */
 	public static DefineButton2Tag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 buttonId = parseUINT16(parser, 0x00006, "DefineButton2::ButtonId");
 		final UBits reservedFlags = parseUBits(parser, 7, 0x00006, "DefineButton2::ReservedFlags");
 		final Flag trackAsMenu = parseFlag(parser, 0x00006, "DefineButton2::TrackAsMenu");
@@ -47,11 +50,13 @@ public final class DefineButton2Parser {
 		final List<ButtonRecord2> characters = new ArrayList<ButtonRecord2>();
 
 		do {
-			if (parser.peekUInt8().value() == 0) {
+			if (parser.peekU8() == 0) {
 				break;
 			}
 
-			characters.add(ButtonRecord2Parser.parse(parser, String.format("DefineButton2::Characters[%d]", characters.size())));
+			context.element(characters.size());
+			characters.add(ButtonRecord2Parser.parse(parser, "DefineButton2::Characters"));
+			context.leave();
 
 		} while (true);
 
@@ -62,7 +67,9 @@ public final class DefineButton2Parser {
 		if (actionOffset.value() != 0) {
 
 			do {
-				final ButtonCondAction action = ButtonCondActionParser.parse(parser, header, String.format("DefineButton2::ButtonCondAction[%d]", actions.size()));
+				context.element(actions.size());
+				final ButtonCondAction action = ButtonCondActionParser.parse(parser, header, "DefineButton2::ButtonCondAction");
+				context.leave();
 
 				actions.add(action);
 
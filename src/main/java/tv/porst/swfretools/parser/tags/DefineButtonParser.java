@@ -8,6 +8,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.actions.as2.Action;
@@ -35,16 +36,20 @@ public final class DefineButtonParser {
 	 */
 	public static DefineButtonTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 buttonId = parseUINT16(parser, 0x00006, "DefineButton::ButtonId");
 
 		final List<ButtonRecord> characters = new ArrayList<ButtonRecord>();
 
 		do {
-			if (parser.peekUInt8().value() == 0) {
+			if (parser.peekU8() == 0) {
 				break;
 			}
 
-			characters.add(ButtonRecordParser.parse(parser, String.format("DefineButton::Characters[%d]", characters.size())));
+			context.element(characters.size());
+			characters.add(ButtonRecordParser.parse(parser, "DefineButton::Characters"));
+			context.leave();
 
 		} while (true);
 
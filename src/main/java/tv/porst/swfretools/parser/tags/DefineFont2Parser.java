@@ -18,6 +18,7 @@ import tv.porst.splib.binaryparser.INT16;
 import tv.porst.splib.binaryparser.IParsedINTElement;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.INT16List;
@@ -50,6 +51,8 @@ public final class DefineFont2Parser {
 	 */
 	public static DefineFont2Tag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 fontId = parseUINT16(parser, 0x00006, "DefineFont2::FontId");
 		final Flag fontFlagsHasLayout = parser.readFlag();
 		final Flag fontFlagsShiftJIS = parseFlag(parser, 0x00006, "DefineFont2::FontFlagsShiftJIS");
@@ -68,10 +71,14 @@ public final class DefineFont2Parser {
 
 		for (int i=0;i<numGlyphs.value();i++) {
 			if (fontFlagsWideOffsets.value()) {
-				offsetTable.add(parseUINT32(parser, 0x00006, String.format("DefineFont2::OffsetTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT32(parser, 0x00006, "DefineFont2::OffsetTable"));
+				context.leave();
 			}
 			else {
-				offsetTable.add(parseUINT16(parser, 0x00006, String.format("DefineFont2::OffsetTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT16(parser, 0x00006, "DefineFont2::OffsetTable"));
+				context.leave();
 			}
 		}
 
@@ -80,17 +87,23 @@ public final class DefineFont2Parser {
 		final List<Shape> glyphShapeTable = new ArrayList<Shape>();
 
 		for (int i=0;i<numGlyphs.value();i++) {
-			glyphShapeTable.add(ShapeParser.parse(parser, String.format("GlyphShapeTable[%d]", i)));
+			context.element(i);
+			glyphShapeTable.add(ShapeParser.parse(parser, "GlyphShapeTable"));
+			context.leave();
 		}
 
 		final List<IParsedINTElement> codeTable = new ArrayList<IParsedINTElement>();
 
 		for (int i=0;i<numGlyphs.value();i++) {
 			if (fontFlagsWideCodes.value()) {
-				offsetTable.add(parseUINT16(parser, 0x00006, String.format("DefineFont2::CodeTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT16(parser, 0x00006, "DefineFont2::CodeTable"));
+				context.leave();
 			}
 			else {
-				offsetTable.add(parseUINT8(parser, 0x00006, String.format("DefineFont2::CodeTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT8(parser, 0x00006, "DefineFont2::CodeTable"));
+				context.leave();
 			}
 		}
 
@@ -103,11 +116,15 @@ public final class DefineFont2Parser {
 
 		if (fontFlagsHasLayout.value()) {
 			for (int i=0;i<numGlyphs.value();i++) {
-				fontAdvanceTable.add(parseINT16(parser, 0x00006, String.format("DefineFont2::FontAdvanceTable[%d]", i)));
+				context.element(i);
+				fontAdvanceTable.add(parseINT16(parser, 0x00006, "DefineFont2::FontAdvanceTable"));
+				context.leave();
 			}
 
 			for (int i=0;i<numGlyphs.value();i++) {
-				fontBoundsTable.add(RectParser.parse(parser, String.format("DefineFont2::FontBoundsTable[%d]", i)));
+				context.element(i);
+				fontBoundsTable.add(RectParser.parse(parser, "DefineFont2::FontBoundsTable"));
+				context.leave();
 			}
 		}
 
@@ -117,7 +134,9 @@ public final class DefineFont2Parser {
 
 		if (fontFlagsHasLayout.value()) {
 			for (int i=0;i<kerningCount.value();i++) {
-				fontKerningTable.add(KerningRecordParser.parse(parser, fontFlagsWideCodes.value(), String.format("DefineFont2::FontKerningTable[%d]", i)));
+				context.element(i);
+				fontKerningTable.add(KerningRecordParser.parse(parser, fontFlagsWideCodes.value(), "DefineFont2::FontKerningTable"));
+				context.leave();
 			}
 		}
 
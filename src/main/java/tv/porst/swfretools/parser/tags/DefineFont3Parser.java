@@ -18,6 +18,7 @@ import tv.porst.splib.binaryparser.INT16;
 import tv.porst.splib.binaryparser.IParsedINTElement;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.INT16List;
@@ -50,6 +51,8 @@ public final class DefineFont3Parser {
 	 */
 	public static DefineFont3Tag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final int endPosition = parser.getBytePosition() + header.getNormalizedLength();
 
 		final UINT16 fontId = parseUINT16(parser, 0x00006, "DefineFont3::FontId");
@@ -70,10 +73,14 @@ public final class DefineFont3Parser {
 
 		for (int i=0;i<numGlyphs.value();i++) {
 			if (fontFlagsWideOffsets.value()) {
-				offsetTable.add(parseUINT32(parser, 0x00006, String.format("DefineFont3::OffsetTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT32(parser, 0x00006, "DefineFont3::OffsetTable"));
+				context.leave();
 			}
 			else {
-				offsetTable.add(parseUINT16(parser, 0x00006, String.format("DefineFont3::OffsetTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT16(parser, 0x00006, "DefineFont3::OffsetTable"));
+				context.leave();
 			}
 		}
 
@@ -86,17 +93,23 @@ public final class DefineFont3Parser {
 		final List<Shape3> glyphShapeTable = new ArrayList<Shape3>();
 
 		for (int i=0;i<numGlyphs.value();i++) {
-			glyphShapeTable.add(Shape3Parser.parse(parser, String.format("GlyphShapeTable[%d]", i)));
+			context.element(i);
+			glyphShapeTable.add(Shape3Parser.parse(parser, "GlyphShapeTable"));
+			context.leave();
 		}
 
 		final List<IParsedINTElement> codeTable = new ArrayList<IParsedINTElement>();
 
 		for (int i=0;i<numGlyphs.value();i++) {
 			if (fontFlagsWideCodes.value()) {
-				offsetTable.add(parseUINT16(parser, 0x00006, String.format("DefineFont3::CodeTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT16(parser, 0x00006, "DefineFont3::CodeTable"));
+				context.leave();
 			}
 			else {
-				offsetTable.add(parseUINT8(parser, 0x00006, String.format("DefineFont3::CodeTable[%d]", i)));
+				context.element(i);
+				offsetTable.add(parseUINT8(parser, 0x00006, "DefineFont3::CodeTable"));
+				context.leave();
 			}
 		}
 
@@ -111,11 +124,15 @@ public final class DefineFont3Parser {
 
 		if (parseFont) {
 			for (int i=0;i<numGlyphs.value();i++) {
-				fontAdvanceTable.add(parseINT16(parser, 0x00006, String.format("DefineFont3::FontAdvanceTable[%d]", i)));
+				context.element(i);
+				fontAdvanceTable.add(parseINT16(parser, 0x00006, "DefineFont3::FontAdvanceTable"));
+				context.leave();
 			}
 
 			for (int i=0;i<numGlyphs.value();i++) {
-				fontBoundsTable.add(RectParser.parse(parser, String.format("DefineFont3::FontBoundsTable[%d]", i)));
+				context.element(i);
+				fontBoundsTable.add(RectParser.parse(parser, "DefineFont3::FontBoundsTable"));
+				context.leave();
 			}
 		}
 
@@ -125,7 +142,9 @@ public final class DefineFont3Parser {
 
 		if (parseFont) {
 			for (int i=0;i<kerningCount.value();i++) {
-				fontKerningTable.add(KerningRecordParser.parse(parser, fontFlagsWideCodes.value(), String.format("DefineFont3::FontKerningTable[%d]", i)));
+				context.element(i);
+				fontKerningTable.add(KerningRecordParser.parse(parser, fontFlagsWideCodes.value(), "DefineFont3::FontKerningTable"));
+				context.leave();
 			}
 		}
 
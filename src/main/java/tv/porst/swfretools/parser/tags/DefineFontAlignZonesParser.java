@@ -8,6 +8,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.RecordHeader;
@@ -43,6 +44,8 @@ public final class DefineFontAlignZonesParser {
 	 */
 	public static DefineFontAlignZonesTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 fontId = parseUINT16(parser, 0x00006, "DefineFontAlignZones::FontId");
 		final UBits csmTableHint = parseUBits(parser, 2, 0x00006, "DefineFontAlignZones::CSMTableHint");
 		final UBits reserved = parseUBits(parser, 6, 0x00006, "DefineFontAlignZones::Reserved");
@@ -52,7 +55,9 @@ public final class DefineFontAlignZonesParser {
 		int toParse = header.getNormalizedLength() - 2 - 1;
 
 		while (toParse > 0) {
-			final ZoneRecord zoneRecord = ZoneRecordParser.parse(parser, String.format("DefineFontAlignZones::ZoneTable[%d]", zoneTable.size()));
+			context.element(zoneTable.size());
+			final ZoneRecord zoneRecord = ZoneRecordParser.parse(parser, "DefineFontAlignZones::ZoneTable");
+			context.leave();
 			zoneTable.add(zoneRecord);
 
 			toParse -= calculateLength(zoneRecord);
@@ -15,6 +15,7 @@ import tv.porst.splib.binaryparser.IParsedINTElement;
 import tv.porst.splib.binaryparser.UBits;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.ParsedINTElementList;
@@ -37,6 +38,8 @@ public final class DefineFontInfo2Parser {
 	 */
 	public static DefineFontInfo2Tag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 fontId = parseUINT16(parser, 0x00006, "DefineFontInfo2::FontId");
 		final UINT8 fontNameLen = parseUINT8(parser, 0x00006, "DefineFontInfo2::FontNameLen");
 		final AsciiString fontName = parseString(parser, fontNameLen.value(), 0x00006, "DefineFontInfo2::FontName");
@@ -57,10 +60,14 @@ public final class DefineFontInfo2Parser {
 
 		for (int i=0;i<numberOfGlyphs;i++) {
 			if (fontFlagsWideCodes.value()) {
-				codeTable.add(parseUINT16(parser, 0x00006, String.format("DefineFontInfo2::CodeTable[%d]", i)));
+				context.element(i);
+				codeTable.add(parseUINT16(parser, 0x00006, "DefineFontInfo2::CodeTable"));
+				context.leave();
 			}
 			else {
-				codeTable.add(parseUINT8(parser, 0x00006, String.format("DefineFontInfo2::CodeTable[%d]", i)));
+				context.element(i);
+				codeTable.add(parseUINT8(parser, 0x00006, "DefineFontInfo2::CodeTable"));
+				context.leave();
 			}
 		}
 
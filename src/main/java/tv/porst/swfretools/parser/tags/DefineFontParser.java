@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.RecordHeader;
@@ -31,6 +32,8 @@ public final class DefineFontParser {
 	 */
 	public static DefineFontTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 fontId = parseUINT16(parser, 0x00006, "DefineFont::FontId");
 
 		final int numberOfGlyphs = parser.peekUInt16().value() / 2;
@@ -38,13 +41,17 @@ public final class DefineFontParser {
 		final List<UINT16> offsetTable = new ArrayList<UINT16>();
 
 		for (int i=0;i<numberOfGlyphs;i++) {
-			offsetTable.add(parseUINT16(parser, 0x00006, String.format("DefineFont::OffsetTable[%d]", i)));
+			context.element(i);
+			offsetTable.add(parseUINT16(parser, 0x00006, "DefineFont::OffsetTable"));
+			context.leave();
 		}
 
 		final List<Shape> glyphShapeTable = new ArrayList<Shape>();
 
 		for (int i=0;i<numberOfGlyphs;i++) {
-			glyphShapeTable.add(ShapeParser.parse(parser, String.format("DefineFont::GlyphShapeTable[%d]", i)));
+			context.element(i);
+			glyphShapeTable.add(ShapeParser.parse(parser, "DefineFont::GlyphShapeTable"));
+			context.leave();
 		}
 
 		return new DefineFontTag(header, fontId, new UINT16List(offsetTable), new ShapeList(glyphShapeTable));
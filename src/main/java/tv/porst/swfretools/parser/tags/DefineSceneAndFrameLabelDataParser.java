@@ -3,6 +3,7 @@ package tv.porst.swfretools.parser.tags;
 import java.util.ArrayList;
 import java.util.List;
 
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.EncodedU32;
@@ -32,12 +33,16 @@ public final class DefineSceneAndFrameLabelDataParser {
 	 */
 	public static DefineSceneAndFrameLabelDataTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final EncodedU32 sceneCount = EncodedU32Parser.parse(parser, "DefineSceneAndFrameLabelData::SceneCount");
 
 		final List<SceneName> sceneNames = new ArrayList<SceneName>();
 
 		for (int i=0;i<sceneCount.value();i++) {
-			sceneNames.add(SceneNameParser.parse(parser, String.format("DefineSceneAndFrameLabelData::SceneNames[%d]", i)));
+			context.element(i);
+			sceneNames.add(SceneNameParser.parse(parser, "DefineSceneAndFrameLabelData::SceneNames"));
+			context.leave();
 		}
 
 		final EncodedU32 frameLabelCount = EncodedU32Parser.parse(parser, "DefineSceneAndFrameLabelData::FrameLabelCount");
@@ -45,7 +50,9 @@ public final class DefineSceneAndFrameLabelDataParser {
 		final List<FrameLabel> frameLabels = new ArrayList<FrameLabel>();
 
 		for (int i=0;i<frameLabelCount.value();i++) {
-			frameLabels.add(FrameLabelsParser.parse(parser, String.format("DefineSceneAndFrameLabelData::FrameLabels[%d]", i)));
+			context.element(i);
+			frameLabels.add(FrameLabelsParser.parse(parser, "DefineSceneAndFrameLabelData::FrameLabels"));
+			context.leave();
 		}
 
 		return new DefineSceneAndFrameLabelDataTag(header, sceneCount, new SceneNameList(sceneNames), frameLabelCount, new FrameLabelList(frameLabels));
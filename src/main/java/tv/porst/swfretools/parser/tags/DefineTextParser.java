@@ -8,6 +8,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.Matrix;
@@ -36,6 +37,8 @@ public final class DefineTextParser {
 	 */
 	public static DefineTextTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 characterId = parseUINT16(parser, 0x00006, "DefineText::CharacterId");
 		final Rect textBounds = RectParser.parse(parser, "DefineText::TextBounds");
 		final Matrix textMatrix = MatrixParser.parse(parser, "DefineText::TextMatrix");
@@ -45,11 +48,13 @@ public final class DefineTextParser {
 		final List<TextRecord> textRecords = new ArrayList<TextRecord>();
 
 		do {
-			if (parser.peekUInt8().value() == 0) {
+			if (parser.peekU8() == 0) {
 				break;
 			}
 
-			textRecords.add(TextRecordParser.parse(parser, glyphBits.value(), advanceBits.value(), String.format("DefineText::TextRecords[%d]", textRecords.size())));
+			context.element(textRecords.size());
+			textRecords.add(TextRecordParser.parse(parser, glyphBits.value(), advanceBits.value(), "DefineText::TextRecords"));
+			context.leave();
 
 		} while (true);
 
@@ -2,8 +2,10 @@ package tv.porst.swfretools.parser.tags;
 
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseString;
 import static tv.porst.swfretools.parser.SWFParserHelpers.parseUINT32;
+
 import tv.porst.splib.binaryparser.AsciiString;
 import tv.porst.splib.binaryparser.UINT32;
+import tv.porst.swfretools.parser.ParseOptions;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.AS3Data;
@@ -26,11 +28,28 @@ public final class DoABCParser {
 	 * @throws SWFParserException Thrown if parsing the tag failed.
 	 */
 	public static DoABCTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
+		return parse(header, parser, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses a DoABC tag. The options select whether the code of the method
+	 * bodies is decoded concurrently, whether it is stored in compact form and
+	 * whether the method bodies are skipped.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param header Previously parsed header of the tag.
+	 * @param options Selects how the code of the method bodies is decoded.
+	 * 
+	 * @return Returns the parsed tag.
+	 * 
+	 * @throws SWFParserException Thrown if parsing the tag failed.
+	 */
+	public static DoABCTag parse(final RecordHeader header, final SWFBinaryParser parser, final ParseOptions options) throws SWFParserException {
 
 		final UINT32 flags = parseUINT32(parser, 0x00006, "DoABC::Flags");
 		final AsciiString name = parseString(parser, 0x00006, "DoABC::Name");
 
-		final AS3Data abcData = AS3DataParser.parse(parser, "DoABC::ABCData");
+		final AS3Data abcData = AS3DataParser.parse(parser, "DoABC::ABCData", options);
 
 		return new DoABCTag(header, flags, name, abcData);
 	}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.RecordHeader;
@@ -30,12 +31,16 @@ public final class ExportAssetsParser {
 	 */
 	public static ExportAssetsTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 count= parseUINT16(parser, 0x00006, "ExportAssets::Count");
 
 		final List<Symbol> tags = new ArrayList<Symbol>();
 
 		for (int i=0;i<count.value();i++) {
-			tags.add(SymbolParser.parse(parser, String.format("ExportAssets::Tags[%d]", i)));
+			context.element(i);
+			tags.add(SymbolParser.parse(parser, "ExportAssets::Tags"));
+			context.leave();
 		}
 
 		return new ExportAssetsTag(header, count, new SymbolList(tags));
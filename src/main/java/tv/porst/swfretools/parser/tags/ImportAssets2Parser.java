@@ -10,6 +10,7 @@ import java.util.List;
 import tv.porst.splib.binaryparser.AsciiString;
 import tv.porst.splib.binaryparser.UINT16;
 import tv.porst.splib.binaryparser.UINT8;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.RecordHeader;
@@ -34,6 +35,8 @@ public final class ImportAssets2Parser {
 	 */
 	public static ImportAssets2Tag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final AsciiString url = parseString(parser, 0x00006, "ImportAssets2::URL");
 		final UINT8 reserved = parseUINT8(parser, 0x00006, "ImportAssets2::Reserved");
 		final UINT8 reserved2 = parseUINT8(parser, 0x00006, "ImportAssets2::Reserved2");
@@ -42,7 +45,9 @@ public final class ImportAssets2Parser {
 		final List<Symbol> symbols = new ArrayList<Symbol>();
 
 		for (int i=0;i<count.value();i++) {
-			symbols.add(SymbolParser.parse(parser, String.format("ImportAssets2::SymbolList[%d]", i)));
+			context.element(i);
+			symbols.add(SymbolParser.parse(parser, "ImportAssets2::SymbolList"));
+			context.leave();
 		}
 
 		return new ImportAssets2Tag(header, url, reserved, reserved2, count, new SymbolList(symbols));
@@ -8,6 +8,7 @@ import java.util.List;
 
 import tv.porst.splib.binaryparser.AsciiString;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.RecordHeader;
@@ -32,13 +33,17 @@ public final class ImportAssetsParser {
 	 */
 	public static ImportAssetsTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final AsciiString url = parseString(parser, 0x00006, "ImportAssets::URL");
 		final UINT16 count= parseUINT16(parser, 0x00006, "ImportAssets::Count");
 
 		final List<Symbol> symbols = new ArrayList<Symbol>();
 
 		for (int i=0;i<count.value();i++) {
-			symbols.add(SymbolParser.parse(parser, String.format("ImportAssets::Symbols[%d]", i)));
+			context.element(i);
+			symbols.add(SymbolParser.parse(parser, "ImportAssets::Symbols"));
+			context.leave();
 		}
 
 		return new ImportAssetsTag(header, url, count, new SymbolList(symbols));
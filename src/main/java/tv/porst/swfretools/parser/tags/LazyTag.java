@@ -0,0 +1,139 @@
+package tv.porst.swfretools.parser.tags;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.ParserError;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.structures.RecordHeader;
+
+/**
+ * Tag whose body is decoded when it is first requested.
+ * 
+ * Lazy tags are created for tags that were not selected for decoding by the
+ * parse options. The record header and the bytes of the tag form the entry
+ * of the tag in the tag index of the file. The bytes are a view of the file
+ * data and are not copied.
+ */
+public final class LazyTag extends DummyTag {
+
+	/**
+	 * The bytes of the tag, starting with the record header.
+	 */
+	private final ByteBuffer data;
+
+	/**
+	 * Flash version number which was read from the SWF file header.
+	 */
+	private final int version;
+
+	/**
+	 * Errors that appeared while decoding the tag.
+	 */
+	private final List<ParserError> errors = new ArrayList<ParserError>();
+
+	/**
+	 * The decoded tag or null if the tag was not decoded yet or decoding failed.
+	 */
+	private Tag tag;
+
+	/**
+	 * Flag that says whether the tag was already decoded.
+	 */
+	private boolean decoded = false;
+
+	/**
+	 * Creates a new lazy tag object.
+	 * 
+	 * @param header The tag header.
+	 * @param data The bytes of the tag, starting with the record header.
+	 * @param version Flash version number which was read from the SWF file header.
+	 */
+	public LazyTag(final RecordHeader header, final ByteBuffer data, final int version) {
+		super(header);
+
+		if (data == null) {
+			throw new IllegalArgumentException("Tag data must not be null");
+		}
+
+		this.data = data.asReadOnlyBuffer();
+		this.version = version;
+	}
+
+	/**
+	 * Decodes the tag with the given options, for example without the method
+	 * bodies of ABC data. The result is not kept, so getTag still decodes the
+	 * tag with the default options.
+	 * 
+	 * @param options Options that say how the tag is decoded.
+	 * @param errors List where errors that appear during decoding are added.
+	 * 
+	 * @return The decoded tag or null if decoding failed.
+	 */
+	public Tag decode(final ParseOptions options, final List<ParserError> errors) {
+
+		final SWFBinaryParser parser = new SWFBinaryParser(data.duplicate(), getBitPosition() / 8);
+
+		try {
+			return TagParser.parseTag(parser, version, options, errors);
+		}
+		catch (final IllegalArgumentException e) {
+			errors.add(new ParserError(getBitPosition() / 8, "Tag data is truncated"));
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns a view of the bytes of the tag, starting with the record header.
+	 * 
+	 * @return The bytes of the tag.
+	 */
+	public ByteBuffer getData() {
+		return data.duplicate();
+	}
+
+	/**
+	 * Returns the errors that appeared while decoding the tag.
+	 * 
+	 * @return The errors that appeared while decoding the tag.
+	 */
+	public synchronized List<ParserError> getErrors() {
+		return new ArrayList<ParserError>(errors);
+	}
+
+	/**
+	 * Returns the decoded tag. The tag is decoded when this method is first called.
+	 * 
+	 * @return The decoded tag or null if decoding failed.
+	 */
+	public synchronized Tag getTag() {
+
+		if (!decoded) {
+
+			final SWFBinaryParser parser = new SWFBinaryParser(data.duplicate(), getBitPosition() / 8);
+
+			try {
+				tag = TagParser.parseTag(parser, version, errors);
+			}
+			catch (final IllegalArgumentException e) {
+				errors.add(new ParserError(getBitPosition() / 8, "Tag data is truncated"));
+			}
+
+			decoded = true;
+		}
+
+		return tag;
+	}
+
+	/**
+	 * Returns a flag that says whether the tag was already decoded.
+	 * 
+	 * @return True, if the tag was already decoded. False, otherwise.
+	 */
+	public synchronized boolean isDecoded() {
+		return decoded;
+	}
+}
\ No newline at end of file
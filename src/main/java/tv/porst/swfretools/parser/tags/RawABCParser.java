@@ -1,5 +1,6 @@
 package tv.porst.swfretools.parser.tags;
 
+import tv.porst.swfretools.parser.ParseOptions;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.AS3Data;
@@ -22,8 +23,25 @@ public final class RawABCParser {
 	 * @throws SWFParserException Thrown if parsing the tag failed.
 	 */
 	public static RawABCTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
+		return parse(header, parser, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses a RawABC tag. The options select whether the code of the method
+	 * bodies is decoded concurrently, whether it is stored in compact form and
+	 * whether the method bodies are skipped.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param header Previously parsed header of the tag.
+	 * @param options Selects how the code of the method bodies is decoded.
+	 * 
+	 * @return Returns the parsed tag.
+	 * 
+	 * @throws SWFParserException Thrown if parsing the tag failed.
+	 */
+	public static RawABCTag parse(final RecordHeader header, final SWFBinaryParser parser, final ParseOptions options) throws SWFParserException {
 
-		final AS3Data abcData = AS3DataParser.parse(parser, "DoABC::ABCData");
+		final AS3Data abcData = AS3DataParser.parse(parser, "DoABC::ABCData", options);
 
 		return new RawABCTag(header, abcData);
 	}
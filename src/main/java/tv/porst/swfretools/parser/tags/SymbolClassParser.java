@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
 import tv.porst.swfretools.parser.structures.RecordHeader;
@@ -30,12 +31,16 @@ public final class SymbolClassParser {
 	 */
 	public static SymbolClassTag parse(final RecordHeader header, final SWFBinaryParser parser) throws SWFParserException {
 
+		final ParseContext context = parser.getContext();
+
 		final UINT16 numSymbols = parseUINT16(parser, 0x00006, "SymbolClass::NumSymbols");
 
 		final List<Symbol> symbols = new ArrayList<Symbol>();
 
 		for (int i=0;i<numSymbols.value();i++) {
-			symbols.add(SymbolParser.parse(parser, String.format("SymbolClass::Symbols[%d]", i)));
+			context.element(i);
+			symbols.add(SymbolParser.parse(parser, "SymbolClass::Symbols"));
+			context.leave();
 		}
 
 		return new SymbolClassTag(header, numSymbols, new SymbolList(symbols));
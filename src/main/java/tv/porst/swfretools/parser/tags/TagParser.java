@@ -1,14 +1,19 @@
 package tv.porst.swfretools.parser.tags;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import tv.porst.splib.binaryparser.BinaryParser;
 import tv.porst.splib.binaryparser.INT32;
 import tv.porst.splib.binaryparser.UINT16;
+import tv.porst.swfretools.parser.ParseContext;
+import tv.porst.swfretools.parser.ParseOptions;
 import tv.porst.swfretools.parser.ParserError;
 import tv.porst.swfretools.parser.SWFBinaryParser;
 import tv.porst.swfretools.parser.SWFParserException;
@@ -59,6 +64,30 @@ public final class TagParser {
 
 	}
 
+	/**
+	 * Creates the index entry of a tag whose body is decoded on demand and
+	 * moves the parser to the next tag.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param header The previously parsed header of the tag.
+	 * @param version Flash version number which was read from the SWF file header.
+	 * 
+	 * @return The lazily decoded tag.
+	 */
+	private static LazyTag indexTag(final SWFBinaryParser parser, final RecordHeader header, final int version) {
+
+		final int start = header.getBitPosition() / 8;
+		final int end = Math.min(start + header.getHeaderLength() + header.getNormalizedLength(), parser.getLength());
+
+		final ByteBuffer data = parser.getData();
+		data.limit(end - parser.getOffset());
+		data.position(start - parser.getOffset());
+
+		jumpToNextTag(parser, header);
+
+		return new LazyTag(header, data.slice(), version);
+	}
+
 	/**
 	 * Parses a single tag and flags eventual errors.
 	 * 
@@ -68,7 +97,22 @@ public final class TagParser {
 	 * 
 	 * @return The parsed tag or null if parsing failed.
 	 */
-	private static Tag parseTag(final SWFBinaryParser parser, final int version, final List<ParserError> errors) {
+	public static Tag parseTag(final SWFBinaryParser parser, final int version, final List<ParserError> errors) {
+		return parseTag(parser, version, ParseOptions.DEFAULT, errors);
+	}
+
+	/**
+	 * Parses a single tag and flags eventual errors. Tags that are not selected
+	 * for decoding by the options are only indexed.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param version Flash version number which was read from the SWF file header.
+	 * @param options Selects the tags that are decoded.
+	 * @param errors List where errors that appear during parsing are added.
+	 * 
+	 * @return The parsed tag or null if parsing failed.
+	 */
+	public static Tag parseTag(final SWFBinaryParser parser, final int version, final ParseOptions options, final List<ParserError> errors) {
 
 		try {
 
@@ -76,7 +120,11 @@ public final class TagParser {
 
 			//			System.out.printf("Parsing at %d [%d:%s]\n", parser.getBytePosition() - header.getHeaderLength() - 8, header.getTagCode(), TagNames.getTagName(header.getTagCode()));
 
-			return parseTag(parser, header, version, errors);
+			if (!options.isDecoded(header.getTagCode())) {
+				return indexTag(parser, header, version);
+			}
+
+			return parseTag(parser, header, version, options, errors);
 
 		} catch (final SWFParserException e) {
 			// A parser exception while parsing the header means we ran beyond
@@ -88,8 +136,16 @@ public final class TagParser {
 		return null;
 	}
 
-	@SuppressWarnings("unused")
-	private static Tag parseTagHeaderOnly(final SWFBinaryParser parser, final int version, final List<ParserError> errors) {
+	/**
+	 * Parses the header of a single tag. The body of the tag is decoded on demand.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param version Flash version number which was read from the SWF file header.
+	 * @param errors List where errors that appear during parsing are added.
+	 * 
+	 * @return The lazily decoded tag or null if parsing the header failed.
+	 */
+	public static LazyTag parseTagHeaderOnly(final SWFBinaryParser parser, final int version, final List<ParserError> errors) {
 
 		try {
 
@@ -97,7 +153,7 @@ public final class TagParser {
 
 			//			System.out.printf("Parsing at %d [%d:%s]\n", parser.getBytePosition() - header.getHeaderLength() - 8, header.getTagCode(), TagNames.getTagName(header.getTagCode()));
 
-			return new DummyTag(header);
+			return indexTag(parser, header, version);
 			
 		} catch (final SWFParserException e) {
 			// A parser exception while parsing the header means we ran beyond
@@ -115,11 +171,14 @@ public final class TagParser {
 	 * @param parser Provides the input data.
 	 * @param header The previously parsed header of the tag.
 	 * @param version Flash version number which was read from the SWF file header.
+	 * @param options Selects how nested tags are decoded.
 	 * @param errors List where errors that appear during parsing are added.
 	 * 
 	 * @return The parsed tag or null if parsing failed.
 	 */
-	private static Tag parseTag(final SWFBinaryParser parser, final RecordHeader header, final int version, final List<ParserError> errors) {
+	private static Tag parseTag(final SWFBinaryParser parser, final RecordHeader header, final int version, final ParseOptions options, final List<ParserError> errors) {
+
+		final int depth = parser.getContext().getDepth();
 
 		try {
 
@@ -182,12 +241,12 @@ public final class TagParser {
 			case TagCodes.DefineButton2: return DefineButton2Parser.parse(header, parser);
 			case TagCodes.DefineButtonCxform: return DefineButtonCxformParser.parse(header, parser);
 			case TagCodes.DefineButtonSound: return DefineButtonSoundParser.parse(header, parser);
-			case TagCodes.DefineSprite: return DefineSpriteParser.parse(header, parser, version);
+			case TagCodes.DefineSprite: return DefineSpriteParser.parse(header, parser, version, options.withAllTags());
 			case TagCodes.DefineVideoStream: return DefineVideoStreamParser.parse(header, parser);
 			case TagCodes.VideoFrame: return VideoFrameParser.parse(header, parser);
 			case TagCodes.DefineBinaryData: return DefineBinaryDataParser.parse(header, parser);
-			case TagCodes.DoABC: return DoABCParser.parse(header, parser);
-			case TagCodes.RawABC: return RawABCParser.parse(header, parser);
+			case TagCodes.DoABC: return DoABCParser.parse(header, parser, options);
+			case TagCodes.RawABC: return RawABCParser.parse(header, parser, options);
 			case TagCodes.DefineFontName: return DefineFontNameParser.parse(header, parser);
 			case TagCodes.EnableTelemetry: return EnableTelemetryParser.parse(header, parser);
 			}
@@ -200,6 +259,9 @@ public final class TagParser {
 			return null;
 		} catch (final SWFParserException exception) {
 
+			// The structure parsers that were interrupted by the exception did not leave their structures
+			parser.getContext().reset(depth);
+
 			errors.add(new ParserError(exception.getOffset(), exception.getMessage()));
 
 			exception.printStackTrace();
@@ -220,6 +282,20 @@ public final class TagParser {
 	 * @return A list of parsed tags.
 	 */
 	public static TagParserResult parse(final SWFBinaryParser parser, final int version) {
+		return parse(parser, version, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses tags until the input data is exhausted. Tags that are not selected
+	 * for decoding by the options are only indexed.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param version Flash version number which was read from the SWF file header.
+	 * @param options Selects the tags that are decoded.
+	 * 
+	 * @return A list of parsed tags.
+	 */
+	public static TagParserResult parse(final SWFBinaryParser parser, final int version, final ParseOptions options) {
 
 		if (parser == null) {
 			throw new IllegalArgumentException("Argument parser must not be null");
@@ -229,6 +305,14 @@ public final class TagParser {
 			throw new IllegalArgumentException("Invalid Flash version number");
 		}
 
+		if (options == null) {
+			throw new IllegalArgumentException("Argument options must not be null");
+		}
+
+		if (options.getPool() != null) {
+			return parseParallel(parser, version, parser.getLength(), options, false);
+		}
+
 		final List<ParserError> errors = new ArrayList<ParserError>();
 		final List<Tag> tags = new ArrayList<Tag>();
 
@@ -237,7 +321,7 @@ public final class TagParser {
 			final int before = parser.getBytePosition();
 
 			try {
-				final Tag parsedTag = parseTag(parser, version, errors);
+				final Tag parsedTag = parseTag(parser, version, options, errors);
 
 				if (parsedTag != null) {
 					tags.add(parsedTag);
@@ -270,6 +354,21 @@ public final class TagParser {
 	 * @return A list of parsed tags.
 	 */
 	public static TagParserResult parse(final SWFBinaryParser parser, final int version, final int length) {
+		return parse(parser, version, length, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Parses tags until length bytes have been parsed or the input data is exhausted.
+	 * Tags that are not selected for decoding by the options are only indexed.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param version Flash version number which was read from the SWF file header.
+	 * @param length Number of bytes to parse.
+	 * @param options Selects the tags that are decoded.
+	 * 
+	 * @return A list of parsed tags.
+	 */
+	public static TagParserResult parse(final SWFBinaryParser parser, final int version, final int length, final ParseOptions options) {
 
 		if (parser == null) {
 			throw new IllegalArgumentException("Argument parser must not be null");
@@ -283,8 +382,16 @@ public final class TagParser {
 			throw new IllegalArgumentException("Length argument must be positive");
 		}
 
+		if (options == null) {
+			throw new IllegalArgumentException("Argument options must not be null");
+		}
+
 		final int start = parser.getBytePosition();
 
+		if (options.getPool() != null) {
+			return parseParallel(parser, version, start + length, options, true);
+		}
+
 		final List<Tag> tags = new ArrayList<Tag>();
 		final List<ParserError> errors = new ArrayList<ParserError>();
 
@@ -294,7 +401,7 @@ public final class TagParser {
 
 			final int before = parser.getBytePosition();
 
-			final Tag parsedTag = parseTag(parser, version, errors);
+			final Tag parsedTag = parseTag(parser, version, options, errors);
 
 			if (parsedTag != null) {
 				tags.add(parsedTag);
@@ -312,6 +419,112 @@ public final class TagParser {
 		return new TagParserResult(new TagList(tags), errors);
 	}
 
+	/**
+	 * Parses tags until the given end position is reached. The headers of all
+	 * tags are parsed sequentially first, the selected tags are then decoded
+	 * concurrently on the pool of the options. Every tag is decoded from its
+	 * own parser, so the result is the same as that of a sequential parse.
+	 * 
+	 * @param parser Provides the input data.
+	 * @param version Flash version number which was read from the SWF file header.
+	 * @param end Position that follows the last byte to parse.
+	 * @param options Selects the tags that are decoded and the pool they are decoded on.
+	 * @param nested True, if the tags are nested in another tag.
+	 * 
+	 * @return A list of parsed tags.
+	 */
+	private static TagParserResult parseParallel(final SWFBinaryParser parser, final int version, final int end, final ParseOptions options, final boolean nested) {
+
+		final List<ParserError> errors = new ArrayList<ParserError>();
+		final List<TagSlot> slots = new ArrayList<TagSlot>();
+		final List<TagSlot> decodedSlots = new ArrayList<TagSlot>();
+
+		while (parser.getBytePosition() < end && !parser.isDone())
+		{
+			final RecordHeader header;
+
+			try {
+				header = parseRecordHeader(parser);
+			}
+			catch (final SWFParserException e) {
+				errors.add(new ParserError(e.getOffset(), e.getMessage()));
+
+				break;
+			}
+
+			final TagSlot slot = new TagSlot(header, parser.getBytePosition());
+
+			final boolean truncated = header.getBitPosition() / 8 + header.getHeaderLength() + header.getNormalizedLength() > parser.getLength();
+
+			if (!options.isDecoded(header.getTagCode())) {
+
+				if (truncated) {
+					break;
+				}
+
+				slot.tag = indexTag(parser, header, version);
+				slots.add(slot);
+			}
+			else if (truncated) {
+				// The parser cannot jump behind the last tag, so it is
+				// decoded right away like in a sequential parse
+				slot.decode(parser, version, options);
+				slots.add(slot);
+
+				break;
+			}
+			else {
+				decodedSlots.add(slot);
+				slots.add(slot);
+
+				jumpToNextTag(parser, header);
+			}
+		}
+
+		// The tasks start from a copy of the context, so that their errors carry
+		// the same path as in a sequential parse.
+		final ParseContext context = new ParseContext();
+		context.enterAll(parser.getContext());
+
+		final DecodeTask task = new DecodeTask(parser, context, version, options, decodedSlots, 0, decodedSlots.size());
+
+		if (ForkJoinTask.getPool() == options.getPool()) {
+			task.invoke();
+		}
+		else {
+			options.getPool().invoke(task);
+		}
+
+		final List<Tag> tags = new ArrayList<Tag>();
+		final List<ParserError> tagErrors = new ArrayList<ParserError>();
+
+		for (final TagSlot slot : slots) {
+
+			if (slot.failure != null) {
+				throw slot.failure;
+			}
+
+			tagErrors.addAll(slot.errors);
+
+			if (slot.exception != null) {
+
+				if (nested) {
+					throw slot.exception;
+				}
+
+				break;
+			}
+
+			if (slot.tag != null) {
+				tags.add(slot.tag);
+			}
+		}
+
+		tagErrors.addAll(errors);
+
+		return new TagParserResult(new TagList(tags), tagErrors);
+	}
+
 	public static Map<Integer,String> tagNamesByCode;
 	
 	public static String tagNameFromCode(int code) throws IllegalAccessException {
@@ -327,5 +540,159 @@ public final class TagParser {
 		}
 		return tagNamesByCode.get(code);
 	}
-	
-}
+
+	/**
+	 * Decodes a range of tags, splitting the range until single tags are left.
+	 */
+	private static final class DecodeTask extends RecursiveAction {
+
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Parser whose input data holds the tags.
+		 */
+		private final SWFBinaryParser parser;
+
+		/**
+		 * Context of the parser when the tags were indexed.
+		 */
+		private final ParseContext context;
+
+		/**
+		 * Flash version number which was read from the SWF file header.
+		 */
+		private final int version;
+
+		/**
+		 * Selects how nested tags are decoded.
+		 */
+		private final ParseOptions options;
+
+		/**
+		 * The tags to decode.
+		 */
+		private final List<TagSlot> slots;
+
+		/**
+		 * Index of the first tag to decode.
+		 */
+		private final int from;
+
+		/**
+		 * Index that follows the last tag to decode.
+		 */
+		private final int to;
+
+		/**
+		 * Creates a new decode task.
+		 * 
+		 * @param parser Parser whose input data holds the tags.
+		 * @param context Context of the parser when the tags were indexed.
+		 * @param version Flash version number which was read from the SWF file header.
+		 * @param options Selects how nested tags are decoded.
+		 * @param slots The tags to decode.
+		 * @param from Index of the first tag to decode.
+		 * @param to Index that follows the last tag to decode.
+		 */
+		public DecodeTask(final SWFBinaryParser parser, final ParseContext context, final int version, final ParseOptions options, final List<TagSlot> slots, final int from, final int to) {
+			this.parser = parser;
+			this.context = context;
+			this.version = version;
+			this.options = options;
+			this.slots = slots;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from > 1) {
+
+				final int middle = (from + to) >>> 1;
+
+				invokeAll(new DecodeTask(parser, context, version, options, slots, from, middle), new DecodeTask(parser, context, version, options, slots, middle, to));
+			}
+			else if (to - from == 1) {
+				final SWFBinaryParser tagParser = new SWFBinaryParser(parser.getData(), parser.getOffset());
+
+				tagParser.getContext().enterAll(context);
+
+				slots.get(from).decode(tagParser, version, options);
+			}
+		}
+	}
+
+	/**
+	 * Holds the header of a tag and the result of decoding the tag.
+	 */
+	private static final class TagSlot {
+
+		/**
+		 * The header of the tag.
+		 */
+		private final RecordHeader header;
+
+		/**
+		 * Position of the body of the tag.
+		 */
+		private final int bodyPosition;
+
+		/**
+		 * Errors that appeared while decoding the tag.
+		 */
+		private final List<ParserError> errors = new ArrayList<ParserError>();
+
+		/**
+		 * The decoded tag or null if decoding failed.
+		 */
+		private Tag tag;
+
+		/**
+		 * Exception that ended parsing at this tag or null.
+		 */
+		private IllegalArgumentException exception;
+
+		/**
+		 * Other exception that was thrown while decoding the tag or null. It is
+		 * thrown again on the thread of the parse, in the order of the tags.
+		 */
+		private RuntimeException failure;
+
+		/**
+		 * Creates a new tag slot.
+		 * 
+		 * @param header The header of the tag.
+		 * @param bodyPosition Position of the body of the tag.
+		 */
+		public TagSlot(final RecordHeader header, final int bodyPosition) {
+			this.header = header;
+			this.bodyPosition = bodyPosition;
+		}
+
+		/**
+		 * Decodes the body of the tag.
+		 * 
+		 * @param parser Provides the input data.
+		 * @param version Flash version number which was read from the SWF file header.
+		 * @param options Selects how nested tags are decoded.
+		 */
+		public void decode(final SWFBinaryParser parser, final int version, final ParseOptions options) {
+
+			try {
+				parser.setPosition(bodyPosition, 0);
+
+				tag = parseTag(parser, header, version, options, errors);
+			}
+			catch (final IllegalArgumentException e) {
+				exception = e;
+			}
+			catch (final RuntimeException e) {
+				failure = e;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,327 @@
+package tv.porst.swfretools.utils.as3;
+
+import java.util.BitSet;
+
+import tv.porst.swfretools.parser.actions.as3.AS3CodeColumns;
+
+/**
+ * Control flow graph of the code of a method body.
+ * 
+ * The blocks are numbered in the order in which they appear in the code and
+ * every block is a range of instruction indices. Successor and predecessor
+ * edges are stored in flat int arrays that are indexed by block, so a graph
+ * needs only a few ints per block and edge.
+ * 
+ * Graphs are created by {@link ControlFlowGraphBuilder}.
+ */
+public final class ControlFlowGraph {
+
+	/**
+	 * Edge to the block that directly follows a block in the code.
+	 */
+	public static final int FALLTHROUGH_EDGE = 0;
+
+	/**
+	 * Edge to the target of a branch instruction.
+	 */
+	public static final int BRANCH_EDGE = 1;
+
+	/**
+	 * Edge from a block in the range of an exception handler to the handler.
+	 */
+	public static final int EXCEPTION_EDGE = 2;
+
+	/**
+	 * The code the graph was built from.
+	 */
+	private final AS3CodeColumns code;
+
+	/**
+	 * Index of the first instruction of every block, followed by the number
+	 * of instructions.
+	 */
+	private final int[] blockStarts;
+
+	/**
+	 * Index of the first successor of every block in the successors array,
+	 * followed by the number of successor edges.
+	 */
+	private final int[] successorStarts;
+
+	/**
+	 * Successor blocks of all blocks.
+	 */
+	private final int[] successors;
+
+	/**
+	 * Kinds of the successor edges.
+	 */
+	private final byte[] successorKinds;
+
+	/**
+	 * Index of the first predecessor of every block in the predecessors
+	 * array, followed by the number of predecessor edges.
+	 */
+	private final int[] predecessorStarts;
+
+	/**
+	 * Predecessor blocks of all blocks.
+	 */
+	private final int[] predecessors;
+
+	/**
+	 * Flag that says whether a branch or an exception handler points to an
+	 * offset that is not the start of an instruction.
+	 */
+	private final boolean invalidTargets;
+
+	/**
+	 * Creates a new control flow graph object.
+	 * 
+	 * @param code The code the graph was built from.
+	 * @param blockStarts Index of the first instruction of every block, followed by the number of instructions.
+	 * @param successorStarts Index of the first successor of every block, followed by the number of successor edges.
+	 * @param successors Successor blocks of all blocks.
+	 * @param successorKinds Kinds of the successor edges.
+	 * @param predecessorStarts Index of the first predecessor of every block, followed by the number of predecessor edges.
+	 * @param predecessors Predecessor blocks of all blocks.
+	 * @param invalidTargets Flag that says whether a branch or an exception handler points to an invalid offset.
+	 */
+	ControlFlowGraph(final AS3CodeColumns code, final int[] blockStarts, final int[] successorStarts, final int[] successors,
+			final byte[] successorKinds, final int[] predecessorStarts, final int[] predecessors, final boolean invalidTargets) {
+
+		this.code = code;
+		this.blockStarts = blockStarts;
+		this.successorStarts = successorStarts;
+		this.successors = successors;
+		this.successorKinds = successorKinds;
+		this.predecessorStarts = predecessorStarts;
+		this.predecessors = predecessors;
+		this.invalidTargets = invalidTargets;
+	}
+
+	/**
+	 * Makes sure that a block index is valid.
+	 * 
+	 * @param block The block index to check.
+	 */
+	private void checkBlock(final int block) {
+
+		if (block < 0 || block >= getBlockCount()) {
+			throw new IndexOutOfBoundsException("Invalid block index " + block);
+		}
+	}
+
+	/**
+	 * Returns the block that contains an instruction.
+	 * 
+	 * @param instruction Index of the instruction.
+	 * 
+	 * @return Index of the block that contains the instruction.
+	 */
+	public int getBlock(final int instruction) {
+
+		if (instruction < 0 || instruction >= getInstructionCount()) {
+			throw new IndexOutOfBoundsException("Invalid instruction index " + instruction);
+		}
+
+		int low = 0;
+		int high = getBlockCount() - 1;
+
+		while (low < high) {
+
+			final int middle = (low + high + 1) >>> 1;
+
+			if (blockStarts[middle] <= instruction) {
+				low = middle;
+			}
+			else {
+				high = middle - 1;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Returns the number of blocks.
+	 * 
+	 * @return The number of blocks.
+	 */
+	public int getBlockCount() {
+		return blockStarts.length - 1;
+	}
+
+	/**
+	 * Returns the index of the instruction that follows the last instruction
+	 * of a block.
+	 * 
+	 * @param block Index of the block.
+	 * 
+	 * @return The end of the block.
+	 */
+	public int getBlockEnd(final int block) {
+
+		checkBlock(block);
+
+		return blockStarts[block + 1];
+	}
+
+	/**
+	 * Returns the index of the first instruction of a block.
+	 * 
+	 * @param block Index of the block.
+	 * 
+	 * @return The start of the block.
+	 */
+	public int getBlockStart(final int block) {
+
+		checkBlock(block);
+
+		return blockStarts[block];
+	}
+
+	/**
+	 * Returns the code the graph was built from.
+	 * 
+	 * @return The code in compact form.
+	 */
+	public AS3CodeColumns getCode() {
+		return code;
+	}
+
+	/**
+	 * Returns the number of instructions of the code.
+	 * 
+	 * @return The number of instructions.
+	 */
+	public int getInstructionCount() {
+		return blockStarts[blockStarts.length - 1];
+	}
+
+	/**
+	 * Returns a predecessor of a block.
+	 * 
+	 * @param block Index of the block.
+	 * @param index Index of the predecessor edge.
+	 * 
+	 * @return Index of the predecessor block.
+	 */
+	public int getPredecessor(final int block, final int index) {
+
+		if (index < 0 || index >= getPredecessorCount(block)) {
+			throw new IndexOutOfBoundsException("Invalid predecessor index " + index);
+		}
+
+		return predecessors[predecessorStarts[block] + index];
+	}
+
+	/**
+	 * Returns the number of predecessor edges of a block.
+	 * 
+	 * @param block Index of the block.
+	 * 
+	 * @return The number of predecessor edges.
+	 */
+	public int getPredecessorCount(final int block) {
+
+		checkBlock(block);
+
+		return predecessorStarts[block + 1] - predecessorStarts[block];
+	}
+
+	/**
+	 * Returns the blocks that can be reached from the first block through
+	 * any kind of edge.
+	 * 
+	 * @return The indices of the reachable blocks.
+	 */
+	public BitSet getReachableBlocks() {
+
+		final BitSet reachable = new BitSet(getBlockCount());
+
+		if (getBlockCount() == 0) {
+			return reachable;
+		}
+
+		final int[] stack = new int[getBlockCount()];
+		int size = 0;
+
+		stack[size++] = 0;
+		reachable.set(0);
+
+		while (size > 0) {
+
+			final int block = stack[--size];
+
+			for (int i=successorStarts[block];i<successorStarts[block + 1];i++) {
+
+				if (!reachable.get(successors[i])) {
+					reachable.set(successors[i]);
+					stack[size++] = successors[i];
+				}
+			}
+		}
+
+		return reachable;
+	}
+
+	/**
+	 * Returns a successor of a block.
+	 * 
+	 * @param block Index of the block.
+	 * @param index Index of the successor edge.
+	 * 
+	 * @return Index of the successor block.
+	 */
+	public int getSuccessor(final int block, final int index) {
+
+		if (index < 0 || index >= getSuccessorCount(block)) {
+			throw new IndexOutOfBoundsException("Invalid successor index " + index);
+		}
+
+		return successors[successorStarts[block] + index];
+	}
+
+	/**
+	 * Returns the number of successor edges of a block.
+	 * 
+	 * @param block Index of the block.
+	 * 
+	 * @return The number of successor edges.
+	 */
+	public int getSuccessorCount(final int block) {
+
+		checkBlock(block);
+
+		return successorStarts[block + 1] - successorStarts[block];
+	}
+
+	/**
+	 * Returns the kind of a successor edge.
+	 * 
+	 * @param block Index of the block.
+	 * @param index Index of the successor edge.
+	 * 
+	 * @return {@link #FALLTHROUGH_EDGE}, {@link #BRANCH_EDGE} or {@link #EXCEPTION_EDGE}.
+	 */
+	public int getSuccessorKind(final int block, final int index) {
+
+		if (index < 0 || index >= getSuccessorCount(block)) {
+			throw new IndexOutOfBoundsException("Invalid successor index " + index);
+		}
+
+		return successorKinds[successorStarts[block] + index];
+	}
+
+	/**
+	 * Returns a flag that says whether a branch or an exception handler of
+	 * the code points to an offset that is not the start of an instruction.
+	 * Edges to such offsets are not part of the graph.
+	 * 
+	 * @return True, if the code has invalid targets. False, otherwise.
+	 */
+	public boolean hasInvalidTargets() {
+		return invalidTargets;
+	}
+}
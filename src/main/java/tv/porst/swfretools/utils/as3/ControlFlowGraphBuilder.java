@@ -0,0 +1,433 @@
+package tv.porst.swfretools.utils.as3;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import tv.porst.swfretools.parser.actions.as3.AS3CodeColumns;
+import tv.porst.swfretools.parser.actions.as3.AS3Opcodes;
+import tv.porst.swfretools.parser.structures.AS3Code;
+import tv.porst.swfretools.parser.structures.ExceptionInfo;
+import tv.porst.swfretools.parser.structures.ExceptionInfoList;
+import tv.porst.swfretools.parser.structures.MethodBody;
+import tv.porst.swfretools.parser.structures.MethodBodyList;
+
+/**
+ * Splits the code of method bodies into basic blocks and connects the
+ * blocks to control flow graphs.
+ * 
+ * A block starts at the first instruction, at every branch target, at every
+ * instruction that follows a branch, return or throw instruction and at
+ * every start, end and target of an exception handler. The graphs of many
+ * method bodies can be built concurrently because every graph only depends
+ * on its own method body.
+ */
+public final class ControlFlowGraphBuilder {
+
+	/**
+	 * Number of method bodies a task builds graphs for before it is split.
+	 */
+	private static final int METHOD_BODIES_PER_TASK = 64;
+
+	/**
+	 * Adds an edge to the edges of the current block unless the block already
+	 * has an edge of the same kind to the same target. Edges of different
+	 * kinds to the same target are kept, because an exception edge enters the
+	 * target with another stack than a normal edge.
+	 * 
+	 * @param edges The edges collected so far.
+	 * @param blockStart Index of the first edge of the current block.
+	 * @param target The target block.
+	 * @param kind The kind of the edge.
+	 */
+	private static void addEdge(final EdgeBuffer edges, final int blockStart, final int target, final int kind) {
+
+		for (int i=blockStart;i<edges.size;i++) {
+			if (edges.targets[i] == target && edges.kinds[i] == kind) {
+				return;
+			}
+		}
+
+		edges.add(target, kind);
+	}
+
+	/**
+	 * Finds the instruction that starts at a byte offset.
+	 * 
+	 * @param code The code to search.
+	 * @param offset The byte offset relative to the start of the code.
+	 * 
+	 * @return The index of the instruction or -1 if no instruction starts at the offset.
+	 */
+	private static int findInstruction(final AS3CodeColumns code, final int offset) {
+
+		int low = 0;
+		int high = code.getCount() - 1;
+
+		while (low <= high) {
+
+			final int middle = (low + high) >>> 1;
+			final int middleOffset = code.getOffset(middle);
+
+			if (middleOffset < offset) {
+				low = middle + 1;
+			}
+			else if (middleOffset > offset) {
+				high = middle - 1;
+			}
+			else {
+				return middle;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the offset of the instruction that follows an instruction.
+	 * 
+	 * @param code The code the instruction belongs to.
+	 * @param index Index of the instruction.
+	 * 
+	 * @return The offset of the next instruction or the length of the code.
+	 */
+	private static int getNextOffset(final AS3CodeColumns code, final int index) {
+		return index + 1 < code.getCount() ? code.getOffset(index + 1) : code.getLength();
+	}
+
+	/**
+	 * Returns whether an opcode is a conditional or unconditional branch
+	 * with a single signed 24 bit offset.
+	 * 
+	 * @param opcode The opcode to check.
+	 * 
+	 * @return True, if the opcode is a branch. False, otherwise.
+	 */
+	private static boolean isBranch(final int opcode) {
+		return opcode >= AS3Opcodes.IFNLT && opcode <= AS3Opcodes.IFSTRICTNE;
+	}
+
+	/**
+	 * Returns whether an opcode ends a block without falling through to the
+	 * next instruction.
+	 * 
+	 * @param opcode The opcode to check.
+	 * 
+	 * @return True, if control does not continue with the next instruction.
+	 */
+	private static boolean isTerminator(final int opcode) {
+		return opcode == AS3Opcodes.JUMP || opcode == AS3Opcodes.LOOKUPSWITCH || opcode == AS3Opcodes.RETURNVOID
+				|| opcode == AS3Opcodes.RETURNVALUE || opcode == AS3Opcodes.THROW;
+	}
+
+	/**
+	 * Marks the instruction at a byte offset as the start of a block.
+	 * 
+	 * @param code The code the offset belongs to.
+	 * @param offset The byte offset relative to the start of the code.
+	 * @param leaders The instructions that start a block.
+	 * 
+	 * @return True, if an instruction starts at the offset. False, otherwise.
+	 */
+	private static boolean markTarget(final AS3CodeColumns code, final int offset, final BitSet leaders) {
+
+		final int index = findInstruction(code, offset);
+
+		if (index == -1) {
+			return false;
+		}
+
+		leaders.set(index);
+
+		return true;
+	}
+
+	/**
+	 * Builds the control flow graph of a method body.
+	 * 
+	 * @param body The method body.
+	 * 
+	 * @return The control flow graph of the code of the method body.
+	 */
+	public static ControlFlowGraph build(final MethodBody body) {
+
+		if (body == null) {
+			throw new IllegalArgumentException("Method body argument must not be null");
+		}
+
+		return build(body.getCode(), body.getExceptions());
+	}
+
+	/**
+	 * Builds the control flow graph of a piece of code.
+	 * 
+	 * @param code The code. Code that is stored as instruction objects is decoded again from its bytes.
+	 * @param exceptions The exception handlers of the code. Can be null.
+	 * 
+	 * @return The control flow graph of the code.
+	 */
+	public static ControlFlowGraph build(final AS3Code code, final ExceptionInfoList exceptions) {
+
+		if (code == null) {
+			throw new IllegalArgumentException("Code argument must not be null");
+		}
+
+		final AS3CodeColumns columns = code.toColumns();
+		final int count = columns.getCount();
+		final int exceptionCount = exceptions == null ? 0 : exceptions.size();
+
+		final BitSet leaders = new BitSet(count);
+		boolean invalidTargets = false;
+
+		if (count > 0) {
+			leaders.set(0);
+		}
+
+		for (int i=0;i<count;i++) {
+
+			final int opcode = columns.getOpcode(i);
+
+			if (isBranch(opcode)) {
+				invalidTargets |= !markTarget(columns, getNextOffset(columns, i) + columns.getOperand(i, 0), leaders);
+			}
+			else if (opcode == AS3Opcodes.LOOKUPSWITCH) {
+
+				final int base = columns.getOffset(i);
+
+				invalidTargets |= !markTarget(columns, base + columns.getOperand(i, 0), leaders);
+
+				for (int j=2;j<columns.getOperandCount(i);j++) {
+					invalidTargets |= !markTarget(columns, base + columns.getOperand(i, j), leaders);
+				}
+			}
+			else if (!isTerminator(opcode)) {
+				continue;
+			}
+
+			if (i + 1 < count) {
+				leaders.set(i + 1);
+			}
+		}
+
+		// Exception handlers as instruction indices; -1 marks handlers that are left out of the graph.
+		final int[] handlerFrom = new int[exceptionCount];
+		final int[] handlerTo = new int[exceptionCount];
+		final int[] handlerTarget = new int[exceptionCount];
+
+		for (int i=0;i<exceptionCount;i++) {
+
+			final ExceptionInfo exception = exceptions.get(i);
+
+			handlerFrom[i] = findInstruction(columns, exception.getFrom().value());
+			handlerTo[i] = exception.getTo().value() == columns.getLength() ? count : findInstruction(columns, exception.getTo().value());
+			handlerTarget[i] = findInstruction(columns, exception.getTarget().value());
+
+			if (handlerFrom[i] == -1 || handlerTo[i] == -1 || handlerTarget[i] == -1) {
+				invalidTargets = true;
+				handlerTarget[i] = -1;
+				continue;
+			}
+
+			leaders.set(handlerFrom[i]);
+			leaders.set(handlerTarget[i]);
+
+			if (handlerTo[i] < count) {
+				leaders.set(handlerTo[i]);
+			}
+		}
+
+		final int blockCount = leaders.cardinality();
+		final int[] blockStarts = new int[blockCount + 1];
+
+		for (int i=leaders.nextSetBit(0), block=0;i >= 0;i=leaders.nextSetBit(i + 1), block++) {
+			blockStarts[block] = i;
+		}
+
+		blockStarts[blockCount] = count;
+
+		final int[] successorStarts = new int[blockCount + 1];
+		final EdgeBuffer edges = new EdgeBuffer(blockCount + blockCount / 2 + 1);
+
+		for (int block=0;block<blockCount;block++) {
+
+			final int edgeStart = edges.size;
+			final int last = blockStarts[block + 1] - 1;
+			final int opcode = columns.getOpcode(last);
+
+			successorStarts[block] = edgeStart;
+
+			if (!isTerminator(opcode) && block + 1 < blockCount) {
+				addEdge(edges, edgeStart, block + 1, ControlFlowGraph.FALLTHROUGH_EDGE);
+			}
+
+			if (isBranch(opcode)) {
+
+				final int target = findInstruction(columns, getNextOffset(columns, last) + columns.getOperand(last, 0));
+
+				if (target != -1) {
+					addEdge(edges, edgeStart, Arrays.binarySearch(blockStarts, 0, blockCount, target), ControlFlowGraph.BRANCH_EDGE);
+				}
+			}
+			else if (opcode == AS3Opcodes.LOOKUPSWITCH) {
+
+				final int base = columns.getOffset(last);
+
+				for (int j=0;j<columns.getOperandCount(last);j++) {
+
+					if (j == 1) {
+						continue;
+					}
+
+					final int target = findInstruction(columns, base + columns.getOperand(last, j));
+
+					if (target != -1) {
+						addEdge(edges, edgeStart, Arrays.binarySearch(blockStarts, 0, blockCount, target), ControlFlowGraph.BRANCH_EDGE);
+					}
+				}
+			}
+
+			for (int i=0;i<exceptionCount;i++) {
+
+				if (handlerTarget[i] != -1 && blockStarts[block] < handlerTo[i] && blockStarts[block + 1] > handlerFrom[i]) {
+					addEdge(edges, edgeStart, Arrays.binarySearch(blockStarts, 0, blockCount, handlerTarget[i]), ControlFlowGraph.EXCEPTION_EDGE);
+				}
+			}
+		}
+
+		successorStarts[blockCount] = edges.size;
+
+		final int[] successors = Arrays.copyOf(edges.targets, edges.size);
+		final byte[] successorKinds = Arrays.copyOf(edges.kinds, edges.size);
+
+		final int[] predecessorStarts = new int[blockCount + 1];
+
+		for (final int successor : successors) {
+			predecessorStarts[successor + 1]++;
+		}
+
+		for (int block=0;block<blockCount;block++) {
+			predecessorStarts[block + 1] += predecessorStarts[block];
+		}
+
+		final int[] predecessors = new int[successors.length];
+		final int[] filled = Arrays.copyOf(predecessorStarts, blockCount);
+
+		for (int block=0;block<blockCount;block++) {
+			for (int i=successorStarts[block];i<successorStarts[block + 1];i++) {
+				predecessors[filled[successors[i]]++] = block;
+			}
+		}
+
+		return new ControlFlowGraph(columns, blockStarts, successorStarts, successors, successorKinds, predecessorStarts, predecessors, invalidTargets);
+	}
+
+	/**
+	 * Builds the control flow graphs of all method bodies of a method body
+	 * table. The graphs are built concurrently.
+	 * 
+	 * @param bodies The method bodies.
+	 * @param pool The pool that builds the graphs. If this argument is null, the graphs are built sequentially.
+	 * 
+	 * @return The control flow graphs in the order of the method bodies.
+	 */
+	public static ControlFlowGraph[] build(final MethodBodyList bodies, final ForkJoinPool pool) {
+
+		if (bodies == null) {
+			throw new IllegalArgumentException("Method bodies argument must not be null");
+		}
+
+		final ControlFlowGraph[] graphs = new ControlFlowGraph[bodies.size()];
+
+		if (pool == null) {
+
+			for (int i=0;i<graphs.length;i++) {
+				graphs[i] = build(bodies.get(i));
+			}
+
+			return graphs;
+		}
+
+		final BuildTask task = new BuildTask(bodies, graphs, 0, graphs.length);
+
+		if (ForkJoinTask.getPool() == pool) {
+			task.invoke();
+		}
+		else {
+			pool.invoke(task);
+		}
+
+		return graphs;
+	}
+
+	/**
+	 * Builds the control flow graphs of a range of method bodies, splitting
+	 * the range until it is small enough.
+	 */
+	private static final class BuildTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MethodBodyList bodies;
+
+		private final ControlFlowGraph[] graphs;
+
+		private final int from;
+
+		private final int to;
+
+		public BuildTask(final MethodBodyList bodies, final ControlFlowGraph[] graphs, final int from, final int to) {
+			this.bodies = bodies;
+			this.graphs = graphs;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from <= METHOD_BODIES_PER_TASK) {
+
+				for (int i=from;i<to;i++) {
+					graphs[i] = build(bodies.get(i));
+				}
+
+				return;
+			}
+
+			final int middle = (from + to) >>> 1;
+
+			invokeAll(new BuildTask(bodies, graphs, from, middle), new BuildTask(bodies, graphs, middle, to));
+		}
+	}
+
+	/**
+	 * Growable list of the edges of a graph.
+	 */
+	private static final class EdgeBuffer {
+
+		private int[] targets;
+
+		private byte[] kinds;
+
+		private int size;
+
+		public EdgeBuffer(final int capacity) {
+			targets = new int[capacity];
+			kinds = new byte[capacity];
+		}
+
+		public void add(final int target, final int kind) {
+
+			if (size == targets.length) {
+				targets = Arrays.copyOf(targets, 2 * size);
+				kinds = Arrays.copyOf(kinds, 2 * size);
+			}
+
+			targets[size] = target;
+			kinds[size] = (byte) kind;
+			size++;
+		}
+	}
+}
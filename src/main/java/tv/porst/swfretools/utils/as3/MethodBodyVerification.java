@@ -0,0 +1,195 @@
+package tv.porst.swfretools.utils.as3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of the stack and scope verification of a method body.
+ * 
+ * The depths of the operand stack and of the scope stack are stored for
+ * every instruction. The scope depths are relative to the initial scope
+ * depth of the method body, the maximum scope depth is absolute like the
+ * max_scope_depth field of the method body.
+ */
+public final class MethodBodyVerification {
+
+	/**
+	 * The max_stack value declared by the method body.
+	 */
+	private final int declaredMaxStack;
+
+	/**
+	 * The max_scope_depth value declared by the method body.
+	 */
+	private final int declaredMaxScopeDepth;
+
+	/**
+	 * The largest operand stack depth the code reaches.
+	 */
+	private final int maxStack;
+
+	/**
+	 * The largest absolute scope depth the code reaches.
+	 */
+	private final int maxScopeDepth;
+
+	/**
+	 * Operand stack depth before every instruction, -1 for unreachable instructions.
+	 */
+	private final int[] stackDepths;
+
+	/**
+	 * Scope stack depth before every instruction, -1 for unreachable instructions.
+	 */
+	private final int[] scopeDepths;
+
+	/**
+	 * Errors found in the code itself, independent of the declared limits.
+	 */
+	private final List<String> codeErrors;
+
+	/**
+	 * Creates a new verification result object.
+	 * 
+	 * @param declaredMaxStack The max_stack value declared by the method body.
+	 * @param declaredMaxScopeDepth The max_scope_depth value declared by the method body.
+	 * @param maxStack The largest operand stack depth the code reaches.
+	 * @param maxScopeDepth The largest absolute scope depth the code reaches.
+	 * @param stackDepths Operand stack depth before every instruction.
+	 * @param scopeDepths Scope stack depth before every instruction.
+	 * @param codeErrors Errors found in the code itself.
+	 */
+	MethodBodyVerification(final int declaredMaxStack, final int declaredMaxScopeDepth, final int maxStack, final int maxScopeDepth,
+			final int[] stackDepths, final int[] scopeDepths, final List<String> codeErrors) {
+
+		this.declaredMaxStack = declaredMaxStack;
+		this.declaredMaxScopeDepth = declaredMaxScopeDepth;
+		this.maxStack = maxStack;
+		this.maxScopeDepth = maxScopeDepth;
+		this.stackDepths = stackDepths;
+		this.scopeDepths = scopeDepths;
+		this.codeErrors = codeErrors;
+	}
+
+	/**
+	 * Returns the max_scope_depth value declared by the method body.
+	 * 
+	 * @return The declared maximum scope depth.
+	 */
+	public int getDeclaredMaxScopeDepth() {
+		return declaredMaxScopeDepth;
+	}
+
+	/**
+	 * Returns the max_stack value declared by the method body.
+	 * 
+	 * @return The declared maximum stack depth.
+	 */
+	public int getDeclaredMaxStack() {
+		return declaredMaxStack;
+	}
+
+	/**
+	 * Returns all errors: the errors found in the code and the declared
+	 * limits that are smaller than the depths the code reaches.
+	 * 
+	 * @return The errors, in the order in which they were found.
+	 */
+	public List<String> getErrors() {
+
+		final List<String> errors = new ArrayList<String>(codeErrors);
+
+		if (!isMaxStackValid()) {
+			errors.add(String.format("max_stack is %d but the code needs %d", declaredMaxStack, maxStack));
+		}
+
+		if (!isMaxScopeDepthValid()) {
+			errors.add(String.format("max_scope_depth is %d but the code needs %d", declaredMaxScopeDepth, maxScopeDepth));
+		}
+
+		return errors;
+	}
+
+	/**
+	 * Returns the largest absolute scope depth the code reaches. This is the
+	 * correct max_scope_depth value for the method body.
+	 * 
+	 * @return The computed maximum scope depth.
+	 */
+	public int getMaxScopeDepth() {
+		return maxScopeDepth;
+	}
+
+	/**
+	 * Returns the largest operand stack depth the code reaches. This is the
+	 * correct max_stack value for the method body.
+	 * 
+	 * @return The computed maximum stack depth.
+	 */
+	public int getMaxStack() {
+		return maxStack;
+	}
+
+	/**
+	 * Returns the scope stack depth before an instruction, relative to the
+	 * initial scope depth of the method body.
+	 * 
+	 * @param instruction Index of the instruction.
+	 * 
+	 * @return The scope depth or -1 if the instruction is not reachable.
+	 */
+	public int getScopeDepth(final int instruction) {
+		return scopeDepths[instruction];
+	}
+
+	/**
+	 * Returns the operand stack depth before an instruction.
+	 * 
+	 * @param instruction Index of the instruction.
+	 * 
+	 * @return The stack depth or -1 if the instruction is not reachable.
+	 */
+	public int getStackDepth(final int instruction) {
+		return stackDepths[instruction];
+	}
+
+	/**
+	 * Returns a flag that says whether the code itself is consistent, that
+	 * is whether the computed maximum depths can be trusted.
+	 * 
+	 * @return True, if no errors were found in the code. False, otherwise.
+	 */
+	public boolean isCodeValid() {
+		return codeErrors.isEmpty();
+	}
+
+	/**
+	 * Returns a flag that says whether the declared maximum scope depth is
+	 * large enough for the code.
+	 * 
+	 * @return True, if the declared value is large enough. False, otherwise.
+	 */
+	public boolean isMaxScopeDepthValid() {
+		return declaredMaxScopeDepth >= maxScopeDepth;
+	}
+
+	/**
+	 * Returns a flag that says whether the declared maximum stack depth is
+	 * large enough for the code.
+	 * 
+	 * @return True, if the declared value is large enough. False, otherwise.
+	 */
+	public boolean isMaxStackValid() {
+		return declaredMaxStack >= maxStack;
+	}
+
+	/**
+	 * Returns a flag that says whether the code is consistent and the
+	 * declared limits are large enough.
+	 * 
+	 * @return True, if the method body passed verification. False, otherwise.
+	 */
+	public boolean isValid() {
+		return isCodeValid() && isMaxStackValid() && isMaxScopeDepthValid();
+	}
+}
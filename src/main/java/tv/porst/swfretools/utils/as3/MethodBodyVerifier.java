@@ -0,0 +1,628 @@
+package tv.porst.swfretools.utils.as3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import tv.porst.swfretools.parser.actions.as3.AS3CodeColumns;
+import tv.porst.swfretools.parser.actions.as3.AS3Opcodes;
+import tv.porst.swfretools.parser.structures.AS3Data;
+import tv.porst.swfretools.parser.structures.EncodedU30;
+import tv.porst.swfretools.parser.structures.MethodBody;
+import tv.porst.swfretools.parser.structures.MethodBodyList;
+import tv.porst.swfretools.parser.structures.MultinameInfoList;
+
+/**
+ * Computes the operand stack and scope stack depths of the code of method
+ * bodies and checks them against the max_stack and max_scope_depth values
+ * the method bodies declare.
+ * 
+ * The code is interpreted abstractly over its control flow graph: only the
+ * depths of the two stacks are tracked, using a table of the number of
+ * values every opcode pops and pushes. Where control flow merges, the
+ * depths must be the same on all paths. Exception handlers start with the
+ * exception object on the operand stack and an empty local scope stack.
+ */
+public final class MethodBodyVerifier {
+
+	/**
+	 * Number of method bodies a task verifies before it is split.
+	 */
+	private static final int METHOD_BODIES_PER_TASK = 64;
+
+	/**
+	 * The first operand of the opcode is the number of additional values it pops.
+	 */
+	private static final byte FIRST_OPERAND = 1;
+
+	/**
+	 * The second operand of the opcode is the number of additional values it pops.
+	 */
+	private static final byte SECOND_OPERAND = 2;
+
+	/**
+	 * The first operand of the opcode is the number of additional pairs of values it pops.
+	 */
+	private static final byte FIRST_OPERAND_PAIRS = 3;
+
+	/**
+	 * Number of values every opcode pops from the operand stack at least.
+	 * Unknown opcodes have the value -1.
+	 */
+	private static final byte[] POPS = new byte[256];
+
+	/**
+	 * Number of values every opcode pushes onto the operand stack.
+	 */
+	private static final byte[] PUSHES = new byte[256];
+
+	/**
+	 * Change of the scope stack depth caused by every opcode.
+	 */
+	private static final byte[] SCOPES = new byte[256];
+
+	/**
+	 * Says which operand of every opcode adds values to pop. Zero for opcodes
+	 * whose number of values does not depend on their operands.
+	 */
+	private static final byte[] ARGUMENTS = new byte[256];
+
+	/**
+	 * Says for every opcode whether its first operand is a multiname whose
+	 * runtime name parts are popped from the operand stack.
+	 */
+	private static final boolean[] NAMES = new boolean[256];
+
+	static {
+		Arrays.fill(POPS, (byte) -1);
+
+		effect(AS3Opcodes.NOP, 0, 0);
+		effect(AS3Opcodes.THROW, 1, 0);
+		name(AS3Opcodes.GETSUPER, 1, 1);
+		name(AS3Opcodes.SETSUPER, 2, 0);
+		effect(AS3Opcodes.DXNS, 0, 0);
+		effect(AS3Opcodes.DXNSLATE, 1, 0);
+		effect(AS3Opcodes.KILL, 0, 0);
+		effect(AS3Opcodes.LABEL, 0, 0);
+
+		for (int opcode=AS3Opcodes.IFNLT;opcode<=AS3Opcodes.IFSTRICTNE;opcode++) {
+			effect(opcode, 2, 0);
+		}
+
+		effect(AS3Opcodes.JUMP, 0, 0);
+		effect(AS3Opcodes.IFTRUE, 1, 0);
+		effect(AS3Opcodes.IFFALSE, 1, 0);
+		effect(AS3Opcodes.LOOKUPSWITCH, 1, 0);
+		effect(AS3Opcodes.PUSHWITH, 1, 0);
+		SCOPES[AS3Opcodes.PUSHWITH] = 1;
+		effect(AS3Opcodes.POPSCOPE, 0, 0);
+		SCOPES[AS3Opcodes.POPSCOPE] = -1;
+		effect(AS3Opcodes.NEXTNAME, 2, 1);
+		effect(AS3Opcodes.HASNEXT, 2, 1);
+		effect(AS3Opcodes.PUSHNULL, 0, 1);
+		effect(AS3Opcodes.PUSHUNDEFINED, 0, 1);
+		effect(AS3Opcodes.NEXTVALUE, 2, 1);
+		effect(AS3Opcodes.PUSHBYTE, 0, 1);
+		effect(AS3Opcodes.PUSHSHORT, 0, 1);
+		effect(AS3Opcodes.PUSHTRUE, 0, 1);
+		effect(AS3Opcodes.PUSHFALSE, 0, 1);
+		effect(AS3Opcodes.PUSHNAN, 0, 1);
+		effect(AS3Opcodes.POP, 1, 0);
+		effect(AS3Opcodes.DUP, 1, 2);
+		effect(AS3Opcodes.SWAP, 2, 2);
+		effect(AS3Opcodes.PUSHSTRING, 0, 1);
+		effect(AS3Opcodes.PUSHINT, 0, 1);
+		effect(AS3Opcodes.PUSHUINT, 0, 1);
+		effect(AS3Opcodes.PUSHDOUBLE, 0, 1);
+		effect(AS3Opcodes.PUSHSCOPE, 1, 0);
+		SCOPES[AS3Opcodes.PUSHSCOPE] = 1;
+		effect(AS3Opcodes.PUSHNAMESPACE, 0, 1);
+		effect(AS3Opcodes.HASNEXT2, 0, 1);
+
+		effect(AS3Opcodes.li8, 1, 1);
+		effect(AS3Opcodes.li16, 1, 1);
+		effect(AS3Opcodes.li32, 1, 1);
+		effect(AS3Opcodes.lf32, 1, 1);
+		effect(AS3Opcodes.lf64, 1, 1);
+		effect(AS3Opcodes.si8, 2, 0);
+		effect(AS3Opcodes.si16, 2, 0);
+		effect(AS3Opcodes.si32, 2, 0);
+		effect(AS3Opcodes.sf32, 2, 0);
+		effect(AS3Opcodes.sf64, 2, 0);
+
+		effect(AS3Opcodes.NEWFUNCTION, 0, 1);
+		arguments(AS3Opcodes.CALL, 2, 1, FIRST_OPERAND);
+		arguments(AS3Opcodes.CONSTRUCT, 1, 1, FIRST_OPERAND);
+		arguments(AS3Opcodes.CALLMETHOD, 1, 1, SECOND_OPERAND);
+		arguments(AS3Opcodes.CALLSTATIC, 1, 1, SECOND_OPERAND);
+		arguments(AS3Opcodes.CALLSUPER, 1, 1, SECOND_OPERAND);
+		arguments(AS3Opcodes.CALLPROPERTY, 1, 1, SECOND_OPERAND);
+		effect(AS3Opcodes.RETURNVOID, 0, 0);
+		effect(AS3Opcodes.RETURNVALUE, 1, 0);
+		arguments(AS3Opcodes.CONSTRUCTSUPER, 1, 0, FIRST_OPERAND);
+		arguments(AS3Opcodes.CONSTRUCTPROP, 1, 1, SECOND_OPERAND);
+		arguments(AS3Opcodes.CALLPROPLEX, 1, 1, SECOND_OPERAND);
+		arguments(AS3Opcodes.CALLSUPERVOID, 1, 0, SECOND_OPERAND);
+		arguments(AS3Opcodes.CALLPROPVOID, 1, 0, SECOND_OPERAND);
+		NAMES[AS3Opcodes.CALLSUPER] = true;
+		NAMES[AS3Opcodes.CALLPROPERTY] = true;
+		NAMES[AS3Opcodes.CONSTRUCTPROP] = true;
+		NAMES[AS3Opcodes.CALLPROPLEX] = true;
+		NAMES[AS3Opcodes.CALLSUPERVOID] = true;
+		NAMES[AS3Opcodes.CALLPROPVOID] = true;
+
+		effect(AS3Opcodes.sxi1, 1, 1);
+		effect(AS3Opcodes.sxi8, 1, 1);
+		effect(AS3Opcodes.sxi16, 1, 1);
+
+		arguments(AS3Opcodes.APPLYTYPE, 1, 1, FIRST_OPERAND);
+		arguments(AS3Opcodes.NEWOBJECT, 0, 1, FIRST_OPERAND_PAIRS);
+		arguments(AS3Opcodes.NEWARRAY, 0, 1, FIRST_OPERAND);
+		effect(AS3Opcodes.NEWACTIVATION, 0, 1);
+		effect(AS3Opcodes.NEWCLASS, 1, 1);
+		name(AS3Opcodes.GETDESCENDANTS, 1, 1);
+		effect(AS3Opcodes.NEWCATCH, 0, 1);
+		name(AS3Opcodes.FINDPROPSTRICT, 0, 1);
+		name(AS3Opcodes.FINDPROPERTY, 0, 1);
+		effect(AS3Opcodes.FINDDEF, 0, 1);
+		effect(AS3Opcodes.GETLEX, 0, 1);
+		name(AS3Opcodes.SETPROPERTY, 2, 0);
+		effect(AS3Opcodes.GETLOCAL, 0, 1);
+		effect(AS3Opcodes.SETLOCAL, 1, 0);
+		effect(AS3Opcodes.GETGLOBALSCOPE, 0, 1);
+		effect(AS3Opcodes.GETSCOPEOBJECT, 0, 1);
+		name(AS3Opcodes.GETPROPERTY, 1, 1);
+		name(AS3Opcodes.INITPROPERTY, 2, 0);
+		name(AS3Opcodes.DELETEPROPERTY, 1, 1);
+		effect(AS3Opcodes.GETSLOT, 1, 1);
+		effect(AS3Opcodes.SETSLOT, 2, 0);
+		effect(AS3Opcodes.GETGLOBALSLOT, 0, 1);
+		effect(AS3Opcodes.SETGLOBALSLOT, 1, 0);
+
+		effect(AS3Opcodes.CONVERTS, 1, 1);
+		effect(AS3Opcodes.ESCXELEM, 1, 1);
+		effect(AS3Opcodes.ESCXATTR, 1, 1);
+		effect(AS3Opcodes.CONVERTI, 1, 1);
+		effect(AS3Opcodes.CONVERTU, 1, 1);
+		effect(AS3Opcodes.CONVERTD, 1, 1);
+		effect(AS3Opcodes.CONVERTB, 1, 1);
+		effect(AS3Opcodes.CONVERTO, 1, 1);
+		effect(AS3Opcodes.CHECKFILTER, 1, 1);
+		effect(AS3Opcodes.COERCE, 1, 1);
+		effect(AS3Opcodes.COERCEA, 1, 1);
+		effect(AS3Opcodes.COERCES, 1, 1);
+		effect(AS3Opcodes.ASTYPE, 1, 1);
+		effect(AS3Opcodes.ASTYPELATE, 2, 1);
+
+		effect(AS3Opcodes.NEGATE, 1, 1);
+		effect(AS3Opcodes.INCREMENT, 1, 1);
+		effect(AS3Opcodes.INCLOCAL, 0, 0);
+		effect(AS3Opcodes.DECREMENT, 1, 1);
+		effect(AS3Opcodes.DECLOCAL, 0, 0);
+		effect(AS3Opcodes.TYPEOF, 1, 1);
+		effect(AS3Opcodes.NOT, 1, 1);
+		effect(AS3Opcodes.BITNOT, 1, 1);
+
+		for (int opcode=AS3Opcodes.ADD;opcode<=AS3Opcodes.INSTANCEOF;opcode++) {
+			effect(opcode, 2, 1);
+		}
+
+		effect(AS3Opcodes.ISTYPE, 1, 1);
+		effect(AS3Opcodes.ISTYPELATE, 2, 1);
+		effect(AS3Opcodes.IN, 2, 1);
+		effect(AS3Opcodes.INCREMENTI, 1, 1);
+		effect(AS3Opcodes.DECREMENTI, 1, 1);
+		effect(AS3Opcodes.INCLOCALI, 0, 0);
+		effect(AS3Opcodes.DECLOCALI, 0, 0);
+		effect(AS3Opcodes.NEGATEI, 1, 1);
+		effect(AS3Opcodes.ADDI, 2, 1);
+		effect(AS3Opcodes.SUBTRACTI, 2, 1);
+		effect(AS3Opcodes.MULTIPLYI, 2, 1);
+
+		for (int register=0;register<4;register++) {
+			effect(AS3Opcodes.GETLOCAL0 + register, 0, 1);
+			effect(AS3Opcodes.SETLOCAL0 + register, 1, 0);
+		}
+
+		effect(AS3Opcodes.DEBUG, 0, 0);
+		effect(AS3Opcodes.DEBUGLINE, 0, 0);
+		effect(AS3Opcodes.DEBUGFILE, 0, 0);
+	}
+
+	/**
+	 * Number of runtime name parts of every multiname of the constant pool,
+	 * indexed by multiname index.
+	 */
+	private final byte[] runtimeNameParts;
+
+	/**
+	 * Creates a new verifier for the method bodies of ABC data.
+	 * 
+	 * @param data The ABC data. Its constant pool says which multinames have runtime name parts.
+	 */
+	public MethodBodyVerifier(final AS3Data data) {
+
+		if (data == null) {
+			throw new IllegalArgumentException("Data argument must not be null");
+		}
+
+		final MultinameInfoList multinames = data.getConstantPool().getMultinames();
+
+		runtimeNameParts = new byte[multinames.size() + 1];
+
+		for (int i=0;i<multinames.size();i++) {
+			runtimeNameParts[i + 1] = getRuntimeNameParts(multinames.get(i).getKind().value());
+		}
+	}
+
+	/**
+	 * Registers an opcode whose pops depend on an argument count operand.
+	 */
+	private static void arguments(final int opcode, final int pops, final int pushes, final byte argumentOperand) {
+		effect(opcode, pops, pushes);
+		ARGUMENTS[opcode] = argumentOperand;
+	}
+
+	/**
+	 * Registers the number of values an opcode pops and pushes.
+	 */
+	private static void effect(final int opcode, final int pops, final int pushes) {
+		POPS[opcode] = (byte) pops;
+		PUSHES[opcode] = (byte) pushes;
+	}
+
+	/**
+	 * Returns the number of values a multiname of the given kind pops from
+	 * the operand stack when it is used by an instruction.
+	 * 
+	 * @param kind The kind of the multiname.
+	 * 
+	 * @return The number of runtime name parts.
+	 */
+	private static byte getRuntimeNameParts(final int kind) {
+
+		switch (kind) {
+		case 0x0F: // RTQName
+		case 0x10: // RTQNameA
+		case 0x1B: // MultinameL
+		case 0x1C: // MultinameLA
+			return 1;
+		case 0x11: // RTQNameL
+		case 0x12: // RTQNameLA
+			return 2;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Registers an opcode whose first operand is a multiname.
+	 */
+	private static void name(final int opcode, final int pops, final int pushes) {
+		effect(opcode, pops, pushes);
+		NAMES[opcode] = true;
+	}
+
+	/**
+	 * Creates a copy of ABC data whose method bodies declare the computed
+	 * max_stack and max_scope_depth values. Method bodies whose code is not
+	 * consistent keep their declared values.
+	 * 
+	 * @param data The ABC data.
+	 * @param verifications The verification results of the method bodies of the data.
+	 * 
+	 * @return The ABC data with recomputed limits.
+	 */
+	public static AS3Data recompute(final AS3Data data, final MethodBodyVerification[] verifications) {
+
+		if (data == null) {
+			throw new IllegalArgumentException("Data argument must not be null");
+		}
+
+		final MethodBodyList bodies = data.getMethodBodies();
+
+		if (verifications == null || verifications.length != bodies.size()) {
+			throw new IllegalArgumentException("There must be one verification result per method body");
+		}
+
+		final List<MethodBody> recomputed = new ArrayList<MethodBody>(bodies.size());
+
+		for (int i=0;i<bodies.size();i++) {
+			recomputed.add(recompute(bodies.get(i), verifications[i]));
+		}
+
+		return new AS3Data(data.getMinorVersion(), data.getMajorVersion(), data.getConstantPool(), data.getMethodCount(),
+				data.getMethodInfos(), data.getMetaDataCount(), data.getMetaData(), data.getClassCount(), data.getInstances(),
+				data.getClasses(), data.getScriptCount(), data.getScripts(), data.getMethodBodyCount(), new MethodBodyList(recomputed));
+	}
+
+	/**
+	 * Creates a copy of a method body that declares the computed max_stack
+	 * and max_scope_depth values. If the code of the method body is not
+	 * consistent, the method body is returned unchanged.
+	 * 
+	 * @param body The method body.
+	 * @param verification The verification result of the method body.
+	 * 
+	 * @return The method body with recomputed limits.
+	 */
+	public static MethodBody recompute(final MethodBody body, final MethodBodyVerification verification) {
+
+		if (!verification.isCodeValid()
+				|| verification.getMaxStack() == body.getMaxStack().value() && verification.getMaxScopeDepth() == body.getMaxScopeDepth().value()) {
+			return body;
+		}
+
+		return new MethodBody(body.getMethod(), replace(body.getMaxStack(), verification.getMaxStack()), body.getLocalCount(),
+				body.getInitScopeDepth(), replace(body.getMaxScopeDepth(), verification.getMaxScopeDepth()), body.getCodeLength(),
+				body.getCode(), body.getExceptionCount(), body.getExceptions(), body.getTraitCount(), body.getTraits());
+	}
+
+	/**
+	 * Replaces the value of an encoded integer. The position and length of
+	 * the old value are kept so that the new value is written with at least
+	 * as many bytes as the old one.
+	 */
+	private static EncodedU30 replace(final EncodedU30 old, final int value) {
+		return new EncodedU30(old.getBitPosition(), old.getBitLength(), value);
+	}
+
+	/**
+	 * Records the depths at the start of a block and schedules the block,
+	 * or checks that the depths match if the block was reached before.
+	 */
+	private static int enter(final int block, final int stack, final int scope, final int[] entryStacks, final int[] entryScopes,
+			final int[] worklist, final int size, final ControlFlowGraph graph, final List<String> errors) {
+
+		if (entryStacks[block] == -1) {
+			entryStacks[block] = stack;
+			entryScopes[block] = scope;
+			worklist[size] = block;
+
+			return size + 1;
+		}
+
+		if (entryStacks[block] != stack || entryScopes[block] != scope) {
+			errors.add(String.format("Stack depths do not match at offset %d: stack %d and %d, scope %d and %d",
+					graph.getCode().getOffset(graph.getBlockStart(block)), entryStacks[block], stack, entryScopes[block], scope));
+		}
+
+		return size;
+	}
+
+	/**
+	 * Returns the number of values an instruction pops from the operand stack.
+	 * 
+	 * @return The number of values or -1 if the instruction refers to an invalid multiname.
+	 */
+	private int getPops(final AS3CodeColumns code, final int index, final int opcode) {
+
+		int pops = POPS[opcode];
+
+		switch (ARGUMENTS[opcode]) {
+		case FIRST_OPERAND:
+			pops += code.getOperand(index, 0);
+			break;
+		case SECOND_OPERAND:
+			pops += code.getOperand(index, 1);
+			break;
+		case FIRST_OPERAND_PAIRS:
+			pops += 2 * code.getOperand(index, 0);
+			break;
+		default:
+			break;
+		}
+
+		if (NAMES[opcode]) {
+
+			final int multiname = code.getOperand(index, 0);
+
+			if (multiname < 0 || multiname >= runtimeNameParts.length) {
+				return -1;
+			}
+
+			pops += runtimeNameParts[multiname];
+		}
+
+		return pops;
+	}
+
+	/**
+	 * Verifies the stack and scope depths of a method body.
+	 * 
+	 * @param body The method body to verify.
+	 * 
+	 * @return The verification result.
+	 */
+	public MethodBodyVerification verify(final MethodBody body) {
+
+		if (body == null) {
+			throw new IllegalArgumentException("Method body argument must not be null");
+		}
+
+		final ControlFlowGraph graph = ControlFlowGraphBuilder.build(body);
+		final AS3CodeColumns code = graph.getCode();
+		final int blockCount = graph.getBlockCount();
+		final List<String> errors = new ArrayList<String>();
+
+		if (graph.hasInvalidTargets()) {
+			errors.add("A branch or exception handler target is not the start of an instruction");
+		}
+
+		final int[] stackDepths = new int[code.getCount()];
+		final int[] scopeDepths = new int[code.getCount()];
+
+		Arrays.fill(stackDepths, -1);
+		Arrays.fill(scopeDepths, -1);
+
+		final int[] entryStacks = new int[blockCount];
+		final int[] entryScopes = new int[blockCount];
+
+		Arrays.fill(entryStacks, -1);
+
+		final int[] worklist = new int[blockCount];
+		int size = 0;
+
+		int maxStack = 0;
+		int maxScope = 0;
+
+		if (blockCount > 0) {
+			size = enter(0, 0, 0, entryStacks, entryScopes, worklist, size, graph, errors);
+		}
+
+		while (size > 0) {
+
+			final int block = worklist[--size];
+
+			int stack = entryStacks[block];
+			int scope = entryScopes[block];
+			boolean valid = true;
+
+			for (int i=graph.getBlockStart(block);i<graph.getBlockEnd(block);i++) {
+
+				final int opcode = code.getOpcode(i);
+
+				stackDepths[i] = stack;
+				scopeDepths[i] = scope;
+
+				if (POPS[opcode] == -1) {
+					errors.add(String.format("Unknown opcode 0x%02X at offset %d", opcode, code.getOffset(i)));
+					valid = false;
+					break;
+				}
+
+				final int pops = getPops(code, i, opcode);
+
+				if (pops == -1) {
+					errors.add(String.format("Invalid multiname index %d at offset %d", code.getOperand(i, 0), code.getOffset(i)));
+					valid = false;
+					break;
+				}
+
+				if (pops > stack) {
+					errors.add(String.format("Stack underflow at offset %d: 0x%02X pops %d values but the stack holds %d", code.getOffset(i), opcode, pops, stack));
+					valid = false;
+					break;
+				}
+
+				if (opcode == AS3Opcodes.GETSCOPEOBJECT && code.getOperand(i, 0) >= scope) {
+					errors.add(String.format("Scope index %d out of range at offset %d", code.getOperand(i, 0), code.getOffset(i)));
+				}
+
+				stack += PUSHES[opcode] - pops;
+				scope += SCOPES[opcode];
+
+				if (scope < 0) {
+					errors.add(String.format("Scope stack underflow at offset %d", code.getOffset(i)));
+					valid = false;
+					break;
+				}
+
+				maxStack = Math.max(maxStack, stack);
+				maxScope = Math.max(maxScope, scope);
+			}
+
+			if (!valid) {
+				continue;
+			}
+
+			for (int j=0;j<graph.getSuccessorCount(block);j++) {
+
+				if (graph.getSuccessorKind(block, j) == ControlFlowGraph.EXCEPTION_EDGE) {
+					maxStack = Math.max(maxStack, 1);
+					size = enter(graph.getSuccessor(block, j), 1, 0, entryStacks, entryScopes, worklist, size, graph, errors);
+				}
+				else {
+					size = enter(graph.getSuccessor(block, j), stack, scope, entryStacks, entryScopes, worklist, size, graph, errors);
+				}
+			}
+		}
+
+		final int initScopeDepth = body.getInitScopeDepth().value();
+
+		return new MethodBodyVerification(body.getMaxStack().value(), body.getMaxScopeDepth().value(), maxStack, initScopeDepth + maxScope,
+				stackDepths, scopeDepths, errors);
+	}
+
+	/**
+	 * Verifies all method bodies of a method body table. The method bodies
+	 * are verified concurrently.
+	 * 
+	 * @param bodies The method bodies.
+	 * @param pool The pool that verifies the method bodies. If this argument is null, the method bodies are verified sequentially.
+	 * 
+	 * @return The verification results in the order of the method bodies.
+	 */
+	public MethodBodyVerification[] verify(final MethodBodyList bodies, final ForkJoinPool pool) {
+
+		if (bodies == null) {
+			throw new IllegalArgumentException("Method bodies argument must not be null");
+		}
+
+		final MethodBodyVerification[] verifications = new MethodBodyVerification[bodies.size()];
+
+		if (pool == null) {
+
+			for (int i=0;i<verifications.length;i++) {
+				verifications[i] = verify(bodies.get(i));
+			}
+
+			return verifications;
+		}
+
+		final VerifyTask task = new VerifyTask(bodies, verifications, 0, verifications.length);
+
+		if (ForkJoinTask.getPool() == pool) {
+			task.invoke();
+		}
+		else {
+			pool.invoke(task);
+		}
+
+		return verifications;
+	}
+
+	/**
+	 * Verifies a range of method bodies, splitting the range until it is
+	 * small enough.
+	 */
+	private final class VerifyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MethodBodyList bodies;
+
+		private final MethodBodyVerification[] verifications;
+
+		private final int from;
+
+		private final int to;
+
+		public VerifyTask(final MethodBodyList bodies, final MethodBodyVerification[] verifications, final int from, final int to) {
+			this.bodies = bodies;
+			this.verifications = verifications;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from <= METHOD_BODIES_PER_TASK) {
+
+				for (int i=from;i<to;i++) {
+					verifications[i] = verify(bodies.get(i));
+				}
+
+				return;
+			}
+
+			final int middle = (from + to) >>> 1;
+
+			invokeAll(new VerifyTask(bodies, verifications, from, middle), new VerifyTask(bodies, verifications, middle, to));
+		}
+	}
+}
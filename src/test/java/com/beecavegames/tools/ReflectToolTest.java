@@ -0,0 +1,140 @@
+package com.beecavegames.tools;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.as3commons.reflect.Accessor;
+import org.as3commons.reflect.Field;
+import org.as3commons.reflect.Type;
+
+import com.beecavegames.dataModel.ClassReflectionData;
+
+/**
+ * Links synthetic class hierarchies the size of a large application. Run main()
+ * to time the linking, optionally with the number of chains and their depth.
+ */
+public class ReflectToolTest extends TestCase {
+
+    private static final int CHAIN_COUNT = 120;
+    private static final int CHAIN_DEPTH = 100;
+    private static final int FIELDS_PER_CLASS = 5;
+
+    /**
+     * Reflected types and hierarchy of chains of subclasses. The class at depth
+     * d of every chain declares an "id" field that hides the inherited one, the
+     * fields "f<d>_<i>" and the accessor "a<d>". Classes at the same depth
+     * declare equal members.
+     */
+    private static class Hierarchy {
+    	final ClassHierarchy hierarchy;
+    	final Map<String,Type> types = new HashMap<>();
+
+    	Hierarchy(int chainCount, int chainDepth) {
+    		String[] names = new String[chainCount * chainDepth];
+    		String[] superclassNames = new String[names.length];
+    		Map<String,Integer> indexByName = new HashMap<>();
+    		for ( int c = 0; c < chainCount; c++ ) {
+    			for ( int d = 0; d < chainDepth; d++ ) {
+    				int i = c * chainDepth + d;
+    				names[i] = className(c, d);
+    				superclassNames[i] = d == 0 ? "Object" : className(c, d-1);
+    				indexByName.put(names[i], i);
+    				types.put(names[i], createType(names[i], d));
+    			}
+    		}
+    		hierarchy = new ClassHierarchy(names, superclassNames, indexByName);
+    	}
+    }
+
+    private static String className(int chain, int depth) {
+    	return "com.gen::C"+chain+"_"+depth;
+    }
+
+    private static Type createType(String className, int depth) {
+    	Type type = new Type();
+    	type.fullName = className;
+    	type.name = className.substring(className.lastIndexOf(':')+1);
+    	type.fields = new ArrayList<>();
+    	type.fields.add(createField("id", "String"));
+    	for ( int i = 0; i < FIELDS_PER_CLASS; i++ ) {
+    		type.fields.add(createField("f"+depth+"_"+i, "int"));
+    	}
+    	type.accessors = new ArrayList<>();
+    	Accessor accessor = new Accessor();
+    	accessor.name = "a"+depth;
+    	accessor.typeName = "String";
+    	accessor.access = ReflectTool.access_readwrite;
+    	type.accessors.add(accessor);
+    	return type;
+    }
+
+    private static Field createField(String name, String typeName) {
+    	Field field = new Field();
+    	field.name = name;
+    	field.typeName = typeName;
+    	return field;
+    }
+
+    private static Set<String> names(List<Integer> indices, List<? extends Field> members) {
+    	Set<String> names = new HashSet<>();
+    	for ( int index : indices ) {
+    		names.add(members.get(index).name);
+    	}
+    	return names;
+    }
+
+    public void testLinkLargeHierarchy() {
+    	Hierarchy classes = new Hierarchy(CHAIN_COUNT, CHAIN_DEPTH);
+    	assertTrue(classes.types.size() >= 10000);
+
+    	ClassReflectionData data = ReflectTool.linkTypes(classes.hierarchy, classes.types);
+
+    	// One "id" plus the fields and accessors of every depth.
+    	assertEquals(1 + CHAIN_DEPTH * FIELDS_PER_CLASS, data.fields.size());
+    	assertEquals(CHAIN_DEPTH, data.accessors.size());
+
+    	Type leaf = data.types.get(className(CHAIN_COUNT-1, CHAIN_DEPTH-1));
+    	assertEquals(1 + CHAIN_DEPTH * FIELDS_PER_CLASS, leaf.fieldIndices.size());
+    	assertEquals(CHAIN_DEPTH, leaf.accessorIndices.size());
+    	assertTrue(names(leaf.fieldIndices, data.fields).contains("f0_0"));
+    	assertTrue(names(leaf.accessorIndices, data.accessors).contains("a0"));
+
+    	Type root = data.types.get(className(0, 0));
+    	assertEquals(1 + FIELDS_PER_CLASS, root.fieldIndices.size());
+    	assertEquals(1, root.accessorIndices.size());
+    }
+
+    public void testLinkKeepsTypes() {
+    	Hierarchy classes = new Hierarchy(2, 3);
+    	Type leaf = classes.types.get(className(1, 2));
+
+    	ClassReflectionData first = ReflectTool.linkTypes(classes.hierarchy, classes.types);
+    	ClassReflectionData second = ReflectTool.linkTypes(classes.hierarchy, classes.types);
+
+    	assertEquals(1 + FIELDS_PER_CLASS, leaf.fields.size());
+    	assertEquals(1, leaf.accessors.size());
+    	assertNull(leaf.fieldIndices);
+    	assertEquals(first.fields, second.fields);
+    	assertEquals(first.types.get(leaf.fullName).fieldIndices, second.types.get(leaf.fullName).fieldIndices);
+    }
+
+    public static void main(String[] args) {
+    	int chainCount = args.length > 0 ? Integer.parseInt(args[0]) : CHAIN_COUNT;
+    	int chainDepth = args.length > 1 ? Integer.parseInt(args[1]) : CHAIN_DEPTH;
+    	Hierarchy classes = new Hierarchy(chainCount, chainDepth);
+
+    	for ( int run = 0; run < 5; run++ ) {
+    		long start = System.nanoTime();
+    		ClassReflectionData data = ReflectTool.linkTypes(classes.hierarchy, classes.types);
+    		long millis = (System.nanoTime() - start) / 1000000;
+    		System.out.println("Linked "+data.types.size()+" classes into "+data.fields.size()+" fields and "
+    				+data.accessors.size()+" accessors in "+millis+" ms");
+    	}
+    }
+}
@@ -0,0 +1,72 @@
+package tv.porst.splib.binaryparser;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the encodings written by the binary writer.
+ */
+public class BinaryWriterTest extends TestCase {
+
+	/**
+	 * Writes an encoded integer and compares the written bytes.
+	 */
+	private static void assertEncodedU32(final int value, final int minimumLength, final int... expected) {
+
+		final BinaryWriter writer = new BinaryWriter(1);
+
+		writer.writeEncodedU32(value, minimumLength);
+
+		final byte[] expectedBytes = new byte[expected.length];
+
+		for (int i=0;i<expected.length;i++) {
+			expectedBytes[i] = (byte) expected[i];
+		}
+
+		final byte[] written = writer.toByteArray();
+
+		assertTrue(String.format("value %d with length %d: %s", value, minimumLength, Arrays.toString(written)), Arrays.equals(expectedBytes, written));
+	}
+
+	public void testEncodedU32FiveBytes() {
+		assertEncodedU32(0x7FFFFFFF, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x07);
+		assertEncodedU32(0x10000000, 1, 0x80, 0x80, 0x80, 0x80, 0x01);
+		assertEncodedU32(0, 5, 0x80, 0x80, 0x80, 0x80, 0x00);
+	}
+
+	public void testEncodedU32InvalidLength() {
+
+		for (final int length : new int[] { 0, 6, -1 }) {
+
+			try {
+				new BinaryWriter().writeEncodedU32(1, length);
+				fail("no exception for length " + length);
+			}
+			catch (final IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	public void testEncodedU32Minimal() {
+		assertEncodedU32(0, 1, 0x00);
+		assertEncodedU32(0x7F, 1, 0x7F);
+		assertEncodedU32(0x80, 1, 0x80, 0x01);
+		assertEncodedU32(0x3FFF, 1, 0xFF, 0x7F);
+		assertEncodedU32(0x4000, 1, 0x80, 0x80, 0x01);
+	}
+
+	public void testEncodedU32Negative() {
+		assertEncodedU32(-1, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+		assertEncodedU32(-5, 1, 0xFB, 0xFF, 0xFF, 0xFF, 0x0F);
+		assertEncodedU32(Integer.MIN_VALUE, 1, 0x80, 0x80, 0x80, 0x80, 0x08);
+		assertEncodedU32(-5, 5, 0xFB, 0xFF, 0xFF, 0xFF, 0x0F);
+	}
+
+	public void testEncodedU32Padded() {
+		assertEncodedU32(1, 3, 0x81, 0x80, 0x00);
+		assertEncodedU32(0x80, 4, 0x80, 0x81, 0x80, 0x00);
+		assertEncodedU32(0x4000, 2, 0x80, 0x80, 0x01);
+	}
+}
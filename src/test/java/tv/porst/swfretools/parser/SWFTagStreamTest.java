@@ -0,0 +1,120 @@
+package tv.porst.swfretools.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import tv.porst.swfretools.parser.tags.DefineBinaryDataTag;
+import tv.porst.swfretools.parser.tags.Tag;
+import tv.porst.swfretools.parser.tags.TagCodes;
+
+/**
+ * Streams hand-assembled SWF files.
+ */
+public class SWFTagStreamTest extends TestCase {
+
+	/**
+	 * Creates an uncompressed SWF file from the given tags. The frame size
+	 * rectangle is empty.
+	 */
+	private static byte[] createFile(final byte[] tags) {
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final int fileLength = 13 + tags.length;
+
+		out.write('F');
+		out.write('W');
+		out.write('S');
+		out.write(10);
+		writeU32(out, fileLength);
+		out.write(0); // frame size
+		out.write(0); out.write(24); // frame rate
+		out.write(1); out.write(0); // frame count
+		out.write(tags, 0, tags.length);
+
+		return out.toByteArray();
+	}
+
+	/**
+	 * Creates the long form header of a tag.
+	 */
+	private static byte[] createTagHeader(final int tagCode, final int length) {
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final int codeAndLength = tagCode << 6 | 0x3F;
+
+		out.write(codeAndLength & 0xFF);
+		out.write(codeAndLength >>> 8);
+		writeU32(out, length);
+
+		return out.toByteArray();
+	}
+
+	private static List<Tag> readTags(final SWFTagStream stream) {
+
+		final List<Tag> tags = new ArrayList<Tag>();
+
+		while (stream.hasNext()) {
+			tags.add(stream.next());
+		}
+
+		return tags;
+	}
+
+	private static void writeU32(final ByteArrayOutputStream out, final int value) {
+		out.write(value & 0xFF);
+		out.write(value >>> 8 & 0xFF);
+		out.write(value >>> 16 & 0xFF);
+		out.write(value >>> 24 & 0xFF);
+	}
+
+	public void testHugeTagLength() throws IOException, SWFParserException {
+
+		// The tag claims almost 2 GB but the file ends after 100 bytes.
+		final ByteArrayOutputStream tags = new ByteArrayOutputStream();
+		tags.write(createTagHeader(TagCodes.DefineBinaryData, Integer.MAX_VALUE - 6));
+		tags.write(new byte[100]);
+
+		try (SWFTagStream stream = new SWFTagStream(new ByteArrayInputStream(createFile(tags.toByteArray())))) {
+
+			assertTrue(readTags(stream).isEmpty());
+			assertFalse(stream.getErrors().isEmpty());
+		}
+	}
+
+	public void testLargeTag() throws IOException, SWFParserException {
+
+		// Longer than the largest chunk that is allocated before its bytes arrive.
+		final int dataLength = 3 * 1024 * 1024 + 5;
+		final byte[] body = new byte[6 + dataLength];
+
+		body[0] = 1;
+
+		for (int i=6;i<body.length;i++) {
+			body[i] = (byte) i;
+		}
+
+		final ByteArrayOutputStream tags = new ByteArrayOutputStream();
+		tags.write(createTagHeader(TagCodes.DefineBinaryData, body.length));
+		tags.write(body);
+		tags.write(new byte[] { 0, 0 }); // End
+
+		try (SWFTagStream stream = new SWFTagStream(new ByteArrayInputStream(createFile(tags.toByteArray())), 64 * 1024)) {
+
+			final List<Tag> parsed = readTags(stream);
+
+			assertTrue(stream.getErrors().isEmpty());
+			assertEquals(2, parsed.size());
+
+			final DefineBinaryDataTag tag = (DefineBinaryDataTag) parsed.get(0);
+
+			assertEquals(1, (int) tag.getTag().value());
+			assertEquals(dataLength, tag.getData().getValue().length);
+			assertEquals((byte) (body.length - 1), tag.getData().getValue()[dataLength - 1]);
+			assertEquals(TagCodes.End, parsed.get(1).getHeader().getTagCode());
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package tv.porst.swfretools.parser.actions.as3;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.SWFParserException;
+import tv.porst.swfretools.parser.structures.AS3Code;
+
+/**
+ * Compares the compact decoder with the instruction object decoder.
+ */
+public class AS3CodeColumnsParserTest extends TestCase {
+
+	/**
+	 * Decodes code into compact columns.
+	 */
+	private static AS3CodeColumns decodeColumns(final byte[] code) {
+		return AS3CodeColumnsParser.parse(new SWFBinaryParser(code), code.length);
+	}
+
+	/**
+	 * Decodes code into instruction objects or returns null if the code
+	 * runs beyond the input data.
+	 */
+	private static AS3InstructionList decodeObjects(final byte[] code) {
+
+		try {
+			final AS3Code decoded = AS3CodeParser.parse(new SWFBinaryParser(code), code.length, "code");
+
+			return decoded.getInstructions();
+		}
+		catch (final SWFParserException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks that both decoders split the code into the same instructions.
+	 */
+	private static void assertSameInstructions(final String message, final byte[] code) {
+
+		final AS3CodeColumns columns = decodeColumns(code);
+		final AS3InstructionList objects = decodeObjects(code);
+
+		if (objects == null) {
+			assertNull(message + ": compact code decoded beyond the input data", columns);
+			return;
+		}
+
+		assertNotNull(message + ": compact code ran beyond the input data", columns);
+		assertEquals(message + ": instruction count", objects.size(), columns.getCount());
+
+		for (int i=0;i<objects.size();i++) {
+			assertEquals(message + ": offset of instruction " + i, objects.get(i).getBitPosition() / 8, columns.getOffset(i));
+			assertEquals(message + ": opcode of instruction " + i, (int) objects.get(i).getOpcode().value(), columns.getOpcode(i));
+		}
+	}
+
+	public void testEveryOpcode() {
+
+		for (int opcode=0;opcode<256;opcode++) {
+
+			// The operands are followed by nop instructions, so that an
+			// operand that is not read shows up as extra instructions.
+			final byte[] code = new byte[16];
+			Arrays.fill(code, (byte) AS3Opcodes.NOP);
+			code[0] = (byte) opcode;
+
+			assertSameInstructions(String.format("opcode 0x%02X", opcode), code);
+		}
+	}
+
+	public void testEveryOpcodeWithLargeOperands() {
+
+		for (int opcode=0;opcode<256;opcode++) {
+
+			// Operand bytes with the high bit set continue an encoded U30.
+			final byte[] code = new byte[16];
+			Arrays.fill(code, (byte) 0x81);
+			code[0] = (byte) opcode;
+			code[code.length - 1] = (byte) AS3Opcodes.NOP;
+
+			assertSameInstructions(String.format("opcode 0x%02X", opcode), code);
+		}
+	}
+
+	public void testFinddef() {
+
+		final byte[] code = { (byte) AS3Opcodes.FINDDEF, 0x01, (byte) AS3Opcodes.POP };
+
+		final AS3CodeColumns columns = decodeColumns(code);
+
+		assertEquals(2, columns.getCount());
+		assertEquals(AS3Opcodes.FINDDEF, columns.getOpcode(0));
+		assertEquals(1, columns.getOperandCount(0));
+		assertEquals(1, columns.getOperand(0, 0));
+		assertEquals(2, columns.getOffset(1));
+
+		assertSameInstructions("finddef", code);
+	}
+
+	public void testInstructionsOfCompactCode() {
+
+		final byte[] code = { (byte) AS3Opcodes.FINDDEF, 0x01, (byte) AS3Opcodes.POP };
+
+		final AS3Code compact = new AS3Code(decodeColumns(code));
+		final AS3InstructionList instructions = compact.getInstructions();
+
+		assertEquals(2, instructions.size());
+		assertEquals(AS3Opcodes.POP, (int) instructions.get(1).getOpcode().value());
+		assertSame(instructions, compact.getInstructions());
+	}
+}
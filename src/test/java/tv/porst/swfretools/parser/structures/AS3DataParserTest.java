@@ -0,0 +1,56 @@
+package tv.porst.swfretools.parser.structures;
+
+import java.util.concurrent.ForkJoinPool;
+
+import junit.framework.TestCase;
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.SWFParserException;
+
+/**
+ * Parses damaged ABC data.
+ */
+public class AS3DataParserTest extends TestCase {
+
+	/**
+	 * ABC data with empty tables whose method body count is 0x3FFFFFFF but
+	 * which ends right after the count.
+	 */
+	private static final byte[] HUGE_METHOD_BODY_COUNT = {
+		16, 0, 46, 0,
+		0, 0, 0, 0, 0, 0, 0, // constant pool
+		0, 0, 0, 0, // methods, metadata, classes, scripts
+		(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x03
+	};
+
+	private static void assertParseFails(final ParseOptions options) {
+
+		try {
+			AS3DataParser.parse(new SWFBinaryParser(HUGE_METHOD_BODY_COUNT), "ABCData", options);
+			fail("no exception for a method body count beyond the input data");
+		}
+		catch (final SWFParserException e) {
+			// expected
+		}
+	}
+
+	public void testHugeMethodBodyCount() {
+		assertParseFails(ParseOptions.DEFAULT);
+	}
+
+	public void testHugeMethodBodyCountDeclarationsOnly() {
+		assertParseFails(ParseOptions.DEFAULT.withDeclarationsOnly());
+	}
+
+	public void testHugeMethodBodyCountWithPool() {
+
+		final ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			assertParseFails(ParseOptions.DEFAULT.withPool(pool));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package tv.porst.swfretools.parser.structures;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import junit.framework.TestCase;
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.SWFParserException;
+
+/**
+ * Writes parsed ABC data back and compares it with the original bytes.
+ *
+ * The fixture contains metadata, all trait kinds, exception handlers,
+ * a lookupswitch, nested Vector multinames, a UTF-8 string, a negative
+ * int constant and a count that is encoded with more bytes than necessary.
+ */
+public class AS3DataWriterTest extends TestCase {
+
+	private static final String FIXTURE = "fixture.abc";
+
+	/**
+	 * Creates an encoded integer that is one larger than the given one.
+	 */
+	private static EncodedU30 increment(final EncodedU30 count) {
+		return new EncodedU30(count.getBitPosition(), count.getBitLength(), count.value() + 1);
+	}
+
+	/**
+	 * Loads the ABC fixture.
+	 */
+	private static byte[] loadFixture() throws IOException {
+
+		try (InputStream in = AS3DataWriterTest.class.getResourceAsStream(FIXTURE)) {
+
+			assertNotNull("missing test resource " + FIXTURE, in);
+
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+
+			int read;
+
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+
+			return out.toByteArray();
+		}
+	}
+
+	private static AS3Data parse(final byte[] data, final ParseOptions options) throws SWFParserException {
+		return AS3DataParser.parse(new SWFBinaryParser(data), "ABCData", options);
+	}
+
+	private static byte[] toByteArray(final ByteBuffer buffer) {
+
+		final byte[] bytes = new byte[buffer.remaining()];
+
+		buffer.duplicate().get(bytes);
+
+		return bytes;
+	}
+
+	/**
+	 * Parses the fixture with the given options and checks that writing it
+	 * back yields the original bytes.
+	 */
+	private static void assertRoundTrip(final String message, final ParseOptions options) throws IOException, SWFParserException {
+
+		final byte[] original = loadFixture();
+		final byte[] written = toByteArray(AS3DataWriter.write(parse(original, options)));
+
+		assertEquals(message + ": length", original.length, written.length);
+		assertTrue(message + ": bytes differ", Arrays.equals(original, written));
+	}
+
+	/**
+	 * Checks that writing the given ABC data fails because of a count that
+	 * does not match its elements.
+	 */
+	private static void assertCountMismatch(final AS3Data abcData, final String fieldName) {
+
+		try {
+			AS3DataWriter.write(abcData);
+			fail("no exception for a wrong " + fieldName);
+		}
+		catch (final IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith(fieldName + " is "));
+		}
+	}
+
+	public void testIntCountMismatch() throws IOException, SWFParserException {
+
+		final AS3Data abcData = parse(loadFixture(), ParseOptions.DEFAULT);
+		final ConstantPool pool = abcData.getConstantPool();
+
+		final ConstantPool wrongPool = new ConstantPool(increment(pool.getIntCount()), pool.getIntegers(),
+				pool.getUintCount(), pool.getUintegers(), pool.getDoubleCount(), pool.getDoubles(),
+				pool.getStringCount(), pool.getStrings(), pool.getNamespaceCount(), pool.getNamespaces(),
+				pool.getNamespaceSetCount(), pool.getNamespaceSets(), pool.getMultinameCount(), pool.getMultinames());
+
+		assertCountMismatch(new AS3Data(abcData.getMinorVersion(), abcData.getMajorVersion(), wrongPool,
+				abcData.getMethodCount(), abcData.getMethodInfos(), abcData.getMetaDataCount(),
+				abcData.getMetaData(), abcData.getClassCount(), abcData.getInstances(),
+				abcData.getClasses(), abcData.getScriptCount(), abcData.getScripts(),
+				abcData.getMethodBodyCount(), abcData.getMethodBodies()), "int_count");
+	}
+
+	public void testMetaDataCountMismatch() throws IOException, SWFParserException {
+
+		final AS3Data abcData = parse(loadFixture(), ParseOptions.DEFAULT);
+
+		assertCountMismatch(new AS3Data(abcData.getMinorVersion(), abcData.getMajorVersion(), abcData.getConstantPool(),
+				abcData.getMethodCount(), abcData.getMethodInfos(), increment(abcData.getMetaDataCount()),
+				abcData.getMetaData(), abcData.getClassCount(), abcData.getInstances(),
+				abcData.getClasses(), abcData.getScriptCount(), abcData.getScripts(),
+				abcData.getMethodBodyCount(), abcData.getMethodBodies()), "metadata_count");
+	}
+
+	public void testMethodBodyCountMismatch() throws IOException, SWFParserException {
+
+		final AS3Data abcData = parse(loadFixture(), ParseOptions.DEFAULT.withDeclarationsOnly());
+
+		assertCountMismatch(new AS3Data(abcData.getMinorVersion(), abcData.getMajorVersion(), abcData.getConstantPool(),
+				abcData.getMethodCount(), abcData.getMethodInfos(), abcData.getMetaDataCount(),
+				abcData.getMetaData(), abcData.getClassCount(), abcData.getInstances(),
+				abcData.getClasses(), abcData.getScriptCount(), abcData.getScripts(),
+				increment(abcData.getMethodBodyCount()), abcData.getRawMethodBodies()), "method_body_count");
+	}
+
+	public void testRoundTripCompactCode() throws IOException, SWFParserException {
+		assertRoundTrip("compact code", ParseOptions.DEFAULT.withCompactCode());
+	}
+
+	public void testRoundTripDeclarationsOnly() throws IOException, SWFParserException {
+		assertRoundTrip("declarations only", ParseOptions.DEFAULT.withDeclarationsOnly());
+	}
+
+	public void testRoundTripDefault() throws IOException, SWFParserException {
+		assertRoundTrip("default", ParseOptions.DEFAULT);
+	}
+
+	public void testRoundTripWithPool() throws IOException, SWFParserException {
+
+		final ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			assertRoundTrip("pool", ParseOptions.DEFAULT.withPool(pool));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
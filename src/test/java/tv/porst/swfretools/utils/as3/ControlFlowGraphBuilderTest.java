@@ -0,0 +1,151 @@
+package tv.porst.swfretools.utils.as3;
+
+import junit.framework.TestCase;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.SWFParserException;
+import tv.porst.swfretools.parser.actions.as3.AS3Opcodes;
+import tv.porst.swfretools.parser.structures.MethodBody;
+import tv.porst.swfretools.parser.structures.MethodBodyParser;
+
+/**
+ * Builds the control flow graphs of hand-assembled method bodies.
+ */
+public class ControlFlowGraphBuilderTest extends TestCase {
+
+	/**
+	 * Code whose finddef operand has the value of the returnvoid opcode.
+	 */
+	static final byte[] FINDDEF_RETURNVOID_OPERAND = {
+		(byte) AS3Opcodes.GETLOCAL0,
+		(byte) AS3Opcodes.PUSHSCOPE,
+		(byte) AS3Opcodes.FINDDEF, (byte) AS3Opcodes.RETURNVOID,
+		(byte) AS3Opcodes.POP,
+		(byte) AS3Opcodes.RETURNVOID
+	};
+
+	/**
+	 * Code that branches on the result of finddef.
+	 */
+	static final byte[] FINDDEF_BRANCH = {
+		(byte) AS3Opcodes.FINDDEF, 0x01,
+		(byte) AS3Opcodes.IFTRUE, 0x00, 0x00, 0x00,
+		(byte) AS3Opcodes.RETURNVOID
+	};
+
+	/**
+	 * Assembles a method body without exception handlers and traits around
+	 * the given code and parses it.
+	 */
+	static MethodBody parseBody(final int maxStack, final int maxScopeDepth, final byte[] code, final boolean compactCode) throws SWFParserException {
+
+		final byte[] data = new byte[code.length + 8];
+
+		data[0] = 0; // method
+		data[1] = (byte) maxStack;
+		data[2] = 1; // local_count
+		data[3] = 0; // init_scope_depth
+		data[4] = (byte) maxScopeDepth;
+		data[5] = (byte) code.length;
+		System.arraycopy(code, 0, data, 6, code.length);
+		data[code.length + 6] = 0; // exception_count
+		data[code.length + 7] = 0; // trait_count
+
+		return MethodBodyParser.parse(new SWFBinaryParser(data), "method_body", true, compactCode);
+	}
+
+	/**
+	 * Assembles a method body with one exception handler around the given
+	 * code and parses it.
+	 */
+	private static MethodBody parseBodyWithHandler(final byte[] code, final int from, final int to, final int target, final boolean compactCode) throws SWFParserException {
+
+		final byte[] data = new byte[code.length + 13];
+
+		data[0] = 0; // method
+		data[1] = 1; // max_stack
+		data[2] = 1; // local_count
+		data[3] = 0; // init_scope_depth
+		data[4] = 0; // max_scope_depth
+		data[5] = (byte) code.length;
+		System.arraycopy(code, 0, data, 6, code.length);
+		data[code.length + 6] = 1; // exception_count
+		data[code.length + 7] = (byte) from;
+		data[code.length + 8] = (byte) to;
+		data[code.length + 9] = (byte) target;
+		data[code.length + 10] = 0; // exc_type
+		data[code.length + 11] = 0; // var_name
+		data[code.length + 12] = 0; // trait_count
+
+		return MethodBodyParser.parse(new SWFBinaryParser(data), "method_body", true, compactCode);
+	}
+
+	private static void checkFallthroughIntoHandler(final boolean compactCode) throws SWFParserException {
+
+		// The first instruction is covered by a handler that starts right after it.
+		final byte[] code = { (byte) AS3Opcodes.NOP, (byte) AS3Opcodes.POP, (byte) AS3Opcodes.RETURNVOID };
+
+		final ControlFlowGraph graph = ControlFlowGraphBuilder.build(parseBodyWithHandler(code, 0, 1, 1, compactCode));
+
+		assertEquals(2, graph.getBlockCount());
+		assertEquals(2, graph.getSuccessorCount(0));
+		assertEquals(1, graph.getSuccessor(0, 0));
+		assertEquals(ControlFlowGraph.FALLTHROUGH_EDGE, graph.getSuccessorKind(0, 0));
+		assertEquals(1, graph.getSuccessor(0, 1));
+		assertEquals(ControlFlowGraph.EXCEPTION_EDGE, graph.getSuccessorKind(0, 1));
+		assertEquals(2, graph.getPredecessorCount(1));
+	}
+
+	private static void checkFinddefBranch(final boolean compactCode) throws SWFParserException {
+
+		final ControlFlowGraph graph = ControlFlowGraphBuilder.build(parseBody(1, 0, FINDDEF_BRANCH, compactCode));
+
+		assertFalse(graph.hasInvalidTargets());
+		assertEquals(3, graph.getInstructionCount());
+		assertEquals(2, graph.getBlockCount());
+		assertEquals(0, graph.getBlockStart(0));
+		assertEquals(2, graph.getBlockEnd(0));
+		assertEquals(1, graph.getBlock(2));
+		assertEquals(1, graph.getCode().getOperand(0, 0));
+
+		for (int i=0;i<graph.getSuccessorCount(0);i++) {
+			assertEquals(1, graph.getSuccessor(0, i));
+		}
+	}
+
+	private static void checkFinddefOperand(final boolean compactCode) throws SWFParserException {
+
+		final ControlFlowGraph graph = ControlFlowGraphBuilder.build(parseBody(1, 1, FINDDEF_RETURNVOID_OPERAND, compactCode));
+
+		assertFalse(graph.hasInvalidTargets());
+		assertEquals(5, graph.getInstructionCount());
+		assertEquals(1, graph.getBlockCount());
+		assertEquals(AS3Opcodes.FINDDEF, graph.getCode().getOpcode(2));
+		assertEquals(AS3Opcodes.RETURNVOID, graph.getCode().getOperand(2, 0));
+		assertEquals(AS3Opcodes.POP, graph.getCode().getOpcode(3));
+		assertEquals(0, graph.getSuccessorCount(0));
+	}
+
+	public void testFallthroughIntoHandler() throws SWFParserException {
+		checkFallthroughIntoHandler(false);
+	}
+
+	public void testFallthroughIntoHandlerCompactCode() throws SWFParserException {
+		checkFallthroughIntoHandler(true);
+	}
+
+	public void testFinddefBranch() throws SWFParserException {
+		checkFinddefBranch(false);
+	}
+
+	public void testFinddefBranchCompactCode() throws SWFParserException {
+		checkFinddefBranch(true);
+	}
+
+	public void testFinddefOperand() throws SWFParserException {
+		checkFinddefOperand(false);
+	}
+
+	public void testFinddefOperandCompactCode() throws SWFParserException {
+		checkFinddefOperand(true);
+	}
+}
@@ -0,0 +1,94 @@
+package tv.porst.swfretools.utils.as3;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import junit.framework.TestCase;
+import tv.porst.swfretools.parser.ParseOptions;
+import tv.porst.swfretools.parser.SWFBinaryParser;
+import tv.porst.swfretools.parser.SWFParserException;
+import tv.porst.swfretools.parser.structures.AS3Data;
+import tv.porst.swfretools.parser.structures.AS3DataParser;
+
+/**
+ * Verifies the stack and scope depths of hand-assembled method bodies.
+ */
+public class MethodBodyVerifierTest extends TestCase {
+
+	private static final String FIXTURE = "/tv/porst/swfretools/parser/structures/fixture.abc";
+
+	/**
+	 * Creates a verifier for the constant pool of the ABC fixture.
+	 */
+	private static MethodBodyVerifier createVerifier() throws IOException, SWFParserException {
+
+		try (InputStream in = MethodBodyVerifierTest.class.getResourceAsStream(FIXTURE)) {
+
+			assertNotNull("missing test resource " + FIXTURE, in);
+
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+
+			int read;
+
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+
+			final AS3Data data = AS3DataParser.parse(new SWFBinaryParser(out.toByteArray()), "ABCData", ParseOptions.DEFAULT.withDeclarationsOnly());
+
+			return new MethodBodyVerifier(data);
+		}
+	}
+
+	private static void checkFinddefBranch(final boolean compactCode) throws IOException, SWFParserException {
+
+		final MethodBodyVerification verification = createVerifier().verify(
+				ControlFlowGraphBuilderTest.parseBody(1, 0, ControlFlowGraphBuilderTest.FINDDEF_BRANCH, compactCode));
+
+		assertTrue(verification.getErrors().toString(), verification.isValid());
+		assertEquals(1, verification.getMaxStack());
+		assertEquals(0, verification.getStackDepth(0));
+		assertEquals(1, verification.getStackDepth(1));
+		assertEquals(0, verification.getStackDepth(2));
+	}
+
+	private static void checkFinddefOperand(final boolean compactCode) throws IOException, SWFParserException {
+
+		final MethodBodyVerification verification = createVerifier().verify(
+				ControlFlowGraphBuilderTest.parseBody(1, 1, ControlFlowGraphBuilderTest.FINDDEF_RETURNVOID_OPERAND, compactCode));
+
+		assertTrue(verification.getErrors().toString(), verification.isValid());
+		assertEquals(1, verification.getMaxStack());
+		assertEquals(1, verification.getMaxScopeDepth());
+		assertEquals(0, verification.getStackDepth(2));
+		assertEquals(1, verification.getStackDepth(3));
+		assertEquals(0, verification.getStackDepth(4));
+	}
+
+	public void testFinddefBranch() throws IOException, SWFParserException {
+		checkFinddefBranch(false);
+	}
+
+	public void testFinddefBranchCompactCode() throws IOException, SWFParserException {
+		checkFinddefBranch(true);
+	}
+
+	public void testFinddefOperand() throws IOException, SWFParserException {
+		checkFinddefOperand(false);
+	}
+
+	public void testFinddefOperandCompactCode() throws IOException, SWFParserException {
+		checkFinddefOperand(true);
+	}
+
+	public void testFinddefUnderdeclaredStack() throws IOException, SWFParserException {
+
+		final MethodBodyVerification verification = createVerifier().verify(
+				ControlFlowGraphBuilderTest.parseBody(0, 0, ControlFlowGraphBuilderTest.FINDDEF_BRANCH, true));
+
+		assertTrue(verification.isCodeValid());
+		assertFalse(verification.isMaxStackValid());
+	}
+}